@@ -457,6 +457,7 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
                 getProgressLogger().logProgress(++op, operations, tracker);
 
                 ranIterations++;
+                getProgressLogger().logIteration(ranIterations);
             }
         }
 
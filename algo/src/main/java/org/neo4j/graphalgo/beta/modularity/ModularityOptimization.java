@@ -183,7 +183,7 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         long nextAvailableInternalCommunityId = -1;
 
         for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
-            long seedCommunity = (long) seedProperty.nodeProperty(nodeId, -1);
+            long seedCommunity = seedProperty.longNodeProperty(nodeId, -1L);
             seedCommunity = seedCommunity >= 0 ? seedCommunity : graph.toOriginalNodeId(nodeId) + maxSeedCommunity;
             if (communityMapping.getOrDefault(seedCommunity, -1) < 0) {
                 communityMapping.addTo(seedCommunity, ++nextAvailableInternalCommunityId);
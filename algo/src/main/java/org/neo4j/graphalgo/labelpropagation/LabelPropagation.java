@@ -29,6 +29,8 @@ import org.neo4j.graphalgo.core.loading.NullPropertyMap;
 import org.neo4j.graphalgo.core.utils.LazyBatchCollection;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionConsumer;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -55,6 +57,7 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
     private long ranIterations;
     private boolean didConverge;
     private int batchSize;
+    private PartitionConsumer<LabelPropagation> partitionConsumer;
 
     public LabelPropagation(
         Graph graph,
@@ -100,6 +103,16 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
         graph = null;
     }
 
+    /**
+     * The labels of a batch are final once the batch stopped changing or
+     * once it ran its last iteration. If a consumer is set, those batches are
+     * handed over as soon as that happens, while other batches are still computing.
+     */
+    public LabelPropagation withPartitionConsumer(PartitionConsumer<LabelPropagation> partitionConsumer) {
+        this.partitionConsumer = partitionConsumer;
+        return this;
+    }
+
     public long ranIterations() {
         return ranIterations;
     }
@@ -129,8 +142,28 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
 
         long currentIteration = 0L;
         while (currentIteration < config.maxIterations()) {
-            ParallelUtil.runWithConcurrency(config.concurrency(), stepRunners, 1L, MICROSECONDS, terminationFlag, executor);
+            boolean lastIteration = currentIteration + 1 == config.maxIterations();
+            if (partitionConsumer != null && lastIteration) {
+                List<Runnable> finalSteps = new ArrayList<>(stepRunners.size());
+                for (StepRunner stepRunner : stepRunners) {
+                    finalSteps.add(() -> {
+                        stepRunner.run();
+                        finishPartition(stepRunner);
+                    });
+                }
+                ParallelUtil.runWithConcurrency(config.concurrency(), finalSteps, 1L, MICROSECONDS, terminationFlag, executor);
+            } else {
+                ParallelUtil.runWithConcurrency(config.concurrency(), stepRunners, 1L, MICROSECONDS, terminationFlag, executor);
+                if (partitionConsumer != null) {
+                    for (StepRunner stepRunner : stepRunners) {
+                        if (stepRunner.didConverge()) {
+                            finishPartition(stepRunner);
+                        }
+                    }
+                }
+            }
             ++currentIteration;
+            progressLogger.logIteration(currentIteration);
         }
 
         long maxIteration = 0L;
@@ -153,19 +186,30 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
         return me();
     }
 
+    private void finishPartition(StepRunner stepRunner) {
+        if (!stepRunner.isPartitionFinal) {
+            stepRunner.isPartitionFinal = true;
+            partitionConsumer.accept(this, stepRunner.partition.startNode, stepRunner.partition.nodeCount);
+        }
+    }
+
     private List<StepRunner> stepRunners() {
         long nodeCount = graph.nodeCount();
         long batchSize = ParallelUtil.adjustedBatchSize(nodeCount, this.batchSize);
 
-        Collection<PrimitiveLongIterable> nodeBatches = LazyBatchCollection.of(
+        Collection<Partition> nodeBatches = LazyBatchCollection.of(
             nodeCount,
             batchSize,
-            (start, length) -> () -> PrimitiveLongCollections.range(start, start + length - 1L)
+            Partition::new
         );
 
         int threads = nodeBatches.size();
         List<StepRunner> tasks = new ArrayList<>(threads);
-        for (PrimitiveLongIterable iter : nodeBatches) {
+        for (Partition partition : nodeBatches) {
+            PrimitiveLongIterable iter = () -> PrimitiveLongCollections.range(
+                partition.startNode,
+                partition.startNode + partition.nodeCount - 1L
+            );
             InitStep initStep = new InitStep(
                 graph,
                 nodeProperties,
@@ -175,7 +219,7 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
                 getProgressLogger(),
                 maxLabelId
             );
-            StepRunner task = new StepRunner(initStep);
+            StepRunner task = new StepRunner(initStep, partition);
             tasks.add(task);
         }
         ParallelUtil.runWithConcurrency(config.concurrency(), tasks, 1, MICROSECONDS, terminationFlag, executor);
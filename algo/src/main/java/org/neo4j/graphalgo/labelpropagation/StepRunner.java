@@ -19,12 +19,21 @@
  */
 package org.neo4j.graphalgo.labelpropagation;
 
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+
 final class StepRunner implements Runnable {
 
+    final Partition partition;
     Step current;
+    boolean isPartitionFinal;
 
-    StepRunner(final Step current) {
+    StepRunner(final Step current, final Partition partition) {
         this.current = current;
+        this.partition = partition;
+    }
+
+    boolean didConverge() {
+        return current instanceof ComputeStep && !((ComputeStep) current).didChange;
     }
 
     @Override
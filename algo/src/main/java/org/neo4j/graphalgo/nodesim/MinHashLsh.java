@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import com.carrotsearch.hppc.BitMixer;
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.LongArrayList;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.SetBitsIterable;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * MinHash signatures and banded locality sensitive hashing over the neighbour vectors of {@link NodeSimilarity}.
+ *
+ * Every compared node gets a signature of {@code signatureLength} minimum hashes of its neighbour ids,
+ * one per hash function. The fraction of equal signature positions of two nodes estimates their Jaccard similarity.
+ * The signature is split into {@code bands} bands of equal length and nodes whose signatures agree on all
+ * positions of at least one band end up in a shared bucket and become candidates for each other.
+ *
+ * More bands with fewer rows each find more candidates, i.e. increase recall at the cost of more comparisons.
+ */
+final class MinHashLsh {
+
+    private static final long HASH_SEED = 42L;
+
+    /**
+     * Signatures and buckets are sized by the compared nodes, which are at most all nodes of the graph.
+     */
+    static MemoryEstimation memoryEstimation(int signatureLength, int bands) {
+        return MemoryEstimations.builder(MinHashLsh.class)
+            .perNode("signature index", nodeCount -> sizeOfLongArray(BitSet.bits2words(nodeCount)))
+            .perNode("signatures", nodeCount -> HugeIntArray.memoryEstimation(nodeCount * signatureLength))
+            .perNode("bucket offsets", nodeCount -> bands * HugeLongArray.memoryEstimation(nodeCount + 1))
+            .perNode("bucket members", nodeCount -> bands * HugeLongArray.memoryEstimation(nodeCount))
+            .build();
+    }
+
+    private final int signatureLength;
+    private final int bands;
+    private final int rowsPerBand;
+    private final long bucketCount;
+
+    private final long[] hashSeeds;
+    // number of compared nodes before each word of the node filter, the rank of a node is the index of its signature
+    private final long[] signatureIndexOfWord;
+    private final BitSet nodeFilter;
+    private final HugeIntArray signatures;
+    // per band: the bucket ranges in CSR form, members are sorted by node id within each bucket
+    private final HugeLongArray[] bucketOffsets;
+    private final HugeLongArray[] bucketMembers;
+
+    static MinHashLsh create(
+        PackedVectors vectors,
+        long nodeCount,
+        BitSet nodeFilter,
+        long nodesToCompare,
+        int signatureLength,
+        int bands,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        MinHashLsh lsh = new MinHashLsh(nodeFilter, nodesToCompare, signatureLength, bands, tracker);
+        lsh.computeSignatures(vectors, concurrency);
+        lsh.computeBuckets(concurrency, tracker);
+        return lsh;
+    }
+
+    private MinHashLsh(BitSet nodeFilter, long nodesToCompare, int signatureLength, int bands, AllocationTracker tracker) {
+        this.signatureLength = signatureLength;
+        this.bands = bands;
+        this.rowsPerBand = signatureLength / bands;
+        this.bucketCount = Math.max(1L, nodesToCompare);
+
+        SplittableRandom random = new SplittableRandom(HASH_SEED);
+        this.hashSeeds = random.longs(signatureLength).toArray();
+        this.nodeFilter = nodeFilter;
+        this.signatureIndexOfWord = new long[nodeFilter.bits.length];
+        for (int word = 1; word < signatureIndexOfWord.length; word++) {
+            signatureIndexOfWord[word] = signatureIndexOfWord[word - 1] + Long.bitCount(nodeFilter.bits[word - 1]);
+        }
+        this.signatures = HugeIntArray.newArray(nodesToCompare * signatureLength, tracker);
+        this.bucketOffsets = new HugeLongArray[bands];
+        this.bucketMembers = new HugeLongArray[bands];
+    }
+
+    private long signatureOffset(long node) {
+        int word = (int) (node >>> 6);
+        long lowerBits = nodeFilter.bits[word] & ((1L << (node & 63)) - 1);
+        return (signatureIndexOfWord[word] + Long.bitCount(lowerBits)) * signatureLength;
+    }
+
+    private void computeSignatures(PackedVectors vectors, int concurrency) {
+        ParallelUtil.parallelStreamConsume(
+            new SetBitsIterable(nodeFilter).stream(),
+            concurrency,
+            stream -> stream.forEach(node -> {
+                int[] minHashes = new int[signatureLength];
+                Arrays.fill(minHashes, Integer.MAX_VALUE);
+                vectors.forEachTarget(node, target -> {
+                    for (int i = 0; i < signatureLength; i++) {
+                        minHashes[i] = Math.min(minHashes[i], (int) BitMixer.mix64(target ^ hashSeeds[i]));
+                    }
+                });
+                long offset = signatureOffset(node);
+                for (int i = 0; i < signatureLength; i++) {
+                    signatures.set(offset + i, minHashes[i]);
+                }
+            })
+        );
+    }
+
+    private void computeBuckets(int concurrency, AllocationTracker tracker) {
+        ParallelUtil.parallelStreamConsume(IntStream.range(0, bands), concurrency, stream -> stream.forEach(band -> {
+            // counting sort of the compared nodes by bucket
+            HugeLongArray offsets = HugeLongArray.newArray(bucketCount + 1, tracker);
+            new SetBitsIterable(nodeFilter).stream().forEach(node -> offsets.addTo(bucket(node, band) + 1, 1));
+            for (long bucket = 1; bucket <= bucketCount; bucket++) {
+                offsets.addTo(bucket, offsets.get(bucket - 1));
+            }
+
+            // the start offset of a bucket is used as its insert position and ends up at the start of the next bucket
+            HugeLongArray members = HugeLongArray.newArray(Math.max(1L, offsets.get(bucketCount)), tracker);
+            new SetBitsIterable(nodeFilter).stream().forEach(node -> {
+                long bucket = bucket(node, band);
+                members.set(offsets.get(bucket), node);
+                offsets.addTo(bucket, 1);
+            });
+            for (long bucket = bucketCount - 1; bucket > 0; bucket--) {
+                offsets.set(bucket, offsets.get(bucket - 1));
+            }
+            offsets.set(0, 0L);
+
+            bucketOffsets[band] = offsets;
+            bucketMembers[band] = members;
+        }));
+    }
+
+    private long bucket(long node, int band) {
+        long offset = signatureOffset(node) + (long) band * rowsPerBand;
+        long hash = band;
+        for (int row = 0; row < rowsPerBand; row++) {
+            hash = BitMixer.mix64(hash * 31 + signatures.get(offset + row));
+        }
+        return Math.floorMod(hash, bucketCount);
+    }
+
+    /**
+     * Adds all nodes with an id of at least {@code offset} that share a bucket with {@code node} in any band.
+     * Nodes can be added more than once and {@code node} itself is not added.
+     */
+    void addCandidates(long node, long offset, LongArrayList candidates) {
+        for (int band = 0; band < bands; band++) {
+            long bucket = bucket(node, band);
+            HugeLongArray offsets = bucketOffsets[band];
+            HugeLongArray members = bucketMembers[band];
+            for (long i = offsets.get(bucket), end = offsets.get(bucket + 1); i < end; i++) {
+                long candidate = members.get(i);
+                if (candidate >= offset && candidate != node) {
+                    candidates.add(candidate);
+                }
+            }
+        }
+    }
+
+    double estimatedSimilarity(long node1, long node2) {
+        long offset1 = signatureOffset(node1);
+        long offset2 = signatureOffset(node2);
+        int equal = 0;
+        for (int i = 0; i < signatureLength; i++) {
+            if (signatures.get(offset1 + i) == signatures.get(offset2 + i)) {
+                equal++;
+            }
+        }
+        return (double) equal / signatureLength;
+    }
+}
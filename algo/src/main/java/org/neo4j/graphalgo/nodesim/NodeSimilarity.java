@@ -19,23 +19,23 @@
  */
 package org.neo4j.graphalgo.nodesim;
 
-import com.carrotsearch.hppc.ArraySizingStrategy;
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.LongArrayList;
 import org.apache.commons.lang3.mutable.MutableLong;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.core.utils.BitUtil;
-import org.neo4j.graphalgo.core.utils.Intersections;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.SetBitsIterable;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.SplittableRandom;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
@@ -45,6 +45,8 @@ import java.util.stream.Stream;
 public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResult> {
 
     private static final long MAXIMUM_LOG_INTERVAL = (long) Math.pow(2, 13);
+    private static final long[] NO_SOURCES = new long[0];
+    private static final long SAMPLING_SEED = 42L;
 
     private final Graph graph;
     private final NodeSimilarityBaseConfig config;
@@ -56,7 +58,10 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
 
     private final AtomicLong progressCounter = new AtomicLong(0);
 
-    private HugeObjectArray<long[]> vectors;
+    private PackedVectors vectors;
+    // target node -> compared nodes that have a relationship to it, only used for candidate generation
+    private HugeObjectArray<long[]> sourcesByTarget;
+    private MinHashLsh minHashLsh;
     private long nodesToCompare;
 
     public NodeSimilarity(
@@ -82,10 +87,6 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         graph.release();
     }
 
-    // The buffer is sized on the first call to the sizing strategy to hold exactly node degree elements
-    private static final ArraySizingStrategy ARRAY_SIZING_STRATEGY =
-        (currentBufferLength, elementsCount, degree) -> elementsCount + degree;
-
     @Override
     public NodeSimilarityResult compute() {
         if (config.computeToStream()) {
@@ -147,27 +148,64 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
     private void prepare() {
         progressLogger.log("Start :: NodeSimilarity#prepare");
 
-        vectors = HugeObjectArray.newArray(long[].class, graph.nodeCount(), tracker);
-
-        DegreeComputer degreeComputer = new DegreeComputer();
-        VectorComputer vectorComputer = new VectorComputer();
-        vectors.setAll(node -> {
-            graph.forEachRelationship(node, degreeComputer);
-            int degree = degreeComputer.degree;
-            degreeComputer.reset();
-            vectorComputer.reset(degree);
-            if (degree >= config.degreeCutoff()) {
+        vectors = PackedVectors.create(graph, config.concurrency(), executorService, tracker);
+        for (long node = 0; node < graph.nodeCount(); node++) {
+            if (vectors.length(node) >= config.degreeCutoff()) {
                 nodesToCompare++;
                 nodeFilter.set(node);
-
-                graph.forEachRelationship(node, vectorComputer);
-                return vectorComputer.targetIds.buffer;
             }
-            return null;
-        });
+        }
+
+        if (config.candidateGeneration()) {
+            prepareCandidates();
+        } else if (config.approximate()) {
+            minHashLsh = MinHashLsh.create(
+                vectors,
+                graph.nodeCount(),
+                nodeFilter,
+                nodesToCompare,
+                config.signatureLength(),
+                config.bands(),
+                config.concurrency(),
+                tracker
+            );
+        }
         progressLogger.log("Finish :: NodeSimilarity#prepare");
     }
 
+    private void prepareCandidates() {
+        long nodeCount = graph.nodeCount();
+
+        HugeIntArray targetDegrees = HugeIntArray.newArray(nodeCount, tracker);
+        nodeStream().forEach(node -> vectors.forEachTarget(node, target -> targetDegrees.addTo(target, 1)));
+
+        int maxTargetDegree = config.maxTargetDegree() == 0 ? Integer.MAX_VALUE : config.maxTargetDegree();
+        sourcesByTarget = HugeObjectArray.newArray(long[].class, nodeCount, tracker);
+        sourcesByTarget.setAll(target -> {
+            int degree = targetDegrees.get(target);
+            return degree == 0 ? NO_SOURCES : new long[Math.min(degree, maxTargetDegree)];
+        });
+
+        // Reservoir sampling keeps a uniform sample of the sources of high degree targets.
+        // Sources are visited in id order and the seed is fixed, so the sample is deterministic.
+        // The degree array is reused to count the sources seen so far.
+        SplittableRandom random = new SplittableRandom(SAMPLING_SEED);
+        targetDegrees.fill(0);
+        nodeStream().forEach(node -> vectors.forEachTarget(node, target -> {
+            long[] sources = sourcesByTarget.get(target);
+            int seenSources = targetDegrees.get(target);
+            targetDegrees.set(target, seenSources + 1);
+            if (seenSources < sources.length) {
+                sources[seenSources] = node;
+            } else {
+                int slot = random.nextInt(seenSources + 1);
+                if (slot < sources.length) {
+                    sources[slot] = node;
+                }
+            }
+        }));
+    }
+
     private Stream<SimilarityResult> computeSimilarityResultStream() {
         return (config.hasTopK() && config.hasTopN())
             ? computeTopN(computeTopKMap())
@@ -190,10 +228,9 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         return loggableAndTerminatableNodeStream()
             .boxed()
             .flatMap(node1 -> {
-                long[] vector1 = vectors.get(node1);
-                return nodeStream(node1 + 1)
+                return comparedNodes(node1, node1 + 1)
                     .mapToObj(node2 -> {
-                        double similarity = jaccard(vector1, vectors.get(node2));
+                        double similarity = similarity(node1, node2);
                         return Double.isNaN(similarity) ? null : new SimilarityResult(node1, node2, similarity);
                     })
                     .filter(Objects::nonNull);
@@ -207,10 +244,9 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
             loggableAndTerminatableNodeStream(), config.concurrency(), stream -> stream
                 .boxed()
                 .flatMap(node1 -> {
-                    long[] vector1 = vectors.get(node1);
-                    return nodeStream(node1 + 1)
+                    return comparedNodes(node1, node1 + 1)
                         .mapToObj(node2 -> {
-                            double similarity = jaccard(vector1, vectors.get(node2));
+                            double similarity = similarity(node1, node2);
                             return Double.isNaN(similarity) ? null : new SimilarityResult(node1, node2, similarity);
                         })
                         .filter(Objects::nonNull);
@@ -222,13 +258,12 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         progressLogger.log("Start :: NodeSimilarity#computeTopKMap");
 
         Comparator<SimilarityResult> comparator = config.normalizedK() > 0 ? SimilarityResult.DESCENDING : SimilarityResult.ASCENDING;
-        TopKMap topKMap = new TopKMap(vectors.size(), nodeFilter, Math.abs(config.normalizedK()), comparator, tracker);
+        TopKMap topKMap = new TopKMap(graph.nodeCount(), nodeFilter, Math.abs(config.normalizedK()), comparator, tracker);
         loggableAndTerminatableNodeStream()
             .forEach(node1 -> {
-                long[] vector1 = vectors.get(node1);
-                nodeStream(node1 + 1)
+                comparedNodes(node1, node1 + 1)
                     .forEach(node2 -> {
-                        double similarity = jaccard(vector1, vectors.get(node2));
+                        double similarity = similarity(node1, node2);
                         if (!Double.isNaN(similarity)) {
                             topKMap.put(node1, node2, similarity);
                             topKMap.put(node2, node1, similarity);
@@ -243,23 +278,22 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         progressLogger.log("Start :: NodeSimilarity#computeTopKMapParallel");
 
         Comparator<SimilarityResult> comparator = config.normalizedK() > 0 ? SimilarityResult.DESCENDING : SimilarityResult.ASCENDING;
-        TopKMap topKMap = new TopKMap(vectors.size(), nodeFilter, Math.abs(config.normalizedK()), comparator, tracker);
+        TopKMap topKMap = new TopKMap(graph.nodeCount(), nodeFilter, Math.abs(config.normalizedK()), comparator, tracker);
         ParallelUtil.parallelStreamConsume(
             loggableAndTerminatableNodeStream(),
             config.concurrency(),
             stream -> stream
                 .forEach(node1 -> {
-                    long[] vector1 = vectors.get(node1);
                     // We deliberately compute the full matrix (except the diagonal).
                     // The parallel workload is partitioned based on the outer stream.
                     // The TopKMap stores a priority queue for each node. Writing
                     // into these queues is not considered to be thread-safe.
                     // Hence, we need to ensure that down the stream, exactly one queue
                     // within the TopKMap processes all pairs for a single node.
-                    nodeStream()
+                    comparedNodes(node1, 0)
                         .filter(node2 -> node1 != node2)
                         .forEach(node2 -> {
-                            double similarity = jaccard(vector1, vectors.get(node2));
+                            double similarity = similarity(node1, node2);
                             if (!Double.isNaN(similarity)) {
                                 topKMap.put(node1, node2, similarity);
                             }
@@ -277,10 +311,9 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         TopNList topNList = new TopNList(config.normalizedN());
         loggableAndTerminatableNodeStream()
             .forEach(node1 -> {
-                long[] vector1 = vectors.get(node1);
-                nodeStream(node1 + 1)
+                comparedNodes(node1, node1 + 1)
                     .forEach(node2 -> {
-                        double similarity = jaccard(vector1, vectors.get(node2));
+                        double similarity = similarity(node1, node2);
                         if (!Double.isNaN(similarity)) {
                             topNList.add(node1, node2, similarity);
                         }
@@ -300,9 +333,17 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         return topNList.stream();
     }
 
-    private double jaccard(long[] vector1, long[] vector2) {
-        long intersection = Intersections.intersection3(vector1, vector2);
-        double union = vector1.length + vector2.length - intersection;
+    private double similarity(long node1, long node2) {
+        if (config.approximate() && config.estimateSimilarity()) {
+            double similarity = minHashLsh.estimatedSimilarity(node1, node2);
+            return similarity >= config.similarityCutoff() ? similarity : Double.NaN;
+        }
+        return jaccard(node1, node2);
+    }
+
+    private double jaccard(long node1, long node2) {
+        long intersection = vectors.intersection(node1, node2);
+        double union = vectors.length(node1) + vectors.length(node2) - intersection;
         double similarity = union == 0 ? 0 : intersection / union;
         return similarity >= config.similarityCutoff() ? similarity : Double.NaN;
     }
@@ -331,43 +372,37 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         return new SetBitsIterable(nodeFilter, offset).stream();
     }
 
-    private static final class VectorComputer implements RelationshipConsumer {
-
-        long lastTarget = -1;
-        LongArrayList targetIds;
-
-        @Override
-        public boolean accept(long source, long target) {
-            if (source != target && lastTarget != target) {
-                targetIds.add(target);
-            }
-            lastTarget = target;
-            return true;
-        }
-
-        void reset(int degree) {
-            lastTarget = -1;
-            targetIds = new LongArrayList(degree, ARRAY_SIZING_STRATEGY);
+    /**
+     * The nodes with an id of at least {@code offset} that {@code node} is compared with.
+     * Without candidate generation these are all nodes. Otherwise they are the nodes sharing a neighbour
+     * with {@code node} or, in approximate mode, the nodes sharing a MinHash bucket with it.
+     */
+    private LongStream comparedNodes(long node, long offset) {
+        LongArrayList candidates = new LongArrayList();
+        if (config.candidateGeneration()) {
+            vectors.forEachTarget(node, target -> {
+                for (long candidate : sourcesByTarget.get(target)) {
+                    if (candidate >= offset && candidate != node) {
+                        candidates.add(candidate);
+                    }
+                }
+            });
+        } else if (config.approximate()) {
+            minHashLsh.addCandidates(node, offset, candidates);
+        } else {
+            return nodeStream(offset);
         }
-    }
-
-    private static final class DegreeComputer implements RelationshipConsumer {
 
-        long lastTarget = -1;
-        int degree = 0;
-
-        @Override
-        public boolean accept(long source, long target) {
-            if (source != target && lastTarget != target) {
-                degree++;
+        // sort and deduplicate, so candidates are visited in the same order as in the all-pairs comparison
+        long[] buffer = candidates.buffer;
+        int size = candidates.size();
+        Arrays.sort(buffer, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || buffer[distinct - 1] != buffer[i]) {
+                buffer[distinct++] = buffer[i];
             }
-            lastTarget = target;
-            return true;
-        }
-
-        void reset() {
-            lastTarget = -1;
-            degree = 0;
         }
+        return Arrays.stream(buffer, 0, distinct);
     }
 }
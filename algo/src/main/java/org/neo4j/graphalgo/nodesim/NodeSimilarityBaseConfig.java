@@ -49,6 +49,59 @@ public interface NodeSimilarityBaseConfig extends AlgoBaseConfig {
         return 1;
     }
 
+    /**
+     * Only compare nodes that share at least one neighbour instead of comparing all pairs.
+     * Candidates are found through an inverted index from each target to the nodes pointing to it.
+     */
+    @Value.Default
+    default boolean candidateGeneration() {
+        return false;
+    }
+
+    /**
+     * With {@link #candidateGeneration()}, targets with more incoming relationships than this
+     * contribute only a random sample of that many candidates. 0 means no limit.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 0)
+    default int maxTargetDegree() {
+        return 0;
+    }
+
+    /**
+     * Only compare nodes whose MinHash signatures agree on at least one band.
+     * This trades recall for speed, see {@link #signatureLength()} and {@link #bands()}.
+     */
+    @Value.Default
+    default boolean approximate() {
+        return false;
+    }
+
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int signatureLength() {
+        return 128;
+    }
+
+    /**
+     * The number of bands the signature is split into. More bands of fewer rows each find more
+     * candidate pairs with a lower similarity. Must divide {@link #signatureLength()}.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int bands() {
+        return 32;
+    }
+
+    /**
+     * In approximate mode, report the similarity estimated from the signatures
+     * instead of computing the exact Jaccard similarity of each candidate pair.
+     */
+    @Value.Default
+    default boolean estimateSimilarity() {
+        return false;
+    }
+
     @Value.Default
     @Configuration.Key(TOP_K_KEY)
     @Configuration.IntegerRange(min = 1)
@@ -138,5 +191,25 @@ public interface NodeSimilarityBaseConfig extends AlgoBaseConfig {
                 BOTTOM_N_KEY
             ));
         }
+        if (candidateGeneration() && approximate()) {
+            throw new IllegalArgumentException(
+                "Invalid parameter combination: candidateGeneration combined with approximate"
+            );
+        }
+        if (candidateGeneration() && similarityCutoff() == 0) {
+            // pairs without a shared neighbour are never compared, so they cannot be reported with a similarity of 0
+            throw new IllegalArgumentException(String.format(
+                "Invalid parameter combination: " +
+                "candidateGeneration requires a similarityCutoff greater than 0, but got %s.",
+                similarityCutoff()
+            ));
+        }
+        if (signatureLength() % bands() != 0) {
+            throw new IllegalArgumentException(String.format(
+                "The signatureLength (%d) must be a multiple of the number of bands (%d).",
+                signatureLength(),
+                bands()
+            ));
+        }
     }
 }
@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.logging.Log;
 
@@ -45,17 +46,26 @@ public class NodeSimilarityFactory<CONFIG extends NodeSimilarityBaseConfig> exte
 
         MemoryEstimations.Builder builder = MemoryEstimations.builder(NodeSimilarity.class)
             .perNode("node filter", nodeCount -> sizeOfLongArray(BitSet.bits2words(nodeCount)))
-            .add(
-                "vectors",
-                MemoryEstimations.setup("", (dimensions, concurrency) -> {
-                    int averageDegree = dimensions.nodeCount() == 0
-                        ? 0
-                        : Math.toIntExact(dimensions.maxRelCount() / dimensions.nodeCount());
-                    long averageVectorSize = sizeOfLongArray(averageDegree);
-                    return MemoryEstimations.builder(HugeObjectArray.class)
-                        .perNode("array", nodeCount -> nodeCount * averageVectorSize).build();
-                })
-            );
+            .add("vectors", PackedVectors.memoryEstimation());
+        if (config.candidateGeneration()) {
+            builder
+                .perNode("target degrees", HugeIntArray::memoryEstimation)
+                .add(
+                    "sources by target",
+                    MemoryEstimations.setup("", (dimensions, concurrency) -> {
+                        // every vector entry is also an entry in the inverted index
+                        int averageDegree = dimensions.nodeCount() == 0
+                            ? 0
+                            : Math.toIntExact(dimensions.maxRelCount() / dimensions.nodeCount());
+                        long averageSourcesSize = sizeOfLongArray(averageDegree);
+                        return MemoryEstimations.builder(HugeObjectArray.class)
+                            .perNode("array", nodeCount -> nodeCount * averageSourcesSize).build();
+                    })
+                );
+        }
+        if (config.approximate()) {
+            builder.add("minhash lsh", MinHashLsh.memoryEstimation(config.signatureLength(), config.bands()));
+        }
         if (config.computeToGraph() && !config.hasTopK()) {
             builder.add(
                 "similarity graph",
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongConsumer;
+
+/**
+ * The sorted, deduplicated neighbour ids of all nodes, packed into a single {@link HugeLongArray}.
+ *
+ * Each node owns the range {@code [offset, offset + degree)} of the targets array, where the degree is the
+ * number of relationships in the graph. Self loops and parallel relationships are skipped, so the
+ * {@link #length(long) length} of a vector can be smaller than its range.
+ */
+final class PackedVectors {
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(PackedVectors.class)
+            .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .perNode("lengths", HugeIntArray::memoryEstimation)
+            .perGraphDimension(
+                "targets",
+                (dimensions, concurrency) -> MemoryRange.of(HugeLongArray.memoryEstimation(dimensions.maxRelCount()))
+            )
+            .build();
+    }
+
+    private final HugeLongArray offsets;
+    private final HugeIntArray lengths;
+    private final HugeLongArray targets;
+
+    static PackedVectors create(Graph graph, int concurrency, ExecutorService executor, AllocationTracker tracker) {
+        long nodeCount = graph.nodeCount();
+
+        HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long offset = 0L;
+        for (long node = 0; node < nodeCount; node++) {
+            offsets.set(node, offset);
+            offset += graph.degree(node);
+        }
+        offsets.set(nodeCount, offset);
+
+        HugeIntArray lengths = HugeIntArray.newArray(nodeCount, tracker);
+        HugeLongArray targets = HugeLongArray.newArray(offset, tracker);
+
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            RelationshipIterator relationships = graph.concurrentCopy();
+            VectorWriter writer = new VectorWriter(targets);
+            for (long node = start; node < end; node++) {
+                writer.reset(offsets.get(node));
+                relationships.forEachRelationship(node, writer);
+                lengths.set(node, writer.length);
+            }
+        });
+
+        return new PackedVectors(offsets, lengths, targets);
+    }
+
+    private PackedVectors(HugeLongArray offsets, HugeIntArray lengths, HugeLongArray targets) {
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.targets = targets;
+    }
+
+    int length(long node) {
+        return lengths.get(node);
+    }
+
+    void forEachTarget(long node, LongConsumer consumer) {
+        long offset = offsets.get(node);
+        long end = offset + lengths.get(node);
+        for (; offset < end; offset++) {
+            consumer.accept(targets.get(offset));
+        }
+    }
+
+    /**
+     * Merges the two sorted vectors and counts their common targets.
+     */
+    long intersection(long node1, long node2) {
+        long offset1 = offsets.get(node1);
+        long end1 = offset1 + lengths.get(node1);
+        long offset2 = offsets.get(node2);
+        long end2 = offset2 + lengths.get(node2);
+        if (offset1 == end1 || offset2 == end2) {
+            return 0L;
+        }
+
+        long intersection = 0L;
+        long target1 = targets.get(offset1);
+        long target2 = targets.get(offset2);
+        while (true) {
+            if (target1 < target2) {
+                if (++offset1 == end1) break;
+                target1 = targets.get(offset1);
+            } else if (target1 > target2) {
+                if (++offset2 == end2) break;
+                target2 = targets.get(offset2);
+            } else {
+                intersection++;
+                if (++offset1 == end1 || ++offset2 == end2) break;
+                target1 = targets.get(offset1);
+                target2 = targets.get(offset2);
+            }
+        }
+        return intersection;
+    }
+
+    private static final class VectorWriter implements RelationshipConsumer {
+
+        private final HugeLongArray targets;
+        private long offset;
+        private long lastTarget;
+        int length;
+
+        VectorWriter(HugeLongArray targets) {
+            this.targets = targets;
+        }
+
+        @Override
+        public boolean accept(long source, long target) {
+            if (source != target && lastTarget != target) {
+                targets.set(offset + length, target);
+                length++;
+            }
+            lastTarget = target;
+            return true;
+        }
+
+        void reset(long offset) {
+            this.offset = offset;
+            this.lastTarget = -1;
+            this.length = 0;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.loading.GraphIndex;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.neo4j.graphalgo.AbstractProjections.PROJECT_ALL;
+
+/**
+ * Weakly connected components of an in-memory graph that are kept up to date while relationships are added.
+ *
+ * The components are computed once with {@link Wcc}. The resulting disjoint set struct is kept alive as an index
+ * of the graph and every added relationship is a single union, so maintaining the components costs time proportional
+ * to the number of added relationships. The struct changes with every union, so it is never handed out as a node
+ * property: {@link #components(int, ExecutorService, AllocationTracker)} copies the current components into node
+ * properties that do not change afterwards and can be stored in a version of the graph store.
+ *
+ * The index remembers the relationship version of the graph store that its components reflect. Relationships that
+ * are changed in any other way than through the index make it outdated, and a union cannot be undone, so
+ * relationships of the maintained types cannot be deleted while the index exists.
+ */
+public final class IncrementalWcc implements GraphIndex {
+
+    private final DisjointSetStruct dss;
+    private final List<String> relationshipTypes;
+    private volatile long relationshipVersion;
+
+    public static MemoryEstimation memoryEstimation(boolean incremental) {
+        return MemoryEstimations
+            .builder(IncrementalWcc.class)
+            .add("wcc", Wcc.memoryEstimation(incremental))
+            .perNode("components", HugeLongArray::memoryEstimation)
+            .build();
+    }
+
+    /**
+     * @param relationshipVersion the {@link org.neo4j.graphalgo.core.loading.GraphStore#relationshipVersion()}
+     *                            read before the graph was taken from the graph store
+     */
+    public static IncrementalWcc compute(
+        Graph graph,
+        long relationshipVersion,
+        WccBaseConfig config,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        validate(config);
+        DisjointSetStruct dss = new Wcc(graph, executor, ParallelUtil.DEFAULT_BATCH_SIZE, config, tracker)
+            .computeUnrestricted();
+        return of(dss, config.relationshipTypes(), relationshipVersion);
+    }
+
+    /**
+     * Maintains components that have been computed by {@link Wcc#computeUnrestricted()} on the given relationship types.
+     *
+     * @param relationshipVersion the {@link org.neo4j.graphalgo.core.loading.GraphStore#relationshipVersion()}
+     *                            read before the graph was taken from the graph store
+     */
+    public static IncrementalWcc of(DisjointSetStruct dss, List<String> relationshipTypes, long relationshipVersion) {
+        return new IncrementalWcc(dss, relationshipTypes, relationshipVersion);
+    }
+
+    public static void validate(WccBaseConfig config) {
+        if (config.relationshipWeightProperty() != null) {
+            throw new IllegalArgumentException("Maintained components do not support a `relationshipWeightProperty`.");
+        }
+        if (config.consecutiveIds()) {
+            throw new IllegalArgumentException("Maintained components do not support the `consecutiveIds` option.");
+        }
+        if (!config.nodeLabels().contains(PROJECT_ALL.name)) {
+            throw new IllegalArgumentException("Maintained components do not support filtering by `nodeLabels`.");
+        }
+    }
+
+    private IncrementalWcc(DisjointSetStruct dss, List<String> relationshipTypes, long relationshipVersion) {
+        this.dss = dss;
+        this.relationshipTypes = relationshipTypes;
+        this.relationshipVersion = relationshipVersion;
+    }
+
+    /**
+     * @return {@code true} if relationships of the given type are part of the maintained components
+     */
+    public boolean maintains(String relationshipType) {
+        return relationshipTypes.contains(PROJECT_ALL.name) || relationshipTypes.contains(relationshipType);
+    }
+
+    @Override
+    public boolean allowsRelationshipDeletes(String relationshipType) {
+        return !maintains(relationshipType);
+    }
+
+    /**
+     * The relationship version of the graph store that the components reflect.
+     */
+    public long relationshipVersion() {
+        return relationshipVersion;
+    }
+
+    /**
+     * Fails if the relationships of the graph store have been changed since the components were last updated.
+     */
+    public void validate(long relationshipVersion) {
+        if (relationshipVersion != this.relationshipVersion) {
+            throw new IllegalArgumentException(
+                "The relationships of the graph have changed since the components were computed. " +
+                "The components have to be recomputed."
+            );
+        }
+    }
+
+    /**
+     * Marks the components as up to date with the given relationship version, once all relationships that have
+     * been inserted up to that version are merged.
+     */
+    public void relationshipVersion(long relationshipVersion) {
+        this.relationshipVersion = relationshipVersion;
+    }
+
+    /**
+     * Merges the components of both nodes.
+     *
+     * @return {@code true} if the nodes were in different components before
+     */
+    public boolean addRelationship(long sourceNodeId, long targetNodeId) {
+        if (dss.setIdOf(sourceNodeId) == dss.setIdOf(targetNodeId)) {
+            return false;
+        }
+        dss.union(sourceNodeId, targetNodeId);
+        return true;
+    }
+
+    public long componentOf(long nodeId) {
+        return dss.setIdOf(nodeId);
+    }
+
+    /**
+     * Copies the current component of every node, later merges are not visible in the copy.
+     */
+    public NodeProperties components(int concurrency, ExecutorService executor, AllocationTracker tracker) {
+        long nodeCount = dss.size();
+        HugeLongArray components = HugeLongArray.newArray(nodeCount, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                components.set(nodeId, dss.setIdOf(nodeId));
+            }
+        });
+        return new ComponentProperties(components);
+    }
+
+    @Override
+    public long release() {
+        return dss.release();
+    }
+
+    private static final class ComponentProperties implements NodeProperties {
+
+        private final HugeLongArray components;
+
+        private ComponentProperties(HugeLongArray components) {
+            this.components = components;
+        }
+
+        @Override
+        public double nodeProperty(long nodeId) {
+            return components.get(nodeId);
+        }
+
+        @Override
+        public double nodeProperty(long nodeId, double defaultValue) {
+            return nodeId < components.size() ? components.get(nodeId) : defaultValue;
+        }
+
+        @Override
+        public long longNodeProperty(long nodeId, long defaultValue) {
+            return nodeId < components.size() ? components.get(nodeId) : defaultValue;
+        }
+
+        @Override
+        public long release() {
+            return components.release();
+        }
+
+        @Override
+        public long size() {
+            return components.size();
+        }
+    }
+}
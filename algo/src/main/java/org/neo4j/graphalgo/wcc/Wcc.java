@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.wcc;
 
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.cursors.LongIntCursor;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
@@ -34,6 +36,7 @@ import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.SplittableRandom;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -45,6 +48,11 @@ import java.util.concurrent.ExecutorService;
  */
 public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
+    // number of neighbours per node that are linked before the largest component is identified
+    private static final int NEIGHBOR_ROUNDS = 2;
+    private static final int SAMPLING_SIZE = 1024;
+    private static final long SAMPLING_SEED = 42L;
+
     private final WccBaseConfig config;
     private final NodeProperties initialComponents;
     private final ExecutorService executor;
@@ -107,21 +115,87 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
     public DisjointSetStruct compute(double threshold) {
         long nodeCount = graph.nodeCount();
 
-        DisjointSetStruct dss = config.isIncremental()
+        HugeAtomicDisjointSetStruct dss = config.isIncremental()
             ? new HugeAtomicDisjointSetStruct(nodeCount, initialComponents, tracker, config.concurrency())
             : new HugeAtomicDisjointSetStruct(nodeCount, tracker, config.concurrency());
 
-        final Collection<Runnable> tasks = new ArrayList<>(threadSize);
-        for (long i = 0L; i < this.nodeCount; i += batchSize) {
-            WCCTask wccTask = Double.isNaN(threshold)
-                ? new WCCTask(dss, i)
-                : new WCCWithThresholdTask(threshold, dss, i);
-            tasks.add(wccTask);
+        if (config.sampling()) {
+            computeWithSampling(dss);
+        } else {
+            final Collection<Runnable> tasks = new ArrayList<>(threadSize);
+            for (long i = 0L; i < this.nodeCount; i += batchSize) {
+                WCCTask wccTask = Double.isNaN(threshold)
+                    ? new WCCTask(dss, i)
+                    : new WCCWithThresholdTask(threshold, dss, i);
+                tasks.add(wccTask);
+            }
+            ParallelUtil.run(tasks, executor);
         }
-        ParallelUtil.run(tasks, executor);
         return dss;
     }
 
+    /**
+     * Afforest: links the first {@link #NEIGHBOR_ROUNDS} neighbours of every node, which already connects most
+     * of a giant component, and compresses the paths to the roots. The largest intermediate component is then
+     * identified from a sample of nodes and the remaining relationships are only processed for nodes outside of it.
+     * On directed graphs, a relationship from the largest component to a node outside of it is only visible
+     * from its source, so the remaining relationships of all nodes are processed.
+     *
+     * @see <a href="https://arxiv.org/abs/1908.07519">Afforest: A Fast Parallel Connected Components Algorithm</a>
+     */
+    private void computeWithSampling(HugeAtomicDisjointSetStruct dss) {
+        int concurrency = config.concurrency();
+        for (int round = 0; round < NEIGHBOR_ROUNDS; round++) {
+            int neighborIndex = round;
+            ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+                RelationshipIterator rels = graph.concurrentCopy();
+                NeighborLinker linker = new NeighborLinker(dss);
+                for (long node = start; node < end; node++) {
+                    linker.linkNeighbor(rels, node, neighborIndex);
+                }
+                assertRunning();
+            });
+            ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+                for (long node = start; node < end; node++) {
+                    dss.find(node);
+                }
+            });
+        }
+
+        long largestComponent = graph.isUndirected() && nodeCount > 0 ? sampleLargestComponent(dss) : -1L;
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            RelationshipIterator rels = graph.concurrentCopy();
+            NeighborLinker linker = new NeighborLinker(dss);
+            for (long node = start; node < end; node++) {
+                if (dss.find(node) != largestComponent) {
+                    linker.linkRemainingNeighbors(rels, node, NEIGHBOR_ROUNDS);
+                }
+                if (node % RUN_CHECK_NODE_COUNT == 0) {
+                    assertRunning();
+                }
+            }
+            getProgressLogger().logProgress((end - 1.0) / (nodeCount - 1.0));
+        });
+    }
+
+    private long sampleLargestComponent(HugeAtomicDisjointSetStruct dss) {
+        SplittableRandom random = new SplittableRandom(SAMPLING_SEED);
+        LongIntHashMap componentSizes = new LongIntHashMap();
+        for (int i = 0; i < SAMPLING_SIZE; i++) {
+            componentSizes.addTo(dss.find(random.nextLong(nodeCount)), 1);
+        }
+
+        long largestComponent = -1L;
+        int largestSize = 0;
+        for (LongIntCursor cursor : componentSizes) {
+            if (cursor.value > largestSize) {
+                largestComponent = cursor.key;
+                largestSize = cursor.value;
+            }
+        }
+        return largestComponent;
+    }
+
     public double threshold() {
         return config.threshold();
     }
@@ -177,6 +251,41 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         }
     }
 
+    private static final class NeighborLinker implements RelationshipConsumer {
+
+        private final DisjointSetStruct struct;
+        private int fromIndex;
+        private int toIndex;
+        private int index;
+
+        NeighborLinker(DisjointSetStruct struct) {
+            this.struct = struct;
+        }
+
+        void linkNeighbor(RelationshipIterator rels, long node, int neighborIndex) {
+            link(rels, node, neighborIndex, neighborIndex + 1);
+        }
+
+        void linkRemainingNeighbors(RelationshipIterator rels, long node, int fromIndex) {
+            link(rels, node, fromIndex, Integer.MAX_VALUE);
+        }
+
+        private void link(RelationshipIterator rels, long node, int fromIndex, int toIndex) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.index = 0;
+            rels.forEachRelationship(node, this);
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId) {
+            if (index >= fromIndex) {
+                struct.union(sourceNodeId, targetNodeId);
+            }
+            return ++index < toIndex;
+        }
+    }
+
     private class WCCWithThresholdTask extends WCCTask implements RelationshipWithPropertyConsumer {
 
         private final double threshold;
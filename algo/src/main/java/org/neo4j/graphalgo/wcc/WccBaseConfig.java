@@ -37,6 +37,15 @@ public interface WccBaseConfig extends AlgoBaseConfig, SeedConfig, RelationshipW
         return 0D;
     }
 
+    /**
+     * Links a few sampled neighbours of every node first and skips the remaining relationships
+     * of nodes that already belong to the largest intermediate component.
+     */
+    @Value.Default
+    default boolean sampling() {
+        return false;
+    }
+
     @Configuration.Ignore
     default boolean isIncremental() {
         return seedProperty() != null;
@@ -48,6 +57,10 @@ public interface WccBaseConfig extends AlgoBaseConfig, SeedConfig, RelationshipW
             throw new IllegalArgumentException("Specifying a threshold requires `relationshipWeightProperty` to be set.");
         }
 
+        if (sampling() && relationshipWeightProperty() != null) {
+            throw new IllegalArgumentException("The `sampling` option cannot be used together with a `relationshipWeightProperty`.");
+        }
+
         if (isIncremental() && consecutiveIds()) {
            throw new IllegalArgumentException("Seeding and the `consecutiveIds` option cannot be used at the same time.");
         }
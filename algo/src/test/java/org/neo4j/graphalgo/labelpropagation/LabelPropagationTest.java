@@ -254,8 +254,8 @@ final class LabelPropagationTest extends AlgoTestBase {
             .memoryEstimation(ImmutableLabelPropagationStreamConfig.builder().build())
             .estimate(dimensions, concurrency)
             .memoryUsage();
-        long min = 80L /* LabelPropagation.class */ +
-                         16L * concurrency /* StepRunner.class */ +
+        long min = 88L /* LabelPropagation.class */ +
+                         24L * concurrency /* StepRunner.class */ +
                          48L * concurrency /* InitStep.class */ +
                          56L * concurrency /* ComputeStep.class */ +
                          24L * concurrency /* ComputeStepConsumer.class */ +
@@ -264,8 +264,8 @@ final class LabelPropagationTest extends AlgoTestBase {
                          56L * concurrency /* LongDoubleScatterMap.class */ +
                          (9 * 8 + 16) * concurrency /* long[] keys */ +
                          (9 * 8 + 16) * concurrency; /* double[] values */
-        long max = 80L /* LabelPropagation.class */ +
-                         16L * concurrency /* StepRunner.class */ +
+        long max = 88L /* LabelPropagation.class */ +
+                         24L * concurrency /* StepRunner.class */ +
                          48L * concurrency /* InitStep.class */ +
                          56L * concurrency /* ComputeStep.class */ +
                          24L * concurrency /* ComputeStepConsumer.class */ +
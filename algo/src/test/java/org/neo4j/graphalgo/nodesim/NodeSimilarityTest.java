@@ -38,6 +38,7 @@ import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.TestSupport;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
@@ -219,6 +220,14 @@ final class NodeSimilarityTest extends AlgoTestBase {
         return crossArguments(() -> directions, toArguments(NodeSimilarityTest::concurrencies));
     }
 
+    static Stream<Arguments> topKTopNAndConcurrencies() {
+        return TestSupport.crossArguments(
+            toArguments(() -> Stream.of(TOP_K_DEFAULT, 1)),
+            toArguments(() -> Stream.of(0, 10)),
+            toArguments(NodeSimilarityTest::concurrencies)
+        );
+    }
+
     static Stream<Arguments> topKAndConcurrencies() {
         Stream<Integer> topKStream = Stream.of(TOP_K_DEFAULT, 100);
         return TestSupport.crossArguments(
@@ -465,6 +474,130 @@ final class NodeSimilarityTest extends AlgoTestBase {
         assertNotEquals(Collections.emptySet(), result);
     }
 
+    @ParameterizedTest(name = "topK = {0}, topN = {1}, concurrency = {2}")
+    @MethodSource("topKTopNAndConcurrencies")
+    void shouldComputeSameResultsWithCandidateGeneration(int topK, int topN, int concurrency) {
+        Graph graph = RandomGraphGenerator.generate(200, 5, RelationshipDistribution.POWER_LAW, 42L);
+
+        // candidate generation never finds pairs with a similarity of 0, so those are cut off from both results
+        double similarityCutoff = 1E-42;
+        Set<String> allPairs = computeToStreamStrings(
+            graph,
+            configBuilder().topK(topK).topN(topN).similarityCutoff(similarityCutoff).concurrency(concurrency).build()
+        );
+        Set<String> candidates = computeToStreamStrings(
+            graph,
+            configBuilder()
+                .topK(topK)
+                .topN(topN)
+                .similarityCutoff(similarityCutoff)
+                .concurrency(concurrency)
+                .candidateGeneration(true)
+                .build()
+        );
+
+        assertFalse(allPairs.isEmpty());
+        assertEquals(allPairs, candidates);
+    }
+
+    @ParameterizedTest(name = "concurrency = {0}")
+    @MethodSource("concurrencies")
+    void shouldSampleSourcesOfHighDegreeTargets(int concurrency) {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .loadAnyRelationshipType()
+            .build()
+            .graph(NativeFactory.class);
+
+        Set<String> allPairs = computeToStreamStrings(
+            graph,
+            configBuilder().concurrency(concurrency).build()
+        );
+        Set<String> sampled = computeToStreamStrings(
+            graph,
+            configBuilder()
+                .concurrency(concurrency)
+                .similarityCutoff(1E-42)
+                .candidateGeneration(true)
+                .maxTargetDegree(1)
+                .build()
+        );
+
+        // every item keeps one of its persons, so each person is only compared to those
+        assertTrue(allPairs.containsAll(sampled));
+        assertTrue(sampled.size() < allPairs.size());
+    }
+
+    @ParameterizedTest(name = "concurrency = {0}")
+    @MethodSource("concurrencies")
+    void shouldOnlyReportExactSimilaritiesInApproximateMode(int concurrency) {
+        Graph graph = RandomGraphGenerator.generate(200, 5, RelationshipDistribution.POWER_LAW, 42L);
+
+        Set<String> allPairs = computeToStreamStrings(
+            graph,
+            configBuilder().topK(1000).concurrency(concurrency).build()
+        );
+        Set<String> approximate = computeToStreamStrings(
+            graph,
+            configBuilder().topK(1000).concurrency(concurrency).approximate(true).signatureLength(32).bands(16).build()
+        );
+
+        assertFalse(approximate.isEmpty());
+        assertTrue(allPairs.containsAll(approximate));
+    }
+
+    @ParameterizedTest(name = "concurrency = {0}")
+    @MethodSource("concurrencies")
+    void shouldFindIdenticalNeighbourhoodsInApproximateMode(int concurrency) {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .loadAnyRelationshipType()
+            .build()
+            .graph(NativeFactory.class);
+
+        Set<String> approximate = computeToStreamStrings(
+            graph,
+            configBuilder()
+                .concurrency(concurrency)
+                .approximate(true)
+                .signatureLength(16)
+                .bands(4)
+                .estimateSimilarity(true)
+                .build()
+        );
+
+        // Alice and Dave like the same items, so their signatures are equal in every band
+        assertTrue(approximate.contains(resultString(0, 3, 1.0)));
+        assertTrue(approximate.contains(resultString(3, 0, 1.0)));
+    }
+
+    @Test
+    void shouldRejectCandidateGenerationWithoutPositiveSimilarityCutoff() {
+        IllegalArgumentException exception = Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> configBuilder().similarityCutoff(0.0).candidateGeneration(true).build()
+        );
+        assertThat(exception.getMessage(), containsString("candidateGeneration requires a similarityCutoff greater than 0"));
+    }
+
+    @Test
+    void shouldRejectSignatureLengthThatIsNoMultipleOfBands() {
+        IllegalArgumentException exception = Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> configBuilder().approximate(true).signatureLength(10).bands(4).build()
+        );
+        assertThat(exception.getMessage(), containsString("must be a multiple of the number of bands"));
+    }
+
+    private static Set<String> computeToStreamStrings(Graph graph, NodeSimilarityBaseConfig config) {
+        return new NodeSimilarity(graph, config, Pools.DEFAULT, AllocationTracker.EMPTY)
+            .computeToStream()
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toSet());
+    }
+
     @ParameterizedTest(name = "orientation: {0}, concurrency: {1}")
     @MethodSource("supportedLoadAndComputeDirections")
     void shouldComputeSimilarityGraphInAllSupportedDirections(Orientation orientation, int concurrency) {
@@ -747,14 +880,14 @@ final class NodeSimilarityTest extends AlgoTestBase {
 
         MemoryTree actual = new NodeSimilarityFactory<>().memoryEstimation(config).estimate(dimensions, 1);
 
-        long thisInstance = 56;
+        long thisInstance = 64;
 
         long nodeFilterRangeMin = 125_016L;
         long nodeFilterRangeMax = 125_016L;
         MemoryRange nodeFilterRange = MemoryRange.of(nodeFilterRangeMin, nodeFilterRangeMax);
 
-        long vectorsRangeMin = 56_000_016L;
-        long vectorsRangeMax = 56_000_016L;
+        long vectorsRangeMin = 52_000_152L;
+        long vectorsRangeMax = 52_000_152L;
         MemoryRange vectorsRange = MemoryRange.of(vectorsRangeMin, vectorsRangeMax);
 
         MemoryEstimations.Builder builder = MemoryEstimations.builder()
@@ -797,14 +930,14 @@ final class NodeSimilarityTest extends AlgoTestBase {
 
         MemoryTree actual = new NodeSimilarityFactory<>().memoryEstimation(config).estimate(dimensions, 1);
 
-        long thisInstance = 56;
+        long thisInstance = 64;
 
         long nodeFilterRangeMin = 125_016L;
         long nodeFilterRangeMax = 125_016L;
         MemoryRange nodeFilterRange = MemoryRange.of(nodeFilterRangeMin, nodeFilterRangeMax);
 
-        long vectorsRangeMin = 56_000_016L;
-        long vectorsRangeMax = 56_000_016L;
+        long vectorsRangeMin = 52_000_152L;
+        long vectorsRangeMax = 52_000_152L;
         MemoryRange vectorsRange = MemoryRange.of(vectorsRangeMin, vectorsRangeMax);
 
         long topNListMin = 2_504L;
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PackedVectorsTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldPackDistinctSortedTargets(int concurrency) {
+        Graph graph = RandomGraphGenerator.generate(100, 10, RelationshipDistribution.POWER_LAW, 42L);
+
+        PackedVectors vectors = PackedVectors.create(graph, concurrency, Pools.DEFAULT, AllocationTracker.EMPTY);
+
+        for (long node = 0; node < graph.nodeCount(); node++) {
+            LongArrayList packed = new LongArrayList();
+            vectors.forEachTarget(node, packed::add);
+
+            assertEquals(packed.size(), vectors.length(node));
+            assertArrayEquals(expectedTargets(graph, node), packed.toArray());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldIntersectVectors(int concurrency) {
+        Graph graph = RandomGraphGenerator.generate(100, 10, RelationshipDistribution.POWER_LAW, 42L);
+
+        PackedVectors vectors = PackedVectors.create(graph, concurrency, Pools.DEFAULT, AllocationTracker.EMPTY);
+
+        for (long node1 = 0; node1 < graph.nodeCount(); node1++) {
+            LongHashSet targets1 = LongHashSet.from(expectedTargets(graph, node1));
+            for (long node2 = 0; node2 < graph.nodeCount(); node2++) {
+                long expected = 0L;
+                for (long target : expectedTargets(graph, node2)) {
+                    if (targets1.contains(target)) {
+                        expected++;
+                    }
+                }
+                assertEquals(expected, vectors.intersection(node1, node2));
+            }
+        }
+    }
+
+    private static long[] expectedTargets(Graph graph, long node) {
+        LongArrayList targets = new LongArrayList();
+        graph.forEachRelationship(node, (source, target) -> {
+            if (source != target && (targets.isEmpty() || targets.get(targets.size() - 1) != target)) {
+                targets.add(target);
+            }
+            return true;
+        });
+        return targets.toArray();
+    }
+}
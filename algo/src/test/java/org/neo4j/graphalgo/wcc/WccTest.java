@@ -30,6 +30,10 @@ import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.TestDatabaseCreator;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig.AllowSelfLoops;
+import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
@@ -43,6 +47,9 @@ import org.neo4j.graphdb.RelationshipType;
 import org.neo4j.graphdb.Transaction;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.createNode;
@@ -95,8 +102,54 @@ class WccTest extends AlgoTestBase {
             .build()
             .graph(NativeFactory.class);
 
-        DisjointSetStruct result = run(graph);
+        assertComponents(graph, run(graph));
+    }
+
+    @ParameterizedTest(name = "orientation = {1}")
+    @EnumSource(Orientation.class)
+    void shouldComputeComponentsWithSampling(Orientation orientation) {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .addRelationshipType(RELATIONSHIP_TYPE.name())
+            .globalOrientation(orientation)
+            .build()
+            .graph(NativeFactory.class);
+
+        assertComponents(graph, run(graph, ImmutableWccStreamConfig.builder().sampling(true).build()));
+    }
+
+    @ParameterizedTest(name = "orientation = {0}")
+    @EnumSource(Orientation.class)
+    void shouldComputeSameComponentsWithSamplingOnRandomGraph(Orientation orientation) {
+        Graph graph = new RandomGraphGenerator(
+            10_000,
+            2,
+            RelationshipDistribution.UNIFORM,
+            42L,
+            Optional.empty(),
+            Aggregation.NONE,
+            orientation,
+            AllowSelfLoops.NO,
+            AllocationTracker.EMPTY
+        ).generate();
+
+        WccStreamConfig config = ImmutableWccStreamConfig.builder().concurrency(4).build();
+        WccStreamConfig samplingConfig = ImmutableWccStreamConfig.builder().concurrency(4).sampling(true).build();
+        DisjointSetStruct expected = new Wcc(graph, Pools.DEFAULT, 100, config, AllocationTracker.EMPTY).compute();
+        DisjointSetStruct actual = new Wcc(graph, Pools.DEFAULT, 100, samplingConfig, AllocationTracker.EMPTY).compute();
+
+        Map<Long, Long> expectedToActual = new HashMap<>();
+        Map<Long, Long> actualToExpected = new HashMap<>();
+        for (long node = 0; node < graph.nodeCount(); node++) {
+            long expectedSetId = expected.setIdOf(node);
+            long actualSetId = actual.setIdOf(node);
+            assertEquals(actualSetId, (long) expectedToActual.computeIfAbsent(expectedSetId, id -> actualSetId));
+            assertEquals(expectedSetId, (long) actualToExpected.computeIfAbsent(actualSetId, id -> expectedSetId));
+        }
+    }
 
+    private void assertComponents(Graph graph, DisjointSetStruct result) {
         assertEquals(SETS_COUNT, getSetCount(result));
         long[] setRegions = new long[SETS_COUNT];
         Arrays.fill(setRegions, -1);
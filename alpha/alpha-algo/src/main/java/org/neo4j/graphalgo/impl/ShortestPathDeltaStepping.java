@@ -19,22 +19,33 @@
  */
 package org.neo4j.graphalgo.impl;
 
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.LongObjectMap;
+import com.carrotsearch.hppc.cursors.LongCursor;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
-import org.neo4j.graphalgo.core.utils.container.Buckets;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.PageFiller;
 
-import java.util.ArrayDeque;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicIntegerArray;
-import java.util.stream.IntStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
-import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
-
 /**
  * parallel non-negative single source shortest path algorithm
  * <p>
@@ -43,6 +54,17 @@ import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
  * nodes in the graph. It can be tweaked using the delta-parameter which controls
  * the grade of concurrency.<br>
  * <p>
+ * Nodes are kept in buckets of width {@code delta} by their tentative distance. The nodes of the
+ * smallest non-empty bucket form the frontier, which the threads relax in parallel. Every thread
+ * collects the nodes it improves in its own buckets, so no synchronization besides the CAS on the
+ * distance is needed. Once a thread is done with the frontier, it keeps relaxing the nodes it added
+ * to the current bucket itself as long as there are only few of them (bucket fusion). This saves a
+ * round of synchronization for the long, thin frontiers that are typical for road networks.
+ * <p>
+ * If no delta is given, it is derived from the relationship weights: twice the mean weight divided by
+ * the average degree, which is the classic {@code 1 / degree} for weights that are uniformly
+ * distributed in {@code [0, 1]}.
+ * <p>
  * More information in:<br>
  * <p>
  * <a href="https://arxiv.org/pdf/1604.02113v1.pdf">https://arxiv.org/pdf/1604.02113v1.pdf</a><br>
@@ -52,170 +74,199 @@ import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
  */
 public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaStepping, ShortestPathDeltaStepping> {
 
-    // distance array
-    private AtomicIntegerArray distance;
-    // bucket impl
-    private Buckets buckets;
-    private Graph graph;
-    // collections of runnables containing either heavy edge relax-operations or light edge relax-ops.
-    private Collection<Runnable> light, heavy;
-    // list of futures of light and heavy edge relax-operations
-    private Collection<Future<?>> futures;
+    // a thread keeps relaxing the nodes it added to the current bucket as long as there are fewer than this
+    static final int BUCKET_FUSION_THRESHOLD = 1000;
+    // the frontier is handed out to the threads in batches of this size
+    private static final int BATCH_SIZE = 64;
+    private static final long NO_BUCKET = -1L;
 
+    private final Graph graph;
     private final long startNode;
-    // delta parameter
-    private final double delta;
-    private final int nodeCount;
-    // scaled delta
-    private int iDelta;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+    private final long nodeCount;
+    private double delta;
 
-    private ExecutorService executorService;
-
-    // multiplier used to scale an double to int
-    private double multiplier = 100_000D; // double type is intended
+    private HugeAtomicDoubleArray distances;
+    private HugeLongArray frontier;
+    private long frontierSize;
+    private final AtomicLong frontierOffset;
+    private List<DeltaSteppingTask> tasks;
 
     public ShortestPathDeltaStepping(Graph graph, long startNode, double delta) {
+        this(graph, startNode, delta, 1, Pools.DEFAULT, AllocationTracker.EMPTY);
+    }
+
+    /**
+     * @param startNode the original id of the start node
+     * @param delta     the width of the buckets, {@code 0} derives it from the relationship weights
+     */
+    public ShortestPathDeltaStepping(
+        Graph graph,
+        long startNode,
+        double delta,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        if (!(delta >= 0)) {
+            throw new IllegalArgumentException(String.format("Delta must not be negative, but was %s", delta));
+        }
         this.graph = graph;
         this.startNode = startNode;
         this.delta = delta;
-        this.iDelta = (int) (multiplier * delta);
-        nodeCount = Math.toIntExact(graph.nodeCount());
-        distance = new AtomicIntegerArray(nodeCount);
-        buckets = new Buckets(nodeCount);
-        heavy = new ArrayDeque<>(1024);
-        light = new ArrayDeque<>(1024);
-        futures = new ArrayDeque<>(128);
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+        this.nodeCount = graph.nodeCount();
+        this.frontierOffset = new AtomicLong();
     }
 
-    /**
-     * Set Executor-service to enable concurrent evaluation.
-     *
-     * @param executorService the executor service or null do disable concurrent eval.
-     * @return itself for method chaining
-     */
-    public ShortestPathDeltaStepping withExecutorService(ExecutorService executorService) {
-        this.executorService = executorService;
-        return this;
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(ShortestPathDeltaStepping.class)
+            .perNode("distances", HugeAtomicDoubleArray::memoryEstimation)
+            // a node is added to a bucket again whenever a shorter distance is found, usually this happens a few times
+            .rangePerNode("frontier", nodeCount -> MemoryRange.of(
+                HugeLongArray.memoryEstimation(1),
+                HugeLongArray.memoryEstimation(nodeCount)
+            ))
+            // in the worst case every node sits in a bucket of its own
+            .rangePerNode("buckets", nodeCount -> {
+                long hashSlots = MemoryUsage.sizeOfOpenHashContainer(nodeCount);
+                long bucket = MemoryUsage.sizeOfInstance(LongArrayList.class) + MemoryUsage.sizeOfLongArray(4);
+                return MemoryRange.of(
+                    0,
+                    MemoryUsage.sizeOfLongArray(hashSlots) + MemoryUsage.sizeOfObjectArray(hashSlots) + nodeCount * bucket
+                );
+            })
+            .perThread("DeltaSteppingTask", MemoryEstimations.builder(DeltaSteppingTask.class).build())
+            .build();
     }
 
-    /**
-     * set the multiplier used to scale up double weights to integers
-     *
-     * @param multiplier the multiplier
-     * @return itself for method chaining
-     */
-    public ShortestPathDeltaStepping withMultiplier(int multiplier) {
-        if (multiplier < 1) {
-            throw new IllegalArgumentException("multiplier must be >= 1");
+    @Override
+    public ShortestPathDeltaStepping compute() {
+        distances = HugeAtomicDoubleArray.newArray(
+            nodeCount,
+            PageFiller.longToDouble(concurrency, i -> Double.POSITIVE_INFINITY),
+            tracker
+        );
+        long mappedStartNode = graph.toMappedNodeId(startNode);
+        if (mappedStartNode == -1L) {
+            return this;
+        }
+        if (delta == 0) {
+            delta = selectDelta();
+        }
+
+        tasks = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            tasks.add(new DeltaSteppingTask());
+        }
+        frontier = HugeLongArray.newArray(BATCH_SIZE, tracker);
+        frontier.set(0, mappedStartNode);
+        frontierSize = 1;
+        distances.set(mappedStartNode, 0.0);
+
+        long bucket = 0L;
+        while (running()) {
+            frontierOffset.set(0L);
+            for (DeltaSteppingTask task : tasks) {
+                task.bucket = bucket;
+            }
+            ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+
+            // the current bucket is not empty if it grew too large to be fused
+            long nextBucket = NO_BUCKET;
+            for (DeltaSteppingTask task : tasks) {
+                long taskBucket = task.nextNonEmptyBucket();
+                if (taskBucket != NO_BUCKET && (nextBucket == NO_BUCKET || taskBucket < nextBucket)) {
+                    nextBucket = taskBucket;
+                }
+            }
+            if (nextBucket == NO_BUCKET) {
+                break;
+            }
+            collectFrontier(nextBucket);
+            bucket = nextBucket;
         }
-        this.multiplier = multiplier;
-        this.iDelta = (int) (multiplier * delta);
         return this;
     }
 
-    @Override
-    public ShortestPathDeltaStepping compute() {
-        // reset
-        for (int i = 0; i < nodeCount; i++) {
-            distance.set(i, Integer.MAX_VALUE);
+    private void collectFrontier(long bucket) {
+        long size = 0L;
+        for (DeltaSteppingTask task : tasks) {
+            size += task.bucketSize(bucket);
         }
-        buckets.reset();
-
-        // basically assign start node to bucket 0
-        relax(Math.toIntExact(graph.toMappedNodeId(startNode)), 0);
-
-        // as long as the bucket contains any value
-        while (!buckets.isEmpty() && running()) {
-            // reset temporary arrays
-            light.clear();
-            heavy.clear();
-
-            // get next bucket index
-            final int phase = buckets.nextNonEmptyBucket();
-
-            // for each node in bucket
-            buckets.forEachInBucket(phase, node -> {
-                // relax each outgoing light edge
-                RelationshipWithPropertyConsumer relationshipConsumer = longToIntConsumer((sourceNodeId, targetNodeId, cost) -> {
-                    final int iCost = (int) (cost * multiplier + distance.get(sourceNodeId));
-                    if (cost <= delta) { // determine if light or heavy edge
-                        light.add(() -> relax(targetNodeId, iCost));
-                    } else {
-                        heavy.add(() -> relax(targetNodeId, iCost));
-                    }
-                    return true;
-                });
-
-                graph.forEachRelationship(node, 0.0D, relationshipConsumer);
-                return true;
+        if (size > frontier.size()) {
+            frontier.release();
+            frontier = HugeLongArray.newArray(size + (size >>> 1), tracker);
+        }
+        long offset = 0L;
+        for (DeltaSteppingTask task : tasks) {
+            offset = task.moveBucket(bucket, frontier, offset);
+        }
+        frontierSize = size;
+    }
+
+    private double selectDelta() {
+        long relationshipCount = graph.relationshipCount();
+        if (relationshipCount == 0) {
+            return 1.0;
+        }
+        double meanWeight = 1.0;
+        if (graph.hasRelationshipProperty()) {
+            DoubleAdder weightSum = new DoubleAdder();
+            ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+                RelationshipIterator relationships = graph.concurrentCopy();
+                double[] sum = {0.0};
+                for (long nodeId = start; nodeId < end; nodeId++) {
+                    relationships.forEachRelationship(nodeId, 1.0D, (source, target, weight) -> {
+                        validateWeight(source, target, weight);
+                        sum[0] += weight;
+                        return true;
+                    });
+                }
+                weightSum.add(sum[0]);
             });
-            ParallelUtil.run(light, executorService, futures);
-            ParallelUtil.run(heavy, executorService, futures);
+            meanWeight = weightSum.sum() / relationshipCount;
         }
-        return this;
+        double averageDegree = Math.max(1.0, (double) relationshipCount / nodeCount);
+        double selected = 2.0 * meanWeight / averageDegree;
+        return selected > 0 ? selected : 1.0;
     }
 
-    /**
-     * get downscaled sum of distance
-     *
-     * @param nodeId the mapped node-id
-     * @return the overall distance from source to nodeId
-     */
-    private double get(int nodeId) {
-        int distance = this.distance.get(nodeId);
-        return distance == Integer.MAX_VALUE ? Double.POSITIVE_INFINITY : distance / multiplier;
+    private long bucketIndex(double distance) {
+        // the cast saturates at Long.MAX_VALUE, which is still a valid bucket
+        return (long) (distance / delta);
     }
 
     /**
-     * compare and set. tries to store the new calculated costs
-     * as long as no other thread has already written a value
-     * smaller then cost. if another thread writes a value bigger
-     * then cost the loop tries again otherwise the function
-     * terminates.
-     *
-     * @param nodeId
-     * @param cost
+     * A negative weight would put a node into a bucket that has already been relaxed, it would never be relaxed again.
      */
-    private void cas(int nodeId, int cost) {
-        boolean stored = false;
-        while (!stored) {
-            int oldC = distance.get(nodeId);
-            if (cost < oldC) {
-                stored = distance.compareAndSet(nodeId, oldC, cost);
-            } else {
-                break;
-            }
+    private static void validateWeight(long sourceNodeId, long targetNodeId, double weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException(String.format(
+                "Delta stepping does not support negative weights, but the relationship from %d to %d has the weight %s",
+                sourceNodeId,
+                targetNodeId,
+                weight
+            ));
         }
     }
 
     /**
-     * relax() sets the summed cost in {@link ShortestPathDeltaStepping#distance}
-     * if they are smaller then the current cost - like dijkstra. If so it also
-     * calculates the next bucket index for the node and assigns it.
-     *
-     * @param nodeId node id
-     * @param cost   the summed cost
+     * @return the distances from the start node by mapped node id, {@link Double#POSITIVE_INFINITY} for unreachable nodes
      */
-    private void relax(int nodeId, int cost) {
-        if (cost >= distance.get(nodeId)) {
-            return;
-        }
-        int bucketIndex = (cost / iDelta); // calculate bucket index
-        buckets.set(nodeId, bucketIndex);
-        cas(nodeId, cost);
+    public HugeAtomicDoubleArray distances() {
+        return distances;
     }
 
     /**
-     * scale down integer representation to double[]
-     *
-     * @return mapped-id to costSum array
+     * @return the delta that has been used, either the given one or the one derived from the relationship weights
      */
-    public double[] getShortestPaths() {
-        double[] d = new double[nodeCount];
-        for (int i = nodeCount - 1; i >= 0; i--) {
-            d[i] = get(i);
-        }
-        return d;
+    public double delta() {
+        return delta;
     }
 
     /**
@@ -224,9 +275,9 @@ public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaSteppi
      * @return Stream of results containing neo4j-NodeId and Sum of Costs of the shortest path
      */
     public Stream<DeltaSteppingResult> resultStream() {
-        return IntStream.range(0, nodeCount)
+        return LongStream.range(0, nodeCount)
                 .mapToObj(node ->
-                        new DeltaSteppingResult(graph.toOriginalNodeId(node), get(node)));
+                        new DeltaSteppingResult(graph.toOriginalNodeId(node), distances.get(node)));
     }
 
     @Override
@@ -236,10 +287,114 @@ public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaSteppi
 
     @Override
     public void release() {
-        buckets = null;
-        light = null;
-        heavy = null;
-        futures = null;
+        if (frontier != null) {
+            frontier.release();
+        }
+        frontier = null;
+        tasks = null;
+    }
+
+    private final class DeltaSteppingTask implements Runnable, RelationshipWithPropertyConsumer {
+
+        private final RelationshipIterator relationships;
+        // the nodes this thread improved by bucket, only buckets that hold nodes are kept
+        private final LongObjectMap<LongArrayList> buckets;
+        private LongArrayList fused;
+        private long bucket;
+        private double sourceDistance;
+
+        DeltaSteppingTask() {
+            this.relationships = graph.concurrentCopy();
+            this.buckets = new LongObjectHashMap<>();
+            this.fused = new LongArrayList();
+        }
+
+        @Override
+        public void run() {
+            long offset;
+            while ((offset = frontierOffset.getAndAdd(BATCH_SIZE)) < frontierSize) {
+                long end = Math.min(offset + BATCH_SIZE, frontierSize);
+                for (long index = offset; index < end; index++) {
+                    relaxNode(frontier.get(index));
+                }
+            }
+
+            LongArrayList current;
+            while (running()
+                   && (current = buckets.get(bucket)) != null
+                   && current.size() < BUCKET_FUSION_THRESHOLD) {
+                buckets.remove(bucket);
+                for (int i = 0; i < current.size(); i++) {
+                    relaxNode(current.get(i));
+                }
+                current.clear();
+                fused = current;
+            }
+        }
+
+        private void relaxNode(long nodeId) {
+            sourceDistance = distances.get(nodeId);
+            // a shorter distance has been found since the node was added, it has already been relaxed with that one
+            if (bucketIndex(sourceDistance) < bucket) {
+                return;
+            }
+            relationships.forEachRelationship(nodeId, 1.0D, this);
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            validateWeight(sourceNodeId, targetNodeId, property);
+            double newDistance = sourceDistance + property;
+            double oldDistance = distances.get(targetNodeId);
+            while (newDistance < oldDistance) {
+                if (distances.compareAndSet(targetNodeId, oldDistance, newDistance)) {
+                    add(bucketIndex(newDistance), targetNodeId);
+                    break;
+                }
+                oldDistance = distances.get(targetNodeId);
+            }
+            return true;
+        }
+
+        private void add(long bucketIndex, long nodeId) {
+            LongArrayList nodes = buckets.get(bucketIndex);
+            if (nodes == null) {
+                // reuse the list of the last fused bucket
+                nodes = fused != null ? fused : new LongArrayList();
+                fused = null;
+                buckets.put(bucketIndex, nodes);
+            }
+            nodes.add(nodeId);
+        }
+
+        /**
+         * Buckets are removed once they are moved to the frontier or fused, all remaining buckets hold nodes.
+         */
+        long nextNonEmptyBucket() {
+            long next = NO_BUCKET;
+            for (LongCursor cursor : buckets.keys()) {
+                if (next == NO_BUCKET || cursor.value < next) {
+                    next = cursor.value;
+                }
+            }
+            return next;
+        }
+
+        int bucketSize(long bucketIndex) {
+            LongArrayList nodes = buckets.get(bucketIndex);
+            return nodes == null ? 0 : nodes.size();
+        }
+
+        long moveBucket(long bucketIndex, HugeLongArray target, long offset) {
+            LongArrayList nodes = buckets.remove(bucketIndex);
+            if (nodes == null) {
+                return offset;
+            }
+            for (int i = 0; i < nodes.size(); i++) {
+                target.set(offset++, nodes.get(i));
+            }
+            return offset;
+        }
     }
 
     /**
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.linkprediction;
+
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Scores candidate links between pairs of nodes of an in-memory graph.
+ *
+ * The candidates are either the given pairs of nodes or, if none are given, every pair of nodes
+ * of an undirected graph that are not adjacent but share at least one neighbour.
+ * All metrics of a pair are computed from a single merge of the sorted neighbour lists of both nodes.
+ */
+public class LinkPrediction extends Algorithm<LinkPrediction, Stream<LinkPrediction.Result>> {
+
+    /**
+     * Number of nodes per thread whose two-hop pairs are scored before they are handed to the stream.
+     * Only the pairs of one chunk of {@code concurrency} times this many nodes are held in memory at a time.
+     */
+    static final int TWO_HOP_NODES_PER_THREAD = 256;
+
+    private Graph graph;
+    private final long[] sourceNodes;
+    private final long[] targetNodes;
+    private final int concurrency;
+    private final ExecutorService executor;
+
+    public LinkPrediction(
+        Graph graph,
+        LinkPredictionConfig config,
+        ExecutorService executor
+    ) {
+        this.graph = graph;
+        this.sourceNodes = mappedNodeIds(graph, config.sourceIds());
+        this.targetNodes = mappedNodeIds(graph, config.targetIds());
+        if (sourceNodes.length == 0 && !graph.isUndirected()) {
+            // on a directed graph, the pair (a, b) is found from a but scored with the outgoing neighbours of b
+            throw new IllegalArgumentException(
+                "Scoring all two-hop pairs requires relationships projected with orientation `UNDIRECTED`, " +
+                "otherwise the candidate pairs must be given as `sourceIds` and `targetIds`."
+            );
+        }
+        this.concurrency = config.concurrency();
+        this.executor = executor;
+    }
+
+    public static MemoryEstimation memoryEstimation(int pairCount) {
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(LinkPrediction.class)
+            .rangePerGraphDimension("scorers", (dimensions, concurrency) -> {
+                long averageDegree = averageDegree(dimensions);
+                long candidates = pairCount > 0 ? 0L : twoHopCandidates(dimensions);
+                long neighbours = 2 * MemoryUsage.sizeOfLongArray(Math.max(16L, averageDegree));
+                long candidateSet = MemoryUsage.sizeOfLongArray(MemoryUsage.sizeOfOpenHashContainer(candidates));
+                return MemoryRange.of(concurrency * (neighbours + candidateSet));
+            });
+        if (pairCount > 0) {
+            return builder
+                .fixed(
+                    "results",
+                    MemoryUsage.sizeOfObjectArray(pairCount) + pairCount * MemoryUsage.sizeOfInstance(Result.class)
+                )
+                .build();
+        }
+        return builder
+            .rangePerGraphDimension("results of a chunk", (dimensions, concurrency) -> {
+                long chunkSize = Math.min(dimensions.nodeCount(), (long) concurrency * TWO_HOP_NODES_PER_THREAD);
+                long candidates = twoHopCandidates(dimensions);
+                long resultsPerNode = MemoryUsage.sizeOfObjectArray(candidates) +
+                                      candidates * MemoryUsage.sizeOfInstance(Result.class);
+                return MemoryRange.of(MemoryUsage.sizeOfObjectArray(chunkSize) + chunkSize * resultsPerNode);
+            })
+            .build();
+    }
+
+    private static long averageDegree(GraphDimensions dimensions) {
+        long nodeCount = dimensions.nodeCount();
+        return nodeCount > 0 ? BitUtil.ceilDiv(dimensions.maxRelCount(), nodeCount) : 0L;
+    }
+
+    private static long twoHopCandidates(GraphDimensions dimensions) {
+        long averageDegree = averageDegree(dimensions);
+        return Math.min(dimensions.nodeCount(), averageDegree * averageDegree);
+    }
+
+    private static long[] mappedNodeIds(Graph graph, Iterable<Long> originalNodeIds) {
+        LongArrayList nodeIds = new LongArrayList();
+        for (long originalNodeId : originalNodeIds) {
+            long nodeId = graph.toMappedNodeId(originalNodeId);
+            if (nodeId == -1L) {
+                throw new IllegalArgumentException(String.format(
+                    "Node with id %d does not exist in the graph.",
+                    originalNodeId
+                ));
+            }
+            nodeIds.add(nodeId);
+        }
+        return nodeIds.toArray();
+    }
+
+    @Override
+    public LinkPrediction me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        graph = null;
+    }
+
+    @Override
+    public Stream<Result> compute() {
+        return sourceNodes.length > 0 ? scorePairs() : scoreTwoHopPairs();
+    }
+
+    private Stream<Result> scorePairs() {
+        Result[] results = new Result[sourceNodes.length];
+        ParallelUtil.readParallel(concurrency, results.length, executor, (start, end) -> {
+            PairScorer scorer = new PairScorer(graph);
+            for (long i = start; i < end; i++) {
+                int index = Math.toIntExact(i);
+                results[index] = scorer.score(sourceNodes[index], targetNodes[index]);
+            }
+            assertRunning();
+        });
+        return Arrays.stream(results);
+    }
+
+    /**
+     * The graph is read into a local variable, since the stream is consumed after the algorithm has been released.
+     * The pairs are scored lazily in chunks of nodes while the stream is consumed,
+     * so the memory does not grow with the number of two-hop pairs of the whole graph.
+     */
+    private Stream<Result> scoreTwoHopPairs() {
+        Graph graph = this.graph;
+        long nodeCount = graph.nodeCount();
+        long chunkSize = (long) concurrency * TWO_HOP_NODES_PER_THREAD;
+        return LongStream.range(0, ParallelUtil.threadCount(chunkSize, nodeCount))
+            .mapToObj(chunk -> scoreTwoHopPairs(
+                graph,
+                chunk * chunkSize,
+                Math.min(nodeCount, (chunk + 1) * chunkSize)
+            ))
+            .flatMap(Function.identity());
+    }
+
+    private Stream<Result> scoreTwoHopPairs(Graph graph, long startNode, long endNode) {
+        Result[][] resultsPerNode = new Result[Math.toIntExact(endNode - startNode)][];
+        ParallelUtil.readParallel(concurrency, resultsPerNode.length, executor, (start, end) -> {
+            PairScorer scorer = new PairScorer(graph);
+            LongHashSet candidates = new LongHashSet();
+            for (long i = start; i < end; i++) {
+                long node = startNode + i;
+                candidates.clear();
+                scorer.twoHopNeighbours(node, candidates);
+                if (!candidates.isEmpty()) {
+                    long[] sortedCandidates = candidates.toArray();
+                    Arrays.sort(sortedCandidates);
+                    Result[] results = new Result[sortedCandidates.length];
+                    for (int j = 0; j < sortedCandidates.length; j++) {
+                        results[j] = scorer.score(node, sortedCandidates[j]);
+                    }
+                    resultsPerNode[Math.toIntExact(i)] = results;
+                }
+            }
+            assertRunning();
+        });
+        return Arrays.stream(resultsPerNode)
+            .filter(Objects::nonNull)
+            .flatMap(Arrays::stream);
+    }
+
+    /**
+     * Holds the sorted, deduplicated neighbours of both nodes of a pair. Not thread-safe.
+     */
+    private static final class PairScorer {
+
+        private final Graph graph;
+        private final RelationshipIterator relationships;
+        private final Neighbours neighbours1 = new Neighbours();
+        private final Neighbours neighbours2 = new Neighbours();
+
+        PairScorer(Graph graph) {
+            this.graph = graph;
+            this.relationships = graph.concurrentCopy();
+        }
+
+        /**
+         * Adds all nodes reachable in two hops from {@code node} that are not one of its neighbours.
+         * Only nodes with a higher id are added, so that every pair of the undirected graph is scored once.
+         */
+        void twoHopNeighbours(long node, LongHashSet candidates) {
+            neighbours1.load(relationships, node);
+            for (int i = 0; i < neighbours1.length; i++) {
+                relationships.forEachRelationship(neighbours1.ids[i], (middle, candidate) -> {
+                    if (candidate > node && !neighbours1.contains(candidate)) {
+                        candidates.add(candidate);
+                    }
+                    return true;
+                });
+            }
+        }
+
+        Result score(long node1, long node2) {
+            neighbours1.load(relationships, node1);
+            neighbours2.load(relationships, node2);
+            long[] ids1 = neighbours1.ids;
+            long[] ids2 = neighbours2.ids;
+            int length1 = neighbours1.length;
+            int length2 = neighbours2.length;
+
+            long commonNeighbours = 0L;
+            double adamicAdar = 0.0;
+            double resourceAllocation = 0.0;
+            if (node1 != node2) {
+                for (int i = 0, j = 0; i < length1 && j < length2; ) {
+                    if (ids1[i] < ids2[j]) {
+                        i++;
+                    } else if (ids1[i] > ids2[j]) {
+                        j++;
+                    } else {
+                        int degree = graph.degree(ids1[i]);
+                        commonNeighbours++;
+                        adamicAdar += 1.0 / Math.log(degree);
+                        resourceAllocation += 1.0 / degree;
+                        i++;
+                        j++;
+                    }
+                }
+            }
+
+            return new Result(
+                graph.toOriginalNodeId(node1),
+                graph.toOriginalNodeId(node2),
+                adamicAdar,
+                resourceAllocation,
+                commonNeighbours,
+                (double) graph.degree(node1) * graph.degree(node2),
+                node1 == node2 ? length1 : length1 + length2 - commonNeighbours
+            );
+        }
+    }
+
+    private static final class Neighbours implements RelationshipConsumer {
+
+        long[] ids = new long[16];
+        int length;
+
+        void load(RelationshipIterator relationships, long node) {
+            length = 0;
+            relationships.forEachRelationship(node, this);
+            Arrays.sort(ids, 0, length);
+            int unique = 0;
+            for (int i = 0; i < length; i++) {
+                if (unique == 0 || ids[unique - 1] != ids[i]) {
+                    ids[unique++] = ids[i];
+                }
+            }
+            length = unique;
+        }
+
+        boolean contains(long node) {
+            return Arrays.binarySearch(ids, 0, length, node) >= 0;
+        }
+
+        @Override
+        public boolean accept(long source, long target) {
+            if (source != target) {
+                if (length == ids.length) {
+                    ids = Arrays.copyOf(ids, length << 1);
+                }
+                ids[length++] = target;
+            }
+            return true;
+        }
+    }
+
+    public static class Result {
+
+        public final long node1;
+        public final long node2;
+        public final double adamicAdar;
+        public final double resourceAllocation;
+        public final double commonNeighbors;
+        public final double preferentialAttachment;
+        public final double totalNeighbors;
+
+        public Result(
+            long node1,
+            long node2,
+            double adamicAdar,
+            double resourceAllocation,
+            double commonNeighbors,
+            double preferentialAttachment,
+            double totalNeighbors
+        ) {
+            this.node1 = node1;
+            this.node2 = node2;
+            this.adamicAdar = adamicAdar;
+            this.resourceAllocation = resourceAllocation;
+            this.commonNeighbors = commonNeighbors;
+            this.preferentialAttachment = preferentialAttachment;
+            this.totalNeighbors = totalNeighbors;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                   "node1=" + node1 +
+                   ", node2=" + node2 +
+                   ", adamicAdar=" + adamicAdar +
+                   ", resourceAllocation=" + resourceAllocation +
+                   ", commonNeighbors=" + commonNeighbors +
+                   ", preferentialAttachment=" + preferentialAttachment +
+                   ", totalNeighbors=" + totalNeighbors +
+                   '}';
+        }
+    }
+}
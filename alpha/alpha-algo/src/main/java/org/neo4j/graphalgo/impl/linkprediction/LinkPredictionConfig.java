@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.linkprediction;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+@ValueClass
+@Configuration("LinkPredictionConfigImpl")
+@SuppressWarnings("immutables:subtype")
+public interface LinkPredictionConfig extends AlgoBaseConfig {
+
+    /**
+     * Neo4j ids of the first nodes of the candidate pairs, the n-th source is paired with the n-th target.
+     * If no pairs are given, all pairs of nodes at a distance of two are scored.
+     */
+    @Value.Default
+    default List<Long> sourceIds() {
+        return Collections.emptyList();
+    }
+
+    @Value.Default
+    default List<Long> targetIds() {
+        return Collections.emptyList();
+    }
+
+    @Value.Default
+    default String metric() {
+        return LinkPredictionMetric.ADAMIC_ADAR.toString();
+    }
+
+    @Value.Derived
+    @Configuration.Ignore
+    default LinkPredictionMetric writeMetric() {
+        return LinkPredictionMetric.parse(metric());
+    }
+
+    @Value.Default
+    default String writeRelationshipType() {
+        return "PREDICTED_LINK";
+    }
+
+    @Value.Default
+    default String writeProperty() {
+        return "score";
+    }
+
+    @Value.Default
+    default long writeBatchSize() {
+        return 10_000L;
+    }
+
+    @Value.Check
+    default void validate() {
+        if (sourceIds().size() != targetIds().size()) {
+            throw new IllegalArgumentException(String.format(
+                "The number of sourceIds (%d) must match the number of targetIds (%d).",
+                sourceIds().size(),
+                targetIds().size()
+            ));
+        }
+        LinkPredictionMetric.parse(metric());
+    }
+
+    static LinkPredictionConfig of(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper userInput
+    ) {
+        return new LinkPredictionConfigImpl(
+            graphName,
+            maybeImplicitCreate,
+            username,
+            userInput
+        );
+    }
+}
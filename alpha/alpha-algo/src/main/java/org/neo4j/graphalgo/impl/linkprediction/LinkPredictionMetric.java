@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.linkprediction;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public enum LinkPredictionMetric {
+
+    ADAMIC_ADAR("adamicAdar") {
+        @Override
+        public double score(LinkPrediction.Result result) {
+            return result.adamicAdar;
+        }
+    },
+    RESOURCE_ALLOCATION("resourceAllocation") {
+        @Override
+        public double score(LinkPrediction.Result result) {
+            return result.resourceAllocation;
+        }
+    },
+    COMMON_NEIGHBORS("commonNeighbors") {
+        @Override
+        public double score(LinkPrediction.Result result) {
+            return result.commonNeighbors;
+        }
+    },
+    PREFERENTIAL_ATTACHMENT("preferentialAttachment") {
+        @Override
+        public double score(LinkPrediction.Result result) {
+            return result.preferentialAttachment;
+        }
+    },
+    TOTAL_NEIGHBORS("totalNeighbors") {
+        @Override
+        public double score(LinkPrediction.Result result) {
+            return result.totalNeighbors;
+        }
+    };
+
+    private final String name;
+
+    LinkPredictionMetric(String name) {
+        this.name = name;
+    }
+
+    public abstract double score(LinkPrediction.Result result);
+
+    public static LinkPredictionMetric parse(String input) {
+        return Arrays.stream(values())
+            .filter(metric -> metric.name.equalsIgnoreCase(input) || metric.name().equalsIgnoreCase(input))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException(String.format(
+                "Unknown metric `%s`, expected one of %s.",
+                input,
+                Arrays.stream(values()).map(metric -> metric.name).collect(Collectors.joining(", "))
+            )));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
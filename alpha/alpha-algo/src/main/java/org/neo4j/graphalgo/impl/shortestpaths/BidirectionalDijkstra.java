@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.shortestpaths;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongDoubleScatterMap;
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongLongScatterMap;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.queue.NodeDistanceHeap;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Point to point shortest path search that only touches the part of the graph around the start and the end node.
+ * <p>
+ * On undirected graphs a forward search from the start node and a backward search from the end node run
+ * alternately, each one expanding the side with the smaller queue. The search stops once the smallest keys of
+ * both queues add up to the best path found so far. Directed graphs do not store incoming relationships,
+ * so they are searched from the start node only.
+ * <p>
+ * Given a {@link LandmarkIndex}, the searches run as A* with the landmark bounds as heuristic (ALT).
+ * The bidirectional search uses the average of the bounds towards the end and towards the start node,
+ * which keeps both searches consistent with each other.
+ * <p>
+ * All state is kept in hash maps, a query allocates memory proportional to the nodes it visits.
+ */
+public final class BidirectionalDijkstra extends Algorithm<BidirectionalDijkstra, BidirectionalDijkstra> {
+
+    private final Graph graph;
+    private final long startNode;
+    private final long endNode;
+    private final @Nullable LandmarkIndex landmarks;
+
+    private LongArrayList path;
+    private DoubleArrayList pathCosts;
+    private double totalCost;
+    private long settledNodes;
+
+    public BidirectionalDijkstra(Graph graph, BidirectionalDijkstraConfig config, @Nullable LandmarkIndex landmarks) {
+        this.graph = graph;
+        this.startNode = graph.toMappedNodeId(config.startNode());
+        this.endNode = graph.toMappedNodeId(config.endNode());
+        this.landmarks = landmarks;
+        this.path = new LongArrayList();
+        this.pathCosts = new DoubleArrayList();
+        this.totalCost = ShortestPathDijkstra.NO_PATH_FOUND;
+    }
+
+    @Override
+    public BidirectionalDijkstra compute() {
+        if (startNode == -1L || endNode == -1L) {
+            return this;
+        }
+        if (startNode == endNode) {
+            path.add(startNode);
+            pathCosts.add(0.0);
+            totalCost = 0.0;
+            return this;
+        }
+        if (landmarks != null && landmarks.lowerBound(startNode, endNode) == Double.POSITIVE_INFINITY) {
+            return this;
+        }
+
+        Search forward = new Search(startNode, true);
+        if (graph.isUndirected()) {
+            Search backward = new Search(endNode, false);
+            Meeting meeting = new Meeting();
+            while (running() && forward.heap.topKey() + backward.heap.topKey() < meeting.cost) {
+                if (forward.heap.size() <= backward.heap.size()) {
+                    forward.settleNext(backward, meeting);
+                } else {
+                    backward.settleNext(forward, meeting);
+                }
+            }
+            if (meeting.node != -1L) {
+                collectPath(forward, backward, meeting.node);
+            }
+        } else {
+            Search target = new Search(endNode, false);
+            Meeting meeting = new Meeting();
+            while (running() && forward.heap.topKey() < meeting.cost) {
+                forward.settleNext(target, meeting);
+            }
+            if (meeting.node != -1L) {
+                collectPath(forward, target, endNode);
+            }
+        }
+        return this;
+    }
+
+    private void collectPath(Search forward, Search backward, long meetingNode) {
+        double meetingCost = forward.distances.get(meetingNode);
+        totalCost = meetingCost + backward.distances.get(meetingNode);
+
+        for (long node = meetingNode; node != -1L; node = forward.parents.getOrDefault(node, -1L)) {
+            path.add(node);
+            pathCosts.add(forward.distances.get(node));
+        }
+        reverse(path.buffer, path.size());
+        reverse(pathCosts.buffer, pathCosts.size());
+
+        for (long node = backward.parents.getOrDefault(meetingNode, -1L); node != -1L; node = backward.parents.getOrDefault(node, -1L)) {
+            path.add(node);
+            pathCosts.add(totalCost - backward.distances.get(node));
+        }
+    }
+
+    /**
+     * @return the nodes of the path with the cost to reach them from the start node
+     */
+    public Stream<ShortestPathDijkstra.Result> resultStream() {
+        return IntStream.range(0, path.size())
+            .mapToObj(i -> new ShortestPathDijkstra.Result(graph.toOriginalNodeId(path.get(i)), pathCosts.get(i)));
+    }
+
+    /**
+     * @return the cost of the shortest path or {@link ShortestPathDijkstra#NO_PATH_FOUND}
+     */
+    public double totalCost() {
+        return totalCost;
+    }
+
+    public int pathLength() {
+        return path.size();
+    }
+
+    /**
+     * @return the number of nodes whose relationships were scanned by both searches
+     */
+    public long settledNodes() {
+        return settledNodes;
+    }
+
+    @Override
+    public BidirectionalDijkstra me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        path = null;
+        pathCosts = null;
+    }
+
+    /**
+     * The potential of a node in the forward search, the backward search uses the negated value.
+     * Without landmarks both searches are plain Dijkstra searches.
+     */
+    private double potential(long node) {
+        if (landmarks == null) {
+            return 0.0;
+        }
+        double toEnd = landmarks.lowerBound(node, endNode);
+        if (!graph.isUndirected()) {
+            return toEnd;
+        }
+        return (toEnd - landmarks.lowerBound(node, startNode)) / 2.0;
+    }
+
+    private static void reverse(long[] values, int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            long tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private static void reverse(double[] values, int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            double tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private static final class Meeting {
+        long node = -1L;
+        double cost = Double.POSITIVE_INFINITY;
+    }
+
+    private final class Search {
+        final LongDoubleScatterMap distances = new LongDoubleScatterMap();
+        final LongLongScatterMap parents = new LongLongScatterMap();
+        final LongHashSet settled = new LongHashSet();
+        final NodeDistanceHeap heap = new NodeDistanceHeap();
+        final boolean forward;
+
+        Search(long sourceNode, boolean forward) {
+            this.forward = forward;
+            distances.put(sourceNode, 0.0);
+            heap.add(sourceNode, key(sourceNode, 0.0));
+        }
+
+        double key(long node, double distance) {
+            return distance + (forward ? potential(node) : -potential(node));
+        }
+
+        void settleNext(Search other, Meeting meeting) {
+            long node = heap.topNode();
+            heap.pop();
+            if (!settled.add(node)) {
+                return;
+            }
+            settledNodes++;
+            double distance = distances.get(node);
+            graph.forEachRelationship(node, 1.0D, (source, target, weight) -> {
+                double newDistance = distance + weight;
+                if (!settled.contains(target) && newDistance < distances.getOrDefault(target, Double.POSITIVE_INFINITY)) {
+                    distances.put(target, newDistance);
+                    parents.put(target, node);
+                    double key = key(target, newDistance);
+                    // the landmarks rule out that a path through this node exists
+                    if (key != Double.POSITIVE_INFINITY) {
+                        heap.add(target, key);
+                    }
+                }
+                double pathCost = newDistance + other.distances.getOrDefault(target, Double.POSITIVE_INFINITY);
+                if (pathCost < meeting.cost) {
+                    meeting.cost = pathCost;
+                    meeting.node = target;
+                }
+                return true;
+            });
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.shortestpaths;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.loading.GraphIndex;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.queue.NodeDistanceHeap;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Shortest path distances from a few landmark nodes to every node of a graph, used as the heuristic of
+ * the ALT variant of {@link BidirectionalDijkstra} (A*, landmarks and the triangle inequality).
+ * <p>
+ * For a landmark {@code L} the triangle inequality gives {@code d(v, t) >= d(L, t) - d(L, v)}, and on undirected
+ * graphs also {@code d(v, t) >= d(L, v) - d(L, t)}. The best bound over all landmarks guides the search towards
+ * the target, so that a query only settles a small part of the graph.
+ * <p>
+ * The landmarks are chosen one after the other, each one as far as possible from the ones before it.
+ * The index is stored in the graph catalog next to the graph, see {@link GraphIndex}, and is only valid for the
+ * relationships and the weights it was computed on.
+ */
+public final class LandmarkIndex implements GraphIndex {
+
+    private final long[] landmarks;
+    private final HugeDoubleArray[] distances;
+    private final boolean undirected;
+    private final long relationshipVersion;
+    private final List<String> relationshipTypes;
+    private final @Nullable String relationshipWeightProperty;
+
+    private LandmarkIndex(
+        long[] landmarks,
+        HugeDoubleArray[] distances,
+        boolean undirected,
+        long relationshipVersion,
+        List<String> relationshipTypes,
+        @Nullable String relationshipWeightProperty
+    ) {
+        this.landmarks = landmarks;
+        this.distances = distances;
+        this.undirected = undirected;
+        this.relationshipVersion = relationshipVersion;
+        this.relationshipTypes = relationshipTypes;
+        this.relationshipWeightProperty = relationshipWeightProperty;
+    }
+
+    /**
+     * @param relationshipVersion the {@link org.neo4j.graphalgo.core.loading.GraphStore#relationshipVersion()}
+     *                            of the graph store the graph was taken from
+     */
+    public static LandmarkIndex build(
+        Graph graph,
+        long relationshipVersion,
+        LandmarkIndexConfig config,
+        TerminationFlag terminationFlag,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+        int landmarkCount = (int) Math.min(config.landmarkCount(), nodeCount);
+        long[] landmarks = new long[landmarkCount];
+        HugeDoubleArray[] distances = new HugeDoubleArray[landmarkCount];
+        NodeDistanceHeap heap = new NodeDistanceHeap();
+
+        // the first landmark is the node that is farthest away from the best connected node
+        HugeDoubleArray minDistances = HugeDoubleArray.newArray(nodeCount, tracker);
+        shortestDistances(graph, highestDegreeNode(graph), minDistances, heap, terminationFlag);
+
+        for (int i = 0; i < landmarkCount; i++) {
+            landmarks[i] = farthestNode(graph, minDistances);
+            distances[i] = HugeDoubleArray.newArray(nodeCount, tracker);
+            shortestDistances(graph, landmarks[i], distances[i], heap, terminationFlag);
+
+            for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                double distance = distances[i].get(nodeId);
+                if (i == 0 || distance < minDistances.get(nodeId)) {
+                    minDistances.set(nodeId, distance);
+                }
+            }
+        }
+        minDistances.release();
+
+        return new LandmarkIndex(
+            landmarks,
+            distances,
+            graph.isUndirected(),
+            relationshipVersion,
+            config.relationshipTypes(),
+            config.relationshipWeightProperty()
+        );
+    }
+
+    /**
+     * @return a lower bound of the distance from {@code nodeId} to {@code targetNodeId},
+     *     {@link Double#POSITIVE_INFINITY} if the target cannot be reached at all
+     */
+    public double lowerBound(long nodeId, long targetNodeId) {
+        double bound = 0.0;
+        for (HugeDoubleArray landmarkDistances : distances) {
+            double difference = landmarkDistances.get(targetNodeId) - landmarkDistances.get(nodeId);
+            if (undirected) {
+                difference = Math.abs(difference);
+            }
+            // the difference is NaN if neither node can be reached from the landmark
+            if (difference > bound) {
+                bound = difference;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Fails if the graph of a query does not have the relationships the landmark distances were computed on.
+     */
+    public void validate(
+        long relationshipVersion,
+        List<String> relationshipTypes,
+        @Nullable String relationshipWeightProperty
+    ) {
+        if (!this.relationshipTypes.equals(relationshipTypes) ||
+            !Objects.equals(this.relationshipWeightProperty, relationshipWeightProperty)) {
+            throw new IllegalArgumentException(String.format(
+                "The landmark index was computed for relationship types %s and relationship weight property %s, " +
+                "but the query uses relationship types %s and relationship weight property %s.",
+                this.relationshipTypes,
+                this.relationshipWeightProperty,
+                relationshipTypes,
+                relationshipWeightProperty
+            ));
+        }
+        if (relationshipVersion != this.relationshipVersion) {
+            throw new IllegalArgumentException(
+                "The relationships of the graph have changed since the landmark index was computed. " +
+                "The index has to be recomputed."
+            );
+        }
+    }
+
+    public long[] landmarks() {
+        return landmarks;
+    }
+
+    @Override
+    public long release() {
+        long released = 0L;
+        for (HugeDoubleArray landmarkDistances : distances) {
+            released += landmarkDistances.release();
+        }
+        return released;
+    }
+
+    private static long highestDegreeNode(Graph graph) {
+        long bestNode = 0L;
+        int bestDegree = -1;
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            int degree = graph.degree(nodeId);
+            if (degree > bestDegree) {
+                bestNode = nodeId;
+                bestDegree = degree;
+            }
+        }
+        return bestNode;
+    }
+
+    /**
+     * Nodes that none of the landmarks can reach are preferred, as long as they have relationships.
+     */
+    private static long farthestNode(Graph graph, HugeDoubleArray minDistances) {
+        long bestNode = 0L;
+        double bestDistance = -1.0;
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            double distance = minDistances.get(nodeId);
+            if (distance > bestDistance && (distance != Double.POSITIVE_INFINITY || graph.degree(nodeId) > 0)) {
+                bestNode = nodeId;
+                bestDistance = distance;
+            }
+        }
+        return bestNode;
+    }
+
+    private static void shortestDistances(
+        Graph graph,
+        long sourceNodeId,
+        HugeDoubleArray distances,
+        NodeDistanceHeap heap,
+        TerminationFlag terminationFlag
+    ) {
+        distances.fill(Double.POSITIVE_INFINITY);
+        distances.set(sourceNodeId, 0.0);
+        heap.clear();
+        heap.add(sourceNodeId, 0.0);
+
+        while (!heap.isEmpty()) {
+            long nodeId = heap.topNode();
+            double distance = heap.topKey();
+            heap.pop();
+            if (distance > distances.get(nodeId)) {
+                continue;
+            }
+            terminationFlag.assertRunning();
+            graph.forEachRelationship(nodeId, 1.0D, (source, target, weight) -> {
+                double newDistance = distance + weight;
+                if (newDistance < distances.get(target)) {
+                    distances.set(target, newDistance);
+                    heap.add(target, newDistance);
+                }
+                return true;
+            });
+        }
+    }
+}
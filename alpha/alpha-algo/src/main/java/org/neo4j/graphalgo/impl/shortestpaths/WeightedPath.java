@@ -177,12 +177,19 @@ public class WeightedPath {
         WeightedPath that = (WeightedPath) o;
 
         if (offset != that.offset) return false;
-        return Arrays.equals(nodes, that.nodes);
+        // the arrays may have different spare capacity
+        for (int i = 0; i < offset; i++) {
+            if (nodes[i] != that.nodes[i]) return false;
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        int result = Arrays.hashCode(nodes);
+        int result = 1;
+        for (int i = 0; i < offset; i++) {
+            result = 31 * result + nodes[i];
+        }
         result = 31 * result + offset;
         return result;
     }
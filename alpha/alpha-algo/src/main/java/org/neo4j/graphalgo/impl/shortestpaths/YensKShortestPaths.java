@@ -23,14 +23,20 @@ import com.carrotsearch.hppc.IntScatterSet;
 import com.carrotsearch.hppc.LongScatterSet;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.RawValues;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
 
@@ -42,17 +48,26 @@ import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
  * traverse incoming or outgoing directions or load it as undirected and traverse
  * outgoing relationships only. Direction.BOTH leads to incorrect results and is
  * therefore not supported.
+ *
+ * The spur searches of an iteration are independent of each other and run in parallel.
+ * Every thread owns a {@link YensKShortestPathsDijkstra} and its blacklists, which are
+ * reused for all of its spur searches. Once there are enough candidates to fill up the
+ * remaining paths, a spur search gives up as soon as it can only produce candidates that
+ * are more expensive than those, since such a candidate would never be selected.
  */
 public class YensKShortestPaths extends Algorithm<YensKShortestPaths, YensKShortestPaths> {
 
-    private YensKShortestPathsDijkstra dijkstra;
     private final long startNode;
     private final long goalNode;
     private final int k;
     private final int maxDepth;
+    private final int concurrency;
+    private final ExecutorService executor;
     private Graph graph;
+    private List<SpurSearch> spurSearches;
     private List<WeightedPath> shortestPaths;
     private PriorityQueue<WeightedPath> candidates;
+    private Set<WeightedPath> knownCandidates;
 
     public YensKShortestPaths(
         Graph graph,
@@ -60,19 +75,32 @@ public class YensKShortestPaths extends Algorithm<YensKShortestPaths, YensKShort
         long goalNode,
         int k,
         int maxDepth
+    ) {
+        this(graph, startNode, goalNode, k, maxDepth, 1, Pools.DEFAULT);
+    }
+
+    public YensKShortestPaths(
+        Graph graph,
+        long startNode,
+        long goalNode,
+        int k,
+        int maxDepth,
+        int concurrency,
+        ExecutorService executor
     ) {
         this.graph = graph;
-        dijkstra = new YensKShortestPathsDijkstra(graph);
         this.startNode = startNode;
         this.goalNode = goalNode;
         this.k = k;
         this.maxDepth = maxDepth;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        spurSearches = new ArrayList<>();
         shortestPaths = new ArrayList<>();
         candidates = new PriorityQueue<>(WeightedPath.comparator());
+        knownCandidates = new HashSet<>();
     }
 
-
-
     /**
      * retrieve the list of shortest paths
      */
@@ -94,19 +122,12 @@ public class YensKShortestPaths extends Algorithm<YensKShortestPaths, YensKShort
 
     private void yens(int k, long start, long goal, int maxDepth) {
         final ProgressLogger progressLogger = getProgressLogger();
-        // blacklist container for dijkstra
-        final IntScatterSet nodeBlackList = new IntScatterSet();
-        final LongScatterSet edgeBlackList = new LongScatterSet();
         // clear result of previous execution
         shortestPaths.clear();
-        // equip dijkstra with a node and edge filter and set its traversal direction
-        final Optional<WeightedPath> shortestPathOpt = dijkstra.withTerminationFlag(getTerminationFlag())
-                .withFilter(longToIntConsumer((s, t) ->
-                        // set custom node filter
-                        !nodeBlackList.contains(t) &&
-                        // and edge filter by combining the nodeIds into a long
-                        !edgeBlackList.contains(RawValues.combineIntInt(s, t))))
-                .compute(start, goal, maxDepth);// compute the best shortest path first
+        candidates.clear();
+        knownCandidates.clear();
+        // compute the best shortest path first, none of the blacklists is populated yet
+        final Optional<WeightedPath> shortestPathOpt = spurSearch(0).dijkstra.compute(start, goal, maxDepth);
         if (!shortestPathOpt.isPresent()) {
             // not a single path found
             return;
@@ -120,43 +141,30 @@ public class YensKShortestPaths extends Algorithm<YensKShortestPaths, YensKShort
         for (int n = 1; n < k; n++) {
             // retrieve the last best shortest path
             final WeightedPath basePath = shortestPaths.get(shortestPaths.size() - 1);
-            for (int i = basePath.size() - 2; i >= 0; i--) {
-                // we don't alter the graph therefore we clear the filters at the beginning of each iteration.
-                nodeBlackList.clear();
-                edgeBlackList.clear();
-                // Spur node is retrieved from the previous k-shortest path.
-                final int spurNode = basePath.node(i);
-                // The sequence of nodes from the source to the spur node of the previous k-shortest path.
-                final WeightedPath rootPath = basePath
-                        .pathTo(i)
-                        .evaluateAndSetCost(graph);
-                // check each of the known shortest paths
-                for (Iterator<WeightedPath> iterator = shortestPaths.iterator(); iterator.hasNext(); ) {
-                    final WeightedPath p = iterator.next();
-                    if (rootPath.elementWiseEquals(p, i + 1)) {
-                        // blacklist the rels that are part of the previous shortest paths with the same root path.
-                        edgeBlackList.add(p.edge(i));
-                    }
-                }
-                // blacklist nodes in rootPath if not spurNode to avoid cycles
-                rootPath.forEachDo(rootPathNode -> {
-                    if (rootPathNode != spurNode) {
-                        nodeBlackList.add(rootPathNode);
+            final int spurNodeCount = basePath.size() - 1;
+            final double[] rootPathCosts = rootPathCosts(basePath);
+            final double maxCost = maxCandidateCost(k - shortestPaths.size());
+            final WeightedPath[] spurCandidates = new WeightedPath[spurNodeCount];
+            // spur nodes are handed out from the end of the path, like the sequential algorithm visits them
+            final AtomicInteger nextSpurNode = new AtomicInteger(spurNodeCount - 1);
+
+            int threads = Math.min(concurrency, spurNodeCount);
+            List<Runnable> tasks = new ArrayList<>(threads);
+            for (int thread = 0; thread < threads; thread++) {
+                SpurSearch spurSearch = spurSearch(thread);
+                tasks.add(() -> {
+                    int i;
+                    while ((i = nextSpurNode.getAndDecrement()) >= 0) {
+                        spurCandidates[i] = spurSearch.compute(basePath, i, rootPathCosts[i], maxCost, goal);
                     }
                 });
-                // Calculate the spur path from the spur node to the goal node.
-                int spurPathMaxDepth = maxDepth - rootPath.size() + 1; // + 1 is for dropped tail of root path
-                final Optional<WeightedPath> spurPathOpt = dijkstra.compute(spurNode, goal, spurPathMaxDepth);
-                // no path found, continue
-                if (!spurPathOpt.isPresent()) {
-                    continue;
-                }
-                // new candidate is the concatenation of rootPath and the spurPath.
-                final WeightedPath concatenation = rootPath
-                        .dropTail()
-                        .concat(spurPathOpt.get());
-                // already found?
-                if (!candidates.contains(concatenation)) {
+            }
+            ParallelUtil.runWithConcurrency(threads, tasks, getTerminationFlag(), executor);
+
+            for (int i = spurNodeCount - 1; i >= 0; i--) {
+                final WeightedPath concatenation = spurCandidates[i];
+                // no path found or already found?
+                if (concatenation != null && knownCandidates.add(concatenation)) {
                     progressLogger.log(String.format("found candidate: %d nodes / %.2f weight",
                             concatenation.size(),
                             concatenation.getCost()));
@@ -176,6 +184,41 @@ public class YensKShortestPaths extends Algorithm<YensKShortestPaths, YensKShort
         }
     }
 
+    /**
+     * costs[i] is the cost of the root path from the start node to the i-th node of the path
+     */
+    private double[] rootPathCosts(WeightedPath path) {
+        double[] costs = new double[path.size()];
+        for (int i = 1; i < path.size(); i++) {
+            costs[i] = costs[i - 1] + graph.relationshipProperty(path.node(i - 1), path.node(i), 1.0D);
+        }
+        return costs;
+    }
+
+    /**
+     * The cost of the {@code remainingPaths}-th cheapest candidate. Every remaining path costs at most as much,
+     * so a more expensive candidate is not needed. If there are fewer candidates, every candidate is needed.
+     */
+    private double maxCandidateCost(int remainingPaths) {
+        if (candidates.size() < remainingPaths) {
+            return Double.MAX_VALUE;
+        }
+        double[] costs = new double[candidates.size()];
+        int index = 0;
+        for (WeightedPath candidate : candidates) {
+            costs[index++] = candidate.getCost();
+        }
+        Arrays.sort(costs);
+        return costs[remainingPaths - 1];
+    }
+
+    private SpurSearch spurSearch(int thread) {
+        while (spurSearches.size() <= thread) {
+            spurSearches.add(new SpurSearch());
+        }
+        return spurSearches.get(thread);
+    }
+
     @Override
     public YensKShortestPaths me() {
         return this;
@@ -184,7 +227,70 @@ public class YensKShortestPaths extends Algorithm<YensKShortestPaths, YensKShort
     @Override
     public void release() {
         graph = null;
-        dijkstra = null;
+        spurSearches = null;
         candidates = null;
+        knownCandidates = null;
+    }
+
+    /**
+     * The search state of one thread.
+     */
+    private final class SpurSearch {
+        // blacklist container for dijkstra
+        private final IntScatterSet nodeBlackList = new IntScatterSet();
+        private final LongScatterSet edgeBlackList = new LongScatterSet();
+        private final YensKShortestPathsDijkstra dijkstra;
+
+        SpurSearch() {
+            // equip dijkstra with a node and edge filter
+            this.dijkstra = new YensKShortestPathsDijkstra(graph.concurrentCopy(), graph.nodeCount())
+                .withTerminationFlag(getTerminationFlag())
+                .withFilter(longToIntConsumer((s, t) ->
+                    // set custom node filter
+                    !nodeBlackList.contains(t) &&
+                    // and edge filter by combining the nodeIds into a long
+                    !edgeBlackList.contains(RawValues.combineIntInt(s, t))));
+        }
+
+        /**
+         * @return the candidate that deviates from the base path at the i-th node or null if there is none
+         */
+        WeightedPath compute(WeightedPath basePath, int i, double rootPathCost, double maxCost, long goal) {
+            // we don't alter the graph therefore we clear the filters at the beginning of each search.
+            nodeBlackList.clear();
+            edgeBlackList.clear();
+            // Spur node is retrieved from the previous k-shortest path.
+            final int spurNode = basePath.node(i);
+            // check each of the known shortest paths, the list is not modified while the spur searches run
+            for (WeightedPath p : shortestPaths) {
+                if (basePath.elementWiseEquals(p, i + 1)) {
+                    // blacklist the rels that are part of the previous shortest paths with the same root path.
+                    edgeBlackList.add(p.edge(i));
+                }
+            }
+            // blacklist nodes in rootPath if not spurNode to avoid cycles
+            for (int j = 0; j <= i; j++) {
+                if (basePath.node(j) != spurNode) {
+                    nodeBlackList.add(basePath.node(j));
+                }
+            }
+            // Calculate the spur path from the spur node to the goal node.
+            int spurPathMaxDepth = maxDepth - i; // root path has i + 1 nodes, + 1 is for its dropped tail
+            final Optional<WeightedPath> spurPathOpt = dijkstra.compute(
+                spurNode,
+                goal,
+                spurPathMaxDepth,
+                maxCost - rootPathCost
+            );
+            if (!spurPathOpt.isPresent()) {
+                return null;
+            }
+            // new candidate is the concatenation of rootPath and the spurPath.
+            return basePath
+                .pathTo(i)
+                .withWeight(rootPathCost)
+                .dropTail()
+                .concat(spurPathOpt.get());
+        }
     }
 }
@@ -24,27 +24,31 @@ import com.carrotsearch.hppc.IntDoubleMap;
 import com.carrotsearch.hppc.IntDoubleScatterMap;
 import com.carrotsearch.hppc.IntIntMap;
 import com.carrotsearch.hppc.IntIntScatterMap;
+import com.carrotsearch.hppc.cursors.IntCursor;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.queue.IntPriorityQueue;
 import org.neo4j.graphalgo.core.utils.queue.SharedIntPriorityQueue;
 
-import java.util.Arrays;
 import java.util.Optional;
 
 import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
 
 /**
  * specialized dijkstra impl. for YensKShortestPath
+ *
+ * An instance is meant to be reused for many searches. The maps only grow to the size
+ * of the largest search and a search only resets the state of the nodes the previous
+ * search has reached, so that short spur searches on a large graph stay cheap.
  */
 public class YensKShortestPathsDijkstra {
 
     // initial weighted path capacity
     public static final int INITIAL_CAPACITY = 64;
     private static final int PATH_END = -1;
-    private final Graph graph;
-    private final int nodeCount;
+    private final RelationshipIterator relationships;
     private TerminationFlag terminationFlag = TerminationFlag.RUNNING_TRUE;
     // node to cost map
     private final IntDoubleMap costs;
@@ -60,16 +64,24 @@ public class YensKShortestPathsDijkstra {
     private int[] depth;
 
     public YensKShortestPathsDijkstra(Graph graph) {
-        this.graph = graph;
-        nodeCount = Math.toIntExact(graph.nodeCount());
-        costs = new IntDoubleScatterMap(nodeCount);
+        this(graph, graph.nodeCount());
+    }
+
+    /**
+     * @param relationships a relationship iterator that is used by this instance only,
+     *                      e.g. a {@link RelationshipIterator#concurrentCopy()} of the graph
+     */
+    YensKShortestPathsDijkstra(RelationshipIterator relationships, long nodeCount) {
+        this.relationships = relationships;
+        int nodes = Math.toIntExact(nodeCount);
+        costs = new IntDoubleScatterMap();
         queue = SharedIntPriorityQueue.min(
-                nodeCount,
+                IntPriorityQueue.DEFAULT_CAPACITY,
                 costs,
                 Double.MAX_VALUE);
-        path = new IntIntScatterMap(nodeCount);
-        visited = new BitSet(nodeCount);
-        depth = new int[nodeCount];
+        path = new IntIntScatterMap();
+        visited = new BitSet(nodes);
+        depth = new int[nodes];
     }
 
     /**
@@ -114,9 +126,22 @@ public class YensKShortestPathsDijkstra {
      * @return an optional path
      */
     public Optional<WeightedPath> compute(long sourceNodeId, long targetNodeId, int maxDepth) {
+        return compute(sourceNodeId, targetNodeId, maxDepth, Double.MAX_VALUE);
+    }
+
+    /**
+     * compute shortest path from sourceNode to targetNode
+     *
+     * @param sourceNodeId mapped source node id
+     * @param targetNodeId mapped target node id
+     * @param maxDepth     maximum traversal depth
+     * @param maxCost      the search gives up once all remaining paths are more expensive
+     * @return an optional path
+     */
+    public Optional<WeightedPath> compute(long sourceNodeId, long targetNodeId, int maxDepth, double maxCost) {
         int sourceNode = Math.toIntExact(sourceNodeId);
         int targetNode = Math.toIntExact(targetNodeId);
-        if (!dijkstra(sourceNode, targetNode, maxDepth)) {
+        if (!dijkstra(sourceNode, targetNode, maxDepth, maxCost)) {
             return Optional.empty();
         }
         int last = targetNode;
@@ -135,17 +160,17 @@ public class YensKShortestPathsDijkstra {
      *
      * @return true if a path has been found, false otherwise
      */
-    private boolean dijkstra(int source, int target, int maxDepth) {
-        costs.clear();
-        queue.clear();
-        path.clear();
-        visited.clear();
+    private boolean dijkstra(int source, int target, int maxDepth, double maxCost) {
+        reset();
         costs.put(source, 0.0);
         queue.add(source, 0.0);
-        Arrays.fill(depth, 0);
         depth[source] = 1;
         while (!queue.isEmpty() && terminationFlag.running()) {
             int node = queue.pop();
+            // the queue is ordered by cost, all remaining nodes are too expensive
+            if (this.costs.get(node) > maxCost) {
+                return false;
+            }
             final int d = depth[node];
             if (d >= maxDepth) {
                 continue;
@@ -155,7 +180,7 @@ public class YensKShortestPathsDijkstra {
             }
             visited.set(node);
             double costs = this.costs.getOrDefault(node, Double.MAX_VALUE);
-            graph.forEachRelationship(
+            relationships.forEachRelationship(
                     node,
                     0.0D,
                     longToIntConsumer((s, t, w) -> {
@@ -182,6 +207,18 @@ public class YensKShortestPathsDijkstra {
         return false;
     }
 
+    /**
+     * only nodes with costs have been visited or have a depth
+     */
+    private void reset() {
+        for (IntCursor cursor : costs.keys()) {
+            depth[cursor.value] = 0;
+            visited.clear(cursor.value);
+        }
+        costs.clear();
+        queue.clear();
+        path.clear();
+    }
 
     /**
      * update cost map
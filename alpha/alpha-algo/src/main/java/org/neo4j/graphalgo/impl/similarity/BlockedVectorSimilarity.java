@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.similarity;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.results.SimilarityResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Exact all-pairs top-k similarities of dense vectors of equal length.
+ *
+ * The vectors are compared tile by tile: every source vector of a tile is compared against all vectors of a target
+ * tile, so the target tile stays in cache while it is reused.
+ * Both metrics are symmetric, so only the tile pairs on and above the diagonal are computed and every score is offered
+ * to the top-k of both of its vectors.
+ * Each source vector is compared to four target vectors at once, which keeps four independent accumulators busy
+ * and reads every source value once per four pairs.
+ * Scores go straight into primitive per-source heaps, {@link SimilarityResult}s are only created for the top-k.
+ *
+ * The kernel reads the weights of the inputs in place. Sums are computed in the same order as
+ * {@link org.neo4j.graphalgo.core.utils.Intersections}, so the scores are identical to the pairwise computation.
+ */
+final class BlockedVectorSimilarity {
+
+    // 64 target vectors with 64 dimensions take 32KB
+    private static final int TILE_SIZE = 64;
+
+    enum Metric {
+        /**
+         * @see WeightedInput#cosineSquares
+         */
+        COSINE_SQUARES {
+            @Override
+            double score(double accumulated, double squaredNorm1, double squaredNorm2) {
+                if (squaredNorm1 == 0D || squaredNorm2 == 0D) return 0D;
+                return accumulated * accumulated / squaredNorm1 / squaredNorm2;
+            }
+
+            @Override
+            boolean passesCutoff(double score, double cutoff) {
+                return !(cutoff >= 0D && (score == 0 || score < cutoff));
+            }
+        },
+        /**
+         * @see WeightedInput#sumSquareDelta
+         */
+        SUM_SQUARE_DELTA {
+            @Override
+            double score(double accumulated, double squaredNorm1, double squaredNorm2) {
+                return accumulated;
+            }
+
+            @Override
+            boolean passesCutoff(double score, double cutoff) {
+                return !(cutoff >= 0D && score > cutoff);
+            }
+        };
+
+        abstract double score(double accumulated, double squaredNorm1, double squaredNorm2);
+
+        abstract boolean passesCutoff(double score, double cutoff);
+    }
+
+    private final WeightedInput[] inputs;
+    private final double[][] vectors;
+    private final double[] squaredNorms;
+    private final int dimensions;
+
+    /**
+     * @return the kernel for the inputs or {@code null} if the vectors differ in length or contain {@code NaN},
+     *         which the pairwise computation may skip.
+     */
+    static @Nullable BlockedVectorSimilarity of(WeightedInput[] inputs) {
+        if (inputs.length == 0) {
+            return null;
+        }
+        int dimensions = inputs[0].weights().length;
+        double[][] vectors = new double[inputs.length][];
+        double[] squaredNorms = new double[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            double[] weights = inputs[i].weights();
+            if (weights.length != dimensions) {
+                return null;
+            }
+            double squaredNorm = 0D;
+            for (double weight : weights) {
+                if (Double.isNaN(weight)) {
+                    return null;
+                }
+                squaredNorm += weight * weight;
+            }
+            vectors[i] = weights;
+            squaredNorms[i] = squaredNorm;
+        }
+        return new BlockedVectorSimilarity(inputs, vectors, squaredNorms, dimensions);
+    }
+
+    private BlockedVectorSimilarity(WeightedInput[] inputs, double[][] vectors, double[] squaredNorms, int dimensions) {
+        this.inputs = inputs;
+        this.vectors = vectors;
+        this.squaredNorms = squaredNorms;
+        this.dimensions = dimensions;
+    }
+
+    /**
+     * @param topK the number of results per input, positive values keep the highest scores, negative the lowest.
+     * @return the scores of every input to its top-k other inputs, grouped by input and sorted best first.
+     */
+    Stream<SimilarityResult> topK(
+        Metric metric,
+        double cutoff,
+        int topK,
+        int concurrency,
+        TerminationFlag terminationFlag
+    ) {
+        int length = inputs.length;
+        boolean descending = topK > 0;
+        int k = Math.abs(topK);
+        int tileCount = (length + TILE_SIZE - 1) / TILE_SIZE;
+
+        // one set of heaps per tile, tasks lock the heaps of a tile while they offer scores to it
+        TopKHeaps[] heaps = new TopKHeaps[tileCount];
+        for (int tile = 0; tile < tileCount; tile++) {
+            heaps[tile] = new TopKHeaps(tileEnd(tile, length) - tile * TILE_SIZE, k, descending);
+        }
+
+        // the first tiles have the most tile pairs to compute, so they are started first
+        Collection<Runnable> tasks = new ArrayList<>();
+        for (int tile = 0; tile < tileCount; tile++) {
+            int sourceTile = tile;
+            tasks.add(() -> {
+                double[] scores = new double[TILE_SIZE * TILE_SIZE];
+                for (int targetTile = sourceTile; targetTile < tileCount; targetTile++) {
+                    compareTiles(metric, sourceTile, targetTile, length, scores);
+                    offerTiles(metric, cutoff, sourceTile, targetTile, length, scores, heaps);
+                    terminationFlag.assertRunning();
+                }
+            });
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, Pools.DEFAULT);
+
+        int[] sizes = new int[length];
+        Collection<Runnable> sortTasks = new ArrayList<>();
+        for (int tile = 0; tile < tileCount; tile++) {
+            int sourceTile = tile;
+            sortTasks.add(() -> {
+                for (int source = sourceTile * TILE_SIZE; source < tileEnd(sourceTile, length); source++) {
+                    sizes[source] = heaps[sourceTile].sort(source - sourceTile * TILE_SIZE);
+                }
+            });
+        }
+        ParallelUtil.runWithConcurrency(concurrency, sortTasks, terminationFlag, Pools.DEFAULT);
+
+        return IntStream.range(0, length).boxed().flatMap(source -> {
+            TopKHeaps tileHeaps = heaps[source / TILE_SIZE];
+            int heap = source % TILE_SIZE;
+            return IntStream.range(0, sizes[source]).mapToObj(rank -> result(
+                source,
+                tileHeaps.target(heap, rank),
+                tileHeaps.score(heap, rank)
+            ));
+        });
+    }
+
+    private static int tileEnd(int tile, int length) {
+        return Math.min(length, (tile + 1) * TILE_SIZE);
+    }
+
+    /**
+     * Computes the scores of the source tile to the target tile, row by row.
+     * On the diagonal only the pairs with the source below the target are computed.
+     */
+    private void compareTiles(Metric metric, int sourceTile, int targetTile, int length, double[] scores) {
+        int sourceStart = sourceTile * TILE_SIZE;
+        int targetStart = targetTile * TILE_SIZE;
+        int sourceEnd = tileEnd(sourceTile, length);
+        int targetEnd = tileEnd(targetTile, length);
+        for (int source = sourceStart; source < sourceEnd; source++) {
+            int firstTarget = sourceTile == targetTile ? source + 1 : targetStart;
+            int row = (source - sourceStart) * TILE_SIZE - targetStart;
+            compareRow(metric, source, firstTarget, targetEnd, scores, row);
+        }
+    }
+
+    private void offerTiles(
+        Metric metric,
+        double cutoff,
+        int sourceTile,
+        int targetTile,
+        int length,
+        double[] scores,
+        TopKHeaps[] heaps
+    ) {
+        int sourceStart = sourceTile * TILE_SIZE;
+        int targetStart = targetTile * TILE_SIZE;
+        int sourceEnd = tileEnd(sourceTile, length);
+        int targetEnd = tileEnd(targetTile, length);
+        boolean diagonal = sourceTile == targetTile;
+
+        TopKHeaps sourceHeaps = heaps[sourceTile];
+        synchronized (sourceHeaps) {
+            for (int source = sourceStart; source < sourceEnd; source++) {
+                int firstTarget = diagonal ? source + 1 : targetStart;
+                int row = (source - sourceStart) * TILE_SIZE - targetStart;
+                for (int target = firstTarget; target < targetEnd; target++) {
+                    double score = scores[row + target];
+                    if (metric.passesCutoff(score, cutoff)) {
+                        sourceHeaps.offer(source - sourceStart, target, score);
+                        if (diagonal) {
+                            sourceHeaps.offer(target - sourceStart, source, score);
+                        }
+                    }
+                }
+            }
+        }
+        if (diagonal) {
+            return;
+        }
+        TopKHeaps targetHeaps = heaps[targetTile];
+        synchronized (targetHeaps) {
+            for (int source = sourceStart; source < sourceEnd; source++) {
+                int row = (source - sourceStart) * TILE_SIZE - targetStart;
+                for (int target = targetStart; target < targetEnd; target++) {
+                    double score = scores[row + target];
+                    if (metric.passesCutoff(score, cutoff)) {
+                        targetHeaps.offer(target - targetStart, source, score);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the scores of the source to the targets into {@code scores[row + target]}.
+     */
+    private void compareRow(
+        Metric metric,
+        int source,
+        int targetStart,
+        int targetEnd,
+        double[] scores,
+        int row
+    ) {
+        double[] x = vectors[source];
+        boolean delta = metric == Metric.SUM_SQUARE_DELTA;
+        int target = targetStart;
+        for (; target + 3 < targetEnd; target += 4) {
+            double[] y0 = vectors[target];
+            double[] y1 = vectors[target + 1];
+            double[] y2 = vectors[target + 2];
+            double[] y3 = vectors[target + 3];
+            double a0 = 0D, a1 = 0D, a2 = 0D, a3 = 0D;
+            if (delta) {
+                for (int d = 0; d < dimensions; d++) {
+                    double xd = x[d];
+                    double d0 = xd - y0[d];
+                    double d1 = xd - y1[d];
+                    double d2 = xd - y2[d];
+                    double d3 = xd - y3[d];
+                    a0 += d0 * d0;
+                    a1 += d1 * d1;
+                    a2 += d2 * d2;
+                    a3 += d3 * d3;
+                }
+            } else {
+                for (int d = 0; d < dimensions; d++) {
+                    double xd = x[d];
+                    a0 += xd * y0[d];
+                    a1 += xd * y1[d];
+                    a2 += xd * y2[d];
+                    a3 += xd * y3[d];
+                }
+            }
+            scores[row + target] = score(metric, source, target, a0);
+            scores[row + target + 1] = score(metric, source, target + 1, a1);
+            scores[row + target + 2] = score(metric, source, target + 2, a2);
+            scores[row + target + 3] = score(metric, source, target + 3, a3);
+        }
+        for (; target < targetEnd; target++) {
+            double[] y = vectors[target];
+            double accumulated = 0D;
+            for (int d = 0; d < dimensions; d++) {
+                double xd = x[d];
+                if (delta) {
+                    double dd = xd - y[d];
+                    accumulated += dd * dd;
+                } else {
+                    accumulated += xd * y[d];
+                }
+            }
+            scores[row + target] = score(metric, source, target, accumulated);
+        }
+    }
+
+    private double score(Metric metric, int source, int target, double accumulated) {
+        return metric.score(accumulated, squaredNorms[source], squaredNorms[target]);
+    }
+
+    private SimilarityResult result(int source, int target, double score) {
+        WeightedInput sourceInput = inputs[source];
+        WeightedInput targetInput = inputs[target];
+        // the pairwise computation compares the lower index to the higher one and reverses the result for the other
+        return new SimilarityResult(
+            sourceInput.getId(),
+            targetInput.getId(),
+            sourceInput.itemCount(),
+            targetInput.itemCount(),
+            0,
+            score,
+            true,
+            target < source
+        );
+    }
+
+    /**
+     * One bounded binary heap per source in flat arrays, with the worst kept score at the root.
+     * Ties keep the earlier, i.e. lower, target like {@link TopKConsumer}.
+     */
+    private static final class TopKHeaps {
+
+        private final int k;
+        private final boolean descending;
+        private final double[] scores;
+        private final int[] targets;
+        private final int[] sizes;
+
+        TopKHeaps(int heapCount, int k, boolean descending) {
+            this.k = k;
+            this.descending = descending;
+            this.scores = new double[heapCount * k];
+            this.targets = new int[heapCount * k];
+            this.sizes = new int[heapCount];
+        }
+
+        void offer(int heap, int target, double score) {
+            int offset = heap * k;
+            int size = sizes[heap];
+            if (size < k) {
+                scores[offset + size] = score;
+                targets[offset + size] = target;
+                sizes[heap] = size + 1;
+                siftUp(offset, size);
+            } else if (better(score, target, scores[offset], targets[offset])) {
+                scores[offset] = score;
+                targets[offset] = target;
+                siftDown(offset, 0, k);
+            }
+        }
+
+        /**
+         * Sorts the kept entries of the heap best first in place and returns their number.
+         */
+        int sort(int heap) {
+            int offset = heap * k;
+            int size = sizes[heap];
+            // heap sort, the worst entry is moved to the end first
+            for (int end = size - 1; end > 0; end--) {
+                swap(offset, offset + end);
+                siftDown(offset, 0, end);
+            }
+            return size;
+        }
+
+        int target(int heap, int rank) {
+            return targets[heap * k + rank];
+        }
+
+        double score(int heap, int rank) {
+            return scores[heap * k + rank];
+        }
+
+        private boolean better(double score, int target, double otherScore, int otherTarget) {
+            if (score != otherScore) {
+                return descending ? score > otherScore : score < otherScore;
+            }
+            return target < otherTarget;
+        }
+
+        private void siftUp(int offset, int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(scores[offset + parent], targets[offset + parent], scores[offset + index], targets[offset + index])) {
+                    break;
+                }
+                swap(offset + parent, offset + index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int offset, int index, int size) {
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && better(scores[offset + worst], targets[offset + worst], scores[offset + left], targets[offset + left])) {
+                    worst = left;
+                }
+                if (right < size && better(scores[offset + worst], targets[offset + worst], scores[offset + right], targets[offset + right])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(offset + index, offset + worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int i, int j) {
+            double score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+            int target = targets[i];
+            targets[i] = targets[j];
+            targets[j] = target;
+        }
+    }
+}
@@ -34,6 +34,11 @@ public abstract class CategoricalSimilarityAlgorithm<ME extends CategoricalSimil
 
     @Override
     CategoricalInput[] prepareInputs(Object rawData, SimilarityConfig config) {
+        if (config.nodeProperty() != null) {
+            throw new IllegalArgumentException(
+                "Categorical similarity algorithms do not support node property vectors, please provide `data` instead."
+            );
+        }
         return prepareCategories((List<Map<String, Object>>) rawData, config.degreeCutoff());
     }
 
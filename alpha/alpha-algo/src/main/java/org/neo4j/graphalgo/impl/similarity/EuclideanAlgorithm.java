@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.impl.similarity;
 
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.results.SimilarityResult;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
@@ -28,6 +29,10 @@ public class EuclideanAlgorithm extends WeightedSimilarityAlgorithm<EuclideanAlg
         super(config, api);
     }
 
+    public EuclideanAlgorithm(EuclideanConfig config, Graph graph, GraphDatabaseAPI api) {
+        super(config, graph, api);
+    }
+
     @Override
     SimilarityComputer<WeightedInput> similarityComputer(
         Double skipValue,
@@ -40,6 +45,11 @@ public class EuclideanAlgorithm extends WeightedSimilarityAlgorithm<EuclideanAlg
             (decoder, s, t, cutoff) -> s.sumSquareDeltaSkip(decoder, cutoff, t, skipValue, bidirectional);
     }
 
+    @Override
+    BlockedVectorSimilarity.Metric blockedMetric() {
+        return BlockedVectorSimilarity.Metric.SUM_SQUARE_DELTA;
+    }
+
     @Override
     SimilarityResult modifyResult(SimilarityResult result) {
         return result.squareRooted();
@@ -0,0 +1,542 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.similarity;
+
+import com.carrotsearch.hppc.BitMixer;
+import com.carrotsearch.hppc.LongHashSet;
+import org.apache.lucene.util.ArrayUtil;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.loading.GraphIndex;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.queue.NodeDistanceHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * A hierarchical navigable small world (HNSW) index over the vectors of an in-memory graph.
+ *
+ * Every indexed node is part of the proximity graph on layer 0 and, with exponentially decreasing probability,
+ * of the graphs on the layers above. A search descends greedily from the single entry point on the top layer and
+ * runs a bounded best-first search on layer 0, so a query only computes a few hundred distances instead of
+ * comparing against every vector.
+ *
+ * The index is built once, in parallel, and afterwards nodes without a vector can be inserted while queries
+ * are running. Neighbour lists are never modified, a node lock guards replacing them with a new array,
+ * which readers pick up without locking. Every thread reuses the heaps and the visited set of its searches.
+ * The index is stored in the graph catalog next to the graph it was built from, see {@link GraphIndex}.
+ */
+public final class HnswIndex implements GraphIndex {
+
+    public enum Metric {
+        COSINE {
+            @Override
+            double distance(float[] left, double leftNorm, float[] right, double rightNorm) {
+                if (leftNorm == 0.0 || rightNorm == 0.0) {
+                    return 1.0;
+                }
+                double dot = 0.0;
+                for (int i = 0; i < left.length; i++) {
+                    dot += (double) left[i] * right[i];
+                }
+                return 1.0 - dot / leftNorm / rightNorm;
+            }
+
+            @Override
+            double similarity(double distance) {
+                return 1.0 - distance;
+            }
+        },
+        EUCLIDEAN {
+            @Override
+            double distance(float[] left, double leftNorm, float[] right, double rightNorm) {
+                double sumSquareDelta = 0.0;
+                for (int i = 0; i < left.length; i++) {
+                    double delta = (double) left[i] - right[i];
+                    sumSquareDelta += delta * delta;
+                }
+                return sumSquareDelta;
+            }
+
+            @Override
+            double similarity(double distance) {
+                return Math.sqrt(distance);
+            }
+        };
+
+        /**
+         * A distance for which smaller values mean more similar vectors, it is only used to order nodes.
+         */
+        abstract double distance(float[] left, double leftNorm, float[] right, double rightNorm);
+
+        /**
+         * The value reported for a distance, i.e. the cosine similarity or the euclidean distance,
+         * matching the results of the corresponding similarity procedures.
+         */
+        abstract double similarity(double distance);
+
+        public static Metric parse(String input) {
+            for (Metric metric : values()) {
+                if (metric.name().equalsIgnoreCase(input)) {
+                    return metric;
+                }
+            }
+            throw new IllegalArgumentException(String.format(
+                "Metric `%s` is not supported. Must be one of: %s.",
+                input,
+                Arrays.stream(values()).map(m -> m.name().toLowerCase(Locale.ENGLISH)).collect(Collectors.toList())
+            ));
+        }
+    }
+
+    public static final class Neighbour {
+        public final long nodeId;
+        public final double similarity;
+
+        Neighbour(long nodeId, double similarity) {
+            this.nodeId = nodeId;
+            this.similarity = similarity;
+        }
+    }
+
+    private static final int LOCK_STRIPES = 1024;
+    private static final long[] NO_NEIGHBOURS = new long[0];
+
+    private final Metric metric;
+    private final int maxConnections;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final long randomSeed;
+
+    private final HugeObjectArray<float[]> vectors;
+    private final HugeDoubleArray norms;
+    // per node and layer the neighbours on that layer, null for nodes that are not indexed
+    private final HugeObjectArray<AtomicReferenceArray<long[]>> neighbours;
+    private final Object[] locks;
+    private final AtomicLong indexedNodes;
+    private final ThreadLocal<SearchState> searchStates;
+    private boolean released;
+
+    private volatile long entryPoint;
+    private volatile int dimensions;
+
+    public static HnswIndex build(
+        ArrayNodeProperties vectors,
+        long nodeCount,
+        HnswIndexConfig config,
+        AllocationTracker tracker
+    ) {
+        HnswIndex index = new HnswIndex(
+            nodeCount,
+            Metric.parse(config.metric()),
+            config.m(),
+            config.efConstruction(),
+            config.randomSeed(),
+            tracker
+        );
+        // the first node is the entry point for all parallel inserts
+        long firstNode = LongStream.range(0, nodeCount)
+            .filter(nodeId -> vectors.floatArrayNodeProperty(nodeId) != null)
+            .findFirst()
+            .orElse(nodeCount);
+        if (firstNode < nodeCount) {
+            index.insert(firstNode, vectors.floatArrayNodeProperty(firstNode));
+        }
+        ParallelUtil.parallelStreamConsume(
+            LongStream.range(firstNode + 1, nodeCount),
+            config.concurrency(),
+            stream -> stream.forEach(nodeId -> {
+                float[] vector = vectors.floatArrayNodeProperty(nodeId);
+                if (vector != null) {
+                    index.insert(nodeId, vector);
+                }
+            })
+        );
+        return index;
+    }
+
+    private HnswIndex(
+        long nodeCount,
+        Metric metric,
+        int m,
+        int efConstruction,
+        long randomSeed,
+        AllocationTracker tracker
+    ) {
+        this.metric = metric;
+        this.maxConnections = m;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.randomSeed = randomSeed;
+        this.vectors = HugeObjectArray.newArray(float[].class, nodeCount, tracker);
+        this.norms = HugeDoubleArray.newArray(nodeCount, tracker);
+        @SuppressWarnings("unchecked")
+        Class<AtomicReferenceArray<long[]>> neighboursClass = (Class<AtomicReferenceArray<long[]>>) (Class<?>) AtomicReferenceArray.class;
+        this.neighbours = HugeObjectArray.newArray(neighboursClass, nodeCount, tracker);
+        this.locks = new Object[LOCK_STRIPES];
+        Arrays.setAll(locks, i -> new Object());
+        this.indexedNodes = new AtomicLong();
+        this.searchStates = ThreadLocal.withInitial(SearchState::new);
+        this.entryPoint = -1L;
+        this.dimensions = -1;
+    }
+
+    public Metric metric() {
+        return metric;
+    }
+
+    public long indexedNodeCount() {
+        return indexedNodes.get();
+    }
+
+    public boolean contains(long nodeId) {
+        synchronized (lock(nodeId)) {
+            return neighbours.get(nodeId) != null;
+        }
+    }
+
+    /**
+     * Adds a node and its vector to the index. Can be called concurrently with other inserts and searches.
+     *
+     * @return {@code false} if the node was already indexed, its vector is not changed in that case
+     */
+    public boolean insert(long nodeId, float[] vector) {
+        validateDimensions(vector);
+        int level = level(nodeId);
+        AtomicReferenceArray<long[]> layers = new AtomicReferenceArray<>(level + 1);
+        for (int layer = 0; layer <= level; layer++) {
+            layers.lazySet(layer, NO_NEIGHBOURS);
+        }
+        double norm = norm(vector);
+        synchronized (lock(nodeId)) {
+            if (neighbours.get(nodeId) != null) {
+                return false;
+            }
+            vectors.set(nodeId, vector);
+            norms.set(nodeId, norm);
+            neighbours.set(nodeId, layers);
+        }
+
+        long entry;
+        synchronized (this) {
+            entry = entryPoint;
+            if (entry == -1L) {
+                entryPoint = nodeId;
+                indexedNodes.incrementAndGet();
+                return true;
+            }
+        }
+
+        int entryLevel = level(entry);
+        SearchState state = searchStates.get();
+        state.start(entry, distance(vector, norm, entry));
+        for (int layer = entryLevel; layer > level; layer--) {
+            searchLayer(vector, norm, 1, layer, state);
+        }
+        for (int layer = Math.min(level, entryLevel); layer >= 0; layer--) {
+            searchLayer(vector, norm, efConstruction, layer, state);
+            long[] selected = selectNeighbours(state.nodes, state.distances, state.size, maxConnections(layer), nodeId);
+            synchronized (lock(nodeId)) {
+                // concurrent inserts that found this node on an upper layer may already have linked to it
+                long[] linked = layers.get(layer);
+                if (linked.length == 0) {
+                    layers.set(layer, selected);
+                } else {
+                    long[] merged = LongStream.concat(Arrays.stream(linked), Arrays.stream(selected)).distinct().toArray();
+                    layers.set(layer, prune(nodeId, merged, layer));
+                }
+            }
+            for (long neighbour : selected) {
+                connect(neighbour, nodeId, layer);
+            }
+        }
+
+        if (level > entryLevel) {
+            synchronized (this) {
+                if (level > level(entryPoint)) {
+                    entryPoint = nodeId;
+                }
+            }
+        }
+        indexedNodes.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Returns up to {@code topK} indexed nodes that are most similar to the query vector, the most similar first.
+     *
+     * @param ef             the number of candidates kept during the search on the lowest layer,
+     *                       larger values increase the recall at the cost of latency
+     * @param excludedNodeId a node that is not returned, e.g. the node whose vector is the query, or {@code -1}
+     */
+    public List<Neighbour> search(float[] query, int topK, int ef, long excludedNodeId) {
+        long entry = entryPoint;
+        if (entry == -1L) {
+            return Collections.emptyList();
+        }
+        validateDimensions(query);
+        double norm = norm(query);
+        int resultCount = excludedNodeId == -1L ? topK : topK + 1;
+
+        SearchState state = searchStates.get();
+        state.start(entry, distance(query, norm, entry));
+        for (int layer = level(entry); layer > 0; layer--) {
+            searchLayer(query, norm, 1, layer, state);
+        }
+        searchLayer(query, norm, Math.max(ef, resultCount), 0, state);
+
+        List<Neighbour> result = new ArrayList<>(topK);
+        for (int i = 0; i < state.size && result.size() < topK; i++) {
+            if (state.nodes[i] != excludedNodeId) {
+                result.add(new Neighbour(state.nodes[i], metric.similarity(state.distances[i])));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Best-first search on a single layer. Starts from the nodes held by the state and replaces them
+     * with the {@code ef} closest nodes found, closest first.
+     */
+    private void searchLayer(float[] query, double queryNorm, int ef, int layer, SearchState state) {
+        LongHashSet visited = state.visited;
+        NodeDistanceHeap candidates = state.candidates;
+        NodeDistanceHeap results = state.results;
+        visited.clear();
+        candidates.clear();
+        results.clear();
+        for (int i = 0; i < state.size; i++) {
+            visited.add(state.nodes[i]);
+            candidates.add(state.nodes[i], state.distances[i]);
+            results.add(state.nodes[i], -state.distances[i]);
+        }
+        while (results.size() > ef) {
+            results.pop();
+        }
+
+        while (!candidates.isEmpty()) {
+            long closest = candidates.topNode();
+            double closestDistance = candidates.topKey();
+            candidates.pop();
+            if (results.size() >= ef && closestDistance > -results.topKey()) {
+                break;
+            }
+            for (long neighbour : neighbours(closest, layer)) {
+                if (!visited.add(neighbour)) {
+                    continue;
+                }
+                double distance = distance(query, queryNorm, neighbour);
+                if (results.size() < ef || distance < -results.topKey()) {
+                    candidates.add(neighbour, distance);
+                    results.add(neighbour, -distance);
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+
+        // the results come out farthest first
+        state.resize(results.size());
+        for (int i = state.size - 1; i >= 0; i--) {
+            state.nodes[i] = results.topNode();
+            state.distances[i] = -results.topKey();
+            results.pop();
+        }
+    }
+
+    /**
+     * The neighbour selection heuristic of the HNSW paper: a candidate is only linked if it is closer to the base
+     * node than to every neighbour selected before, so that the links also reach into neighbouring clusters.
+     *
+     * @param candidates the candidates ordered by their distance to the base node, closest first
+     */
+    private long[] selectNeighbours(long[] candidates, double[] distances, int count, int limit, long baseNodeId) {
+        long[] selected = new long[Math.min(limit, count)];
+        int selectedCount = 0;
+        for (int i = 0; i < count && selectedCount < selected.length; i++) {
+            long candidate = candidates[i];
+            if (candidate == baseNodeId) {
+                continue;
+            }
+            float[] vector = vectors.get(candidate);
+            double norm = norms.get(candidate);
+            boolean keep = true;
+            for (int j = 0; j < selectedCount; j++) {
+                if (distance(vector, norm, selected[j]) < distances[i]) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                selected[selectedCount++] = candidate;
+            }
+        }
+        return selectedCount == selected.length ? selected : Arrays.copyOf(selected, selectedCount);
+    }
+
+    private void connect(long nodeId, long newNeighbour, int layer) {
+        synchronized (lock(nodeId)) {
+            AtomicReferenceArray<long[]> layers = neighbours.get(nodeId);
+            long[] current = layers.get(layer);
+            long[] extended = Arrays.copyOf(current, current.length + 1);
+            extended[current.length] = newNeighbour;
+            layers.set(layer, extended.length <= maxConnections(layer) ? extended : prune(nodeId, extended, layer));
+        }
+    }
+
+    /**
+     * Reduces the neighbours of a node to the maximum for the layer, the caller holds the lock of the node.
+     */
+    private long[] prune(long nodeId, long[] candidateIds, int layer) {
+        float[] vector = vectors.get(nodeId);
+        double norm = norms.get(nodeId);
+        NodeDistanceHeap heap = searchStates.get().pruned;
+        heap.clear();
+        for (long candidateId : candidateIds) {
+            heap.add(candidateId, distance(vector, norm, candidateId));
+        }
+        long[] candidates = new long[candidateIds.length];
+        double[] distances = new double[candidateIds.length];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = heap.topNode();
+            distances[i] = heap.topKey();
+            heap.pop();
+        }
+        return selectNeighbours(candidates, distances, candidates.length, maxConnections(layer), nodeId);
+    }
+
+    /**
+     * The neighbours of a node that is reachable in the index, i.e. whose insert has published it.
+     * A neighbour array is never modified once it is set, so it can be read without locking.
+     */
+    private long[] neighbours(long nodeId, int layer) {
+        return neighbours.get(nodeId).get(layer);
+    }
+
+    private int maxConnections(int layer) {
+        return layer == 0 ? 2 * maxConnections : maxConnections;
+    }
+
+    /**
+     * The top layer of a node, drawn from an exponential distribution. The draw is a hash of the node id,
+     * so that the index structure does not depend on the order in which concurrent inserts run.
+     */
+    private int level(long nodeId) {
+        double uniform = ((BitMixer.mix64(nodeId ^ randomSeed) >>> 11) + 1) * 0x1.0p-53;
+        return (int) (-Math.log(uniform) * levelMultiplier);
+    }
+
+    private double distance(float[] query, double queryNorm, long nodeId) {
+        return metric.distance(query, queryNorm, vectors.get(nodeId), norms.get(nodeId));
+    }
+
+    private Object lock(long nodeId) {
+        return locks[(int) (nodeId & (LOCK_STRIPES - 1))];
+    }
+
+    private void validateDimensions(float[] vector) {
+        int expected = dimensions;
+        if (expected == -1) {
+            synchronized (this) {
+                if (dimensions == -1) {
+                    dimensions = vector.length;
+                }
+                expected = dimensions;
+            }
+        }
+        if (vector.length != expected) {
+            throw new IllegalArgumentException(String.format(
+                "The vector has %d dimensions, but the index holds vectors with %d dimensions.",
+                vector.length,
+                expected
+            ));
+        }
+    }
+
+    private static double norm(float[] vector) {
+        double squares = 0.0;
+        for (float value : vector) {
+            squares += (double) value * value;
+        }
+        return Math.sqrt(squares);
+    }
+
+    /**
+     * @return the indexed vector of the node or {@code null} if the node is not indexed
+     */
+    public float[] vector(long nodeId) {
+        if (nodeId >= vectors.size()) {
+            return null;
+        }
+        synchronized (lock(nodeId)) {
+            return vectors.get(nodeId);
+        }
+    }
+
+    @Override
+    public synchronized long release() {
+        if (released) {
+            return 0L;
+        }
+        released = true;
+        return vectors.release() + norms.release() + neighbours.release();
+    }
+
+    /**
+     * The buffers of the searches of one thread.
+     */
+    private static final class SearchState {
+        final LongHashSet visited = new LongHashSet();
+        final NodeDistanceHeap candidates = new NodeDistanceHeap();
+        // keyed by the negated distance, so that the farthest result is on top
+        final NodeDistanceHeap results = new NodeDistanceHeap();
+        final NodeDistanceHeap pruned = new NodeDistanceHeap();
+        // the nodes a layer search starts from and afterwards the nodes it found, closest first
+        long[] nodes = new long[16];
+        double[] distances = new double[16];
+        int size;
+
+        void start(long nodeId, double distance) {
+            size = 1;
+            nodes[0] = nodeId;
+            distances[0] = distance;
+        }
+
+        void resize(int newSize) {
+            if (newSize > nodes.length) {
+                int newLength = ArrayUtil.oversize(newSize, Long.BYTES);
+                nodes = new long[newLength];
+                distances = new double[newLength];
+            }
+            size = newSize;
+        }
+    }
+}
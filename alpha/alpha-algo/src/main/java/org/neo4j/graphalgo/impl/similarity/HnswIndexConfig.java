@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.similarity;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.Optional;
+
+@ValueClass
+@Configuration("HnswIndexConfigImpl")
+@SuppressWarnings("immutables:subtype")
+public interface HnswIndexConfig extends AlgoBaseConfig {
+
+    /**
+     * The name the index is stored under in the graph catalog.
+     */
+    @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
+    String indexName();
+
+    /**
+     * The node property of the graph that holds the vectors to index.
+     */
+    @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
+    String nodeProperty();
+
+    /**
+     * The maximum number of neighbours of a node on the upper layers, nodes have up to twice as many on layer 0.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 2)
+    default int m() {
+        return 16;
+    }
+
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int efConstruction() {
+        return 100;
+    }
+
+    @Value.Default
+    default String metric() {
+        return "cosine";
+    }
+
+    @Value.Default
+    default long randomSeed() {
+        return 1;
+    }
+
+    @Value.Check
+    default void validate() {
+        HnswIndex.Metric.parse(metric());
+    }
+
+    static HnswIndexConfig of(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper userInput
+    ) {
+        return new HnswIndexConfigImpl(
+            graphName,
+            maybeImplicitCreate,
+            username,
+            userInput
+        );
+    }
+}
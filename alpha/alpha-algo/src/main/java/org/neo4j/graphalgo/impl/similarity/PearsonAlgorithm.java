@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.impl.similarity;
 
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
 public final class PearsonAlgorithm extends WeightedSimilarityAlgorithm<PearsonAlgorithm> {
@@ -27,6 +28,10 @@ public final class PearsonAlgorithm extends WeightedSimilarityAlgorithm<PearsonA
         super(config, api);
     }
 
+    public PearsonAlgorithm(SimilarityConfig config, Graph graph, GraphDatabaseAPI api) {
+        super(config, graph, api);
+    }
+
     @Override
     SimilarityComputer<WeightedInput> similarityComputer(
         Double skipValue,
@@ -45,6 +45,15 @@ public interface SimilarityConfig extends AlgoBaseConfig, WritePropertyConfig {
         return "dense";
     }
 
+    /**
+     * The node property of a catalog graph that holds the vectors to compare, used instead of {@link #data()}.
+     */
+    @Value.Default
+    @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
+    default @Nullable String nodeProperty() {
+        return null;
+    }
+
     @Value.Default
     default Object data() {
         return Collections.emptyList();
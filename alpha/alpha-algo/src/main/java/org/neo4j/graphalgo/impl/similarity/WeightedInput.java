@@ -19,14 +19,25 @@
  */
 package org.neo4j.graphalgo.impl.similarity;
 
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.Intersections;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.graphalgo.results.SimilarityResult;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 public class WeightedInput implements Comparable<WeightedInput>, SimilarityInput {
+
+    // the largest array length that JVMs reliably allocate
+    private static final int MAX_INPUT_COUNT = Integer.MAX_VALUE - 8;
+
     private final long id;
     private int itemCount;
     private final double[] weights;
@@ -93,6 +104,72 @@ public class WeightedInput implements Comparable<WeightedInput>, SimilarityInput
         return inputs;
     }
 
+    /**
+     * Reads the vectors of all nodes from an array node property, in parallel and without boxing the values.
+     * The inputs are identified by the original node ids and nodes without a vector are skipped.
+     */
+    public static WeightedInput[] prepareNodePropertyWeights(
+        Graph graph,
+        ArrayNodeProperties vectors,
+        long degreeCutoff,
+        Double skipValue,
+        int concurrency
+    ) {
+        HugeObjectArray<WeightedInput> inputs = HugeObjectArray.newArray(
+            WeightedInput.class,
+            graph.nodeCount(),
+            AllocationTracker.EMPTY
+        );
+        LongAdder inputCount = new LongAdder();
+
+        boolean skipAnything = skipValue != null;
+        boolean skipNan = skipAnything && Double.isNaN(skipValue);
+
+        ParallelUtil.readParallel(concurrency, graph.nodeCount(), Pools.DEFAULT, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                float[] vector = vectors.floatArrayNodeProperty(nodeId);
+                if (vector == null) {
+                    continue;
+                }
+                double[] weights = new double[vector.length];
+                int weightsSize = 0;
+                for (int i = 0; i < vector.length; i++) {
+                    weights[i] = vector[i];
+                    if (!skipAnything || !Intersections.shouldSkip(weights[i], skipValue, skipNan)) {
+                        weightsSize++;
+                    }
+                }
+                if (weightsSize > degreeCutoff) {
+                    long id = graph.toOriginalNodeId(nodeId);
+                    inputs.set(nodeId, skipAnything
+                        ? new WeightedInput(id, weights, weights.length, weightsSize)
+                        : dense(id, weights));
+                    inputCount.increment();
+                }
+            }
+        });
+
+        // the similarity computation addresses the inputs by int index
+        if (inputCount.sum() > MAX_INPUT_COUNT) {
+            throw new IllegalArgumentException(String.format(
+                "Vector similarity supports at most %d vectors, but the node property holds %d vectors.",
+                MAX_INPUT_COUNT,
+                inputCount.sum()
+            ));
+        }
+        WeightedInput[] compacted = new WeightedInput[inputCount.intValue()];
+        int index = 0;
+        for (long nodeId = 0; nodeId < inputs.size(); nodeId++) {
+            WeightedInput input = inputs.get(nodeId);
+            if (input != null) {
+                compacted[index++] = input;
+            }
+        }
+        inputs.release();
+        Arrays.parallelSort(compacted);
+        return compacted;
+    }
+
     private static long skipSize(Double skipValue, boolean skipNan, List<Number> weightList) {
         return weightList.stream().filter(value -> !Intersections.shouldSkip(value.doubleValue(), skipValue, skipNan)).count();
     }
@@ -211,4 +288,12 @@ public class WeightedInput implements Comparable<WeightedInput>, SimilarityInput
     public int initialSize() {
         return initialSize;
     }
+
+    int itemCount() {
+        return itemCount;
+    }
+
+    double[] weights() {
+        return weights;
+    }
 }
@@ -23,31 +23,52 @@ import com.carrotsearch.hppc.LongDoubleHashMap;
 import com.carrotsearch.hppc.LongDoubleMap;
 import com.carrotsearch.hppc.LongHashSet;
 import com.carrotsearch.hppc.LongSet;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.ProcedureConstants;
+import org.neo4j.graphalgo.results.SimilarityResult;
 import org.neo4j.graphdb.Result;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.applyInTransaction;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runQueryWithoutClosingTheResult;
 
 public abstract class WeightedSimilarityAlgorithm<ME extends WeightedSimilarityAlgorithm<ME>> extends SimilarityAlgorithm<ME, WeightedInput> {
 
+    private final @Nullable Graph graph;
+
     public WeightedSimilarityAlgorithm(SimilarityConfig config, GraphDatabaseAPI api) {
+        this(config, null, api);
+    }
+
+    /**
+     * @param graph the graph whose node property vectors are compared if {@link SimilarityConfig#nodeProperty()} is set
+     */
+    public WeightedSimilarityAlgorithm(SimilarityConfig config, @Nullable Graph graph, GraphDatabaseAPI api) {
         super(config, api);
+        this.graph = graph;
     }
 
     @Override
     WeightedInput[] prepareInputs(Object rawData, SimilarityConfig config) {
         Double skipValue = config.skipValue();
-        if (ProcedureConstants.CYPHER_QUERY_KEY.equals(config.graph())) {
+        String nodeProperty = config.nodeProperty();
+        if (nodeProperty != null) {
+            return prepareNodePropertyWeights(nodeProperty, skipValue);
+        } else if (ProcedureConstants.CYPHER_QUERY_KEY.equals(config.graph())) {
             return prepareSparseWeights(api, (String) rawData, skipValue);
         } else {
             List<Map<String, Object>> data = (List<Map<String, Object>>) rawData;
@@ -55,6 +76,36 @@ public abstract class WeightedSimilarityAlgorithm<ME extends WeightedSimilarityA
         }
     }
 
+    private WeightedInput[] prepareNodePropertyWeights(String nodeProperty, Double skipValue) {
+        if (graph == null || !availableNodeProperties(graph).contains(nodeProperty)) {
+            throw new IllegalArgumentException(String.format(
+                "Node property `%s` not found in graph with node properties: %s",
+                nodeProperty,
+                graph == null ? Collections.emptySet() : availableNodeProperties(graph)
+            ));
+        }
+        ArrayNodeProperties vectors = graph.arrayNodeProperties(nodeProperty);
+        if (vectors == null) {
+            throw new IllegalArgumentException(String.format(
+                "Node property `%s` does not hold vectors.",
+                nodeProperty
+            ));
+        }
+        return WeightedInput.prepareNodePropertyWeights(
+            graph,
+            vectors,
+            config.degreeCutoff(),
+            skipValue,
+            config.concurrency()
+        );
+    }
+
+    private static Set<String> availableNodeProperties(Graph graph) {
+        Set<String> nodeProperties = new HashSet<>(graph.availableNodeProperties());
+        nodeProperties.addAll(graph.availableArrayNodeProperties());
+        return nodeProperties;
+    }
+
     private WeightedInput[] prepareSparseWeights(GraphDatabaseAPI api, String query, Double skipValue) {
         Map<String, Object> params = config.params();
         long degreeCutoff = config.degreeCutoff();
@@ -111,6 +162,45 @@ public abstract class WeightedSimilarityAlgorithm<ME extends WeightedSimilarityA
         });
     }
 
+    /**
+     * @return the metric for {@link BlockedVectorSimilarity} or {@code null} if pairs are always compared one by one.
+     */
+    @Nullable BlockedVectorSimilarity.Metric blockedMetric() {
+        return null;
+    }
+
+    /**
+     * All-pairs top-k computations over dense vectors use the blocked kernel.
+     * Skipping {@code NaN} is the default and has no effect there, as the kernel only accepts vectors without it.
+     */
+    @Override
+    protected Stream<SimilarityResult> similarityStream(
+        WeightedInput[] inputs,
+        int[] sourceIndexIds,
+        int[] targetIndexIds,
+        SimilarityComputer<WeightedInput> computer,
+        Supplier<RleDecoder> decoderFactory,
+        double cutoff,
+        int topK
+    ) {
+        BlockedVectorSimilarity.Metric metric = blockedMetric();
+        Double skipValue = config.skipValue();
+        boolean blocked = metric != null
+                          && topK != 0
+                          && sourceIndexIds.length == 0
+                          && targetIndexIds.length == 0
+                          && (skipValue == null || Double.isNaN(skipValue))
+                          && !config.showComputations()
+                          && decoderFactory.get() == null;
+        if (blocked) {
+            BlockedVectorSimilarity kernel = BlockedVectorSimilarity.of(inputs);
+            if (kernel != null) {
+                return kernel.topK(metric, cutoff, topK, config.concurrency(), terminationFlag);
+            }
+        }
+        return super.similarityStream(inputs, sourceIndexIds, targetIndexIds, computer, decoderFactory, cutoff, topK);
+    }
+
     @Override
     Supplier<RleDecoder> inputDecoderFactory(WeightedInput[] inputs) {
         return createDecoderFactory(inputs[0].initialSize());
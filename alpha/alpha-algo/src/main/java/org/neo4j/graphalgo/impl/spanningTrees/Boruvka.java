@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.spanningTrees;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.PageFiller;
+import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parallel minimum (or maximum) weight spanning forest algorithm (Boruvka).
+ * <p>
+ * Every round, each component picks the cheapest relationship that leaves it, and all picked relationships
+ * are added to the forest at once. This at least halves the number of components per round, so there are
+ * at most {@code log(nodeCount)} rounds. All phases of a round run in parallel over the node id space:
+ * <ol>
+ * <li>Every node finds its cheapest relationship to another component, the node with the cheapest
+ * relationship of a component is installed with a CAS in a per component slot.</li>
+ * <li>The picked relationships are added to the forest and their components are merged
+ * in a {@link HugeAtomicDisjointSetStruct}.</li>
+ * </ol>
+ * Ties are broken by the node ids of the relationship, so that the picked relationships never form a cycle.
+ * Two components can pick the same relationship, it is then only added by one of them.
+ * Nodes that have no relationship leaving their component are not scanned again in later rounds.
+ * <p>
+ * Every relationship must be visible from both of its nodes, so only undirected graphs are supported.
+ */
+public class Boruvka extends Algorithm<Boruvka, SpanningForest> {
+
+    private static final long NONE = -1L;
+
+    private final Graph graph;
+    private final boolean maximum;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+    private final long nodeCount;
+
+    private HugeAtomicDisjointSetStruct components;
+    // the cheapest relationship of each node that leaves its component
+    private HugeLongArray cheapestTarget;
+    private HugeDoubleArray cheapestWeight;
+    private HugeLongArray cheapestTargetComponent;
+    // the node with the cheapest relationship of each component, indexed by the root of the component
+    private HugeAtomicLongArray componentCheapestNode;
+    // nodes without any relationship that leaves their component
+    private HugeAtomicBitSet exhausted;
+
+    private HugeLongArray forestSources;
+    private HugeLongArray forestTargets;
+    private HugeDoubleArray forestWeights;
+    private final AtomicLong forestSize;
+
+    public Boruvka(
+        Graph graph,
+        boolean maximum,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        if (!graph.isUndirected()) {
+            throw new IllegalArgumentException(
+                "The spanning forest can only be computed on undirected graphs, use the UNDIRECTED projection."
+            );
+        }
+        this.graph = graph;
+        this.maximum = maximum;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+        this.nodeCount = graph.nodeCount();
+        this.forestSize = new AtomicLong();
+    }
+
+    @Override
+    public SpanningForest compute() {
+        components = new HugeAtomicDisjointSetStruct(nodeCount, tracker, concurrency);
+        cheapestTarget = HugeLongArray.newArray(nodeCount, tracker);
+        cheapestWeight = HugeDoubleArray.newArray(nodeCount, tracker);
+        cheapestTargetComponent = HugeLongArray.newArray(nodeCount, tracker);
+        componentCheapestNode = HugeAtomicLongArray.newArray(nodeCount, PageFiller.of(concurrency, i -> NONE), tracker);
+        exhausted = HugeAtomicBitSet.create(nodeCount, tracker);
+        // a spanning forest has at most one relationship less than nodes
+        forestSources = HugeLongArray.newArray(nodeCount, tracker);
+        forestTargets = HugeLongArray.newArray(nodeCount, tracker);
+        forestWeights = HugeDoubleArray.newArray(nodeCount, tracker);
+        forestSize.set(0L);
+
+        TerminationFlag terminationFlag = getTerminationFlag();
+        long previousForestSize;
+        do {
+            terminationFlag.assertRunning();
+            previousForestSize = forestSize.get();
+            ParallelUtil.readParallel(concurrency, nodeCount, terminationFlag, executor, this::findCheapestRelationships);
+            ParallelUtil.readParallel(concurrency, nodeCount, terminationFlag, executor, this::mergeComponents);
+            ParallelUtil.readParallel(concurrency, nodeCount, terminationFlag, executor, this::resetComponents);
+            getProgressLogger().logProgress(forestSize.get(), nodeCount - 1);
+        } while (forestSize.get() > previousForestSize);
+
+        SpanningForest forest = SpanningForest.of(
+            nodeCount,
+            forestSize.get(),
+            forestSources,
+            forestTargets,
+            forestWeights,
+            tracker
+        );
+        release();
+        return forest;
+    }
+
+    private void findCheapestRelationships(long startNode, long endNode) {
+        RelationshipIterator relationships = graph.concurrentCopy();
+        CheapestRelationship cheapest = new CheapestRelationship();
+        TerminationFlag terminationFlag = getTerminationFlag();
+
+        for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+            if ((nodeId - startNode) % TerminationFlag.RUN_CHECK_NODE_COUNT == 0) {
+                terminationFlag.assertRunning();
+            }
+            if (exhausted.get(nodeId)) {
+                continue;
+            }
+            long component = components.find(nodeId);
+            cheapest.reset(component);
+            relationships.forEachRelationship(nodeId, 1.0D, cheapest);
+
+            if (cheapest.target == NONE) {
+                // components only grow, none of the relationships will ever leave the component
+                exhausted.set(nodeId);
+                continue;
+            }
+            cheapestTarget.set(nodeId, cheapest.target);
+            cheapestWeight.set(nodeId, cheapest.weight);
+            cheapestTargetComponent.set(nodeId, cheapest.targetComponent);
+
+            long current;
+            do {
+                current = componentCheapestNode.get(component);
+                if (current != NONE && !isCheaper(
+                    nodeId, cheapest.target, cheapest.weight,
+                    current, cheapestTarget.get(current), cheapestWeight.get(current)
+                )) {
+                    break;
+                }
+            } while (!componentCheapestNode.compareAndSet(component, current, nodeId));
+        }
+    }
+
+    private void mergeComponents(long startNode, long endNode) {
+        for (long component = startNode; component < endNode; component++) {
+            long nodeId = componentCheapestNode.get(component);
+            if (nodeId == NONE) {
+                continue;
+            }
+            long target = cheapestTarget.get(nodeId);
+            long targetComponent = cheapestTargetComponent.get(nodeId);
+            long targetComponentNode = componentCheapestNode.get(targetComponent);
+            // both components picked the same relationship, the component with the smaller id adds it
+            if (targetComponentNode == target && cheapestTarget.get(target) == nodeId && targetComponent < component) {
+                continue;
+            }
+            components.union(nodeId, target);
+
+            long index = forestSize.getAndIncrement();
+            forestSources.set(index, nodeId);
+            forestTargets.set(index, target);
+            forestWeights.set(index, cheapestWeight.get(nodeId));
+        }
+    }
+
+    private void resetComponents(long startNode, long endNode) {
+        for (long component = startNode; component < endNode; component++) {
+            if (componentCheapestNode.get(component) != NONE) {
+                componentCheapestNode.set(component, NONE);
+            }
+        }
+    }
+
+    /**
+     * Orders relationships by weight and then by their node ids, independent of the direction they are seen from.
+     */
+    private boolean isCheaper(
+        long source,
+        long target,
+        double weight,
+        long otherSource,
+        long otherTarget,
+        double otherWeight
+    ) {
+        if (weight != otherWeight) {
+            return maximum ? weight > otherWeight : weight < otherWeight;
+        }
+        long low = Math.min(source, target);
+        long otherLow = Math.min(otherSource, otherTarget);
+        if (low != otherLow) {
+            return low < otherLow;
+        }
+        return Math.max(source, target) < Math.max(otherSource, otherTarget);
+    }
+
+    @Override
+    public Boruvka me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        components = null;
+        cheapestTarget = null;
+        cheapestWeight = null;
+        cheapestTargetComponent = null;
+        componentCheapestNode = null;
+        exhausted = null;
+        forestSources = null;
+        forestTargets = null;
+        forestWeights = null;
+    }
+
+    private final class CheapestRelationship implements RelationshipWithPropertyConsumer {
+        long component;
+        long target;
+        long targetComponent;
+        double weight;
+
+        void reset(long component) {
+            this.component = component;
+            this.target = NONE;
+            this.targetComponent = NONE;
+            this.weight = 0.0D;
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            if (sourceNodeId == targetNodeId) {
+                return true;
+            }
+            long otherComponent = components.find(targetNodeId);
+            if (otherComponent != component && (target == NONE || isCheaper(
+                sourceNodeId, targetNodeId, property,
+                sourceNodeId, target, weight
+            ))) {
+                target = targetNodeId;
+                targetComponent = otherComponent;
+                weight = property;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.spanningTrees;
+
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+/**
+ * The relationships of a spanning forest, grouped by the node they have been picked from.
+ * Every relationship is contained once, in the direction it has been picked in.
+ */
+public final class SpanningForest {
+
+    private final long nodeCount;
+    private final long relationshipCount;
+    private final double totalWeight;
+    private final HugeLongArray offsets;
+    private final HugeLongArray targets;
+    private final HugeDoubleArray weights;
+
+    private SpanningForest(
+        long nodeCount,
+        long relationshipCount,
+        double totalWeight,
+        HugeLongArray offsets,
+        HugeLongArray targets,
+        HugeDoubleArray weights
+    ) {
+        this.nodeCount = nodeCount;
+        this.relationshipCount = relationshipCount;
+        this.totalWeight = totalWeight;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    static SpanningForest of(
+        long nodeCount,
+        long relationshipCount,
+        HugeLongArray sources,
+        HugeLongArray targets,
+        HugeDoubleArray weights,
+        AllocationTracker tracker
+    ) {
+        HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        HugeLongArray sortedTargets = HugeLongArray.newArray(relationshipCount, tracker);
+        HugeDoubleArray sortedWeights = HugeDoubleArray.newArray(relationshipCount, tracker);
+
+        for (long i = 0; i < relationshipCount; i++) {
+            offsets.addTo(sources.get(i), 1L);
+        }
+        // the offsets point to the end of each node's relationships and move to their start while placing them
+        long end = 0L;
+        for (long nodeId = 0; nodeId <= nodeCount; nodeId++) {
+            end += offsets.get(nodeId);
+            offsets.set(nodeId, end);
+        }
+        double totalWeight = 0.0;
+        for (long i = 0; i < relationshipCount; i++) {
+            long source = sources.get(i);
+            long index = offsets.get(source) - 1;
+            offsets.set(source, index);
+            sortedTargets.set(index, targets.get(i));
+            sortedWeights.set(index, weights.get(i));
+            totalWeight += weights.get(i);
+        }
+
+        return new SpanningForest(nodeCount, relationshipCount, totalWeight, offsets, sortedTargets, sortedWeights);
+    }
+
+    public long nodeCount() {
+        return nodeCount;
+    }
+
+    public long relationshipCount() {
+        return relationshipCount;
+    }
+
+    /**
+     * Every relationship of the forest connects two trees, nodes without relationships are trees of their own.
+     */
+    public long treeCount() {
+        return nodeCount - relationshipCount;
+    }
+
+    public double totalWeight() {
+        return totalWeight;
+    }
+
+    public int degree(long nodeId) {
+        return Math.toIntExact(offsets.get(nodeId + 1) - offsets.get(nodeId));
+    }
+
+    public void forEachRelationship(long nodeId, RelationshipWithPropertyConsumer consumer) {
+        long end = offsets.get(nodeId + 1);
+        for (long index = offsets.get(nodeId); index < end; index++) {
+            if (!consumer.accept(nodeId, targets.get(index), weights.get(index))) {
+                return;
+            }
+        }
+    }
+
+    public void forEachRelationship(RelationshipWithPropertyConsumer consumer) {
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long end = offsets.get(nodeId + 1);
+            for (long index = offsets.get(nodeId); index < end; index++) {
+                if (!consumer.accept(nodeId, targets.get(index), weights.get(index))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    public void release() {
+        offsets.release();
+        targets.release();
+        weights.release();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.spanningTrees;
+
+import org.neo4j.graphalgo.api.FilterGraph;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+
+/**
+ * A view of the graph that only contains the relationships of a spanning forest, with the weights they were picked with.
+ */
+public class SpanningForestGraph extends FilterGraph {
+
+    private final SpanningForest spanningForest;
+
+    public SpanningForestGraph(Graph graph, SpanningForest spanningForest) {
+        super(graph);
+        this.spanningForest = spanningForest;
+    }
+
+    @Override
+    public long relationshipCount() {
+        return spanningForest.relationshipCount();
+    }
+
+    @Override
+    public int degree(long nodeId) {
+        return spanningForest.degree(nodeId);
+    }
+
+    @Override
+    public void forEachRelationship(long nodeId, RelationshipConsumer consumer) {
+        spanningForest.forEachRelationship(
+            nodeId,
+            (sourceNodeId, targetNodeId, property) -> consumer.accept(sourceNodeId, targetNodeId)
+        );
+    }
+
+    @Override
+    public void forEachRelationship(long nodeId, double fallbackValue, RelationshipWithPropertyConsumer consumer) {
+        spanningForest.forEachRelationship(nodeId, consumer);
+    }
+
+    @Override
+    public boolean exists(long sourceNodeId, long targetNodeId) {
+        // a relationship is only stored at the node it has been picked from
+        return picked(sourceNodeId, targetNodeId) || picked(targetNodeId, sourceNodeId);
+    }
+
+    private boolean picked(long sourceNodeId, long targetNodeId) {
+        boolean[] found = {false};
+        spanningForest.forEachRelationship(sourceNodeId, (source, target, property) -> {
+            found[0] = target == targetNodeId;
+            return !found[0];
+        });
+        return found[0];
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.traverse;
+
+import com.carrotsearch.hppc.LongArrayList;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A level synchronous breadth first search that expands every level in parallel and chooses the direction of each
+ * step as proposed by Beamer et al. in "Direction-Optimizing Breadth-First Search".
+ *
+ * A top-down step scans the relationships of all frontier nodes and claims their unvisited neighbours.
+ * When the relationships of the frontier outnumber a fraction of the relationships of the unvisited nodes,
+ * a bottom-up step is cheaper: every unvisited node looks for a neighbour in the frontier and stops at the first
+ * one it finds. The bottom-up step reads the relationships of a node as incoming ones, so it is only used on
+ * undirected graphs.
+ *
+ * The visited nodes are kept in a {@link HugeAtomicBitSet} whose pages are allocated on first use and the frontiers
+ * are ranges of the result array, which grows with the traversal. A traversal that only reaches a few nodes therefore
+ * also only allocates little memory. The dense frontier of the bottom-up step is created once the first bottom-up
+ * step runs.
+ *
+ * Within a level the nodes are ordered by their mapped id, so the result does not depend on how the threads
+ * raced for the nodes of a level.
+ */
+final class ParallelBFS {
+
+    // the tuning parameters of the paper, switch to bottom-up once the frontier has more than 1/ALPHA of the
+    // unexplored relationships and back to top-down once it has less than 1/BETA of all nodes
+    private static final long ALPHA = 14L;
+    private static final long BETA = 24L;
+    private static final int MIN_BATCH_SIZE = 1024;
+    // a bottom-up step reaches at most as many nodes as it scans, which must fit into the list of the step
+    private static final long MAX_BATCH_SIZE = 1L << 30;
+
+    private final Graph graph;
+    private final long startNodeId;
+    private final long maxDepth;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
+    private HugeLongArray reached;
+    private long reachedCount;
+
+    ParallelBFS(
+        Graph graph,
+        long startNodeId,
+        long maxDepth,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.startNodeId = startNodeId;
+        this.maxDepth = maxDepth;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+    }
+
+    /**
+     * @return the mapped ids of the reached nodes, ordered by their distance to the start node and then by their id
+     */
+    HugeLongArray compute(TerminationFlag terminationFlag) {
+        long nodeCount = graph.nodeCount();
+        HugeAtomicBitSet visited = HugeAtomicBitSet.create(nodeCount, tracker);
+        HugeAtomicBitSet frontierSet = null;
+
+        reached = HugeLongArray.newArray(Math.min(nodeCount, MIN_BATCH_SIZE), tracker);
+        reached.set(0, startNodeId);
+        reachedCount = 1L;
+        visited.set(startNodeId);
+
+        long frontierStart = 0L;
+        long frontierRelationships = graph.degree(startNodeId);
+        long unexploredRelationships = graph.relationshipCount() - frontierRelationships;
+        boolean bottomUp = false;
+
+        for (long depth = 0; maxDepth == -1L || depth < maxDepth; depth++) {
+            long frontierEnd = reachedCount;
+            long frontierSize = frontierEnd - frontierStart;
+            if (frontierSize == 0 || !terminationFlag.running()) {
+                break;
+            }
+
+            if (graph.isUndirected()) {
+                if (!bottomUp && frontierRelationships > unexploredRelationships / ALPHA) {
+                    bottomUp = true;
+                } else if (bottomUp && frontierSize < nodeCount / BETA) {
+                    bottomUp = false;
+                }
+            }
+
+            List<Step> steps;
+            if (bottomUp) {
+                if (frontierSet == null) {
+                    frontierSet = HugeAtomicBitSet.create(nodeCount, tracker);
+                }
+                for (long i = frontierStart; i < frontierEnd; i++) {
+                    frontierSet.set(reached.get(i));
+                }
+                steps = bottomUpSteps(nodeCount, visited, frontierSet);
+            } else {
+                steps = topDownSteps(frontierStart, frontierEnd, visited);
+            }
+            ParallelUtil.runWithConcurrency(concurrency, steps, terminationFlag, executor);
+
+            if (bottomUp) {
+                for (long i = frontierStart; i < frontierEnd; i++) {
+                    frontierSet.clear(reached.get(i));
+                }
+            }
+            frontierRelationships = 0L;
+            long levelSize = 0L;
+            for (Step step : steps) {
+                levelSize += step.next.size();
+                frontierRelationships += step.nextRelationships;
+            }
+            unexploredRelationships -= frontierRelationships;
+            grow(reachedCount + levelSize);
+            mergeLevel(steps);
+            frontierStart = frontierEnd;
+        }
+
+        return reached.size() == reachedCount ? reached : reached.copyOf(reachedCount, tracker);
+    }
+
+    private void grow(long minSize) {
+        long size = reached.size();
+        if (size < minSize) {
+            long newSize = Math.min(graph.nodeCount(), Math.max(minSize, size + (size >>> 1)));
+            HugeLongArray grown = reached.copyOf(newSize, tracker);
+            tracker.remove(reached.release());
+            reached = grown;
+        }
+    }
+
+    /**
+     * Appends the nodes of the next level in ascending order, the steps have already sorted their own nodes.
+     */
+    private void mergeLevel(List<Step> steps) {
+        int[] positions = new int[steps.size()];
+        while (true) {
+            int minStep = -1;
+            long minNode = Long.MAX_VALUE;
+            for (int i = 0; i < positions.length; i++) {
+                LongArrayList next = steps.get(i).next;
+                if (positions[i] < next.size() && next.get(positions[i]) < minNode) {
+                    minNode = next.get(positions[i]);
+                    minStep = i;
+                }
+            }
+            if (minStep == -1) {
+                return;
+            }
+            positions[minStep]++;
+            reached.set(reachedCount++, minNode);
+        }
+    }
+
+    private List<Step> topDownSteps(long start, long end, HugeAtomicBitSet visited) {
+        long batchSize = ParallelUtil.adjustedBatchSize(end - start, concurrency, MIN_BATCH_SIZE);
+        List<Step> steps = new ArrayList<>();
+        for (long batchStart = start; batchStart < end; batchStart += batchSize) {
+            steps.add(new TopDownStep(reached, batchStart, Math.min(end, batchStart + batchSize), visited));
+        }
+        return steps;
+    }
+
+    private List<Step> bottomUpSteps(long nodeCount, HugeAtomicBitSet visited, HugeAtomicBitSet frontier) {
+        long batchSize = ParallelUtil.adjustedBatchSize(nodeCount, concurrency, MIN_BATCH_SIZE, MAX_BATCH_SIZE);
+        List<Step> steps = new ArrayList<>();
+        for (long batchStart = 0; batchStart < nodeCount; batchStart += batchSize) {
+            steps.add(new BottomUpStep(batchStart, Math.min(nodeCount, batchStart + batchSize), visited, frontier));
+        }
+        return steps;
+    }
+
+    private abstract class Step implements Runnable {
+        final LongArrayList next = new LongArrayList();
+        long nextRelationships = 0L;
+        RelationshipIterator relationships;
+
+        @Override
+        public void run() {
+            relationships = graph.concurrentCopy();
+            expand();
+            Arrays.sort(next.buffer, 0, next.size());
+        }
+
+        abstract void expand();
+
+        void reach(long nodeId) {
+            next.add(nodeId);
+            nextRelationships += graph.degree(nodeId);
+        }
+    }
+
+    private final class TopDownStep extends Step {
+        private final HugeLongArray frontier;
+        private final long start;
+        private final long end;
+        private final HugeAtomicBitSet visited;
+
+        TopDownStep(HugeLongArray frontier, long start, long end, HugeAtomicBitSet visited) {
+            this.frontier = frontier;
+            this.start = start;
+            this.end = end;
+            this.visited = visited;
+        }
+
+        @Override
+        void expand() {
+            for (long i = start; i < end; i++) {
+                relationships.forEachRelationship(frontier.get(i), (sourceNodeId, targetNodeId) -> {
+                    if (!visited.getAndSet(targetNodeId)) {
+                        reach(targetNodeId);
+                    }
+                    return true;
+                });
+            }
+        }
+    }
+
+    private final class BottomUpStep extends Step {
+        private final long start;
+        private final long end;
+        private final HugeAtomicBitSet visited;
+        private final HugeAtomicBitSet frontier;
+        private boolean hasParent;
+
+        BottomUpStep(long start, long end, HugeAtomicBitSet visited, HugeAtomicBitSet frontier) {
+            this.start = start;
+            this.end = end;
+            this.visited = visited;
+            this.frontier = frontier;
+        }
+
+        @Override
+        void expand() {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                if (visited.get(nodeId)) {
+                    continue;
+                }
+                hasParent = false;
+                relationships.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
+                    hasParent = frontier.get(targetNodeId);
+                    return !hasParent;
+                });
+                if (hasParent) {
+                    // no other step looks at this node, so it can be claimed without a race
+                    visited.set(nodeId);
+                    reach(nodeId);
+                }
+            }
+        }
+    }
+}
@@ -23,9 +23,12 @@ import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.DoubleArrayDeque;
 import com.carrotsearch.hppc.LongArrayDeque;
 import com.carrotsearch.hppc.LongHashSet;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
+import java.util.concurrent.ExecutorService;
 import java.util.function.ObjDoubleConsumer;
 import java.util.function.ObjLongConsumer;
 
@@ -35,13 +38,13 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
 
     public static final Aggregator DEFAULT_AGGREGATOR = (s, t, w) -> .0;
 
-    private final int nodeCount;
     private final long startNodeId;
     private final ExitPredicate exitPredicate;
     private final Aggregator aggregatorFunction;
     private final ObjLongConsumer<LongArrayDeque> nodeFunc;
     private final ObjDoubleConsumer<DoubleArrayDeque> weightFunc;
     private final Graph graph;
+    private final @Nullable ParallelBFS levelSynchronousBfs;
     private LongArrayDeque nodes;
     private final LongArrayDeque sources;
     private DoubleArrayDeque weights;
@@ -55,19 +58,21 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
         ExitPredicate exitPredicate,
         Aggregator aggregatorFunction,
         ObjLongConsumer<LongArrayDeque> nodeFunc,
-        ObjDoubleConsumer<DoubleArrayDeque> weightFunc
+        ObjDoubleConsumer<DoubleArrayDeque> weightFunc,
+        @Nullable ParallelBFS levelSynchronousBfs
     ) {
         this.graph = graph;
-        this.nodeCount = Math.toIntExact(graph.nodeCount());
         this.startNodeId = startNodeId;
         this.exitPredicate = exitPredicate;
         this.aggregatorFunction = aggregatorFunction;
         this.nodeFunc = nodeFunc;
         this.weightFunc = weightFunc;
-        this.nodes = new LongArrayDeque(nodeCount);
-        this.sources = new LongArrayDeque(nodeCount);
-        this.weights = new DoubleArrayDeque(nodeCount);
-        this.visited = new BitSet(nodeCount);
+        this.levelSynchronousBfs = levelSynchronousBfs;
+        // the queues and the visited set grow with the traversal instead of being sized for the whole graph
+        this.nodes = new LongArrayDeque();
+        this.sources = new LongArrayDeque();
+        this.weights = new DoubleArrayDeque();
+        this.visited = new BitSet();
     }
 
     public static Traverse dfs(
@@ -82,7 +87,8 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
             exitPredicate,
             aggregatorFunction,
             LongArrayDeque::addFirst,
-            DoubleArrayDeque::addFirst
+            DoubleArrayDeque::addFirst,
+            null
         );
     }
 
@@ -98,14 +104,48 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
             exitPredicate,
             aggregatorFunction,
             LongArrayDeque::addLast,
-            DoubleArrayDeque::addLast
+            DoubleArrayDeque::addLast,
+            null
+        );
+    }
+
+    /**
+     * A breadth first search that reaches every node at most once and follows all relationships up to
+     * {@code maxDepth} hops from the start node, {@code -1} for no limit.
+     * The levels are expanded in parallel, see {@link ParallelBFS}.
+     */
+    public static Traverse bfs(
+        Graph graph,
+        long startNodeId,
+        long maxDepth,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        return new Traverse(
+            graph,
+            startNodeId,
+            (s, t, w) -> ExitPredicate.Result.FOLLOW,
+            DEFAULT_AGGREGATOR,
+            LongArrayDeque::addLast,
+            DoubleArrayDeque::addLast,
+            new ParallelBFS(graph, graph.toMappedNodeId(startNodeId), maxDepth, concurrency, executor, tracker)
         );
     }
 
     @Override
     public Traverse compute() {
+        if (levelSynchronousBfs != null) {
+            long[] reached = levelSynchronousBfs.compute(terminationFlag).toArray();
+            for (int i = 0; i < reached.length; i++) {
+                reached[i] = graph.toOriginalNodeId(reached[i]);
+            }
+            this.resultNodes = reached;
+            return me();
+        }
+
         long sourceNode = graph.toMappedNodeId(startNodeId);
-        final LongHashSet result = new LongHashSet(nodeCount);
+        final LongHashSet result = new LongHashSet();
         nodes.clear();
         sources.clear();
         visited.clear();
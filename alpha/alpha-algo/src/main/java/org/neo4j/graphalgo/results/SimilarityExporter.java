@@ -116,7 +116,11 @@ public class SimilarityExporter extends StatementApi {
         } else {
             Iterator<SimilarityResult> iterator = similarityPairs.iterator();
             do {
-                ParallelUtil.run(() -> export(take(iterator, Math.toIntExact(batchSize))), Pools.DEFAULT_SINGLE_THREAD_POOL);
+                ParallelUtil.run(
+                    () -> export(take(iterator, Math.toIntExact(batchSize))),
+                    terminationFlag,
+                    Pools.DEFAULT_SINGLE_THREAD_POOL
+                );
             } while (iterator.hasNext());
         }
     }
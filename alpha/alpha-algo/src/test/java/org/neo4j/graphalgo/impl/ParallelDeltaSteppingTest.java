@@ -22,17 +22,26 @@ package org.neo4j.graphalgo.impl;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.TestDatabaseCreator;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.beta.generator.RelationshipPropertyProducer;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig.AllowSelfLoops;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
 import org.neo4j.graphalgo.compat.GraphDbApi;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.graphbuilder.GraphBuilder;
 import org.neo4j.graphalgo.graphbuilder.GridBuilder;
 
-import java.util.concurrent.Executors;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 
@@ -107,10 +116,47 @@ class ParallelDeltaSteppingTest {
         }
     }
 
+    @Test
+    void testParallelBehaviourWithUnfusedBuckets() {
+        // the buckets grow beyond the fusion threshold, so they are shared between the threads
+        Graph randomGraph = new RandomGraphGenerator(
+            20_000,
+            5,
+            RelationshipDistribution.UNIFORM,
+            42L,
+            Optional.of(RelationshipPropertyProducer.random("weight", 1.0, 10.0)),
+            Aggregation.NONE,
+            Orientation.UNDIRECTED,
+            AllowSelfLoops.NO,
+            AllocationTracker.EMPTY
+        ).generate();
+
+        assertArrayEquals(
+            compute(randomGraph, 0, 1, 100.0),
+            compute(randomGraph, 0, 4, 0.0),
+            1E-9
+        );
+    }
+
     private double[] compute(int threads) {
-        return new ShortestPathDeltaStepping(graph, rootNodeId, 2.5)
-                .withExecutorService(Executors.newFixedThreadPool(threads))
+        return compute(graph, rootNodeId, threads, 2.5);
+    }
+
+    private static double[] compute(Graph graph, long startNode, int threads, double delta) {
+        HugeAtomicDoubleArray distances = new ShortestPathDeltaStepping(
+            graph,
+            startNode,
+            delta,
+            threads,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        )
                 .compute()
-                .getShortestPaths();
+                .distances();
+        double[] result = new double[Math.toIntExact(distances.size())];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = distances.get(i);
+        }
+        return result;
     }
 }
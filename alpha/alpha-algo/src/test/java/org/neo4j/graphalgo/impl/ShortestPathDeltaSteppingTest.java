@@ -27,12 +27,15 @@ import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.TestDatabaseCreator;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphdb.Node;
 
-import java.util.concurrent.Executors;
-
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 /**         5     5      5
@@ -115,30 +118,92 @@ final class ShortestPathDeltaSteppingTest extends AlgoTestBase {
     void testSequential() {
         final ShortestPathDeltaStepping sssp = new ShortestPathDeltaStepping(graph, head, 3);
 
-        final double[] sp = sssp.compute()
-                .getShortestPaths();
+        final HugeAtomicDoubleArray sp = sssp.compute()
+                .distances();
 
-        assertEquals(8, sp[Math.toIntExact(graph.toMappedNodeId(tail))],0.1);
+        assertEquals(8, sp.get(graph.toMappedNodeId(tail)),0.1);
     }
 
     @Test
     void testParallel() {
-        final ShortestPathDeltaStepping sssp = new ShortestPathDeltaStepping(graph, head, 3)
-                .withExecutorService(Executors.newFixedThreadPool(3));
+        final ShortestPathDeltaStepping sssp = new ShortestPathDeltaStepping(
+            graph,
+            head,
+            3,
+            3,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        final HugeAtomicDoubleArray sp = sssp.compute()
+                .distances();
+
+        assertEquals(8, sp.get(graph.toMappedNodeId(tail)),0.1);
+    }
+
+    @Test
+    void testDerivedDelta() {
+        final ShortestPathDeltaStepping sssp = new ShortestPathDeltaStepping(graph, head, 0);
+
+        final HugeAtomicDoubleArray sp = sssp.compute()
+                .distances();
+
+        assertTrue(sssp.delta() > 0);
+        assertEquals(8, sp.get(graph.toMappedNodeId(tail)),0.1);
+    }
+
+    @Test
+    void testNegativeDelta() {
+        assertThrows(IllegalArgumentException.class, () -> new ShortestPathDeltaStepping(graph, head, -1));
+    }
+
+    @Test
+    void testTinyDelta() {
+        // every distance ends up in a bucket of its own
+        final ShortestPathDeltaStepping sssp = new ShortestPathDeltaStepping(graph, head, 1E-12);
+
+        final HugeAtomicDoubleArray sp = sssp.compute().distances();
 
-        final double[] sp = sssp.compute()
-                .getShortestPaths();
+        assertEquals(8, sp.get(graph.toMappedNodeId(tail)), 0.1);
+    }
+
+    @Test
+    void testSaturatedBucketIndex() {
+        // all reachable nodes besides the start node share the last bucket
+        final ShortestPathDeltaStepping sssp = new ShortestPathDeltaStepping(graph, head, Double.MIN_VALUE);
+
+        final HugeAtomicDoubleArray sp = sssp.compute().distances();
+
+        assertEquals(8, sp.get(graph.toMappedNodeId(tail)), 0.1);
+    }
+
+    @Test
+    void testNegativeWeight() {
+        runQuery("CREATE (:Negative)-[:NEGATIVE {cost: 1}]->(:Negative)-[:NEGATIVE {cost: -1}]->(:Negative)");
+        final long[] start = new long[1];
+        runQuery("MATCH (n:Negative) WHERE NOT ()-->(n) RETURN id(n) AS id", row -> start[0] = row.getNumber("id").longValue());
+        final Graph negativeGraph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Negative")
+            .addRelationshipType("NEGATIVE")
+            .addRelationshipProperty(PropertyMapping.of("cost", Double.MAX_VALUE))
+            .build()
+            .graph(NativeFactory.class);
 
-        assertEquals(8, sp[Math.toIntExact(graph.toMappedNodeId(tail))],0.1);
+        final IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new ShortestPathDeltaStepping(negativeGraph, start[0], 1).compute()
+        );
+        assertTrue(exception.getMessage().contains("negative weights"));
     }
 
     @Test
     void distanceToNodeInDifferentComponentShouldBeInfinity() {
         final ShortestPathDeltaStepping sssp = new ShortestPathDeltaStepping(graph, head,3);
 
-        final double[] sp = sssp.compute().getShortestPaths();
+        final HugeAtomicDoubleArray sp = sssp.compute().distances();
 
-        assertEquals(Double.POSITIVE_INFINITY, sp[Math.toIntExact(graph.toMappedNodeId(getNode("z").getId()))],0.1);
+        assertEquals(Double.POSITIVE_INFINITY, sp.get(graph.toMappedNodeId(getNode("z").getId())),0.1);
     }
 
     Node getNode(String name) {
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.shortestpaths;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.beta.generator.RelationshipPropertyProducer;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig.AllowSelfLoops;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.crossArguments;
+import static org.neo4j.graphalgo.TestSupport.toArguments;
+
+class BidirectionalDijkstraTest {
+
+    private static final int NODE_COUNT = 2_000;
+
+    static Stream<Arguments> parameters() {
+        return crossArguments(
+            toArguments(() -> Stream.of(Orientation.NATURAL, Orientation.UNDIRECTED)),
+            toArguments(() -> Stream.of(false, true))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("parameters")
+    void shouldFindPathsAsShortAsDijkstra(Orientation orientation, boolean useLandmarks) {
+        Graph graph = new RandomGraphGenerator(
+            NODE_COUNT,
+            3,
+            RelationshipDistribution.UNIFORM,
+            42L,
+            Optional.of(RelationshipPropertyProducer.random("cost", 1.0, 10.0)),
+            Aggregation.NONE,
+            orientation,
+            AllowSelfLoops.NO,
+            AllocationTracker.EMPTY
+        ).generate();
+
+        LandmarkIndex landmarks = useLandmarks
+            ? LandmarkIndex.build(
+                graph,
+                0L,
+                ImmutableLandmarkIndexConfig.builder().landmarkCount(4).indexName("landmarks").build(),
+                TerminationFlag.RUNNING_TRUE,
+                AllocationTracker.EMPTY
+            )
+            : null;
+
+        Random random = new Random(42L);
+        for (int i = 0; i < 50; i++) {
+            int start = random.nextInt(NODE_COUNT);
+            // the existing Dijkstra reports no path if both nodes are the same
+            int end = (start + 1 + random.nextInt(NODE_COUNT - 1)) % NODE_COUNT;
+            long startNode = graph.toOriginalNodeId(start);
+            long endNode = graph.toOriginalNodeId(end);
+
+            double expectedCost = new ShortestPathDijkstra(graph, DijkstraConfig.of(startNode, endNode))
+                .compute()
+                .getTotalCost();
+            BidirectionalDijkstra bidirectional = new BidirectionalDijkstra(
+                graph,
+                BidirectionalDijkstraConfig.of(startNode, endNode),
+                landmarks
+            ).compute();
+            assertEquals(expectedCost, bidirectional.totalCost(), 1E-9);
+
+            List<ShortestPathDijkstra.Result> path = bidirectional.resultStream().collect(Collectors.toList());
+            assertEquals(bidirectional.pathLength(), path.size());
+            if (expectedCost == ShortestPathDijkstra.NO_PATH_FOUND) {
+                assertTrue(path.isEmpty());
+            } else {
+                assertEquals(startNode, path.get(0).nodeId.longValue());
+                assertEquals(endNode, path.get(path.size() - 1).nodeId.longValue());
+                assertEquals(expectedCost, path.get(path.size() - 1).cost, 1E-9);
+                for (int j = 1; j < path.size(); j++) {
+                    assertTrue(path.get(j).cost > path.get(j - 1).cost);
+                }
+            }
+        }
+    }
+}
@@ -32,6 +32,7 @@ import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
 import org.neo4j.graphalgo.core.utils.RawValues;
 import org.neo4j.graphdb.Node;
@@ -125,6 +126,35 @@ class YensTest extends AlgoTestBase {
         verify(mock, times(2)).accept(eq(8.0, DELTA));
     }
 
+    @Test
+    void testParallelSpurSearches() {
+        List<WeightedPath> expected = new YensKShortestPaths(graph, id("a"), id("f"), 42, 10)
+            .compute()
+            .getPaths();
+        List<WeightedPath> paths = new YensKShortestPaths(graph, id("a"), id("f"), 42, 10, 4, Pools.DEFAULT)
+            .compute()
+            .getPaths();
+
+        assertEquals(9, paths.size());
+        assertEquals(expected.size(), paths.size());
+        for (int i = 0; i < paths.size(); i++) {
+            assertArrayEquals(expected.get(i).toArray(), paths.get(i).toArray());
+            assertEquals(expected.get(i).getCost(), paths.get(i).getCost(), DELTA);
+        }
+    }
+
+    @Test
+    void testFewerPathsThanCandidates() {
+        List<WeightedPath> paths = new YensKShortestPaths(graph, id("a"), id("f"), 3, 10, 4, Pools.DEFAULT)
+            .compute()
+            .getPaths();
+
+        assertEquals(3, paths.size());
+        assertEquals(3.0, paths.get(0).getCost(), DELTA);
+        assertEquals(3.0, paths.get(1).getCost(), DELTA);
+        assertEquals(4.0, paths.get(2).getCost(), DELTA);
+    }
+
     @Test
     void test04325() {
         final RelationshipConsumer filter04325 = filter(
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.similarity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.results.SimilarityResult;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BlockedVectorSimilarityTest {
+
+    // more than two tiles and a dimension that is not a multiple of the unrolled loop
+    private static final int INPUT_COUNT = 150;
+    private static final int DIMENSIONS = 7;
+
+    private static final Comparator<SimilarityResult> BY_ITEMS = Comparator
+        .<SimilarityResult>comparingLong(result -> result.item1)
+        .thenComparingLong(result -> result.item2);
+
+    @ParameterizedTest(name = "concurrency = {0}")
+    @ValueSource(ints = {1, 4})
+    void shouldMatchPairwiseCosine(int concurrency) {
+        WeightedInput[] inputs = randomInputs();
+        SimilarityComputer<WeightedInput> computer = (decoder, s, t, cutoff) -> s.cosineSquares(decoder, cutoff, t, true);
+
+        assertEquals(
+            pairwise(inputs, computer, 0.1, 5),
+            blocked(inputs, BlockedVectorSimilarity.Metric.COSINE_SQUARES, 0.1, 5, concurrency)
+        );
+    }
+
+    @ParameterizedTest(name = "concurrency = {0}")
+    @ValueSource(ints = {1, 4})
+    void shouldMatchPairwiseEuclidean(int concurrency) {
+        WeightedInput[] inputs = randomInputs();
+        SimilarityComputer<WeightedInput> computer = (decoder, s, t, cutoff) -> s.sumSquareDelta(decoder, cutoff, t, true);
+
+        assertEquals(
+            pairwise(inputs, computer, 2.0, -3),
+            blocked(inputs, BlockedVectorSimilarity.Metric.SUM_SQUARE_DELTA, 2.0, -3, concurrency)
+        );
+    }
+
+    @Test
+    void shouldRejectInputsOfDifferentLengthOrWithNaN() {
+        WeightedInput[] inputs = {
+            WeightedInput.dense(0, new double[]{1.0, 0.5}),
+            WeightedInput.dense(1, new double[]{Double.NaN, 2.0})
+        };
+        assertNull(BlockedVectorSimilarity.of(inputs));
+
+        inputs[1] = WeightedInput.dense(1, new double[]{2.0});
+        assertNull(BlockedVectorSimilarity.of(inputs));
+
+        // values without an exact float representation, like most values coming from Cypher
+        inputs[1] = WeightedInput.dense(1, new double[]{0.1, 2.0});
+        assertNotNull(BlockedVectorSimilarity.of(inputs));
+    }
+
+    private static WeightedInput[] randomInputs() {
+        Random random = new Random(42);
+        WeightedInput[] inputs = new WeightedInput[INPUT_COUNT];
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            double[] weights = new double[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                weights[d] = random.nextDouble();
+            }
+            inputs[i] = WeightedInput.dense(i, weights);
+        }
+        return inputs;
+    }
+
+    private static List<SimilarityResult> pairwise(
+        WeightedInput[] inputs,
+        SimilarityComputer<WeightedInput> computer,
+        double cutoff,
+        int topK
+    ) {
+        return new SimilarityStreamGenerator<>(TerminationFlag.RUNNING_TRUE, 1, () -> null, computer)
+            .stream(inputs, cutoff, topK)
+            .sorted(BY_ITEMS)
+            .collect(Collectors.toList());
+    }
+
+    private static List<SimilarityResult> blocked(
+        WeightedInput[] inputs,
+        BlockedVectorSimilarity.Metric metric,
+        double cutoff,
+        int topK,
+        int concurrency
+    ) {
+        return BlockedVectorSimilarity.of(inputs)
+            .topK(metric, cutoff, topK, concurrency, TerminationFlag.RUNNING_TRUE)
+            .sorted(BY_ITEMS)
+            .collect(Collectors.toList());
+    }
+}
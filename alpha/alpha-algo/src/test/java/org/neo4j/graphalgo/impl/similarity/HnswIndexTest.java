@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.similarity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HnswIndexTest {
+
+    private static final int NODE_COUNT = 1000;
+    private static final int DIMENSIONS = 8;
+    private static final int TOP_K = 10;
+
+    private final float[][] vectors = randomVectors();
+
+    @ParameterizedTest(name = "metric = {0}")
+    @ValueSource(strings = {"cosine", "euclidean"})
+    void shouldFindNearestNeighbours(String metric) {
+        HnswIndex index = build(nodeId -> true, metric, 4);
+
+        assertEquals(NODE_COUNT, index.indexedNodeCount());
+        assertTrue(recall(index, HnswIndex.Metric.parse(metric)) >= 0.95);
+    }
+
+    @Test
+    void shouldInsertIntoBuiltIndex() {
+        HnswIndex index = build(nodeId -> nodeId % 2 == 0, "cosine", 4);
+        assertEquals(NODE_COUNT / 2, index.indexedNodeCount());
+        assertNull(index.vector(1));
+
+        for (long nodeId = 1; nodeId < NODE_COUNT; nodeId += 2) {
+            assertTrue(index.insert(nodeId, vectors[(int) nodeId]));
+        }
+
+        assertEquals(NODE_COUNT, index.indexedNodeCount());
+        assertSame(vectors[1], index.vector(1));
+        assertTrue(recall(index, HnswIndex.Metric.COSINE) >= 0.95);
+    }
+
+    @Test
+    void shouldNotInsertIndexedNodeTwice() {
+        HnswIndex index = build(nodeId -> true, "cosine", 1);
+
+        assertFalse(index.insert(0, vectors[1]));
+        assertSame(vectors[0], index.vector(0));
+        assertEquals(NODE_COUNT, index.indexedNodeCount());
+    }
+
+    @Test
+    void shouldReleaseOnlyOnce() {
+        HnswIndex index = build(nodeId -> true, "cosine", 1);
+
+        assertTrue(index.release() > 0);
+        assertEquals(0L, index.release());
+    }
+
+    @Test
+    void shouldExcludeQueryNode() {
+        HnswIndex index = build(nodeId -> true, "euclidean", 1);
+
+        assertEquals(42L, index.search(vectors[42], 1, 64, -1L).get(0).nodeId);
+        List<HnswIndex.Neighbour> neighbours = index.search(vectors[42], TOP_K, 64, 42L);
+        assertEquals(TOP_K, neighbours.size());
+        assertFalse(neighbours.stream().anyMatch(neighbour -> neighbour.nodeId == 42L));
+    }
+
+    @Test
+    void shouldRejectVectorsOfDifferentDimensions() {
+        HnswIndex index = build(nodeId -> true, "cosine", 1);
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> index.search(new float[]{1.0F, 2.0F}, TOP_K, 64, -1L)
+        );
+        assertEquals("The vector has 2 dimensions, but the index holds vectors with 8 dimensions.", exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectUnknownMetric() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> HnswIndex.Metric.parse("manhattan")
+        );
+        assertEquals("Metric `manhattan` is not supported. Must be one of: [cosine, euclidean].", exception.getMessage());
+    }
+
+    private HnswIndex build(LongPredicate indexed, String metric, int concurrency) {
+        ArrayNodeProperties properties = nodeId -> indexed.test(nodeId) ? vectors[(int) nodeId] : null;
+        HnswIndexConfig config = HnswIndexConfig.of(
+            "",
+            Optional.empty(),
+            Optional.empty(),
+            CypherMapWrapper.empty()
+                .withString("nodeProperty", "vector")
+                .withString("indexName", "index")
+                .withString("metric", metric)
+                .withNumber("concurrency", concurrency)
+        );
+        return HnswIndex.build(properties, NODE_COUNT, config, AllocationTracker.EMPTY);
+    }
+
+    /**
+     * The fraction of the exact top k neighbours of the first 100 nodes that the index finds.
+     */
+    private double recall(HnswIndex index, HnswIndex.Metric metric) {
+        long found = 0;
+        for (int nodeId = 0; nodeId < 100; nodeId++) {
+            Set<Long> approximate = index.search(vectors[nodeId], TOP_K, 64, nodeId).stream()
+                .map(neighbour -> neighbour.nodeId)
+                .collect(Collectors.toSet());
+            float[] query = vectors[nodeId];
+            int queryNodeId = nodeId;
+            found += LongStream.range(0, NODE_COUNT)
+                .filter(other -> other != queryNodeId)
+                .boxed()
+                .sorted(Comparator.comparingDouble(other -> exactDistance(metric, query, vectors[(int) (long) other])))
+                .limit(TOP_K)
+                .filter(approximate::contains)
+                .count();
+        }
+        return (double) found / (100 * TOP_K);
+    }
+
+    private static double exactDistance(HnswIndex.Metric metric, float[] left, float[] right) {
+        return metric.distance(left, norm(left), right, norm(right));
+    }
+
+    private static double norm(float[] vector) {
+        double squares = 0.0;
+        for (float value : vector) {
+            squares += value * value;
+        }
+        return Math.sqrt(squares);
+    }
+
+    private static float[][] randomVectors() {
+        Random random = new Random(42L);
+        float[][] vectors = new float[NODE_COUNT][DIMENSIONS];
+        for (float[] vector : vectors) {
+            for (int i = 0; i < DIMENSIONS; i++) {
+                vector[i] = (float) random.nextGaussian();
+            }
+        }
+        return vectors;
+    }
+}
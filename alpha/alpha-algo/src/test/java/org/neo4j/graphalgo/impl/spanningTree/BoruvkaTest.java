@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.spanningTree;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.beta.generator.RelationshipPropertyProducer;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig.AllowSelfLoops;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
+import org.neo4j.graphalgo.impl.spanningTrees.Boruvka;
+import org.neo4j.graphalgo.impl.spanningTrees.SpanningForest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.TestSupport.crossArguments;
+import static org.neo4j.graphalgo.TestSupport.toArguments;
+
+class BoruvkaTest {
+
+    private static final int NODE_COUNT = 5_000;
+
+    static Stream<Arguments> parameters() {
+        return crossArguments(
+            toArguments(() -> Stream.of(1, 4)),
+            toArguments(() -> Stream.of(false, true))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("parameters")
+    void shouldComputeSameForestWeightAsKruskal(int concurrency, boolean maximum) {
+        Graph graph = randomGraph(Orientation.UNDIRECTED);
+
+        SpanningForest forest = new Boruvka(
+            graph,
+            maximum,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        ).compute();
+
+        double[] expected = kruskal(graph, maximum);
+        assertEquals((long) expected[0], forest.relationshipCount());
+        assertEquals(NODE_COUNT - (long) expected[0], forest.treeCount());
+        assertEquals(expected[1], forest.totalWeight(), 1E-6);
+        assertAcyclic(forest);
+    }
+
+    @Test
+    void shouldFailOnDirectedGraphs() {
+        Graph graph = randomGraph(Orientation.NATURAL);
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new Boruvka(graph, false, 1, Pools.DEFAULT, AllocationTracker.EMPTY)
+        );
+    }
+
+    private static Graph randomGraph(Orientation orientation) {
+        return new RandomGraphGenerator(
+            NODE_COUNT,
+            3,
+            RelationshipDistribution.POWER_LAW,
+            42L,
+            Optional.of(RelationshipPropertyProducer.random("weight", 1.0, 100.0)),
+            Aggregation.NONE,
+            orientation,
+            AllowSelfLoops.NO,
+            AllocationTracker.EMPTY
+        ).generate();
+    }
+
+    private static void assertAcyclic(SpanningForest forest) {
+        HugeAtomicDisjointSetStruct components = new HugeAtomicDisjointSetStruct(
+            forest.nodeCount(),
+            AllocationTracker.EMPTY,
+            1
+        );
+        forest.forEachRelationship((source, target, weight) -> {
+            assertFalse(components.sameSet(source, target), "relationships of the forest must not form a cycle");
+            components.union(source, target);
+            return true;
+        });
+    }
+
+    /**
+     * @return the number of relationships and the total weight of the spanning forest found by Kruskal's algorithm
+     */
+    private static double[] kruskal(Graph graph, boolean maximum) {
+        List<double[]> relationships = new ArrayList<>();
+        graph.forEachNode(nodeId -> {
+            graph.forEachRelationship(nodeId, 1.0D, (source, target, weight) -> {
+                if (source < target) {
+                    relationships.add(new double[]{source, target, weight});
+                }
+                return true;
+            });
+            return true;
+        });
+        Comparator<double[]> byWeight = Comparator.comparingDouble(relationship -> relationship[2]);
+        relationships.sort(maximum ? byWeight.reversed() : byWeight);
+
+        HugeAtomicDisjointSetStruct components = new HugeAtomicDisjointSetStruct(
+            graph.nodeCount(),
+            AllocationTracker.EMPTY,
+            1
+        );
+        double count = 0;
+        double totalWeight = 0;
+        for (double[] relationship : relationships) {
+            long source = (long) relationship[0];
+            long target = (long) relationship[1];
+            if (!components.sameSet(source, target)) {
+                components.union(source, target);
+                count++;
+                totalWeight += relationship[2];
+            }
+        }
+        return new double[]{count, totalWeight};
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.traverse;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig.AllowSelfLoops;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.crossArguments;
+import static org.neo4j.graphalgo.TestSupport.toArguments;
+
+class ParallelBFSTest {
+
+    private static final int NODE_COUNT = 10_000;
+
+    static Stream<Arguments> parameters() {
+        return crossArguments(
+            toArguments(() -> Stream.of(Orientation.NATURAL, Orientation.UNDIRECTED)),
+            toArguments(() -> Stream.of(1, 4)),
+            toArguments(() -> Stream.of(-1L, 0L, 2L))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("parameters")
+    void shouldReachNodesInLevelOrder(Orientation orientation, int concurrency, long maxDepth) {
+        Graph graph = new RandomGraphGenerator(
+            NODE_COUNT,
+            5,
+            RelationshipDistribution.POWER_LAW,
+            42L,
+            Optional.empty(),
+            Aggregation.NONE,
+            orientation,
+            AllowSelfLoops.NO,
+            AllocationTracker.EMPTY
+        ).generate();
+        long startNode = graph.toOriginalNodeId(0L);
+
+        long[] nodes = Traverse.bfs(graph, startNode, maxDepth, concurrency, Pools.DEFAULT, AllocationTracker.EMPTY)
+            .compute()
+            .resultNodes();
+
+        int[] depths = depths(graph, maxDepth);
+        long expectedCount = Arrays.stream(depths).filter(depth -> depth != -1).count();
+        assertEquals(expectedCount, nodes.length);
+        assertEquals(startNode, nodes[0]);
+
+        boolean[] seen = new boolean[NODE_COUNT];
+        int previousDepth = 0;
+        int previousNode = -1;
+        for (long node : nodes) {
+            int mappedNode = Math.toIntExact(graph.toMappedNodeId(node));
+            assertTrue(depths[mappedNode] >= previousDepth, "nodes must be ordered by their depth");
+            assertTrue(!seen[mappedNode], "nodes must be reached only once");
+            if (depths[mappedNode] == previousDepth) {
+                assertTrue(mappedNode > previousNode, "nodes of the same depth must be ordered by their id");
+            }
+            seen[mappedNode] = true;
+            previousDepth = depths[mappedNode];
+            previousNode = mappedNode;
+        }
+    }
+
+    private static int[] depths(Graph graph, long maxDepth) {
+        int[] depths = new int[NODE_COUNT];
+        Arrays.fill(depths, -1);
+        depths[0] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            if (maxDepth != -1 && depths[node] >= maxDepth) {
+                continue;
+            }
+            graph.forEachRelationship(node, (source, target) -> {
+                if (depths[(int) target] == -1) {
+                    depths[(int) target] = depths[node] + 1;
+                    queue.add((int) target);
+                }
+                return true;
+            });
+        }
+        return depths;
+    }
+}
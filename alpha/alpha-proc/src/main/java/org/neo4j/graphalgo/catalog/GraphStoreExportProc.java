@@ -48,7 +48,7 @@ public class GraphStoreExportProc extends BaseProc {
 
         GraphStoreExportResult result = runWithExceptionLogging(
             "Graph creation failed", () -> {
-                GraphStore graphStore = GraphStoreCatalog.get(getUsername(), graphName).graphStore();
+                GraphStore graphStore = GraphStoreCatalog.get(getUsername(), graphName).graphStore().snapshot();
                 GraphStoreExport graphStoreExport = new GraphStoreExport(graphStore, config);
 
                 long start = System.nanoTime();
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.BaseConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.Collections;
+import java.util.List;
+
+@ValueClass
+@Configuration("GraphUpdateRelationshipsConfigImpl")
+@SuppressWarnings("immutables:subtype")
+public interface GraphUpdateRelationshipsConfig extends BaseConfig {
+
+    String relationshipType();
+
+    /**
+     * Neo4j ids of the source nodes of the inserted relationships, the n-th source belongs to the n-th target.
+     */
+    @Value.Default
+    default List<Long> insertSourceIds() {
+        return Collections.emptyList();
+    }
+
+    @Value.Default
+    default List<Long> insertTargetIds() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Property values of the inserted relationships, if empty the default value of the property is used.
+     */
+    @Value.Default
+    default List<Number> insertProperties() {
+        return Collections.emptyList();
+    }
+
+    @Value.Default
+    default List<Long> deleteSourceIds() {
+        return Collections.emptyList();
+    }
+
+    @Value.Default
+    default List<Long> deleteTargetIds() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * The number of threads that copy the relationships when the update has to rebuild the relationship type.
+     */
+    @Value.Default
+    default int concurrency() {
+        return AlgoBaseConfig.DEFAULT_CONCURRENCY;
+    }
+
+    @Value.Check
+    default void validate() {
+        validateSize("insertSourceIds", insertSourceIds(), "insertTargetIds", insertTargetIds());
+        if (!insertProperties().isEmpty()) {
+            validateSize("insertSourceIds", insertSourceIds(), "insertProperties", insertProperties());
+        }
+        validateSize("deleteSourceIds", deleteSourceIds(), "deleteTargetIds", deleteTargetIds());
+    }
+
+    static void validateSize(String key, List<?> values, String otherKey, List<?> otherValues) {
+        if (values.size() != otherValues.size()) {
+            throw new IllegalArgumentException(String.format(
+                "The number of %s (%d) must match the number of %s (%d).",
+                key,
+                values.size(),
+                otherKey,
+                otherValues.size()
+            ));
+        }
+    }
+
+    static GraphUpdateRelationshipsConfig of(String username, CypherMapWrapper config) {
+        return new GraphUpdateRelationshipsConfigImpl(username, config);
+    }
+}
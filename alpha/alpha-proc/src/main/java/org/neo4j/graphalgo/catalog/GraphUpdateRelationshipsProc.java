@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.graphalgo.BaseProc;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.GraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
+import org.neo4j.graphalgo.core.loading.RelationshipDelta;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphUpdateRelationshipsProc extends BaseProc {
+
+    @Procedure(name = "gds.alpha.graph.updateRelationships", mode = READ)
+    @Description("Inserts and deletes relationships of a relationship type in a named graph.")
+    public Stream<GraphUpdateRelationshipsResult> updateRelationships(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        GraphUpdateRelationshipsConfig config = GraphUpdateRelationshipsConfig.of(getUsername(), cypherConfig);
+        validateConfig(cypherConfig, config);
+
+        GraphUpdateRelationshipsResult result = runWithExceptionLogging(
+            "Relationship update failed", () -> {
+                GraphStoreWithConfig graphStoreWithConfig = GraphStoreCatalog.get(getUsername(), graphName);
+                GraphStore graphStore = graphStoreWithConfig.graphStore();
+                RelationshipDelta delta = delta(config);
+                if (delta.deleteCount() > 0) {
+                    validateDeletesAllowed(graphName, config.relationshipType());
+                }
+                Aggregation aggregation = graphStoreWithConfig.relationshipAggregation(config.relationshipType());
+
+                long start = System.nanoTime();
+                graphStore.applyRelationshipDelta(
+                    config.relationshipType(),
+                    delta,
+                    aggregation,
+                    config.concurrency(),
+                    Pools.DEFAULT
+                );
+                long end = System.nanoTime();
+
+                return new GraphUpdateRelationshipsResult(
+                    graphName,
+                    config.relationshipType(),
+                    delta.insertCount(),
+                    delta.deleteCount(),
+                    graphStore.relationshipCount(config.relationshipType()),
+                    TimeUnit.NANOSECONDS.toMillis(end - start)
+                );
+            }
+        );
+
+        return Stream.of(result);
+    }
+
+    /**
+     * Indexes that merge inserted relationships cannot undo a merge, deletes of their types would make them
+     * wrong without being detected. Inserts change the relationship version and make these indexes outdated.
+     */
+    private void validateDeletesAllowed(String graphName, String relationshipType) {
+        GraphStoreCatalog.getIndexes(getUsername(), graphName).forEach((indexName, index) -> {
+            if (!index.allowsRelationshipDeletes(relationshipType)) {
+                throw new IllegalArgumentException(String.format(
+                    "Relationships of type `%s` cannot be deleted while they are maintained by index `%s`.",
+                    relationshipType,
+                    indexName
+                ));
+            }
+        });
+    }
+
+    private static RelationshipDelta delta(GraphUpdateRelationshipsConfig config) {
+        RelationshipDelta delta = new RelationshipDelta();
+        List<Number> insertProperties = config.insertProperties();
+        for (int i = 0; i < config.insertSourceIds().size(); i++) {
+            delta.insert(
+                config.insertSourceIds().get(i),
+                config.insertTargetIds().get(i),
+                insertProperties.isEmpty() ? Double.NaN : insertProperties.get(i).doubleValue()
+            );
+        }
+        for (int i = 0; i < config.deleteSourceIds().size(); i++) {
+            delta.delete(config.deleteSourceIds().get(i), config.deleteTargetIds().get(i));
+        }
+        return delta;
+    }
+
+    public static class GraphUpdateRelationshipsResult {
+        public final String graphName;
+        public final String relationshipType;
+        public final long insertCount;
+        public final long deleteCount;
+        public final long relationshipCount;
+        public final long updateMillis;
+
+        public GraphUpdateRelationshipsResult(
+            String graphName,
+            String relationshipType,
+            long insertCount,
+            long deleteCount,
+            long relationshipCount,
+            long updateMillis
+        ) {
+            this.graphName = graphName;
+            this.relationshipType = relationshipType;
+            this.insertCount = insertCount;
+            this.deleteCount = deleteCount;
+            this.relationshipCount = relationshipCount;
+            this.updateMillis = updateMillis;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.linkprediction;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.AlphaAlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.impl.linkprediction.LinkPrediction;
+import org.neo4j.graphalgo.impl.linkprediction.LinkPredictionConfig;
+import org.neo4j.graphalgo.impl.linkprediction.LinkPredictionMetric;
+import org.neo4j.graphalgo.results.SimilarityExporter;
+import org.neo4j.graphalgo.results.SimilarityResult;
+import org.neo4j.logging.Log;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+import static org.neo4j.procedure.Mode.WRITE;
+
+public class LinkPredictionProc extends AlgoBaseProc<LinkPrediction, Stream<LinkPrediction.Result>, LinkPredictionConfig> {
+
+    private static final String DESCRIPTION =
+        "Computes Adamic Adar, Resource Allocation, Common Neighbors, Preferential Attachment and Total Neighbors " +
+        "for candidate pairs of nodes of an in-memory graph.";
+
+    @Procedure(name = "gds.alpha.linkprediction.stream", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<LinkPrediction.Result> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        // the scores are computed while the result is consumed, so the topology must not be released
+        ComputationResult<LinkPrediction, Stream<LinkPrediction.Result>, LinkPredictionConfig> computationResult =
+            compute(graphNameOrConfig, configuration, true, false);
+
+        if (computationResult.isGraphEmpty()) {
+            return Stream.empty();
+        }
+        return computationResult.result();
+    }
+
+    @Procedure(name = "gds.alpha.linkprediction.write", mode = WRITE)
+    @Description(DESCRIPTION)
+    public Stream<WriteResult> write(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        // the scores are computed while the result is consumed, so the topology must not be released
+        ComputationResult<LinkPrediction, Stream<LinkPrediction.Result>, LinkPredictionConfig> computationResult =
+            compute(graphNameOrConfig, configuration, true, false);
+
+        LinkPredictionConfig config = computationResult.config();
+        LinkPredictionMetric metric = config.writeMetric();
+        AtomicLong relationshipsWritten = new AtomicLong();
+        AtomicLong writeMillis = new AtomicLong();
+
+        if (!computationResult.isGraphEmpty()) {
+            SimilarityExporter exporter = new SimilarityExporter(
+                api,
+                config.writeRelationshipType(),
+                config.writeProperty(),
+                TerminationFlag.wrap(transaction)
+            );
+            try (ProgressTimer ignored = ProgressTimer.start(writeMillis::set)) {
+                exporter.export(
+                    computationResult.result()
+                        .peek(result -> relationshipsWritten.incrementAndGet())
+                        .map(result -> new SimilarityResult(
+                            result.node1,
+                            result.node2,
+                            -1,
+                            -1,
+                            (long) result.commonNeighbors,
+                            metric.score(result)
+                        )),
+                    config.writeBatchSize()
+                );
+            }
+        }
+
+        return Stream.of(new WriteResult(
+            computationResult.createMillis(),
+            computationResult.computeMillis(),
+            writeMillis.get(),
+            relationshipsWritten.get(),
+            config.writeRelationshipType(),
+            config.writeProperty(),
+            metric.toString()
+        ));
+    }
+
+    @Override
+    protected LinkPredictionConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return LinkPredictionConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<LinkPrediction, LinkPredictionConfig> algorithmFactory(LinkPredictionConfig config) {
+        return new AlphaAlgorithmFactory<LinkPrediction, LinkPredictionConfig>() {
+            @Override
+            public LinkPrediction build(
+                Graph graph,
+                LinkPredictionConfig configuration,
+                AllocationTracker tracker,
+                Log log
+            ) {
+                return new LinkPrediction(graph, configuration, Pools.DEFAULT)
+                    .withTerminationFlag(TerminationFlag.wrap(transaction));
+            }
+
+            @Override
+            public MemoryEstimation memoryEstimation(LinkPredictionConfig configuration) {
+                return LinkPrediction.memoryEstimation(configuration.sourceIds().size());
+            }
+        };
+    }
+
+    public static class WriteResult {
+        public final long createMillis;
+        public final long computeMillis;
+        public final long writeMillis;
+        public final long relationshipsWritten;
+        public final String writeRelationshipType;
+        public final String writeProperty;
+        public final String metric;
+
+        WriteResult(
+            long createMillis,
+            long computeMillis,
+            long writeMillis,
+            long relationshipsWritten,
+            String writeRelationshipType,
+            String writeProperty,
+            String metric
+        ) {
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.writeMillis = writeMillis;
+            this.relationshipsWritten = relationshipsWritten;
+            this.writeRelationshipType = writeRelationshipType;
+            this.writeProperty = writeProperty;
+            this.metric = metric;
+        }
+    }
+}
@@ -20,6 +20,7 @@
 
 package org.neo4j.graphalgo.shortestpath;
 
+import org.immutables.value.Value;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
@@ -41,7 +42,20 @@ public interface ShortestPathDeltaSteppingConfig extends BaseConfig, Relationshi
     @Configuration.ConvertWith("nodeId")
     long startNode();
 
-    double delta();
+    /**
+     * The width of the buckets, {@code 0} derives it from the relationship weights.
+     */
+    @Value.Default
+    default double delta() {
+        return 0.0;
+    }
+
+    @Value.Check
+    default void validate() {
+        if (!(delta() >= 0)) {
+            throw new IllegalArgumentException(String.format("Delta must not be negative, but was %s", delta()));
+        }
+    }
 
     @Override
     default String writeProperty() {
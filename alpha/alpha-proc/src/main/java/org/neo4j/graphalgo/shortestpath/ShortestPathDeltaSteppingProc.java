@@ -26,13 +26,15 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
-import org.neo4j.graphalgo.core.write.Translators;
 import org.neo4j.graphalgo.impl.ShortestPathDeltaStepping;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.result.AbstractResultBuilder;
 import org.neo4j.graphalgo.results.DeltaSteppingProcResult;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
 import org.neo4j.logging.Log;
 import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
@@ -81,6 +83,15 @@ public class ShortestPathDeltaSteppingProc extends AlgoBaseProc<ShortestPathDelt
         return computationResult.result().resultStream();
     }
 
+    @Procedure(value = "gds.alpha.shortestPath.deltaStepping.stream.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> streamEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
     @Procedure(value = "gds.alpha.shortestPath.deltaStepping.write", mode = WRITE)
     @Description(DESCRIPTION)
     public Stream<DeltaSteppingProcResult> deltaStepping(
@@ -111,14 +122,23 @@ public class ShortestPathDeltaSteppingProc extends AlgoBaseProc<ShortestPathDelt
                 .build()
                 .write(
                     config.writeProperty(),
-                    algorithm.getShortestPaths(),
-                    Translators.DOUBLE_ARRAY_TRANSLATOR
+                    algorithm.distances(),
+                    HugeAtomicDoubleArray.Translator.INSTANCE
                 );
         }
 
         return Stream.of(builder.build());
     }
 
+    @Procedure(value = "gds.alpha.shortestPath.deltaStepping.write.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> writeEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
     @Override
     protected ShortestPathDeltaSteppingConfig newConfig(
         String username,
@@ -144,9 +164,17 @@ public class ShortestPathDeltaSteppingProc extends AlgoBaseProc<ShortestPathDelt
                 return new ShortestPathDeltaStepping(
                     graph,
                     configuration.startNode(),
-                    configuration.delta()
+                    configuration.delta(),
+                    configuration.concurrency(),
+                    Pools.DEFAULT,
+                    tracker
                 );
             }
+
+            @Override
+            public MemoryEstimation memoryEstimation(ShortestPathDeltaSteppingConfig configuration) {
+                return ShortestPathDeltaStepping.memoryEstimation();
+            }
         };
     }
 }
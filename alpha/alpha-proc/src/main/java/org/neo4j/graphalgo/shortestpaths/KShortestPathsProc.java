@@ -25,6 +25,7 @@ import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.AlphaAlgorithmFactory;
 import org.neo4j.graphalgo.api.FilterGraph;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.concurrency.Pools;
@@ -203,7 +204,9 @@ public class KShortestPathsProc extends AlgoBaseProc<YensKShortestPaths, YensKSh
                     configuration.startNode(),
                     configuration.endNode(),
                     configuration.k(),
-                    configuration.maxDepth()
+                    configuration.maxDepth(),
+                    configuration.concurrency(),
+                    Pools.DEFAULT
                 );
             }
         };
@@ -285,6 +288,11 @@ public class KShortestPathsProc extends AlgoBaseProc<YensKShortestPaths, YensKSh
         public void release() {
         }
 
+        @Override
+        public RelationshipIterator concurrentCopy() {
+            return graph.concurrentCopy();
+        }
+
         void actuallyRelease() {
             super.release();
         }
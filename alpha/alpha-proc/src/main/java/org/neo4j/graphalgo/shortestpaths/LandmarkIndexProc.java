@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.shortestpaths;
+
+import org.neo4j.graphalgo.BaseProc;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.impl.shortestpaths.LandmarkIndex;
+import org.neo4j.graphalgo.impl.shortestpaths.LandmarkIndexConfig;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+/**
+ * Computes the landmark distances of a named graph once and stores them in the graph catalog next to the graph,
+ * so that {@code gds.alpha.shortestPath.bidirectional.stream} can use them for every following query.
+ */
+public class LandmarkIndexProc extends BaseProc {
+
+    @Procedure(name = "gds.alpha.shortestPath.landmarks.mutate", mode = READ)
+    @Description("Computes the shortest path distances from a set of landmarks to all nodes of a named graph and stores them in the graph.")
+    public Stream<MutateResult> mutate(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        LandmarkIndexConfig config = LandmarkIndexConfig.of(getUsername(), Optional.of(graphName), Optional.empty(), cypherConfig);
+        validateConfig(cypherConfig, config);
+
+        GraphStore graphStore = GraphStoreCatalog.get(getUsername(), graphName).graphStore();
+        if (GraphStoreCatalog.getIndex(getUsername(), graphName, config.indexName()).isPresent()) {
+            throw new IllegalArgumentException(String.format(
+                "Index `%s` already exists for graph `%s`.",
+                config.indexName(),
+                graphName
+            ));
+        }
+        // read before the graph, so that relationship updates during the computation make the index outdated
+        long relationshipVersion = graphStore.relationshipVersion();
+        Graph graph = graphStore.getGraph(
+            config.relationshipTypes(),
+            Optional.ofNullable(config.relationshipWeightProperty())
+        );
+
+        AtomicLong computeMillis = new AtomicLong();
+        LandmarkIndex index;
+        try (ProgressTimer ignored = ProgressTimer.start(computeMillis::set)) {
+            index = LandmarkIndex.build(
+                graph,
+                relationshipVersion,
+                config,
+                TerminationFlag.wrap(transaction),
+                AllocationTracker.create()
+            );
+        }
+        try {
+            GraphStoreCatalog.setIndex(getUsername(), graphName, config.indexName(), index);
+        } catch (RuntimeException e) {
+            // the graph was dropped or another index with the same name was stored in the meantime
+            index.release();
+            throw e;
+        }
+
+        return Stream.of(new MutateResult(
+            computeMillis.get(),
+            graph.nodeCount(),
+            index.landmarks().length,
+            config.indexName()
+        ));
+    }
+
+    public static class MutateResult {
+        public final long computeMillis;
+        public final long nodeCount;
+        public final long landmarkCount;
+        public final String indexName;
+
+        MutateResult(long computeMillis, long nodeCount, long landmarkCount, String indexName) {
+            this.computeMillis = computeMillis;
+            this.nodeCount = nodeCount;
+            this.landmarkCount = landmarkCount;
+            this.indexName = indexName;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.shortestpaths;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.AlphaAlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphIndex;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.impl.shortestpaths.BidirectionalDijkstra;
+import org.neo4j.graphalgo.impl.shortestpaths.BidirectionalDijkstraConfig;
+import org.neo4j.graphalgo.impl.shortestpaths.LandmarkIndex;
+import org.neo4j.graphalgo.impl.shortestpaths.ShortestPathDijkstra;
+import org.neo4j.logging.Log;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class ShortestPathBidirectionalProc extends AlgoBaseProc<BidirectionalDijkstra, BidirectionalDijkstra, BidirectionalDijkstraConfig> {
+
+    private static final String DESCRIPTION =
+        "The Shortest Path algorithm calculates the shortest (weighted) path between a pair of nodes " +
+        "with a bidirectional Dijkstra search, optionally guided by the landmarks of a named graph.";
+
+    @Procedure(name = "gds.alpha.shortestPath.bidirectional.stream", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<ShortestPathDijkstra.Result> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<BidirectionalDijkstra, BidirectionalDijkstra, BidirectionalDijkstraConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        if (computationResult.graph().isEmpty()) {
+            return Stream.empty();
+        }
+        return computationResult.algorithm().resultStream();
+    }
+
+    @Override
+    protected BidirectionalDijkstraConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper userInput
+    ) {
+        return BidirectionalDijkstraConfig.of(graphName, maybeImplicitCreate, username, userInput);
+    }
+
+    @Override
+    protected AlgorithmFactory<BidirectionalDijkstra, BidirectionalDijkstraConfig> algorithmFactory(
+        BidirectionalDijkstraConfig config
+    ) {
+        return new AlphaAlgorithmFactory<BidirectionalDijkstra, BidirectionalDijkstraConfig>() {
+            @Override
+            public BidirectionalDijkstra build(
+                Graph graph,
+                BidirectionalDijkstraConfig configuration,
+                AllocationTracker tracker,
+                Log log
+            ) {
+                LandmarkIndex landmarks = null;
+                if (configuration.landmarkIndex() != null) {
+                    landmarks = landmarkIndex(configuration);
+                }
+                return new BidirectionalDijkstra(graph, configuration, landmarks);
+            }
+        };
+    }
+
+    private LandmarkIndex landmarkIndex(BidirectionalDijkstraConfig config) {
+        String graphName = config.graphName().orElseThrow(() -> new IllegalArgumentException(
+            "Landmarks can only be used with a named graph."
+        ));
+        GraphIndex index = GraphStoreCatalog.getIndex(getUsername(), graphName, config.landmarkIndex()).orElse(null);
+        if (!(index instanceof LandmarkIndex)) {
+            throw new IllegalArgumentException(String.format(
+                "Graph `%s` has no landmark index `%s` computed by `gds.alpha.shortestPath.landmarks.mutate`.",
+                graphName,
+                config.landmarkIndex()
+            ));
+        }
+        LandmarkIndex landmarks = (LandmarkIndex) index;
+        landmarks.validate(
+            GraphStoreCatalog.get(getUsername(), graphName).graphStore().relationshipVersion(),
+            config.relationshipTypes(),
+            config.relationshipWeightProperty()
+        );
+        return landmarks;
+    }
+}
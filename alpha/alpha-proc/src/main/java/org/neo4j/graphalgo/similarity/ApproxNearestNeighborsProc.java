@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.similarity;
 
 import org.HdrHistogram.DoubleHistogram;
 import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
@@ -97,9 +98,9 @@ public class ApproxNearestNeighborsProc extends SimilarityProc<ApproxNearestNeig
     }
 
     @Override
-    ApproxNearestNeighborsAlgorithm<SimilarityInput> newAlgo(ApproximateNearestNeighborsConfig config) {
+    ApproxNearestNeighborsAlgorithm<SimilarityInput> newAlgo(ApproximateNearestNeighborsConfig config, Graph graph) {
         SimilarityAlgorithm<?, SimilarityInput> similarity =
-            (SimilarityAlgorithm<?, SimilarityInput>) similarityAlgorithm(config);
+            (SimilarityAlgorithm<?, SimilarityInput>) similarityAlgorithm(config, graph);
         return new ApproxNearestNeighborsAlgorithm<>(
             config,
             similarity,
@@ -110,20 +111,20 @@ public class ApproxNearestNeighborsProc extends SimilarityProc<ApproxNearestNeig
         );
     }
 
-    SimilarityAlgorithm<?, ? extends SimilarityInput> similarityAlgorithm(ApproximateNearestNeighborsConfig config) {
+    SimilarityAlgorithm<?, ? extends SimilarityInput> similarityAlgorithm(ApproximateNearestNeighborsConfig config, Graph graph) {
         switch (config.algorithm()) {
             case jaccard:
                 JaccardConfig jaccardConfig = ImmutableJaccardConfig.builder().from(config).build();
                 return new JaccardAlgorithm(jaccardConfig, api);
             case cosine:
                 CosineConfig cosineConfig = ImmutableCosineConfig.builder().from(config).build();
-                return new CosineAlgorithm(cosineConfig, api);
+                return new CosineAlgorithm(cosineConfig, graph, api);
             case pearson:
                 PearsonConfig pearsonConfig = ImmutablePearsonConfig.builder().from(config).build();
-                return new PearsonAlgorithm(pearsonConfig, api);
+                return new PearsonAlgorithm(pearsonConfig, graph, api);
             case euclidean:
                 EuclideanConfig euclideanConfig = ImmutableEuclideanConfig.builder().from(config).build();
-                return new EuclideanAlgorithm(euclideanConfig, api);
+                return new EuclideanAlgorithm(euclideanConfig, graph, api);
             default:
                 throw new IllegalArgumentException("Unexpected value: " + config.algorithm() + " (sad java 😞)");
         }
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.similarity;
 
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.impl.similarity.CosineAlgorithm;
 import org.neo4j.graphalgo.impl.similarity.CosineConfig;
@@ -70,7 +71,7 @@ public class CosineProc extends SimilarityProc<CosineAlgorithm, CosineConfig> {
     }
 
     @Override
-    CosineAlgorithm newAlgo(CosineConfig config) {
-        return new CosineAlgorithm(config, api);
+    CosineAlgorithm newAlgo(CosineConfig config, Graph graph) {
+        return new CosineAlgorithm(config, graph, api);
     }
 }
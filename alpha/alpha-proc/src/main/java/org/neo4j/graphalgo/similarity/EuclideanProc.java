@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.similarity;
 
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.impl.similarity.EuclideanAlgorithm;
 import org.neo4j.graphalgo.impl.similarity.EuclideanConfig;
@@ -70,7 +71,7 @@ public class EuclideanProc extends SimilarityProc<EuclideanAlgorithm, EuclideanC
     }
 
     @Override
-    EuclideanAlgorithm newAlgo(EuclideanConfig config) {
-        return new EuclideanAlgorithm(config, api);
+    EuclideanAlgorithm newAlgo(EuclideanConfig config, Graph graph) {
+        return new EuclideanAlgorithm(config, graph, api);
     }
 }
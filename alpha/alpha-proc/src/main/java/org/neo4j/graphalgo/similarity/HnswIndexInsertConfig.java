@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.BaseConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.List;
+
+@ValueClass
+@Configuration("HnswIndexInsertConfigImpl")
+@SuppressWarnings("immutables:subtype")
+public interface HnswIndexInsertConfig extends BaseConfig {
+
+    @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
+    String indexName();
+
+    /**
+     * Neo4j ids of the inserted nodes, the n-th node is indexed with the n-th vector.
+     */
+    List<Long> nodeIds();
+
+    List<List<Number>> vectors();
+
+    @Value.Check
+    default void validate() {
+        if (nodeIds().size() != vectors().size()) {
+            throw new IllegalArgumentException(String.format(
+                "The number of nodeIds (%d) must match the number of vectors (%d).",
+                nodeIds().size(),
+                vectors().size()
+            ));
+        }
+    }
+
+    static HnswIndexInsertConfig of(String username, CypherMapWrapper config) {
+        return new HnswIndexInsertConfigImpl(username, config);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity;
+
+import org.neo4j.graphalgo.BaseProc;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphIndex;
+import org.neo4j.graphalgo.core.loading.GraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.impl.similarity.HnswIndex;
+import org.neo4j.graphalgo.impl.similarity.HnswIndexConfig;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+/**
+ * Maintains an HNSW index over a vector node property of a named graph. The index is stored in the graph catalog
+ * next to the graph, so that it is built once and then answers nearest neighbour queries until the graph is dropped.
+ */
+public class HnswIndexProc extends BaseProc {
+
+    @Procedure(name = "gds.alpha.ml.hnsw.mutate", mode = READ)
+    @Description("Builds an HNSW index over a vector node property of a named graph and stores it in the graph.")
+    public Stream<MutateResult> mutate(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        HnswIndexConfig config = HnswIndexConfig.of(getUsername(), Optional.of(graphName), Optional.empty(), cypherConfig);
+        validateConfig(cypherConfig, config);
+
+        GraphStore graphStore = GraphStoreCatalog.get(getUsername(), graphName).graphStore();
+        if (!graphStore.hasNodeProperty(config.nodeProperty())) {
+            throw new IllegalArgumentException(String.format(
+                "Node property `%s` not found in graph with node properties: %s",
+                config.nodeProperty(),
+                graphStore.nodePropertyKeys()
+            ));
+        }
+        if (!graphStore.hasArrayNodeProperty(config.nodeProperty())) {
+            throw new IllegalArgumentException(String.format(
+                "Node property `%s` does not hold vectors.",
+                config.nodeProperty()
+            ));
+        }
+        if (GraphStoreCatalog.getIndex(getUsername(), graphName, config.indexName()).isPresent()) {
+            throw new IllegalArgumentException(String.format(
+                "Index `%s` already exists for graph `%s`.",
+                config.indexName(),
+                graphName
+            ));
+        }
+
+        AtomicLong computeMillis = new AtomicLong();
+        HnswIndex index;
+        try (ProgressTimer ignored = ProgressTimer.start(computeMillis::set)) {
+            index = HnswIndex.build(
+                graphStore.arrayNodeProperty(config.nodeProperty()),
+                graphStore.nodeCount(),
+                config,
+                AllocationTracker.create()
+            );
+        }
+        try {
+            GraphStoreCatalog.setIndex(getUsername(), graphName, config.indexName(), index);
+        } catch (RuntimeException e) {
+            // the graph was dropped or another index with the same name was stored in the meantime
+            index.release();
+            throw e;
+        }
+
+        return Stream.of(new MutateResult(computeMillis.get(), index.indexedNodeCount(), config.indexName()));
+    }
+
+    @Procedure(name = "gds.alpha.ml.hnsw.insert", mode = READ)
+    @Description("Adds nodes and their vectors to an HNSW index of a named graph.")
+    public Stream<InsertResult> insert(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        HnswIndexInsertConfig config = HnswIndexInsertConfig.of(getUsername(), cypherConfig);
+        validateConfig(cypherConfig, config);
+
+        GraphStore graphStore = GraphStoreCatalog.get(getUsername(), graphName).graphStore();
+        HnswIndex index = index(graphName, config.indexName());
+
+        List<Long> nodeIds = config.nodeIds();
+        List<List<Number>> vectors = config.vectors();
+        long nodesInserted = 0L;
+        AtomicLong insertMillis = new AtomicLong();
+        try (ProgressTimer ignored = ProgressTimer.start(insertMillis::set)) {
+            for (int i = 0; i < nodeIds.size(); i++) {
+                if (index.insert(mappedNodeId(graphStore, nodeIds.get(i)), toFloatArray(vectors.get(i)))) {
+                    nodesInserted++;
+                }
+            }
+        }
+
+        return Stream.of(new InsertResult(insertMillis.get(), nodeIds.size(), nodesInserted));
+    }
+
+    @Procedure(name = "gds.alpha.ml.hnsw.stream", mode = READ)
+    @Description("Streams the indexed nodes that are most similar to a node or a vector.")
+    public Stream<QueryResult> stream(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        HnswIndexQueryConfig config = HnswIndexQueryConfig.of(getUsername(), cypherConfig);
+        validateConfig(cypherConfig, config);
+
+        GraphStore graphStore = GraphStoreCatalog.get(getUsername(), graphName).graphStore();
+        HnswIndex index = index(graphName, config.indexName());
+
+        float[] query;
+        long excludedNodeId = -1L;
+        if (config.nodeId() != null) {
+            excludedNodeId = mappedNodeId(graphStore, config.nodeId());
+            query = index.vector(excludedNodeId);
+            if (query == null) {
+                throw new IllegalArgumentException(String.format(
+                    "Node with id %d is not part of the index `%s`.",
+                    config.nodeId(),
+                    config.indexName()
+                ));
+            }
+        } else {
+            query = toFloatArray(config.vector());
+        }
+
+        return index.search(query, config.topK(), config.ef(), excludedNodeId).stream()
+            .map(neighbour -> new QueryResult(graphStore.nodes().toOriginalNodeId(neighbour.nodeId), neighbour.similarity));
+    }
+
+    private HnswIndex index(String graphName, String indexName) {
+        GraphIndex index = GraphStoreCatalog.getIndex(getUsername(), graphName, indexName).orElse(null);
+        if (!(index instanceof HnswIndex)) {
+            throw new IllegalArgumentException(String.format(
+                "Graph `%s` has no index `%s` built by `gds.alpha.ml.hnsw.mutate`.",
+                graphName,
+                indexName
+            ));
+        }
+        return (HnswIndex) index;
+    }
+
+    private static long mappedNodeId(GraphStore graphStore, long originalNodeId) {
+        long nodeId = graphStore.nodes().toMappedNodeId(originalNodeId);
+        if (nodeId == -1L) {
+            throw new IllegalArgumentException(String.format(
+                "Node with id %d does not exist in the in-memory graph.",
+                originalNodeId
+            ));
+        }
+        return nodeId;
+    }
+
+    private static float[] toFloatArray(List<Number> values) {
+        float[] vector = new float[values.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = values.get(i).floatValue();
+        }
+        return vector;
+    }
+
+    public static class MutateResult {
+        public final long computeMillis;
+        public final long nodesIndexed;
+        public final String indexName;
+
+        MutateResult(long computeMillis, long nodesIndexed, String indexName) {
+            this.computeMillis = computeMillis;
+            this.nodesIndexed = nodesIndexed;
+            this.indexName = indexName;
+        }
+    }
+
+    public static class InsertResult {
+        public final long insertMillis;
+        public final long nodesProcessed;
+        public final long nodesInserted;
+
+        InsertResult(long insertMillis, long nodesProcessed, long nodesInserted) {
+            this.insertMillis = insertMillis;
+            this.nodesProcessed = nodesProcessed;
+            this.nodesInserted = nodesInserted;
+        }
+    }
+
+    public static class QueryResult {
+        public final long nodeId;
+        public final double similarity;
+
+        QueryResult(long nodeId, double similarity) {
+            this.nodeId = nodeId;
+            this.similarity = similarity;
+        }
+    }
+}
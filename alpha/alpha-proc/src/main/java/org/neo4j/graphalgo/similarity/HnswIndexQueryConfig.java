@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity;
+
+import org.immutables.value.Value;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.BaseConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.List;
+
+@ValueClass
+@Configuration("HnswIndexQueryConfigImpl")
+@SuppressWarnings("immutables:subtype")
+public interface HnswIndexQueryConfig extends BaseConfig {
+
+    @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
+    String indexName();
+
+    /**
+     * The Neo4j id of an indexed node whose vector is the query, the node itself is not part of the result.
+     */
+    @Value.Default
+    default @Nullable Long nodeId() {
+        return null;
+    }
+
+    @Value.Default
+    default @Nullable List<Number> vector() {
+        return null;
+    }
+
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int topK() {
+        return 10;
+    }
+
+    /**
+     * The number of candidates kept while searching, larger values increase the recall and the latency.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int ef() {
+        return 64;
+    }
+
+    @Value.Check
+    default void validate() {
+        if ((nodeId() == null) == (vector() == null)) {
+            throw new IllegalArgumentException("Exactly one of `nodeId` and `vector` must be specified.");
+        }
+    }
+
+    static HnswIndexQueryConfig of(String username, CypherMapWrapper config) {
+        return new HnswIndexQueryConfigImpl(username, config);
+    }
+}
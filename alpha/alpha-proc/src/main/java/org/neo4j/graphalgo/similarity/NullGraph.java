@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.similarity;
 
 import org.neo4j.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
@@ -131,6 +132,18 @@ public class NullGraph implements Graph {
             "org.neo4j.graphalgo.similarity.NullGraph.availableNodeProperties is not implemented.");
     }
 
+    @Override
+    public ArrayNodeProperties arrayNodeProperties(String type) {
+        throw new UnsupportedOperationException(
+            "org.neo4j.graphalgo.similarity.NullGraph.arrayNodeProperties is not implemented.");
+    }
+
+    @Override
+    public Set<String> availableArrayNodeProperties() {
+        throw new UnsupportedOperationException(
+            "org.neo4j.graphalgo.similarity.NullGraph.availableArrayNodeProperties is not implemented.");
+    }
+
     @Override
     public long getTarget(long nodeId, long index) {
         throw new UnsupportedOperationException("org.neo4j.graphalgo.similarity.NullGraph.getTarget is not implemented.");
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.similarity;
 
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.impl.similarity.OverlapAlgorithm;
 import org.neo4j.graphalgo.impl.similarity.OverlapConfig;
@@ -70,7 +71,7 @@ public class OverlapProc extends SimilarityProc<OverlapAlgorithm, OverlapConfig>
     }
 
     @Override
-    OverlapAlgorithm newAlgo(OverlapConfig config) {
+    OverlapAlgorithm newAlgo(OverlapConfig config, Graph graph) {
         return new OverlapAlgorithm(config, api);
     }
 }
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.similarity;
 
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.impl.similarity.PearsonAlgorithm;
 import org.neo4j.graphalgo.impl.similarity.PearsonConfig;
@@ -72,7 +73,7 @@ public final class PearsonProc extends SimilarityProc<PearsonAlgorithm, PearsonC
     }
 
     @Override
-    PearsonAlgorithm newAlgo(PearsonConfig config) {
-        return new PearsonAlgorithm(config, api);
+    PearsonAlgorithm newAlgo(PearsonConfig config, Graph graph) {
+        return new PearsonAlgorithm(config, graph, api);
     }
 }
@@ -81,7 +81,7 @@ abstract class SimilarityProc
         return writeAndAggregateResults(result, config, compute.algorithm().getTerminationFlag());
     }
 
-    abstract ALGO newAlgo(CONFIG config);
+    abstract ALGO newAlgo(CONFIG config, Graph graph);
 
     @Override
     protected final AlgorithmFactory<ALGO, CONFIG> algorithmFactory(CONFIG config) {
@@ -93,15 +93,24 @@ abstract class SimilarityProc
                 AllocationTracker tracker,
                 Log log
             ) {
-                return newAlgo(config);
+                return newAlgo(config, graph);
             }
         };
     }
 
     @Override
     protected final Graph createGraph(Pair<CONFIG, Optional<String>> configAndName) {
+        boolean hasNodeProperty = configAndName.getOne().nodeProperty() != null;
         if (configAndName.getTwo().isPresent()) {
-            throw new IllegalArgumentException("Similarity does not run on an explicitly created graph");
+            if (!hasNodeProperty) {
+                throw new IllegalArgumentException(
+                    "Similarity on an explicitly created graph requires the `nodeProperty` that holds the node vectors"
+                );
+            }
+            return super.createGraph(configAndName);
+        }
+        if (hasNodeProperty) {
+            throw new IllegalArgumentException("The `nodeProperty` can only be used with an explicitly created graph");
         }
         return new NullGraph();
     }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.spanningtree;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.impl.spanningTrees.Boruvka;
+import org.neo4j.graphalgo.impl.spanningTrees.SpanningForest;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.spanningtree.SpanningForestWriteProc.DESCRIPTION;
+import static org.neo4j.procedure.Mode.READ;
+
+public class SpanningForestMutateProc extends AlgoBaseProc<Boruvka, SpanningForest, SpanningForestMutateConfig> {
+
+    @Procedure(value = "gds.alpha.spanningForest.mutate", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<MutateResult> mutate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<Boruvka, SpanningForest, SpanningForestMutateConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        if (computationResult.isGraphEmpty()) {
+            return Stream.of(new MutateResult(computationResult.createMillis(), 0L, 0L, 0L, 0L, 0.0));
+        }
+
+        SpanningForestMutateConfig config = computationResult.config();
+        SpanningForest forest = computationResult.result();
+        AtomicLong mutateMillis = new AtomicLong();
+        try (ProgressTimer ignored = ProgressTimer.start(mutateMillis::set)) {
+            // the forest of an undirected graph is added as undirected relationships as well
+            HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = new HugeGraphUtil.RelationshipsBuilder(
+                computationResult.graph(),
+                Orientation.UNDIRECTED,
+                true,
+                Aggregation.NONE,
+                Pools.DEFAULT,
+                computationResult.tracker()
+            );
+            forest.forEachRelationship((sourceNodeId, targetNodeId, property) -> {
+                relationshipsBuilder.addFromInternal(sourceNodeId, targetNodeId, property);
+                return true;
+            });
+            computationResult.graphStore().addRelationshipType(
+                config.mutateRelationshipType(),
+                Optional.of(config.mutateProperty()),
+                relationshipsBuilder.build()
+            );
+        }
+        forest.release();
+
+        return Stream.of(new MutateResult(
+            computationResult.createMillis(),
+            computationResult.computeMillis(),
+            mutateMillis.get(),
+            forest.relationshipCount(),
+            forest.treeCount(),
+            forest.totalWeight()
+        ));
+    }
+
+    @Override
+    protected SpanningForestMutateConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return SpanningForestMutateConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<Boruvka, SpanningForestMutateConfig> algorithmFactory(SpanningForestMutateConfig config) {
+        return SpanningForestWriteProc.factory();
+    }
+
+    public static class MutateResult {
+        public final long createMillis;
+        public final long computeMillis;
+        public final long mutateMillis;
+        public final long relationshipsWritten;
+        public final long treeCount;
+        public final double totalWeight;
+
+        MutateResult(
+            long createMillis,
+            long computeMillis,
+            long mutateMillis,
+            long relationshipsWritten,
+            long treeCount,
+            double totalWeight
+        ) {
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.mutateMillis = mutateMillis;
+            this.relationshipsWritten = relationshipsWritten;
+            this.treeCount = treeCount;
+            this.totalWeight = totalWeight;
+        }
+    }
+}
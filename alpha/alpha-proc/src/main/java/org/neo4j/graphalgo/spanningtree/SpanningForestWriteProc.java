@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.spanningtree;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.AlphaAlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.write.RelationshipExporter;
+import org.neo4j.graphalgo.impl.spanningTrees.Boruvka;
+import org.neo4j.graphalgo.impl.spanningTrees.SpanningForest;
+import org.neo4j.graphalgo.impl.spanningTrees.SpanningForestGraph;
+import org.neo4j.logging.Log;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.WRITE;
+
+public class SpanningForestWriteProc extends AlgoBaseProc<Boruvka, SpanningForest, SpanningForestWriteConfig> {
+
+    static final String DESCRIPTION =
+        "The spanning forest contains a minimum or maximum weight spanning tree for every connected component of the graph.";
+
+    @Procedure(value = "gds.alpha.spanningForest.write", mode = WRITE)
+    @Description(DESCRIPTION)
+    public Stream<WriteResult> write(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<Boruvka, SpanningForest, SpanningForestWriteConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        if (computationResult.isGraphEmpty()) {
+            return Stream.of(new WriteResult(computationResult.createMillis(), 0L, 0L, 0L, 0L, 0.0));
+        }
+
+        SpanningForestWriteConfig config = computationResult.config();
+        SpanningForest forest = computationResult.result();
+        AtomicLong writeMillis = new AtomicLong();
+        try (ProgressTimer ignored = ProgressTimer.start(writeMillis::set)) {
+            RelationshipExporter.of(
+                api,
+                new SpanningForestGraph(computationResult.graph(), forest),
+                computationResult.algorithm().getTerminationFlag()
+            )
+                .withLog(log)
+                .build()
+                .write(config.writeRelationshipType(), config.writeProperty());
+        }
+        forest.release();
+
+        return Stream.of(new WriteResult(
+            computationResult.createMillis(),
+            computationResult.computeMillis(),
+            writeMillis.get(),
+            forest.relationshipCount(),
+            forest.treeCount(),
+            forest.totalWeight()
+        ));
+    }
+
+    @Override
+    protected SpanningForestWriteConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return SpanningForestWriteConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<Boruvka, SpanningForestWriteConfig> algorithmFactory(SpanningForestWriteConfig config) {
+        return factory();
+    }
+
+    static <CONFIG extends SpanningForestBaseConfig> AlgorithmFactory<Boruvka, CONFIG> factory() {
+        return new AlphaAlgorithmFactory<Boruvka, CONFIG>() {
+            @Override
+            public Boruvka build(
+                Graph graph,
+                CONFIG configuration,
+                AllocationTracker tracker,
+                Log log
+            ) {
+                return new Boruvka(graph, configuration.maximum(), configuration.concurrency(), Pools.DEFAULT, tracker);
+            }
+        };
+    }
+
+    public static class WriteResult {
+        public final long createMillis;
+        public final long computeMillis;
+        public final long writeMillis;
+        public final long relationshipsWritten;
+        public final long treeCount;
+        public final double totalWeight;
+
+        WriteResult(
+            long createMillis,
+            long computeMillis,
+            long writeMillis,
+            long relationshipsWritten,
+            long treeCount,
+            double totalWeight
+        ) {
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.writeMillis = writeMillis;
+            this.relationshipsWritten = relationshipsWritten;
+            this.treeCount = treeCount;
+            this.totalWeight = totalWeight;
+        }
+    }
+}
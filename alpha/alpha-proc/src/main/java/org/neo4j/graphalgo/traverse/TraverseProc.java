@@ -24,6 +24,7 @@ import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.AlphaAlgorithmFactory;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.impl.traverse.Traverse;
 import org.neo4j.graphalgo.impl.traverse.TraverseConfig;
@@ -85,6 +86,23 @@ public class TraverseProc extends AlgoBaseProc<Traverse, Traverse, TraverseConfi
         return new AlphaAlgorithmFactory<Traverse, TraverseConfig>() {
             @Override
             public Traverse build(Graph graph, TraverseConfig configuration, AllocationTracker tracker, Log log) {
+                // without targets or a cost limit every reachable node is visited once, level by level
+                boolean levelSynchronous = config.targetNodes().isEmpty() && (
+                    config.maxDepth() != -1 ||
+                    config.relationshipWeightProperty() == null ||
+                    Double.isNaN(config.maxCost())
+                );
+                if (isBfs && levelSynchronous) {
+                    return Traverse.bfs(
+                        graph,
+                        config.startNode(),
+                        config.maxDepth(),
+                        config.concurrency(),
+                        Pools.DEFAULT,
+                        tracker
+                    );
+                }
+
                 Traverse.ExitPredicate exitFunction;
                 Traverse.Aggregator aggregatorFunction;
                 // target node given; terminate if target is reached
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.AdjacencyList;
+import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.loading.GraphIndex;
+import org.neo4j.graphalgo.core.loading.GraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
+import org.neo4j.graphalgo.core.loading.RelationshipDelta;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryReservations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryTreeWithDimensions;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetrics;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetricsRegistry;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+import org.neo4j.logging.Log;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+/**
+ * Maintains the components of a named graph as a node property of its graph store.
+ * The first procedure computes the components, the second one inserts a batch of relationships into the graph store
+ * and merges the components along them. The disjoint set struct is stored as an index of the graph under the name
+ * of the node property, every call stores a copy of the current components as a new version of the node property.
+ */
+public class IncrementalWccProc extends AlgoBaseProc<Wcc, DisjointSetStruct, WccMutateConfig> {
+
+    @Procedure(name = "gds.alpha.wcc.incremental.mutate", mode = READ)
+    @Description("Computes the weakly connected components of a named graph and maintains them as a node property.")
+    public Stream<MutateResult> mutate(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        // read before the graph, so that relationship updates during the computation make the components outdated
+        long relationshipVersion = GraphStoreCatalog.get(getUsername(), graphName).graphStore().relationshipVersion();
+        ComputationResult<Wcc, DisjointSetStruct, WccMutateConfig> computationResult = compute(graphName, configuration);
+        WccMutateConfig config = computationResult.config();
+        if (computationResult.isGraphEmpty()) {
+            return Stream.of(new MutateResult(0L, 0L, config.mutateProperty()));
+        }
+
+        IncrementalWcc components = IncrementalWcc.of(
+            computationResult.result(),
+            config.relationshipTypes(),
+            relationshipVersion
+        );
+        try {
+            GraphStoreCatalog.setIndex(getUsername(), graphName, config.mutateProperty(), components);
+        } catch (RuntimeException e) {
+            // the graph was dropped or another index with the same name was stored in the meantime
+            components.release();
+            throw e;
+        }
+        JobMetrics metrics = computationResult.jobMetrics();
+        try (JobMetrics.Phase phase = metrics.startPhase("mutate")) {
+            computationResult.graphStore().addNodeProperty(
+                config.mutateProperty(),
+                components.components(config.concurrency(), Pools.DEFAULT, computationResult.tracker())
+            );
+        } catch (Throwable e) {
+            metrics.fail();
+            throw e;
+        }
+
+        return Stream.of(new MutateResult(
+            computationResult.computeMillis(),
+            computationResult.graph().nodeCount(),
+            config.mutateProperty()
+        ));
+    }
+
+    @Procedure(name = "gds.alpha.wcc.incremental.update", mode = READ)
+    @Description("Inserts a batch of relationships into a named graph and merges its maintained components along them.")
+    public Stream<UpdateResult> update(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        IncrementalWccUpdateConfig config = IncrementalWccUpdateConfig.of(getUsername(), cypherConfig);
+        validateConfig(cypherConfig, config);
+
+        GraphStoreWithConfig graphStoreWithConfig = GraphStoreCatalog.get(getUsername(), graphName);
+        GraphStore graphStore = graphStoreWithConfig.graphStore();
+        GraphIndex index = GraphStoreCatalog.getIndex(getUsername(), graphName, config.mutateProperty()).orElse(null);
+        if (!(index instanceof IncrementalWcc) || !graphStore.hasNodeProperty(config.mutateProperty())) {
+            throw new IllegalArgumentException(String.format(
+                "Node property `%s` is not maintained by `gds.alpha.wcc.incremental.mutate`.",
+                config.mutateProperty()
+            ));
+        }
+        IncrementalWcc components = (IncrementalWcc) index;
+        if (!graphStore.hasRelationshipType(config.relationshipType())) {
+            throw new IllegalArgumentException(String.format(
+                "Relationship type `%s` does not exist in the in-memory graph.",
+                config.relationshipType()
+            ));
+        }
+        if (!components.maintains(config.relationshipType())) {
+            throw new IllegalArgumentException(String.format(
+                "Relationship type `%s` is not part of the components maintained in node property `%s`.",
+                config.relationshipType(),
+                config.mutateProperty()
+            ));
+        }
+
+        List<Long> sourceIds = config.sourceIds();
+        List<Long> targetIds = config.targetIds();
+        RelationshipDelta delta = new RelationshipDelta();
+        for (int i = 0; i < sourceIds.size(); i++) {
+            delta.insert(sourceIds.get(i), targetIds.get(i));
+        }
+
+        Aggregation aggregation = graphStoreWithConfig.relationshipAggregation(config.relationshipType());
+        AllocationTracker tracker = AllocationTracker.create();
+        long componentsMerged = 0L;
+        AtomicLong updateMillis = new AtomicLong();
+        try (
+            MemoryReservations.Reservation reservation = reserveMemory(updateMemoryEstimation(graphStore, config, aggregation), tracker);
+            ProgressTimer ignored = ProgressTimer.start(updateMillis::set)
+        ) {
+            JobMetrics metrics = JobMetricsRegistry.register(getUsername(), algoName(), tracker);
+            // concurrent updates must not store their copies out of order
+            synchronized (components) {
+                components.validate(graphStore.relationshipVersion());
+                // the relationships are inserted first, unknown nodes fail the update before the components change,
+                // and a concurrent change of the relationships fails it as well, as the components would miss it
+                long relationshipVersion;
+                try (JobMetrics.Phase phase = metrics.startPhase("insert")) {
+                    relationshipVersion = graphStore.applyRelationshipDelta(
+                        config.relationshipType(),
+                        delta,
+                        aggregation,
+                        config.concurrency(),
+                        Pools.DEFAULT,
+                        components.relationshipVersion()
+                    );
+                } catch (Throwable e) {
+                    metrics.fail();
+                    throw e;
+                }
+                // if merging fails, the components stay at the previous relationship version and are outdated
+                try (JobMetrics.Phase phase = metrics.startPhase("compute")) {
+                    for (int i = 0; i < sourceIds.size(); i++) {
+                        long sourceNodeId = graphStore.nodes().toMappedNodeId(sourceIds.get(i));
+                        long targetNodeId = graphStore.nodes().toMappedNodeId(targetIds.get(i));
+                        if (components.addRelationship(sourceNodeId, targetNodeId)) {
+                            componentsMerged++;
+                        }
+                    }
+                    metrics.addRelationships(sourceIds.size());
+                } catch (Throwable e) {
+                    metrics.fail();
+                    throw e;
+                }
+                components.relationshipVersion(relationshipVersion);
+                if (componentsMerged > 0) {
+                    try (JobMetrics.Phase phase = metrics.startPhase("mutate")) {
+                        graphStore.updateNodeProperty(
+                            config.mutateProperty(),
+                            components.components(config.concurrency(), Pools.DEFAULT, tracker)
+                        );
+                    } catch (Throwable e) {
+                        metrics.fail();
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        return Stream.of(new UpdateResult(updateMillis.get(), sourceIds.size(), componentsMerged));
+    }
+
+    @Override
+    protected WccMutateConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return WccMutateConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected void validateConfigs(GraphCreateConfig graphCreateConfig, WccMutateConfig config) {
+        IncrementalWcc.validate(config);
+    }
+
+    @Override
+    protected AlgorithmFactory<Wcc, WccMutateConfig> algorithmFactory(WccMutateConfig config) {
+        return new AlgorithmFactory<Wcc, WccMutateConfig>() {
+            @Override
+            public Wcc build(Graph graph, WccMutateConfig configuration, AllocationTracker tracker, Log log) {
+                return new Wcc(graph, Pools.DEFAULT, ParallelUtil.DEFAULT_BATCH_SIZE, configuration, tracker);
+            }
+
+            @Override
+            public MemoryEstimation memoryEstimation(WccMutateConfig configuration) {
+                return IncrementalWcc.memoryEstimation(configuration.isIncremental());
+            }
+        };
+    }
+
+    @Override
+    protected DisjointSetStruct runAlgorithm(
+        Wcc algo,
+        Graph graph,
+        WccMutateConfig config,
+        ImmutableComputationResult.Builder<Wcc, DisjointSetStruct, WccMutateConfig> builder
+    ) {
+        // the components must only depend on the unions of the relationships, so further unions can maintain them
+        return algo.computeUnrestricted();
+    }
+
+    /**
+     * An update adds the inserted relationships to the overlay of the type, or rebuilds the relationships of the type
+     * including the inserted ones if the type aggregates parallel relationships. Both are followed by a copy of the
+     * components.
+     */
+    private static MemoryTreeWithDimensions updateMemoryEstimation(
+        GraphStore graphStore,
+        IncrementalWccUpdateConfig config,
+        Aggregation aggregation
+    ) {
+        String relationshipType = config.relationshipType();
+        // undirected relationships are stored in both adjacency lists
+        long insertedElements = 2L * config.sourceIds().size();
+        boolean hasProperty = !graphStore.relationshipPropertyKeys(relationshipType).isEmpty();
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(graphStore.nodeCount())
+            .maxRelCount(graphStore.relationshipCount(relationshipType) + insertedElements)
+            .build();
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(IncrementalWccProc.class);
+        if (aggregation == Aggregation.NONE || aggregation == Aggregation.DEFAULT) {
+            builder.fixed("overlay targets", MemoryUsage.sizeOfLongArray(insertedElements));
+            if (hasProperty) {
+                builder.fixed("overlay properties", MemoryUsage.sizeOfDoubleArray(insertedElements));
+            }
+        } else {
+            builder
+                .add("adjacency list", AdjacencyList.compressedMemoryEstimation(false))
+                .add("adjacency offsets", AdjacencyOffsets.memoryEstimation());
+            if (hasProperty) {
+                builder
+                    .add("property list", AdjacencyList.uncompressedMemoryEstimation(false))
+                    .add("property offsets", AdjacencyOffsets.memoryEstimation());
+            }
+        }
+        builder.perNode("components", HugeLongArray::memoryEstimation);
+        return new MemoryTreeWithDimensions(
+            builder.build().estimate(dimensions, config.concurrency()),
+            dimensions
+        );
+    }
+
+    public static class MutateResult {
+        public final long computeMillis;
+        public final long nodePropertiesWritten;
+        public final String mutateProperty;
+
+        MutateResult(long computeMillis, long nodePropertiesWritten, String mutateProperty) {
+            this.computeMillis = computeMillis;
+            this.nodePropertiesWritten = nodePropertiesWritten;
+            this.mutateProperty = mutateProperty;
+        }
+    }
+
+    public static class UpdateResult {
+        public final long updateMillis;
+        public final long relationshipsProcessed;
+        public final long componentsMerged;
+
+        UpdateResult(long updateMillis, long relationshipsProcessed, long componentsMerged) {
+            this.updateMillis = updateMillis;
+            this.relationshipsProcessed = relationshipsProcessed;
+            this.componentsMerged = componentsMerged;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.BaseConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.List;
+
+@ValueClass
+@Configuration("IncrementalWccUpdateConfigImpl")
+@SuppressWarnings("immutables:subtype")
+public interface IncrementalWccUpdateConfig extends BaseConfig {
+
+    @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
+    String mutateProperty();
+
+    /**
+     * The relationship type the added relationships are inserted into.
+     */
+    String relationshipType();
+
+    /**
+     * Neo4j ids of the source nodes of the added relationships, the n-th source belongs to the n-th target.
+     */
+    List<Long> sourceIds();
+
+    List<Long> targetIds();
+
+    @Value.Default
+    default int concurrency() {
+        return AlgoBaseConfig.DEFAULT_CONCURRENCY;
+    }
+
+    @Value.Check
+    default void validate() {
+        if (sourceIds().size() != targetIds().size()) {
+            throw new IllegalArgumentException(String.format(
+                "The number of sourceIds (%d) must match the number of targetIds (%d).",
+                sourceIds().size(),
+                targetIds().size()
+            ));
+        }
+    }
+
+    static IncrementalWccUpdateConfig of(String username, CypherMapWrapper config) {
+        return new IncrementalWccUpdateConfigImpl(username, config);
+    }
+}
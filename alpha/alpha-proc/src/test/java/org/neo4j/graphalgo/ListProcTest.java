@@ -33,25 +33,32 @@ import org.neo4j.graphalgo.compat.MapUtil;
 import org.neo4j.graphalgo.functions.IsFiniteFunc;
 import org.neo4j.graphalgo.functions.OneHotEncodingFunc;
 import org.neo4j.graphalgo.linkprediction.LinkPredictionFunc;
+import org.neo4j.graphalgo.linkprediction.LinkPredictionProc;
 import org.neo4j.graphalgo.scc.SccProc;
 import org.neo4j.graphalgo.shortestpath.ShortestPathDeltaSteppingProc;
 import org.neo4j.graphalgo.shortestpaths.AllShortestPathsProc;
 import org.neo4j.graphalgo.shortestpaths.DijkstraProc;
 import org.neo4j.graphalgo.shortestpaths.KShortestPathsProc;
+import org.neo4j.graphalgo.shortestpaths.LandmarkIndexProc;
 import org.neo4j.graphalgo.shortestpaths.ShortestPathAStarProc;
+import org.neo4j.graphalgo.shortestpaths.ShortestPathBidirectionalProc;
 import org.neo4j.graphalgo.shortestpaths.ShortestPathsProc;
 import org.neo4j.graphalgo.similarity.ApproxNearestNeighborsProc;
 import org.neo4j.graphalgo.similarity.CosineProc;
 import org.neo4j.graphalgo.similarity.EuclideanProc;
+import org.neo4j.graphalgo.similarity.HnswIndexProc;
 import org.neo4j.graphalgo.similarity.OverlapProc;
 import org.neo4j.graphalgo.similarity.PearsonProc;
 import org.neo4j.graphalgo.similarity.SimilaritiesFunc;
 import org.neo4j.graphalgo.spanningtree.KSpanningTreeProc;
+import org.neo4j.graphalgo.spanningtree.SpanningForestMutateProc;
+import org.neo4j.graphalgo.spanningtree.SpanningForestWriteProc;
 import org.neo4j.graphalgo.spanningtree.SpanningTreeProc;
 import org.neo4j.graphalgo.traverse.TraverseProc;
 import org.neo4j.graphalgo.triangle.TriangleCountProc;
 import org.neo4j.graphalgo.triangle.TriangleProc;
 import org.neo4j.graphalgo.walking.RandomWalkProc;
+import org.neo4j.graphalgo.wcc.IncrementalWccProc;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -84,10 +91,14 @@ class ListProcTest extends BaseProcTest {
         "gds.alpha.scc.write",
         "gds.alpha.scc.stream",
         "gds.alpha.shortestPath.deltaStepping.write",
+        "gds.alpha.shortestPath.deltaStepping.write.estimate",
         "gds.alpha.shortestPath.deltaStepping.stream",
+        "gds.alpha.shortestPath.deltaStepping.stream.estimate",
         "gds.alpha.randomWalk.stream",
         "gds.alpha.shortestPath.write",
         "gds.alpha.shortestPath.stream",
+        "gds.alpha.shortestPath.bidirectional.stream",
+        "gds.alpha.shortestPath.landmarks.mutate",
         "gds.alpha.shortestPaths.write",
         "gds.alpha.shortestPaths.stream",
         "gds.alpha.similarity.cosine.write",
@@ -98,6 +109,8 @@ class ListProcTest extends BaseProcTest {
         "gds.alpha.similarity.overlap.stream",
         "gds.alpha.similarity.pearson.write",
         "gds.alpha.similarity.pearson.stream",
+        "gds.alpha.spanningForest.write",
+        "gds.alpha.spanningForest.mutate",
         "gds.alpha.spanningTree.write",
         "gds.alpha.spanningTree.kmax.write",
         "gds.alpha.spanningTree.kmin.write",
@@ -110,9 +123,16 @@ class ListProcTest extends BaseProcTest {
         "gds.alpha.eigenvector.stream",
         "gds.alpha.kShortestPaths.write",
         "gds.alpha.kShortestPaths.stream",
+        "gds.alpha.linkprediction.stream",
+        "gds.alpha.linkprediction.write",
         "gds.alpha.ml.ann.write",
         "gds.alpha.ml.ann.stream",
-        "gds.alpha.shortestPath.astar.stream"
+        "gds.alpha.ml.hnsw.mutate",
+        "gds.alpha.ml.hnsw.insert",
+        "gds.alpha.ml.hnsw.stream",
+        "gds.alpha.shortestPath.astar.stream",
+        "gds.alpha.wcc.incremental.mutate",
+        "gds.alpha.wcc.incremental.update"
     ));
 
     private static final Collection<String> FUNCTIONS = new HashSet<>(asList(
@@ -152,9 +172,13 @@ class ListProcTest extends BaseProcTest {
             DegreeCentralityProc.class,
             DijkstraProc.class,
             EigenvectorCentralityProc.class,
+            HnswIndexProc.class,
+            IncrementalWccProc.class,
             IsFiniteFunc.class,
             KShortestPathsProc.class,
             KSpanningTreeProc.class,
+            LandmarkIndexProc.class,
+            LinkPredictionProc.class,
             ListProc.class,
             CosineProc.class,
             EuclideanProc.class,
@@ -162,10 +186,13 @@ class ListProcTest extends BaseProcTest {
             PearsonProc.class,
             RandomWalkProc.class,
             OneHotEncodingFunc.class,
+            SpanningForestMutateProc.class,
+            SpanningForestWriteProc.class,
             SpanningTreeProc.class,
             SampledBetweennessCentralityProc.class,
             ShortestPathDeltaSteppingProc.class,
             ShortestPathAStarProc.class,
+            ShortestPathBidirectionalProc.class,
             ShortestPathsProc.class,
             SimilaritiesFunc.class,
             SccProc.class,
@@ -199,7 +226,10 @@ class ListProcTest extends BaseProcTest {
     @Test
     void listFunctions() {
         Set<String> actual = listProcs("adamicAdar");
-        actual.addAll(listProcs("linkprediction"));
+        Set<String> linkPrediction = listProcs("linkprediction");
+        actual.addAll(linkPrediction.stream()
+            .filter(name -> !name.matches(".*(stream|write)$")).collect(
+            Collectors.toList()));
         Set<String> similarity = listProcs("similarity");
         actual.addAll(similarity.stream()
             .filter(name -> !name.matches(".*(stream|write|stats)$")).collect(
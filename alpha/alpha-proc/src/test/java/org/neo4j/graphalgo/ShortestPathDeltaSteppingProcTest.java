@@ -27,6 +27,7 @@ import org.neo4j.graphalgo.shortestpath.ShortestPathDeltaSteppingProc;
 import java.util.function.DoubleConsumer;
 
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.AdditionalMatchers.eq;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.Mockito.mock;
@@ -205,4 +206,49 @@ final class ShortestPathDeltaSteppingProcTest extends BaseProcTest {
         verify(consumer, times(11)).accept(anyDouble());
         verify(consumer, times(1)).accept(eq(8D, 0.1D));
     }
+
+    @Test
+    void testDerivedDelta() {
+        final DoubleConsumer consumer = mock(DoubleConsumer.class);
+
+        final String cypher =
+            "MATCH(n:Node {name:'s'}) " +
+            "WITH n CALL gds.alpha.shortestPath.deltaStepping.stream({" +
+            "   nodeProjection: '*', " +
+            "   relationshipProjection: '*', " +
+            "   relationshipProperties: 'cost', " +
+            "   startNode: n, " +
+            "   concurrency: 2, " +
+            "   relationshipWeightProperty: 'cost'" +
+            "}) " +
+            "YIELD nodeId, distance RETURN nodeId, distance";
+
+        runQueryWithRowConsumer(cypher, row -> {
+            double distance = row.getNumber("distance").doubleValue();
+            consumer.accept(distance);
+        });
+
+        verify(consumer, times(11)).accept(anyDouble());
+        verify(consumer, times(1)).accept(eq(8D, 0.1D));
+    }
+
+    @Test
+    void testWriteEstimate() {
+        final String cypher =
+            "MATCH(n:Node {name:'s'}) " +
+            "WITH n CALL gds.alpha.shortestPath.deltaStepping.write.estimate({" +
+            "   nodeProjection: '*', " +
+            "   relationshipProjection: '*', " +
+            "   relationshipProperties: 'cost', " +
+            "   startNode: n, " +
+            "   relationshipWeightProperty: 'cost'" +
+            "}) " +
+            "YIELD bytesMin, bytesMax RETURN bytesMin, bytesMax";
+
+        runQueryWithRowConsumer(cypher, row -> {
+            long bytesMin = row.getNumber("bytesMin").longValue();
+            assertTrue(bytesMin > 0);
+            assertTrue(row.getNumber("bytesMax").longValue() >= bytesMin);
+        });
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.spanningtree.SpanningForestMutateProc;
+import org.neo4j.graphalgo.spanningtree.SpanningForestWriteProc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ *         a                a
+ *     1 /   \ 2          /  \
+ *      /     \          /    \
+ *     b --3-- c        b      c
+ *     |       |   =>   |      |        x --7-- y
+ *     4       5        |      |
+ *     |       |        |      |
+ *     d --6-- e        d      e
+ */
+class SpanningForestProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node)" +
+        ", (b:Node)" +
+        ", (c:Node)" +
+        ", (d:Node)" +
+        ", (e:Node)" +
+        ", (x:Node)" +
+        ", (y:Node)" +
+        ", (a)-[:TYPE {cost: 1.0}]->(b)" +
+        ", (a)-[:TYPE {cost: 2.0}]->(c)" +
+        ", (b)-[:TYPE {cost: 3.0}]->(c)" +
+        ", (b)-[:TYPE {cost: 4.0}]->(d)" +
+        ", (c)-[:TYPE {cost: 5.0}]->(e)" +
+        ", (d)-[:TYPE {cost: 6.0}]->(e)" +
+        ", (x)-[:TYPE {cost: 7.0}]->(y)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+        registerProcedures(SpanningForestWriteProc.class, SpanningForestMutateProc.class, GraphCreateProc.class);
+        runQuery(DB_CYPHER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void testMinimumWrite() {
+        String query = GdsCypher.call()
+            .withNodeLabel("Node")
+            .withRelationshipType("TYPE", Orientation.UNDIRECTED)
+            .withRelationshipProperty("cost")
+            .algo("gds.alpha.spanningForest")
+            .writeMode()
+            .addParameter("relationshipWeightProperty", "cost")
+            .addParameter("writeRelationshipType", "MSF")
+            .addParameter("writeProperty", "cost")
+            .yields("relationshipsWritten", "treeCount", "totalWeight");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(5L, row.getNumber("relationshipsWritten").longValue());
+            assertEquals(2L, row.getNumber("treeCount").longValue());
+            assertEquals(19.0, row.getNumber("totalWeight").doubleValue(), 1E-6);
+        });
+
+        double writtenWeight = runQuery(
+            "MATCH ()-[r:MSF]->() RETURN sum(r.cost) AS weight",
+            result -> result.<Number>columnAs("weight").next().doubleValue()
+        );
+        assertEquals(19.0, writtenWeight, 1E-6);
+    }
+
+    @Test
+    void testMaximumWrite() {
+        String query = GdsCypher.call()
+            .withNodeLabel("Node")
+            .withRelationshipType("TYPE", Orientation.UNDIRECTED)
+            .withRelationshipProperty("cost")
+            .algo("gds.alpha.spanningForest")
+            .writeMode()
+            .addParameter("relationshipWeightProperty", "cost")
+            .addParameter("maximum", true)
+            .addParameter("writeRelationshipType", "MAX")
+            .addParameter("writeProperty", "cost")
+            .yields("relationshipsWritten", "treeCount", "totalWeight");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(5L, row.getNumber("relationshipsWritten").longValue());
+            assertEquals(2L, row.getNumber("treeCount").longValue());
+            assertEquals(24.0, row.getNumber("totalWeight").doubleValue(), 1E-6);
+        });
+    }
+
+    @Test
+    void testMutate() {
+        runQuery("CALL gds.graph.create('graph', 'Node', {TYPE: {orientation: 'UNDIRECTED', properties: 'cost'}})");
+
+        runQueryWithRowConsumer(
+            "CALL gds.alpha.spanningForest.mutate('graph', {" +
+            "  relationshipWeightProperty: 'cost', mutateRelationshipType: 'MSF', mutateProperty: 'cost'" +
+            "}) YIELD relationshipsWritten, treeCount",
+            row -> {
+                assertEquals(5L, row.getNumber("relationshipsWritten").longValue());
+                assertEquals(2L, row.getNumber("treeCount").longValue());
+            }
+        );
+
+        // the forest is added as an undirected relationship type
+        assertEquals(10L, GraphStoreCatalog.get("", "graph").graphStore().relationshipCount("MSF"));
+    }
+}
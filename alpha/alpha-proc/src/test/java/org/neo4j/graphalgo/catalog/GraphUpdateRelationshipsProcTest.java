@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class GraphUpdateRelationshipsProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (a)-[:REL {weight: 1.0}]->(b)" +
+        ", (b)-[:REL {weight: 2.0}]->(c)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+        registerProcedures(GraphCreateProc.class, GraphUpdateRelationshipsProc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('graph', 'Node', 'REL', {relationshipProperties: 'weight'})");
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldUpdateRelationships() {
+        String query =
+            "MATCH (a:Node {name: 'a'}), (b:Node {name: 'b'}), (c:Node {name: 'c'}) " +
+            "CALL gds.alpha.graph.updateRelationships('graph', {" +
+            "  relationshipType: 'REL'," +
+            "  insertSourceIds: [id(c), id(c)]," +
+            "  insertTargetIds: [id(a), id(b)]," +
+            "  insertProperties: [3.0, 4]," +
+            "  deleteSourceIds: [id(a)]," +
+            "  deleteTargetIds: [id(b)]" +
+            "}) YIELD insertCount, deleteCount, relationshipCount " +
+            "RETURN insertCount, deleteCount, relationshipCount";
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(2L, row.getNumber("insertCount").longValue());
+            assertEquals(1L, row.getNumber("deleteCount").longValue());
+            assertEquals(3L, row.getNumber("relationshipCount").longValue());
+        });
+
+        assertGraphEquals(
+            fromGdl("(a), (b)-[{w: 2.0}]->(c), (c)-[{w: 3.0}]->(a), (c)-[{w: 4.0}]->(b)"),
+            GraphStoreCatalog.get("", "graph").graphStore().getGraph("REL", Optional.of("weight"))
+        );
+    }
+
+    @Test
+    void shouldAggregateWithTheProjectedAggregation() {
+        runQuery(
+            "CALL gds.graph.create('aggregated', 'Node', {" +
+            "  REL: {type: 'REL', aggregation: 'SINGLE', properties: 'weight'}" +
+            "})"
+        );
+
+        String query =
+            "MATCH (a:Node {name: 'a'}), (b:Node {name: 'b'}) " +
+            "CALL gds.alpha.graph.updateRelationships('aggregated', {" +
+            "  relationshipType: 'REL'," +
+            "  insertSourceIds: [id(a)]," +
+            "  insertTargetIds: [id(b)]," +
+            "  insertProperties: [3.0]" +
+            "}) YIELD relationshipCount " +
+            "RETURN relationshipCount";
+
+        runQueryWithRowConsumer(query, row -> assertEquals(2L, row.getNumber("relationshipCount").longValue()));
+    }
+
+    @Test
+    void shouldFailOnMismatchingIds() {
+        assertError(
+            "CALL gds.alpha.graph.updateRelationships('graph', {" +
+            "  relationshipType: 'REL'," +
+            "  insertSourceIds: [0, 1]," +
+            "  insertTargetIds: [2]" +
+            "})",
+            "The number of insertSourceIds (2) must match the number of insertTargetIds (1)."
+        );
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.linkprediction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphdb.Result;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LinkPredictionProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE (mark:Person {name: 'Mark'})\n" +
+        "CREATE (michael:Person {name: 'Michael'})\n" +
+        "CREATE (praveena:Person {name: 'Praveena'})\n" +
+        "CREATE (ryan:Person {name: 'Ryan'})\n" +
+        "CREATE (karin:Person {name: 'Karin'})\n" +
+        "CREATE (jennifer:Person {name: 'Jennifer'})\n" +
+        "CREATE (elaine:Person {name: 'Elaine'})\n" +
+
+        "MERGE (jennifer)-[:FRIENDS]-(ryan)\n" +
+        "MERGE (jennifer)-[:FRIENDS]-(karin)\n" +
+        "MERGE (elaine)-[:FRIENDS]-(ryan)\n" +
+        "MERGE (elaine)-[:FRIENDS]-(karin)\n" +
+
+        "MERGE (mark)-[:FRIENDS]-(michael)\n" +
+        "MERGE (mark)-[:WORKS_WITH]->(michael)\n" +
+
+        "MERGE (praveena)-[:FRIENDS]->(michael)";
+
+    private static final String[] METRICS = {
+        "adamicAdar",
+        "resourceAllocation",
+        "commonNeighbors",
+        "preferentialAttachment",
+        "totalNeighbors"
+    };
+
+    private final Map<String, Long> nodeIds = new HashMap<>();
+    private final Map<Long, String> names = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+        registerProcedures(GraphCreateProc.class, LinkPredictionProc.class);
+        registerFunctions(LinkPredictionFunc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('friends', 'Person', {FRIENDS: {orientation: 'UNDIRECTED'}})");
+        runQueryWithRowConsumer("MATCH (p:Person) RETURN p.name AS name, id(p) AS id", row -> {
+            nodeIds.put(row.getString("name"), row.getNumber("id").longValue());
+            names.put(row.getNumber("id").longValue(), row.getString("name"));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldMatchScalarFunctionsForGivenPairs() {
+        List<String> sources = asList("Jennifer", "Mark", "Jennifer", "Ryan", "Praveena");
+        List<String> targets = asList("Elaine", "Praveena", "Ryan", "Karin", "Praveena");
+        Map<String, Object> params = new HashMap<>();
+        params.put("sourceIds", ids(sources));
+        params.put("targetIds", ids(targets));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        runQueryWithRowConsumer(
+            "CALL gds.alpha.linkprediction.stream('friends', {sourceIds: $sourceIds, targetIds: $targetIds})",
+            params,
+            row -> {
+                Map<String, Object> values = new HashMap<>();
+                values.put("node1", row.getNumber("node1").longValue());
+                values.put("node2", row.getNumber("node2").longValue());
+                for (String metric : METRICS) {
+                    values.put(metric, row.getNumber(metric).doubleValue());
+                }
+                rows.add(values);
+            }
+        );
+
+        assertEquals(sources.size(), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = rows.get(i);
+            assertEquals(nodeIds.get(sources.get(i)), row.get("node1"));
+            assertEquals(nodeIds.get(targets.get(i)), row.get("node2"));
+
+            Map<String, Object> expected = scalarFunctions((long) row.get("node1"), (long) row.get("node2"));
+            for (String metric : METRICS) {
+                assertEquals(
+                    (double) expected.get(metric),
+                    (double) row.get(metric),
+                    1e-6,
+                    metric + " of " + sources.get(i) + " and " + targets.get(i)
+                );
+            }
+        }
+    }
+
+    @Test
+    void shouldScoreTwoHopPairsWithoutGivenPairs() {
+        Set<Set<String>> pairs = new HashSet<>();
+        runQueryWithRowConsumer("CALL gds.alpha.linkprediction.stream('friends')", row -> pairs.add(new HashSet<>(asList(
+            names.get(row.getNumber("node1").longValue()),
+            names.get(row.getNumber("node2").longValue())
+        ))));
+
+        Set<Set<String>> expected = new HashSet<>(asList(
+            new HashSet<>(asList("Jennifer", "Elaine")),
+            new HashSet<>(asList("Ryan", "Karin")),
+            new HashSet<>(asList("Mark", "Praveena"))
+        ));
+        assertEquals(expected, pairs);
+    }
+
+    @Test
+    void shouldScoreTwoHopPairsOfAllChunks() {
+        runQuery("UNWIND range(0, 999) AS i CREATE (:Ring {position: i})");
+        runQuery(
+            "MATCH (a:Ring), (b:Ring) WHERE b.position = (a.position + 1) % 1000 CREATE (a)-[:NEXT]->(b)"
+        );
+        runQuery("CALL gds.graph.create('ring', 'Ring', {NEXT: {orientation: 'UNDIRECTED'}})");
+
+        // every node of the ring forms a two-hop pair with the node two positions ahead of it
+        runQueryWithRowConsumer(
+            "CALL gds.alpha.linkprediction.stream('ring', {concurrency: 1}) YIELD node1 RETURN count(*) AS pairs",
+            row -> assertEquals(1000L, row.getNumber("pairs").longValue())
+        );
+    }
+
+    @Test
+    void shouldFailToScoreTwoHopPairsOfDirectedGraphs() {
+        runQuery("CALL gds.graph.create('directedFriends', 'Person', 'FRIENDS')");
+
+        assertError(
+            "CALL gds.alpha.linkprediction.stream('directedFriends')",
+            "Scoring all two-hop pairs requires relationships projected with orientation `UNDIRECTED`"
+        );
+    }
+
+    @Test
+    void shouldWriteScoresOfTheSelectedMetric() {
+        runQueryWithRowConsumer(
+            "CALL gds.alpha.linkprediction.write('friends', {metric: 'resourceAllocation'})",
+            row -> {
+                assertEquals(3L, row.getNumber("relationshipsWritten").longValue());
+                assertEquals("PREDICTED_LINK", row.getString("writeRelationshipType"));
+                assertEquals("resourceAllocation", row.getString("metric"));
+            }
+        );
+
+        double score = runQuery(
+            "MATCH (:Person {name: 'Jennifer'})-[r:PREDICTED_LINK]-(:Person {name: 'Elaine'}) RETURN r.score AS score",
+            result -> (double) result.next().get("score")
+        );
+        assertEquals(1.0, score, 1e-6);
+    }
+
+    private List<Long> ids(List<String> names) {
+        List<Long> ids = new ArrayList<>();
+        names.forEach(name -> ids.add(nodeIds.get(name)));
+        return ids;
+    }
+
+    private Map<String, Object> scalarFunctions(long node1, long node2) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("node1", node1);
+        params.put("node2", node2);
+        return runQuery(
+            "MATCH (a), (b) WHERE id(a) = $node1 AND id(b) = $node2 " +
+            "WITH a, b, {relationshipQuery: 'FRIENDS'} AS config " +
+            "RETURN gds.alpha.linkprediction.adamicAdar(a, b, config) AS adamicAdar, " +
+            "       gds.alpha.linkprediction.resourceAllocation(a, b, config) AS resourceAllocation, " +
+            "       gds.alpha.linkprediction.commonNeighbors(a, b, config) AS commonNeighbors, " +
+            "       gds.alpha.linkprediction.preferentialAttachment(a, b, config) AS preferentialAttachment, " +
+            "       gds.alpha.linkprediction.totalNeighbors(a, b, config) AS totalNeighbors",
+            params,
+            Result::next
+        );
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.shortestpaths;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.catalog.GraphUpdateRelationshipsProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *      1     1     1     1
+ *  (a)---(b)---(c)---(d)---(f)     (x)
+ *    \               /
+ *   2 `-----(e)-----´ 5
+ */
+class ShortestPathBidirectionalProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (d:Node {name: 'd'})" +
+        ", (e:Node {name: 'e'})" +
+        ", (f:Node {name: 'f'})" +
+        ", (x:Node {name: 'x'})" +
+        ", (a)-[:ROAD {cost: 1.0}]->(b)" +
+        ", (b)-[:ROAD {cost: 1.0}]->(c)" +
+        ", (c)-[:ROAD {cost: 1.0}]->(d)" +
+        ", (d)-[:ROAD {cost: 1.0}]->(f)" +
+        ", (a)-[:ROAD {cost: 2.0}]->(e)" +
+        ", (e)-[:ROAD {cost: 5.0}]->(d)";
+
+    @BeforeEach
+    void setUp() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+        registerProcedures(
+            GraphCreateProc.class,
+            GraphUpdateRelationshipsProc.class,
+            LandmarkIndexProc.class,
+            ShortestPathBidirectionalProc.class
+        );
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('graph', 'Node', {ROAD: {orientation: 'UNDIRECTED', properties: 'cost'}})");
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldFindShortestPathWithAndWithoutLandmarks() {
+        runQueryWithRowConsumer(
+            "CALL gds.alpha.shortestPath.landmarks.mutate('graph', {" +
+            "  relationshipWeightProperty: 'cost', indexName: 'landmarks', landmarkCount: 2" +
+            "})",
+            row -> {
+                assertEquals(7L, row.getNumber("nodeCount").longValue());
+                assertEquals(2L, row.getNumber("landmarkCount").longValue());
+            }
+        );
+
+        String query = "MATCH (start:Node {name: 'a'}), (end:Node {name: 'f'}) " +
+                       "CALL gds.alpha.shortestPath.bidirectional.stream('graph', {" +
+                       "  startNode: start, endNode: end, relationshipWeightProperty: 'cost'%s" +
+                       "}) YIELD nodeId, cost " +
+                       "MATCH (n) WHERE id(n) = nodeId " +
+                       "RETURN n.name AS name, cost";
+
+        for (String landmarks : Arrays.asList("", ", landmarkIndex: 'landmarks'")) {
+            List<String> names = new ArrayList<>();
+            List<Double> costs = new ArrayList<>();
+            runQueryWithRowConsumer(String.format(query, landmarks), row -> {
+                names.add(row.getString("name"));
+                costs.add(row.getNumber("cost").doubleValue());
+            });
+            assertEquals(Arrays.asList("a", "b", "c", "d", "f"), names);
+            assertEquals(Arrays.asList(0.0, 1.0, 2.0, 3.0, 4.0), costs);
+        }
+    }
+
+    @Test
+    void shouldReturnNoPathToUnreachableNode() {
+        runQuery("CALL gds.alpha.shortestPath.landmarks.mutate('graph', {" +
+                 "  relationshipWeightProperty: 'cost', indexName: 'landmarks'" +
+                 "})");
+
+        String query = "MATCH (start:Node {name: 'a'}), (end:Node {name: 'x'}) " +
+                       "CALL gds.alpha.shortestPath.bidirectional.stream('graph', {" +
+                       "  startNode: start, endNode: end, relationshipWeightProperty: 'cost', landmarkIndex: 'landmarks'" +
+                       "}) YIELD nodeId " +
+                       "RETURN count(nodeId) AS count";
+        runQueryWithRowConsumer(query, row -> assertEquals(0L, row.getNumber("count").longValue()));
+    }
+
+    @Test
+    void shouldFailForLandmarksOfOtherWeights() {
+        runQuery("CALL gds.alpha.shortestPath.landmarks.mutate('graph', {indexName: 'landmarks'})");
+
+        assertError(
+            "MATCH (start:Node {name: 'a'}), (end:Node {name: 'f'}) " +
+            "CALL gds.alpha.shortestPath.bidirectional.stream('graph', {" +
+            "  startNode: start, endNode: end, relationshipWeightProperty: 'cost', landmarkIndex: 'landmarks'" +
+            "}) YIELD nodeId RETURN nodeId",
+            "The landmark index was computed for relationship types [*] and relationship weight property null"
+        );
+    }
+
+    @Test
+    void shouldFailForStaleLandmarkIndex() {
+        runQuery("CALL gds.alpha.shortestPath.landmarks.mutate('graph', {" +
+                 "  relationshipWeightProperty: 'cost', indexName: 'landmarks'" +
+                 "})");
+        runQuery("MATCH (a:Node {name: 'a'}), (x:Node {name: 'x'}) " +
+                 "CALL gds.alpha.graph.updateRelationships('graph', {" +
+                 "  relationshipType: 'ROAD', insertSourceIds: [id(a)], insertTargetIds: [id(x)], insertProperties: [1.0]" +
+                 "}) YIELD insertCount RETURN insertCount");
+
+        assertError(
+            "MATCH (start:Node {name: 'a'}), (end:Node {name: 'f'}) " +
+            "CALL gds.alpha.shortestPath.bidirectional.stream('graph', {" +
+            "  startNode: start, endNode: end, relationshipWeightProperty: 'cost', landmarkIndex: 'landmarks'" +
+            "}) YIELD nodeId RETURN nodeId",
+            "The relationships of the graph have changed since the landmark index was computed."
+        );
+    }
+}
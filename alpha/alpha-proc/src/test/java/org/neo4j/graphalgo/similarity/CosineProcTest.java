@@ -25,6 +25,8 @@ import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.BaseProcTest;
 import org.neo4j.graphalgo.functions.IsFiniteFunc;
 import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.graphdb.Result;
 
 import java.util.Collections;
@@ -105,7 +107,7 @@ class CosineProcTest extends BaseProcTest {
     @BeforeEach
     void setup() throws Exception {
         db = TestDatabaseCreator.createUnlimitedConcurrencyTestDatabase();
-        registerProcedures(CosineProc.class);
+        registerProcedures(CosineProc.class, GraphCreateProc.class);
         registerFunctions(IsFiniteFunc.class);
         runQuery(DB_CYPHER);
     }
@@ -113,6 +115,7 @@ class CosineProcTest extends BaseProcTest {
     @AfterEach
     void tearDown() {
         db.shutdown();
+        GraphStoreCatalog.removeAllLoadedGraphs();
     }
 
     private void buildRandomDB(int size) {
@@ -255,6 +258,49 @@ class CosineProcTest extends BaseProcTest {
 
     }
 
+    @Test
+    void cosineStreamFromGraphNodePropertyTest() {
+        runQuery(STORE_EMBEDDING_STATEMENT);
+        runQuery("CALL gds.graph.create('embeddings', 'Person', '*', {nodeProperties: 'embedding'})");
+
+        runQueryWithResultConsumer(
+            " CALL gds.alpha.similarity.cosine.stream('embeddings', {nodeProperty: 'embedding', concurrency: 1, topK: 0})" +
+            " YIELD item1, item2, count1, count2, intersection, similarity" +
+            " RETURN * ORDER BY item1, item2",
+            results -> {
+                assertTrue(results.hasNext());
+                assert01(results.next());
+                assert02(results.next());
+                assert03(results.next());
+                assert12(results.next());
+                assert13(results.next());
+                assert23(results.next());
+                assertFalse(results.hasNext());
+            }
+        );
+    }
+
+    @Test
+    void shouldFailOnExplicitGraphWithoutNodeProperty() {
+        runQuery("CALL gds.graph.create('embeddings', 'Person', '*')");
+
+        assertError(
+            "CALL gds.alpha.similarity.cosine.stream('embeddings', {})",
+            "Similarity on an explicitly created graph requires the `nodeProperty` that holds the node vectors"
+        );
+    }
+
+    @Test
+    void shouldFailOnNodePropertyWithoutVectors() {
+        runQuery("MATCH (n:Person) SET n.score = 1.0");
+        runQuery("CALL gds.graph.create('scores', 'Person', '*', {nodeProperties: 'score'})");
+
+        assertError(
+            "CALL gds.alpha.similarity.cosine.stream('scores', {nodeProperty: 'score'})",
+            "Node property `score` does not hold vectors."
+        );
+    }
+
     @Test
     void cosineSkipStreamTest() {
         runQueryWithResultConsumer(
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HnswIndexProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Item {name: 'a', embedding: [1.0, 0.0, 0.0]})" +
+        ", (b:Item {name: 'b', embedding: [0.9, 0.1, 0.0]})" +
+        ", (c:Item {name: 'c', embedding: [0.0, 1.0, 0.0]})" +
+        ", (d:Item {name: 'd', embedding: [0.1, 0.8, 0.2]})" +
+        ", (e:Item {name: 'e'})";
+
+    private final Map<String, Long> nodeIds = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+        registerProcedures(GraphCreateProc.class, HnswIndexProc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('graph', 'Item', '*', {nodeProperties: 'embedding'})");
+        runQueryWithRowConsumer(
+            "MATCH (n:Item) RETURN n.name AS name, id(n) AS id",
+            row -> nodeIds.put(row.getString("name"), row.getNumber("id").longValue())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldQueryIndexByNodeAndVector() {
+        runQueryWithRowConsumer(
+            "CALL gds.alpha.ml.hnsw.mutate('graph', {nodeProperty: 'embedding', indexName: 'index', concurrency: 1})",
+            row -> assertEquals(4L, row.getNumber("nodesIndexed").longValue())
+        );
+
+        assertEquals(
+            Arrays.asList("b", "d", "c"),
+            neighbours("CALL gds.alpha.ml.hnsw.stream('graph', {indexName: 'index', nodeId: $nodeId})", "a")
+        );
+        assertEquals(
+            Arrays.asList("c", "d"),
+            neighbours(
+                "CALL gds.alpha.ml.hnsw.stream('graph', {indexName: 'index', vector: [0.1, 1.0, 0.0], topK: 2})",
+                "a"
+            )
+        );
+    }
+
+    @Test
+    void shouldInsertNodesWithoutVector() {
+        runQuery("CALL gds.alpha.ml.hnsw.mutate('graph', {nodeProperty: 'embedding', indexName: 'index'})");
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("nodeIds", singletonList(nodeIds.get("e")));
+        params.put("vectors", singletonList(Arrays.asList(0.0, 0.0, 1.0)));
+        String insert = "CALL gds.alpha.ml.hnsw.insert('graph', {" +
+                        "  indexName: 'index', nodeIds: $nodeIds, vectors: $vectors" +
+                        "})";
+        runQueryWithRowConsumer(insert, params, row -> {
+            assertEquals(1L, row.getNumber("nodesProcessed").longValue());
+            assertEquals(1L, row.getNumber("nodesInserted").longValue());
+        });
+        runQueryWithRowConsumer(insert, params, row -> assertEquals(0L, row.getNumber("nodesInserted").longValue()));
+
+        assertEquals(
+            singletonList("d"),
+            neighbours("CALL gds.alpha.ml.hnsw.stream('graph', {indexName: 'index', nodeId: $nodeId, topK: 1})", "e")
+        );
+    }
+
+    @Test
+    void shouldFailToQueryNodeOutsideOfIndex() {
+        runQuery("CALL gds.alpha.ml.hnsw.mutate('graph', {nodeProperty: 'embedding', indexName: 'index'})");
+
+        assertError(
+            "CALL gds.alpha.ml.hnsw.stream('graph', {indexName: 'index', nodeId: " + nodeIds.get("e") + "})",
+            "Node with id " + nodeIds.get("e") + " is not part of the index `index`."
+        );
+    }
+
+    @Test
+    void shouldFailToQueryPropertyThatIsNoIndex() {
+        assertError(
+            "CALL gds.alpha.ml.hnsw.stream('graph', {indexName: 'embedding', vector: [1.0, 0.0, 0.0]})",
+            "Graph `graph` has no index `embedding` built by `gds.alpha.ml.hnsw.mutate`."
+        );
+    }
+
+    @Test
+    void shouldKeepIndexOutOfNodeProperties() {
+        runQuery("CALL gds.alpha.ml.hnsw.mutate('graph', {nodeProperty: 'embedding', indexName: 'index'})");
+
+        assertEquals(singleton("embedding"), GraphStoreCatalog.get("", "graph").graphStore().nodePropertyKeys());
+        assertError(
+            "CALL gds.alpha.ml.hnsw.mutate('graph', {nodeProperty: 'embedding', indexName: 'index'})",
+            "Index `index` already exists for graph `graph`."
+        );
+    }
+
+    private List<String> neighbours(String query, String queryNode) {
+        Map<String, String> names = new HashMap<>();
+        nodeIds.forEach((name, id) -> names.put(String.valueOf(id), name));
+        List<String> neighbours = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        params.put("nodeId", nodeIds.get(queryNode));
+        runQueryWithRowConsumer(
+            query,
+            params,
+            row -> neighbours.add(names.get(String.valueOf(row.getNumber("nodeId").longValue())))
+        );
+        return neighbours;
+    }
+}
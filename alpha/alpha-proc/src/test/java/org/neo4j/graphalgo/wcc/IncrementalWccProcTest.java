@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.catalog.GraphUpdateRelationshipsProc;
+import org.neo4j.graphalgo.core.loading.GraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class IncrementalWccProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (d:Node {name: 'd'})" +
+        ", (e:Node {name: 'e'})" +
+        ", (a)-[:TYPE]->(b)" +
+        ", (c)-[:TYPE]->(d)";
+
+    private final Map<String, Long> nodeIds = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+        registerProcedures(GraphCreateProc.class, GraphUpdateRelationshipsProc.class, IncrementalWccProc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('graph', 'Node', {TYPE: {orientation: 'UNDIRECTED'}})");
+        runQueryWithRowConsumer(
+            "MATCH (n:Node) RETURN n.name AS name, id(n) AS id",
+            row -> nodeIds.put(row.getString("name"), row.getNumber("id").longValue())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldMergeComponentsAlongAddedRelationships() {
+        runQueryWithRowConsumer(
+            "CALL gds.alpha.wcc.incremental.mutate('graph', {mutateProperty: 'component'})",
+            row -> assertEquals(5L, row.getNumber("nodePropertiesWritten").longValue())
+        );
+        assertEquals(3, componentCount());
+        assertNotEquals(component("a"), component("c"));
+        NodeProperties before = GraphStoreCatalog.get("", "graph").graphStore().nodeProperty("component");
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("sourceIds", singletonList(nodeIds.get("b")));
+        params.put("targetIds", singletonList(nodeIds.get("c")));
+        String update = "CALL gds.alpha.wcc.incremental.update('graph', {" +
+                        "  mutateProperty: 'component', relationshipType: 'TYPE', sourceIds: $sourceIds, targetIds: $targetIds" +
+                        "})";
+        runQueryWithRowConsumer(update, params, row -> {
+            assertEquals(1L, row.getNumber("relationshipsProcessed").longValue());
+            assertEquals(1L, row.getNumber("componentsMerged").longValue());
+        });
+        assertEquals(2, componentCount());
+        assertEquals(component("a"), component("d"));
+        // the relationship is inserted in both directions of the undirected type
+        assertEquals(6L, GraphStoreCatalog.get("", "graph").graphStore().relationshipCount("TYPE"));
+        assertNotEquals(component("a"), component("e"));
+        // the previous version of the property is not changed by the update
+        GraphStore graphStore = GraphStoreCatalog.get("", "graph").graphStore();
+        assertNotEquals(
+            before.longNodeProperty(graphStore.nodes().toMappedNodeId(nodeIds.get("a")), -1L),
+            before.longNodeProperty(graphStore.nodes().toMappedNodeId(nodeIds.get("d")), -1L)
+        );
+
+        runQueryWithRowConsumer(update, params, row -> assertEquals(0L, row.getNumber("componentsMerged").longValue()));
+        assertEquals(2, componentCount());
+    }
+
+    @Test
+    void shouldFailToUpdateUnmaintainedProperty() {
+        assertError(
+            "CALL gds.alpha.wcc.incremental.update('graph', {" +
+            "  mutateProperty: 'component', relationshipType: 'TYPE', sourceIds: [], targetIds: []" +
+            "})",
+            "Node property `component` is not maintained by `gds.alpha.wcc.incremental.mutate`."
+        );
+    }
+
+    @Test
+    void shouldNotMergeComponentsIfTheRelationshipsCannotBeInserted() {
+        runQuery("CALL gds.alpha.wcc.incremental.mutate('graph', {mutateProperty: 'component'})");
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("sourceIds", Arrays.asList(nodeIds.get("b"), 1337L));
+        params.put("targetIds", Arrays.asList(nodeIds.get("c"), nodeIds.get("a")));
+        assertError(
+            "CALL gds.alpha.wcc.incremental.update('graph', {" +
+            "  mutateProperty: 'component', relationshipType: 'TYPE', sourceIds: $sourceIds, targetIds: $targetIds" +
+            "})",
+            params,
+            "Node with id 1337 is not part of the graph."
+        );
+
+        assertEquals(3, componentCount());
+        assertEquals(4L, GraphStoreCatalog.get("", "graph").graphStore().relationshipCount("TYPE"));
+    }
+
+    @Test
+    void shouldFailToUpdateComponentsAfterOtherRelationshipUpdates() {
+        runQuery("CALL gds.alpha.wcc.incremental.mutate('graph', {mutateProperty: 'component'})");
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("sourceIds", singletonList(nodeIds.get("b")));
+        params.put("targetIds", singletonList(nodeIds.get("c")));
+        runQuery(
+            "CALL gds.alpha.graph.updateRelationships('graph', {" +
+            "  relationshipType: 'TYPE', insertSourceIds: $sourceIds, insertTargetIds: $targetIds" +
+            "})",
+            params
+        );
+
+        assertError(
+            "CALL gds.alpha.wcc.incremental.update('graph', {" +
+            "  mutateProperty: 'component', relationshipType: 'TYPE', sourceIds: $sourceIds, targetIds: $targetIds" +
+            "})",
+            params,
+            "The relationships of the graph have changed since the components were computed."
+        );
+        assertEquals(3, componentCount());
+    }
+
+    @Test
+    void shouldFailToDeleteMaintainedRelationships() {
+        runQuery("CALL gds.alpha.wcc.incremental.mutate('graph', {mutateProperty: 'component'})");
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("sourceIds", singletonList(nodeIds.get("a")));
+        params.put("targetIds", singletonList(nodeIds.get("b")));
+        assertError(
+            "CALL gds.alpha.graph.updateRelationships('graph', {" +
+            "  relationshipType: 'TYPE', deleteSourceIds: $sourceIds, deleteTargetIds: $targetIds" +
+            "})",
+            params,
+            "Relationships of type `TYPE` cannot be deleted while they are maintained by index `component`."
+        );
+        assertEquals(4L, GraphStoreCatalog.get("", "graph").graphStore().relationshipCount("TYPE"));
+    }
+
+    @Test
+    void shouldFailToComputeWithNodeLabelFilter() {
+        assertError(
+            "CALL gds.alpha.wcc.incremental.mutate('graph', {mutateProperty: 'component', nodeLabels: ['Node']})",
+            "Maintained components do not support filtering by `nodeLabels`."
+        );
+    }
+
+    private long component(String name) {
+        GraphStore graphStore = GraphStoreCatalog.get("", "graph").graphStore();
+        long nodeId = graphStore.nodes().toMappedNodeId(nodeIds.get(name));
+        return graphStore.nodeProperty("component").longNodeProperty(nodeId, -1L);
+    }
+
+    private long componentCount() {
+        GraphStore graphStore = GraphStoreCatalog.get("", "graph").graphStore();
+        NodeProperties components = graphStore.nodeProperty("component");
+        return LongStream.range(0, graphStore.nodeCount())
+            .map(nodeId -> components.longNodeProperty(nodeId, -1L))
+            .distinct()
+            .count();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+import org.neo4j.graphalgo.labelpropagation.ImmutableLabelPropagationStreamConfig;
+import org.neo4j.graphalgo.labelpropagation.LabelPropagation;
+import org.neo4j.graphalgo.louvain.ImmutableLouvainStreamConfig;
+import org.neo4j.graphalgo.louvain.Louvain;
+import org.neo4j.graphalgo.pagerank.ImmutablePageRankStreamConfig;
+import org.neo4j.graphalgo.pagerank.PageRank;
+import org.neo4j.graphalgo.pagerank.PageRankAlgorithmType;
+import org.neo4j.graphalgo.wcc.ImmutableWccStreamConfig;
+import org.neo4j.graphalgo.wcc.Wcc;
+import org.neo4j.logging.NullLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * End-to-end runs of the main algorithms on a {@link RandomGraphState} graph.
+ * Node similarity compares all pairs and lives in {@link NodeSimilarityBenchmark} with smaller graphs.
+ * The {@code backend} parameter runs the pool based algorithms either on
+ * {@link Pools#DEFAULT} or on the work-stealing {@link Pools#DEFAULT_FORK_JOIN_POOL}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class AlgorithmsBenchmark {
+
+    public enum Backend {
+        DEFAULT,
+        FORK_JOIN
+    }
+
+    @Param({"4"})
+    public int concurrency;
+
+    @Param({"DEFAULT", "FORK_JOIN"})
+    public Backend backend;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executor = backend == Backend.FORK_JOIN ? Pools.DEFAULT_FORK_JOIN_POOL : Pools.DEFAULT;
+    }
+
+    @Benchmark
+    public PageRank pageRank(RandomGraphState state) {
+        return PageRankAlgorithmType.NON_WEIGHTED.create(
+            state.graph,
+            LongStream.empty(),
+            ImmutablePageRankStreamConfig.builder().maxIterations(20).concurrency(concurrency).build(),
+            concurrency,
+            executor,
+            ParallelUtil.DEFAULT_BATCH_SIZE,
+            AllocationTracker.EMPTY
+        ).compute();
+    }
+
+    @Benchmark
+    public DisjointSetStruct wcc(RandomGraphState state) {
+        return new Wcc(
+            state.graph,
+            executor,
+            ParallelUtil.DEFAULT_BATCH_SIZE,
+            ImmutableWccStreamConfig.builder().concurrency(concurrency).build(),
+            AllocationTracker.EMPTY
+        ).compute();
+    }
+
+    @Benchmark
+    public Louvain louvain(RandomGraphState state) {
+        return new Louvain(
+            state.graph,
+            ImmutableLouvainStreamConfig.builder().concurrency(concurrency).build(),
+            executor,
+            NullLog.getInstance(),
+            AllocationTracker.EMPTY
+        ).compute();
+    }
+
+    @Benchmark
+    public LabelPropagation labelPropagation(RandomGraphState state) {
+        return new LabelPropagation(
+            state.graph,
+            ImmutableLabelPropagationStreamConfig.builder().concurrency(concurrency).build(),
+            executor,
+            AllocationTracker.EMPTY
+        ).compute();
+    }
+}
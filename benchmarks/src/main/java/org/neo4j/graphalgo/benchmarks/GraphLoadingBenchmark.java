@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the in-memory import path through {@link HugeGraphUtil},
+ * i.e. id mapping, relationship buffering, sorting and adjacency compression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GraphLoadingBenchmark {
+
+    @Param({"100000"})
+    public int nodeCount;
+
+    @Param({"10"})
+    public int averageDegree;
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    public RelationshipDistribution distribution;
+
+    @Param({"NATURAL", "UNDIRECTED"})
+    public Orientation orientation;
+
+    private long[] sources;
+    private long[] targets;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Graph graph = RandomGraphGenerator.generate(nodeCount, averageDegree, distribution, RandomGraphState.SEED);
+        int relationshipCount = Math.toIntExact(graph.relationshipCount());
+        sources = new long[relationshipCount];
+        targets = new long[relationshipCount];
+        int[] index = {0};
+        graph.forEachNode(nodeId -> {
+            graph.forEachRelationship(nodeId, (source, target) -> {
+                sources[index[0]] = graph.toOriginalNodeId(source);
+                targets[index[0]] = graph.toOriginalNodeId(target);
+                index[0]++;
+                return true;
+            });
+            return true;
+        });
+        graph.release();
+    }
+
+    @Benchmark
+    public Graph load() {
+        AllocationTracker tracker = AllocationTracker.EMPTY;
+
+        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(nodeCount, Pools.DEFAULT, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            idMapBuilder.addNode(nodeId);
+        }
+        IdMap idMap = idMapBuilder.build();
+
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            orientation,
+            false,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            tracker
+        );
+        for (int i = 0; i < sources.length; i++) {
+            relationshipsBuilder.add(sources[i], targets[i]);
+        }
+
+        return HugeGraphUtil.create(idMap, relationshipsBuilder.build(), tracker);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sequential and random access on {@link HugeLongArray}.
+ * Sizes above {@code ArrayUtil.MAX_ARRAY_LENGTH} (2^28 by default) exercise the paged implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class HugeLongArrayBenchmark {
+
+    @Param({"1000000", "300000000"})
+    public long size;
+
+    private static final long SCATTER = 0x9E3779B97F4A7C15L;
+
+    private HugeLongArray array;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        array = HugeLongArray.newArray(size, AllocationTracker.EMPTY);
+        array.setAll(index -> index);
+    }
+
+    @Benchmark
+    public void setAll() {
+        array.setAll(index -> index);
+    }
+
+    @Benchmark
+    public long sequentialGet() {
+        long sum = 0L;
+        for (long index = 0; index < size; index++) {
+            sum += array.get(index);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long randomGet() {
+        long sum = 0L;
+        for (long index = 0; index < size; index++) {
+            // multiplicative hashing scatters the reads without the cost of a random source
+            sum += array.get(Math.floorMod(index * SCATTER, size));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.graphalgo.core.utils.Intersections;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hash based and the merge based intersections of two sorted neighbour lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IntersectionsBenchmark {
+
+    @Param({"16", "256", "4096"})
+    public int length;
+
+    @Param({"4"})
+    public int idSpaceFactor;
+
+    private long[] targets1;
+    private long[] targets2;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(RandomGraphState.SEED);
+        long idSpace = (long) length * idSpaceFactor;
+        targets1 = sortedRandomIds(random, idSpace);
+        targets2 = sortedRandomIds(random, idSpace);
+    }
+
+    private long[] sortedRandomIds(SplittableRandom random, long idSpace) {
+        long[] ids = random.longs(length, 0, idSpace).toArray();
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    @Benchmark
+    public long intersection2() {
+        return Intersections.intersection2(targets1, targets2);
+    }
+
+    @Benchmark
+    public long intersection3() {
+        return Intersections.intersection3(targets1, targets2);
+    }
+
+    @Benchmark
+    public long intersection4() {
+        return Intersections.intersection4(targets1, targets2);
+    }
+}
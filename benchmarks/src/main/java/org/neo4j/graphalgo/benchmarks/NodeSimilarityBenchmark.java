@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.nodesim.ImmutableNodeSimilarityStreamConfig;
+import org.neo4j.graphalgo.nodesim.NodeSimilarity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node similarity compares all pairs of nodes, so it runs on smaller graphs than {@link AlgorithmsBenchmark}.
+ * The graph is not shared with {@link RandomGraphState} because {@link NodeSimilarity#release()} releases it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class NodeSimilarityBenchmark {
+
+    @Param({"10000"})
+    public int nodeCount;
+
+    @Param({"10"})
+    public int averageDegree;
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    public RelationshipDistribution distribution;
+
+    @Param({"4"})
+    public int concurrency;
+
+    @Param({"10"})
+    public int topK;
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = RandomGraphGenerator.generate(nodeCount, averageDegree, distribution, RandomGraphState.SEED);
+    }
+
+    @Benchmark
+    public long computeToStream() {
+        return newNodeSimilarity().computeToStream().count();
+    }
+
+    @Benchmark
+    public long computeToGraph() {
+        return newNodeSimilarity().computeToGraph().similarityGraph().relationshipCount();
+    }
+
+    private NodeSimilarity newNodeSimilarity() {
+        return new NodeSimilarity(
+            graph,
+            ImmutableNodeSimilarityStreamConfig.builder().concurrency(concurrency).topK(topK).build(),
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.graphalgo.core.loading.RadixSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RadixSort} on relationship batches as they are produced during import,
+ * i.e. four longs per relationship of which the first is the sort key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RadixSortBenchmark {
+
+    @Param({"10000", "100000"})
+    public int batchSize;
+
+    @Param({"1000000"})
+    public long idSpace;
+
+    private long[] unsorted;
+    private long[] data;
+    private long[] copy;
+    private int[] histogram;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        SplittableRandom random = new SplittableRandom(RandomGraphState.SEED);
+        unsorted = new long[batchSize * 4];
+        for (int i = 0; i < unsorted.length; i += 4) {
+            unsorted[i] = random.nextLong(idSpace);
+            unsorted[i + 1] = random.nextLong(idSpace);
+            unsorted[i + 2] = random.nextLong();
+            unsorted[i + 3] = random.nextLong();
+        }
+        data = new long[unsorted.length];
+        copy = RadixSort.newCopy(data);
+        histogram = RadixSort.newHistogram(data.length);
+    }
+
+    // The sort works in place, so every invocation needs to start from the unsorted batch again.
+    @Setup(Level.Invocation)
+    public void resetData() {
+        System.arraycopy(unsorted, 0, data, 0, unsorted.length);
+    }
+
+    @Benchmark
+    public long[] radixSort() {
+        RadixSort.radixSort(data, copy, histogram, data.length);
+        return data;
+    }
+
+    @Benchmark
+    public long[] radixSort2() {
+        RadixSort.radixSort2(data, copy, histogram, data.length);
+        return data;
+    }
+}
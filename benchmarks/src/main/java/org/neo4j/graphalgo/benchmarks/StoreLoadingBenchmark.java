@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.compat.GraphDbApi;
+import org.neo4j.graphalgo.core.loading.GraphStore;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.neo4j.graphalgo.QueryRunner.runQuery;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+
+/**
+ * Measures loading relationships with properties from the store.
+ * The properties are written in {@code propertyTransactions} transactions,
+ * each covering a different residue class of relationship ids, so that
+ * the property records of neighbouring relationships are spread over the property store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StoreLoadingBenchmark {
+
+    @Param({"100000"})
+    public int nodeCount;
+
+    @Param({"1000000"})
+    public int relationshipCount;
+
+    @Param({"1", "16"})
+    public int propertyTransactions;
+
+    private GraphDbApi db;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        db = TestDatabaseCreator.createTestDatabase();
+        runQuery(db, "UNWIND range(0, $nodeCount - 1) AS i CREATE (:Node)", map("nodeCount", nodeCount));
+        runQuery(
+            db,
+            "MATCH (n:Node) WITH collect(n) AS nodes " +
+            "UNWIND range(0, $relationshipCount - 1) AS i " +
+            "WITH nodes[i % size(nodes)] AS a, nodes[(i * 7919 + 13) % size(nodes)] AS b " +
+            "CREATE (a)-[:TYPE]->(b)",
+            map("relationshipCount", relationshipCount)
+        );
+        for (int residue = propertyTransactions - 1; residue >= 0; residue--) {
+            runQuery(
+                db,
+                "MATCH ()-[r:TYPE]->() WHERE id(r) % $transactions = $residue SET r.weight = toFloat(id(r) % 97), r.cost = toFloat(id(r) % 89)",
+                map("transactions", propertyTransactions, "residue", residue)
+            );
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.shutdown();
+    }
+
+    @Benchmark
+    public GraphStore load() {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .putRelationshipProjectionsWithIdentifier(
+                "TYPE",
+                RelationshipProjection.of("TYPE", Orientation.NATURAL)
+            )
+            .addRelationshipProperty(PropertyMapping.of("weight", 0D))
+            .addRelationshipProperty(PropertyMapping.of("cost", 0D))
+            .build()
+            .graphStore(NativeFactory.class);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.graphalgo.impl.similarity.CosineAlgorithm;
+import org.neo4j.graphalgo.impl.similarity.EuclideanAlgorithm;
+import org.neo4j.graphalgo.impl.similarity.ImmutableCosineConfig;
+import org.neo4j.graphalgo.impl.similarity.ImmutableEuclideanConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All-pairs top-k cosine and Euclidean similarity of dense vectors, as passed in with the {@code data} parameter.
+ * The values are random doubles, like the ones coming from Cypher.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class VectorSimilarityBenchmark {
+
+    @Param({"10000"})
+    public int vectorCount;
+
+    @Param({"16", "128"})
+    public int dimensions;
+
+    @Param({"4"})
+    public int concurrency;
+
+    @Param({"10"})
+    public int topK;
+
+    private List<Map<String, Object>> data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(RandomGraphState.SEED);
+        data = new ArrayList<>(vectorCount);
+        for (long item = 0; item < vectorCount; item++) {
+            List<Number> weights = new ArrayList<>(dimensions);
+            for (int d = 0; d < dimensions; d++) {
+                weights.add(random.nextDouble());
+            }
+            Map<String, Object> row = new HashMap<>();
+            row.put("item", item);
+            row.put("weights", weights);
+            data.add(row);
+        }
+    }
+
+    @Benchmark
+    public long cosine() {
+        return new CosineAlgorithm(
+            ImmutableCosineConfig.builder().data(data).topK(topK).concurrency(concurrency).build(),
+            null
+        ).compute().stream().count();
+    }
+
+    @Benchmark
+    public long euclidean() {
+        return new EuclideanAlgorithm(
+            ImmutableEuclideanConfig.builder().data(data).topK(topK).concurrency(concurrency).build(),
+            null
+        ).compute().stream().count();
+    }
+}
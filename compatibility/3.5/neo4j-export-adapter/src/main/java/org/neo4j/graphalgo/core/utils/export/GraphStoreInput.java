@@ -188,7 +188,16 @@ public final class GraphStoreInput implements Input {
         public boolean next(InputEntityVisitor visitor) throws IOException {
             if (id < endId) {
                 visitor.id(id);
-                nodeProperties.forEach(p -> visitor.property(p, graphStore.nodeProperty(p).nodeProperty(id)));
+                nodeProperties.forEach(p -> {
+                    if (graphStore.hasArrayNodeProperty(p)) {
+                        float[] value = graphStore.arrayNodeProperty(p).floatArrayNodeProperty(id);
+                        if (value != null) {
+                            visitor.property(p, value);
+                        }
+                    } else {
+                        visitor.property(p, graphStore.nodeProperty(p).nodeProperty(id));
+                    }
+                });
                 visitor.endOfEntity();
                 id++;
                 return true;
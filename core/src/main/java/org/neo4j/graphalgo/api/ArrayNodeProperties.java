@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.api;
+
+/**
+ * Node properties that hold an array per node, e.g. an embedding.
+ * They have no single numeric value per node, so they are kept apart from {@link NodeProperties}.
+ */
+public interface ArrayNodeProperties {
+
+    /**
+     * Returns the array value for a node or {@code null} if no property had been defined.
+     */
+    float[] floatArrayNodeProperty(long nodeId);
+
+    /**
+     * Release internal data structures and return an estimate how many bytes were freed.
+     *
+     * Note that the mapping is not usable afterwards.
+     */
+    default long release() {
+        return 0;
+    }
+
+    /**
+     * @return the number of values stored.
+     */
+    default long size() {
+        return 0;
+    }
+}
@@ -109,6 +109,16 @@ public abstract class FilterGraph implements Graph {
         return graph.availableNodeProperties();
     }
 
+    @Override
+    public ArrayNodeProperties arrayNodeProperties(String type) {
+        return graph.arrayNodeProperties(type);
+    }
+
+    @Override
+    public Set<String> availableArrayNodeProperties() {
+        return graph.availableArrayNodeProperties();
+    }
+
     @Override
     public long getTarget(long nodeId, long index) {
         return graph.getTarget(nodeId, index);
@@ -154,6 +154,7 @@ public abstract class GraphStoreFactory implements Assessable {
         return GraphStore.of(
             idsAndProperties.idMap(),
             idsAndProperties.properties(),
+            idsAndProperties.arrayProperties(),
             relationships,
             relationshipProperties,
             tracker
@@ -36,4 +36,14 @@ public interface NodePropertyContainer {
 
     Set<String> availableNodeProperties();
 
+    /**
+     * return the array property mapping for a type, e.g. embeddings
+     *
+     * @param type       the node property type
+     * @return the mapping associated with that type
+     */
+    ArrayNodeProperties arrayNodeProperties(String type);
+
+    Set<String> availableArrayNodeProperties();
+
 }
@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A work queue that keeps a separate lane of tasks per job and hands out
+ * tasks round-robin between the lanes, so that a job which submits many
+ * tasks cannot starve the other jobs that share the same pool.
+ * <p>
+ * The lane of a task is passed explicitly by submitting a {@link LaneTask},
+ * see {@link #inLane(Object, Runnable)}.
+ * Tasks that do not name a lane share one common lane.
+ * The capacity is bounded per lane, a full lane only blocks or rejects
+ * further tasks of the same job.
+ */
+final class FairTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private static final Object SHARED_LANE = new Object();
+
+    private static final long SHUTDOWN_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+
+    private final int laneCapacity;
+
+    private final Map<Object, Lane> lanes;
+    private final ArrayDeque<Lane> schedule;
+    private int count;
+
+    private final ReentrantLock lock;
+    private final Condition notEmpty;
+    private final Condition notFull;
+
+    private volatile BooleanSupplier isShutdown = () -> false;
+
+    FairTaskQueue(int laneCapacity) {
+        if (laneCapacity <= 0) {
+            throw new IllegalArgumentException("Lane capacity must be positive, but was " + laneCapacity);
+        }
+        this.laneCapacity = laneCapacity;
+        this.lanes = new HashMap<>();
+        this.schedule = new ArrayDeque<>();
+        this.lock = new ReentrantLock();
+        this.notEmpty = lock.newCondition();
+        this.notFull = lock.newCondition();
+    }
+
+    /**
+     * Wraps the task so that it is scheduled in the given lane.
+     * The returned future must be passed to {@link java.util.concurrent.Executor#execute(Runnable)},
+     * {@code submit} would wrap it once more and hide its lane.
+     */
+    static FutureTask<Void> inLane(Object lane, Runnable task) {
+        return new LaneFuture(Objects.requireNonNull(lane), task);
+    }
+
+    /**
+     * Lets {@link #put(Runnable)} give up waiting for room in a full lane once the executor has been shut down,
+     * as no worker might be left to take the queued tasks.
+     */
+    void bindTo(ExecutorService executor) {
+        this.isShutdown = executor::isShutdown;
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        Objects.requireNonNull(task);
+        Object key = laneOf(task);
+        lock.lock();
+        try {
+            if (isLaneFull(key)) {
+                return false;
+            }
+            enqueue(key, task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(task);
+        Object key = laneOf(task);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (isLaneFull(key)) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(key, task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        Objects.requireNonNull(task);
+        Object key = laneOf(task);
+        lock.lockInterruptibly();
+        try {
+            while (isLaneFull(key)) {
+                if (isShutdown.getAsBoolean()) {
+                    throw new RejectedExecutionException("Task " + task + " rejected as the executor has been shut down.");
+                }
+                notFull.awaitNanos(SHUTDOWN_CHECK_NANOS);
+            }
+            enqueue(key, task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return count == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            Lane next = schedule.peekFirst();
+            return next == null ? null : next.tasks.peekFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The remaining capacity of the lane that is shared by all tasks without an explicit lane.
+     */
+    @Override
+    public int remainingCapacity() {
+        Object key = SHARED_LANE;
+        lock.lock();
+        try {
+            Lane lane = lanes.get(key);
+            return lane == null ? laneCapacity : laneCapacity - lane.tasks.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            for (Lane lane : schedule) {
+                if (lane.tasks.remove(o)) {
+                    --count;
+                    if (lane.tasks.isEmpty()) {
+                        schedule.remove(lane);
+                        lanes.remove(lane.key);
+                    }
+                    notFull.signalAll();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        lock.lock();
+        try {
+            int drained = 0;
+            while (drained < maxElements && count > 0) {
+                c.add(dequeue());
+                ++drained;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Iterates over a snapshot of the queued tasks in the order in which they would be handed out.
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> snapshot;
+        lock.lock();
+        try {
+            snapshot = new ArrayList<>(count);
+            List<Iterator<Runnable>> laneIterators = new ArrayList<>(schedule.size());
+            for (Lane lane : schedule) {
+                laneIterators.add(lane.tasks.iterator());
+            }
+            while (snapshot.size() < count) {
+                for (Iterator<Runnable> laneIterator : laneIterators) {
+                    if (laneIterator.hasNext()) {
+                        snapshot.add(laneIterator.next());
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new SnapshotIterator(snapshot);
+    }
+
+    private static Object laneOf(Runnable task) {
+        Object lane = task instanceof LaneTask ? ((LaneTask) task).lane() : null;
+        return lane == null ? SHARED_LANE : lane;
+    }
+
+    private boolean isLaneFull(Object key) {
+        Lane lane = lanes.get(key);
+        return lane != null && lane.tasks.size() >= laneCapacity;
+    }
+
+    private void enqueue(Object key, Runnable task) {
+        Lane lane = lanes.get(key);
+        if (lane == null) {
+            lane = new Lane(key);
+            lanes.put(key, lane);
+            schedule.addLast(lane);
+        }
+        lane.tasks.addLast(task);
+        ++count;
+        notEmpty.signal();
+    }
+
+    private Runnable dequeue() {
+        Lane lane = schedule.pollFirst();
+        if (lane == null) {
+            throw new NoSuchElementException();
+        }
+        Runnable task = lane.tasks.pollFirst();
+        if (lane.tasks.isEmpty()) {
+            lanes.remove(lane.key);
+        } else {
+            schedule.addLast(lane);
+        }
+        --count;
+        // waiting producers might belong to any lane
+        notFull.signalAll();
+        return task;
+    }
+
+    /**
+     * A task that names the lane, usually the job, it is scheduled in.
+     */
+    interface LaneTask extends Runnable {
+        Object lane();
+    }
+
+    private static final class LaneFuture extends FutureTask<Void> implements LaneTask {
+        private final Object lane;
+
+        private LaneFuture(Object lane, Runnable task) {
+            super(task, null);
+            this.lane = lane;
+        }
+
+        @Override
+        public Object lane() {
+            return lane;
+        }
+    }
+
+    private static final class Lane {
+        private final Object key;
+        private final ArrayDeque<Runnable> tasks;
+
+        private Lane(Object key) {
+            this.key = key;
+            this.tasks = new ArrayDeque<>();
+        }
+    }
+
+    private final class SnapshotIterator implements Iterator<Runnable> {
+        private final Iterator<Runnable> delegate;
+        private Runnable last;
+
+        private SnapshotIterator(List<Runnable> snapshot) {
+            this.delegate = snapshot.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Runnable next() {
+            last = delegate.next();
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            FairTaskQueue.this.remove(last);
+            last = null;
+        }
+    }
+}
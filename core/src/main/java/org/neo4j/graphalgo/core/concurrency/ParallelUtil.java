@@ -29,6 +29,7 @@ import org.neo4j.graphalgo.core.utils.LazyMappingCollection;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.utils.ExceptionUtil;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -44,6 +45,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -104,6 +106,35 @@ public final class ParallelUtil {
         });
     }
 
+    /**
+     * Applies the consumer to all node ids in {@code [0, nodeCount)} with at most {@code concurrency} tasks.
+     * The tasks take small batches of nodes from a shared cursor until all nodes are processed, so tasks that finish
+     * early take over the remaining work and the load stays balanced even if the cost per node is highly skewed.
+     * If the concurrency is 1 or less, the nodes are processed on the calling thread.
+     */
+    public static void parallelForEachNode(
+        long nodeCount,
+        int concurrency,
+        TerminationFlag terminationFlag,
+        ExecutorService executor,
+        LongConsumer consumer
+    ) {
+        long batchSize = Math.max(nodeCount / (Math.max(1L, concurrency) * 64L), 64L);
+        AtomicLong nextBatchStart = new AtomicLong();
+        Runnable task = () -> {
+            long start;
+            while ((start = nextBatchStart.getAndAdd(batchSize)) < nodeCount) {
+                terminationFlag.assertRunning();
+                long end = Math.min(nodeCount, start + batchSize);
+                for (long nodeId = start; nodeId < end; nodeId++) {
+                    consumer.accept(nodeId);
+                }
+            }
+        };
+        int taskCount = (int) Math.min(Math.max(1, concurrency), threadCount(batchSize, Math.max(1L, nodeCount)));
+        runWithConcurrency(taskCount, Collections.nCopies(taskCount, task), terminationFlag, executor);
+    }
+
     /**
      * @return the number of threads required to compute elementCount with the given batchSize
      */
@@ -212,6 +243,21 @@ public final class ParallelUtil {
         final ExecutorService executor,
         final HugeParallelGraphImporter<T> importer
     ) {
+        readParallel(concurrency, batchSize, idMapping, TerminationFlag.RUNNING_TRUE, executor, importer);
+    }
+
+    /**
+     * Executes read operations in parallel, based on the given batch size
+     * and executor, in the lane of the job that owns {@code terminationFlag}.
+     */
+    public static <T extends Runnable> void readParallel(
+        final int concurrency,
+        final int batchSize,
+        final BatchNodeIterable idMapping,
+        final TerminationFlag terminationFlag,
+        final ExecutorService executor,
+        final HugeParallelGraphImporter<T> importer
+    ) {
 
         Collection<PrimitiveLongIterable> iterators =
             idMapping.batchIterables(batchSize);
@@ -231,7 +277,7 @@ public final class ParallelUtil {
                 iterators,
                 it -> importer.newImporter(nodeOffset.getAndAdd(batchSize), it)
             );
-            runWithConcurrency(concurrency, importers, executor);
+            runWithConcurrency(concurrency, importers, terminationFlag, executor);
         }
     }
 
@@ -241,6 +287,16 @@ public final class ParallelUtil {
         final ExecutorService executor,
         final BiLongConsumer task
     ) {
+        readParallel(concurrency, size, TerminationFlag.RUNNING_TRUE, executor, task);
+    }
+
+    public static void readParallel(
+        final int concurrency,
+        final long size,
+        final TerminationFlag terminationFlag,
+        final ExecutorService executor,
+        final BiLongConsumer task
+    ) {
 
         long batchSize = threadCount(concurrency, size);
         if (!canRunInParallel(executor) || concurrency == 1) {
@@ -255,7 +311,7 @@ public final class ParallelUtil {
                 final long finalStart = start;
                 threads.add(() -> task.apply(finalStart, end));
             }
-            run(threads, executor);
+            run(threads, terminationFlag, executor);
         }
     }
 
@@ -274,7 +330,14 @@ public final class ParallelUtil {
      * Runs a single task and waits until it's finished.
      */
     public static void run(Runnable task, ExecutorService executor) {
-        awaitTermination(Collections.singleton(executor.submit(task)));
+        run(task, TerminationFlag.RUNNING_TRUE, executor);
+    }
+
+    /**
+     * Runs a single task in the lane of the job that owns {@code terminationFlag} and waits until it's finished.
+     */
+    public static void run(Runnable task, TerminationFlag terminationFlag, ExecutorService executor) {
+        awaitTermination(Collections.singleton(submit(executor, laneOf(terminationFlag), task)));
     }
 
     /**
@@ -291,6 +354,14 @@ public final class ParallelUtil {
         run(tasks, executor, null);
     }
 
+    public static void run(
+        final Collection<? extends Runnable> tasks,
+        final TerminationFlag terminationFlag,
+        final ExecutorService executor
+    ) {
+        awaitTermination(run(tasks, true, terminationFlag, executor, null));
+    }
+
     public static void run(
         final Collection<? extends Runnable> tasks,
         final ExecutorService executor,
@@ -305,6 +376,20 @@ public final class ParallelUtil {
         final ExecutorService executor,
         Collection<Future<?>> futures
     ) {
+        return run(tasks, allowSynchronousRun, TerminationFlag.RUNNING_TRUE, executor, futures);
+    }
+
+    /**
+     * Submits the tasks in the lane of the job that owns {@code terminationFlag}
+     * and returns their futures without waiting for them.
+     */
+    public static Collection<Future<?>> run(
+        final Collection<? extends Runnable> tasks,
+        final boolean allowSynchronousRun,
+        final TerminationFlag terminationFlag,
+        final ExecutorService executor,
+        Collection<Future<?>> futures
+    ) {
 
         boolean noExecutor = !canRunInParallel(executor);
 
@@ -323,8 +408,9 @@ public final class ParallelUtil {
             futures.clear();
         }
 
+        Object lane = laneOf(terminationFlag);
         for (Runnable task : tasks) {
-            futures.add(executor.submit(task));
+            futures.add(submit(executor, lane, task));
         }
 
         return futures;
@@ -336,6 +422,16 @@ public final class ParallelUtil {
         final ExecutorService executor,
         Collection<Future<?>> futures
     ) {
+        run(tasks, selfTask, TerminationFlag.RUNNING_TRUE, executor, futures);
+    }
+
+    public static void run(
+        final Collection<? extends Runnable> tasks,
+        final Runnable selfTask,
+        final TerminationFlag terminationFlag,
+        final ExecutorService executor,
+        Collection<Future<?>> futures
+    ) {
 
         if (tasks.isEmpty()) {
             selfTask.run();
@@ -358,8 +454,9 @@ public final class ParallelUtil {
             futures.clear();
         }
 
+        Object lane = laneOf(terminationFlag);
         for (Runnable task : tasks) {
-            futures.add(executor.submit(task));
+            futures.add(submit(executor, lane, task));
         }
 
         awaitTermination(futures);
@@ -789,8 +886,13 @@ public final class ParallelUtil {
             return;
         }
 
+        if (executor instanceof ForkJoinPool) {
+            runInForkJoinPool(concurrency, tasks, terminationFlag, (ForkJoinPool) executor);
+            return;
+        }
+
         CompletionService completionService =
-            new CompletionService(executor, concurrency);
+            new CompletionService(executor, concurrency, laneOf(terminationFlag));
 
         PushbackIterator<Runnable> ts =
             new PushbackIterator<>(tasks.iterator());
@@ -850,6 +952,52 @@ public final class ParallelUtil {
         }
     }
 
+    /**
+     * Runs the tasks with at most {@code concurrency} of them being forked at any time.
+     * Joining a task from a worker of the same pool lets the joining thread execute
+     * other queued tasks instead of blocking.
+     */
+    private static void runInForkJoinPool(
+        final int concurrency,
+        final Collection<? extends Runnable> tasks,
+        final TerminationFlag terminationFlag,
+        final ForkJoinPool pool
+    ) {
+        Queue<ForkJoinTask<?>> window = new ArrayDeque<>(concurrency);
+        Throwable error = null;
+        try {
+            for (Runnable task : tasks) {
+                terminationFlag.assertRunning();
+                if (window.size() >= concurrency) {
+                    error = joinTask(window.remove(), error);
+                }
+                window.add(pool.submit(task));
+            }
+            while (!window.isEmpty()) {
+                terminationFlag.assertRunning();
+                error = joinTask(window.remove(), error);
+            }
+        } finally {
+            for (ForkJoinTask<?> task : window) {
+                task.cancel(false);
+            }
+        }
+        if (error != null) {
+            throwIfUnchecked(error);
+            throw new RuntimeException(error);
+        }
+    }
+
+    private static Throwable joinTask(ForkJoinTask<?> task, Throwable error) {
+        try {
+            task.join();
+        } catch (CancellationException ignore) {
+        } catch (RuntimeException | Error e) {
+            error = ExceptionUtil.chain(error, e);
+        }
+        return error;
+    }
+
     private static void finishRunWithConcurrency(
         final CompletionService completionService,
         final Throwable error
@@ -927,16 +1075,27 @@ public final class ParallelUtil {
         final int size,
         final int concurrency,
         final IntConsumer consumer
+    ) {
+        iterateParallel(executorService, size, concurrency, TerminationFlag.RUNNING_TRUE, consumer);
+    }
+
+    public static void iterateParallel(
+        final ExecutorService executorService,
+        final int size,
+        final int concurrency,
+        final TerminationFlag terminationFlag,
+        final IntConsumer consumer
     ) {
         if (!canRunInParallel(executorService)) {
             throw new IllegalArgumentException("no executor available to run the tasks in parallel");
         }
         final Collection<Future<?>> futures = new ArrayList<>();
+        final Object lane = laneOf(terminationFlag);
         final int batchSize = threadCount(concurrency, size);
         for (int i = 0; i < size; i += batchSize) {
             final int start = i;
             final int end = Math.min(size, start + batchSize);
-            futures.add(executorService.submit(() -> {
+            futures.add(submit(executorService, lane, () -> {
                 for (int j = start; j < end; j++) {
                     consumer.accept(j);
                 }
@@ -945,6 +1104,21 @@ public final class ParallelUtil {
         awaitTermination(futures);
     }
 
+    /**
+     * Every job runs with its own termination flag, so the flag names the lane of the job's tasks.
+     * Callers without a flag share {@link TerminationFlag#RUNNING_TRUE}, their tasks are
+     * scheduled in the lane of the submitting thread instead.
+     */
+    private static Object laneOf(final TerminationFlag terminationFlag) {
+        return terminationFlag == TerminationFlag.RUNNING_TRUE ? Thread.currentThread() : terminationFlag;
+    }
+
+    private static Future<?> submit(final ExecutorService executor, final Object lane, final Runnable task) {
+        FutureTask<Void> future = FairTaskQueue.inLane(lane, task);
+        executor.execute(future);
+        return future;
+    }
+
     /**
      * Copied from {@link java.util.concurrent.ExecutorCompletionService}
      * and adapted to reduce indirection.
@@ -954,15 +1128,22 @@ public final class ParallelUtil {
         private final Executor executor;
         private final ThreadPoolExecutor pool;
         private final int availableConcurrency;
+        private final boolean fairlyScheduled;
+        private final Object lane;
         private final Set<Future<Void>> running;
         private final BlockingQueue<Future<Void>> completionQueue;
 
-        private class QueueingFuture extends FutureTask<Void> {
+        private class QueueingFuture extends FutureTask<Void> implements FairTaskQueue.LaneTask {
             QueueingFuture(final Runnable runnable) {
                 super(runnable, null);
                 running.add(this);
             }
 
+            @Override
+            public Object lane() {
+                return lane;
+            }
+
             @Override
             protected void done() {
                 running.remove(this);
@@ -973,7 +1154,7 @@ public final class ParallelUtil {
             }
         }
 
-        CompletionService(final ExecutorService executor, final int targetConcurrency) {
+        CompletionService(final ExecutorService executor, final int targetConcurrency, final Object lane) {
             if (!canRunInParallel(executor)) {
                 throw new IllegalArgumentException(
                     "executor already terminated or not usable");
@@ -981,15 +1162,18 @@ public final class ParallelUtil {
             if (executor instanceof ThreadPoolExecutor) {
                 pool = (ThreadPoolExecutor) executor;
                 availableConcurrency = pool.getCorePoolSize();
+                fairlyScheduled = pool.getQueue() instanceof FairTaskQueue;
                 int capacity = Math.max(targetConcurrency, availableConcurrency) + 1;
                 completionQueue = new ArrayBlockingQueue<>(capacity);
             } else {
                 pool = null;
                 availableConcurrency = Integer.MAX_VALUE;
+                fairlyScheduled = false;
                 completionQueue = new LinkedBlockingQueue<>();
             }
 
             this.executor = executor;
+            this.lane = lane;
             this.running = Collections.newSetFromMap(new ConcurrentHashMap<>());
         }
 
@@ -1027,7 +1211,15 @@ public final class ParallelUtil {
         }
 
         private boolean canSubmit() {
-            return pool == null || pool.getActiveCount() < availableConcurrency;
+            if (pool == null) {
+                return true;
+            }
+            // A fair queue interleaves our tasks with those of other jobs, so we only
+            // need to bound our own tasks instead of waiting for the whole pool to be idle.
+            if (fairlyScheduled) {
+                return running.size() < availableConcurrency;
+            }
+            return pool.getActiveCount() < availableConcurrency;
         }
 
         private void stopFutures(final Collection<Future<Void>> futures) {
@@ -21,16 +21,13 @@ package org.neo4j.graphalgo.core.concurrency;
 
 import org.neo4j.graphalgo.compat.NamedThreadFactoryProxy;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 import static org.neo4j.graphalgo.config.ConcurrencyValidation.CONCURRENCY_LIMITATION;
 
@@ -38,6 +35,8 @@ public final class Pools {
 
     public static final ExecutorService DEFAULT = createDefaultPool();
     public static final ExecutorService DEFAULT_SINGLE_THREAD_POOL = createDefaultSingleThreadPool();
+    public static final ExecutorService DEFAULT_WRITE_POOL = createDefaultWritePool();
+    public static final ForkJoinPool DEFAULT_FORK_JOIN_POOL = createDefaultForkJoinPool();
 
     private Pools() {
         throw new UnsupportedOperationException();
@@ -52,43 +51,64 @@ public final class Pools {
             corePoolSize = maxPoolSize = CONCURRENCY_LIMITATION;
         }
 
-        return new ThreadPoolExecutor(
+        FairTaskQueue queue = new FairTaskQueue(corePoolSize * 50);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
             corePoolSize,
             maxPoolSize,
             30L,
             TimeUnit.SECONDS,
-            new ArrayBlockingQueue<>(corePoolSize * 50),
+            queue,
             NamedThreadFactoryProxy.daemon(),
             new CallerBlocksPolicy()
         );
+        queue.bindTo(executor);
+        return executor;
+    }
+
+    /**
+     * Work-stealing alternative to {@link #DEFAULT}, with the same parallelism.
+     * {@link ParallelUtil} accepts it wherever it accepts an executor.
+     */
+    static ForkJoinPool createDefaultForkJoinPool() {
+        int parallelism = ConcurrencyMonitor.instance().isUnlimited()
+            ? Runtime.getRuntime().availableProcessors()
+            : CONCURRENCY_LIMITATION;
+        return new ForkJoinPool(parallelism);
     }
 
     public static ExecutorService createDefaultSingleThreadPool() {
         return Executors.newSingleThreadExecutor(NamedThreadFactoryProxy.daemon());
     }
 
+    /**
+     * Pool for write transactions that run while the computation is still ongoing.
+     * Writer tasks are long-running consumers, so they must not compete with
+     * compute tasks for the bounded queue of {@link #DEFAULT}.
+     */
+    static ExecutorService createDefaultWritePool() {
+        return Executors.newCachedThreadPool(NamedThreadFactoryProxy.daemon());
+    }
+
+    /**
+     * Waits until the lane of the submitting job has room for the task.
+     * The queue signals free capacity whenever a task is taken and stops
+     * waiting once the pool has been shut down.
+     */
     static class CallerBlocksPolicy implements RejectedExecutionHandler {
         @Override
         public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-            // Submit again by directly injecting the task into the work queue, waiting if necessary, but also
-            // periodically checking if the pool has been shut down.
-            FutureTask<Void> task = new FutureTask<>(r, null);
-            BlockingQueue<Runnable> queue = executor.getQueue();
-            while (!executor.isShutdown()) {
-                try {
-                    if (queue.offer(task, 250, TimeUnit.MILLISECONDS)) {
-                        while (!executor.isShutdown()) {
-                            try {
-                                task.get(250, TimeUnit.MILLISECONDS);
-                                return; // Success!
-                            } catch (TimeoutException ignore) {
-                                // This is fine and expected. We just want to check that the executor hasn't been shut down.
-                            }
-                        }
-                    }
-                } catch (InterruptedException | ExecutionException e) {
-                    throw new RuntimeException(e);
-                }
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Task " + r + " rejected from " + executor + " as it has been shut down.");
+            }
+            try {
+                executor.getQueue().put(r);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException(e);
+            }
+            // the pool might have been shut down while we were waiting
+            if (executor.isShutdown() && executor.remove(r)) {
+                throw new RejectedExecutionException("Task " + r + " rejected from " + executor + " as it has been shut down.");
             }
         }
     }
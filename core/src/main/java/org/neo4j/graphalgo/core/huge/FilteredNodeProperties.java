@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.core.huge;
 
 import org.apache.commons.lang3.mutable.MutableDouble;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.loading.IdMap;
 
@@ -67,4 +68,31 @@ public class FilteredNodeProperties implements NodeProperties {
     public long size() {
         return Math.min(properties.size(), idMap.nodeCount());
     }
+
+    static final class OfArrays implements ArrayNodeProperties {
+        private final ArrayNodeProperties properties;
+        private IdMap idMap;
+
+        OfArrays(ArrayNodeProperties properties, IdMap idMap) {
+            this.properties = properties;
+            this.idMap = idMap;
+        }
+
+        @Override
+        public float[] floatArrayNodeProperty(long nodeId) {
+            return properties.floatArrayNodeProperty(idMap.toOriginalNodeId(nodeId));
+        }
+
+        @Override
+        public long release() {
+            long releasedFromProps = properties.release();
+            idMap = null;
+            return releasedFromProps;
+        }
+
+        @Override
+        public long size() {
+            return Math.min(properties.size(), idMap.nodeCount());
+        }
+    }
 }
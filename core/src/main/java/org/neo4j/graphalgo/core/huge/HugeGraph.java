@@ -24,6 +24,7 @@ import org.neo4j.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
@@ -35,6 +36,7 @@ import org.neo4j.internal.kernel.api.CursorFactory;
 import org.neo4j.internal.kernel.api.NodeCursor;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -83,6 +85,7 @@ public class HugeGraph implements Graph {
     private final AllocationTracker tracker;
 
     private final Map<String, NodeProperties> nodeProperties;
+    private final Map<String, ArrayNodeProperties> arrayNodeProperties;
 
     private final Orientation orientation;
 
@@ -107,10 +110,22 @@ public class HugeGraph implements Graph {
         TopologyCSR topologyCSR,
         Optional<PropertyCSR> maybePropertyCSR,
         AllocationTracker tracker
+    ) {
+        return create(nodes, nodeProperties, Collections.emptyMap(), topologyCSR, maybePropertyCSR, tracker);
+    }
+
+    public static HugeGraph create(
+        IdMap nodes,
+        Map<String, NodeProperties> nodeProperties,
+        Map<String, ArrayNodeProperties> arrayNodeProperties,
+        TopologyCSR topologyCSR,
+        Optional<PropertyCSR> maybePropertyCSR,
+        AllocationTracker tracker
     ) {
         return new HugeGraph(
             nodes,
             nodeProperties,
+            arrayNodeProperties,
             topologyCSR.elementCount(),
             topologyCSR.list(),
             topologyCSR.offsets(),
@@ -126,6 +141,7 @@ public class HugeGraph implements Graph {
     public HugeGraph(
         IdMap idMapping,
         Map<String, NodeProperties> nodeProperties,
+        Map<String, ArrayNodeProperties> arrayNodeProperties,
         long relationshipCount,
         AdjacencyList adjacencyList,
         AdjacencyOffsets adjacencyOffsets,
@@ -139,6 +155,7 @@ public class HugeGraph implements Graph {
         this.idMapping = idMapping;
         this.tracker = tracker;
         this.nodeProperties = nodeProperties;
+        this.arrayNodeProperties = arrayNodeProperties;
         this.relationshipCount = relationshipCount;
         this.adjacencyList = adjacencyList;
         this.adjacencyOffsets = adjacencyOffsets;
@@ -231,6 +248,16 @@ public class HugeGraph implements Graph {
         return nodeProperties.keySet();
     }
 
+    @Override
+    public ArrayNodeProperties arrayNodeProperties(String type) {
+        return arrayNodeProperties.get(type);
+    }
+
+    @Override
+    public Set<String> availableArrayNodeProperties() {
+        return arrayNodeProperties.keySet();
+    }
+
     @Override
     public void forEachRelationship(long nodeId, RelationshipConsumer consumer) {
         runForEach(nodeId, consumer);
@@ -277,6 +304,7 @@ public class HugeGraph implements Graph {
         return new HugeGraph(
             idMapping,
             nodeProperties,
+            arrayNodeProperties,
             relationshipCount,
             adjacencyList,
             adjacencyOffsets,
@@ -381,6 +409,9 @@ public class HugeGraph implements Graph {
             for (NodeProperties nodeMapping : nodeProperties.values()) {
                 tracker.remove(nodeMapping.release());
             }
+            for (ArrayNodeProperties nodeMapping : arrayNodeProperties.values()) {
+                tracker.remove(nodeMapping.release());
+            }
         }
     }
 
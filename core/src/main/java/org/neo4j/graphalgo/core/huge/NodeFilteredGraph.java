@@ -21,7 +21,9 @@ package org.neo4j.graphalgo.core.huge;
 
 import org.neo4j.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
 import org.neo4j.graphalgo.api.FilterGraph;
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipIntersect;
@@ -36,7 +38,7 @@ public class NodeFilteredGraph extends FilterGraph {
 
     private final IdMap filteredIdMap;
 
-    public NodeFilteredGraph(HugeGraph graph, IdMap filteredIdMap) {
+    public NodeFilteredGraph(Graph graph, IdMap filteredIdMap) {
         super(graph);
         this.filteredIdMap = filteredIdMap;
     }
@@ -126,7 +128,7 @@ public class NodeFilteredGraph extends FilterGraph {
 
     @Override
     public RelationshipIterator concurrentCopy() {
-        return new NodeFilteredGraph((HugeGraph) graph.concurrentCopy(), filteredIdMap);
+        return new NodeFilteredGraph((Graph) graph.concurrentCopy(), filteredIdMap);
     }
 
     @Override
@@ -138,6 +140,15 @@ public class NodeFilteredGraph extends FilterGraph {
         return new FilteredNodeProperties(properties, filteredIdMap);
     }
 
+    @Override
+    public ArrayNodeProperties arrayNodeProperties(String type) {
+        ArrayNodeProperties properties = graph.arrayNodeProperties(type);
+        if (properties == null) {
+            return null;
+        }
+        return new FilteredNodeProperties.OfArrays(properties, filteredIdMap);
+    }
+
     private boolean filterAndConsume(long source, long target, RelationshipConsumer consumer) {
         if (filteredIdMap.contains(source) && filteredIdMap.contains(target)) {
             long internalSourceId = filteredIdMap.toMappedNodeId(source);
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.FilterGraph;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipIntersect;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+
+import java.util.function.Supplier;
+
+/**
+ * A graph that reads the relationships of its CSR followed by the relationships of a {@link RelationshipOverlay}.
+ *
+ * The adjacency lists of the overlay are not sorted, so intersections are computed on a compacted copy of the
+ * graph, which is only built once it is requested.
+ */
+public class OverlayGraph extends FilterGraph {
+
+    private final RelationshipOverlay overlay;
+    private final Supplier<Graph> compacted;
+
+    public OverlayGraph(Graph graph, RelationshipOverlay overlay, Supplier<Graph> compacted) {
+        super(graph);
+        this.overlay = overlay;
+        this.compacted = compacted;
+    }
+
+    @Override
+    public long relationshipCount() {
+        return super.relationshipCount() + overlay.elementCount();
+    }
+
+    @Override
+    public int degree(long nodeId) {
+        return super.degree(nodeId) + overlay.degree(nodeId);
+    }
+
+    @Override
+    public void forEachRelationship(long nodeId, RelationshipConsumer consumer) {
+        boolean[] proceed = {true};
+        super.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) ->
+            proceed[0] = consumer.accept(sourceNodeId, targetNodeId)
+        );
+        if (proceed[0]) {
+            overlay.forEachRelationship(
+                nodeId,
+                Double.NaN,
+                (sourceNodeId, targetNodeId, property) -> consumer.accept(sourceNodeId, targetNodeId)
+            );
+        }
+    }
+
+    @Override
+    public void forEachRelationship(long nodeId, double fallbackValue, RelationshipWithPropertyConsumer consumer) {
+        boolean[] proceed = {true};
+        super.forEachRelationship(nodeId, fallbackValue, (sourceNodeId, targetNodeId, property) ->
+            proceed[0] = consumer.accept(sourceNodeId, targetNodeId, property)
+        );
+        if (proceed[0]) {
+            if (hasRelationshipProperty()) {
+                overlay.forEachRelationship(nodeId, fallbackValue, consumer);
+            } else {
+                overlay.forEachRelationship(
+                    nodeId,
+                    fallbackValue,
+                    (sourceNodeId, targetNodeId, property) -> consumer.accept(sourceNodeId, targetNodeId, fallbackValue)
+                );
+            }
+        }
+    }
+
+    @Override
+    public boolean exists(long sourceNodeId, long targetNodeId) {
+        return super.exists(sourceNodeId, targetNodeId) || overlay.exists(sourceNodeId, targetNodeId);
+    }
+
+    @Override
+    public double relationshipProperty(long sourceNodeId, long targetNodeId, double fallbackValue) {
+        if (hasRelationshipProperty() && !super.exists(sourceNodeId, targetNodeId) && overlay.exists(sourceNodeId, targetNodeId)) {
+            return overlay.relationshipProperty(sourceNodeId, targetNodeId, fallbackValue);
+        }
+        return super.relationshipProperty(sourceNodeId, targetNodeId, fallbackValue);
+    }
+
+    @Override
+    public double relationshipProperty(long sourceNodeId, long targetNodeId) {
+        if (hasRelationshipProperty() && !super.exists(sourceNodeId, targetNodeId) && overlay.exists(sourceNodeId, targetNodeId)) {
+            return overlay.relationshipProperty(sourceNodeId, targetNodeId, Double.NaN);
+        }
+        return super.relationshipProperty(sourceNodeId, targetNodeId);
+    }
+
+    @Override
+    public long getTarget(long nodeId, long index) {
+        int degree = super.degree(nodeId);
+        return index < degree
+            ? super.getTarget(nodeId, index)
+            : overlay.getTarget(nodeId, index - degree);
+    }
+
+    @Override
+    public RelationshipIntersect intersection() {
+        return compacted.get().intersection();
+    }
+
+    @Override
+    public RelationshipIterator concurrentCopy() {
+        return new OverlayGraph((Graph) graph.concurrentCopy(), overlay, compacted);
+    }
+}
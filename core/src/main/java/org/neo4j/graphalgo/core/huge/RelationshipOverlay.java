@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.cursors.LongObjectCursor;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Relationships that have been inserted into a relationship type after its CSR was built.
+ *
+ * The overlay is immutable and consists of one chunk per applied batch, so an insert costs time in the size of
+ * the batch and not in the size of the type. Each chunk stores its relationships grouped by the node in whose
+ * adjacency list they appear, in the same way as the CSR stores them for the orientation of the type.
+ * Reads of a node look the node up in every chunk, so the overlay is meant to be compacted into a new CSR
+ * once it grows.
+ */
+public final class RelationshipOverlay {
+
+    public static final RelationshipOverlay EMPTY = new RelationshipOverlay(Collections.emptyList(), 0L);
+
+    private final List<Chunk> chunks;
+    private final long elementCount;
+
+    private RelationshipOverlay(List<Chunk> chunks, long elementCount) {
+        this.chunks = chunks;
+        this.elementCount = elementCount;
+    }
+
+    public boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    /**
+     * The number of adjacency list entries of all chunks.
+     */
+    public long elementCount() {
+        return elementCount;
+    }
+
+    public int chunkCount() {
+        return chunks.size();
+    }
+
+    public RelationshipOverlay with(Chunk chunk) {
+        if (chunk.elementCount == 0) {
+            return this;
+        }
+        List<Chunk> newChunks = new ArrayList<>(chunks.size() + 1);
+        newChunks.addAll(chunks);
+        newChunks.add(chunk);
+        return new RelationshipOverlay(Collections.unmodifiableList(newChunks), elementCount + chunk.elementCount);
+    }
+
+    /**
+     * Removes the chunks of an overlay that has been compacted into the CSR.
+     *
+     * @return the remaining chunks or an empty optional if {@code compacted} is not a prefix of this overlay
+     */
+    public Optional<RelationshipOverlay> without(RelationshipOverlay compacted) {
+        if (compacted.chunks.size() > chunks.size()) {
+            return Optional.empty();
+        }
+        for (int i = 0; i < compacted.chunks.size(); i++) {
+            if (compacted.chunks.get(i) != chunks.get(i)) {
+                return Optional.empty();
+            }
+        }
+        List<Chunk> remaining = chunks.subList(compacted.chunks.size(), chunks.size());
+        return Optional.of(remaining.isEmpty()
+            ? EMPTY
+            : new RelationshipOverlay(
+                Collections.unmodifiableList(new ArrayList<>(remaining)),
+                elementCount - compacted.elementCount
+            ));
+    }
+
+    public int degree(long nodeId) {
+        int degree = 0;
+        for (Chunk chunk : chunks) {
+            long[] targets = chunk.targets.get(nodeId);
+            if (targets != null) {
+                degree += targets.length;
+            }
+        }
+        return degree;
+    }
+
+    /**
+     * @return {@code false} if the consumer stopped the iteration
+     */
+    public boolean forEachRelationship(long nodeId, double fallbackValue, RelationshipWithPropertyConsumer consumer) {
+        for (Chunk chunk : chunks) {
+            long[] targets = chunk.targets.get(nodeId);
+            if (targets == null) {
+                continue;
+            }
+            double[] properties = chunk.properties == null ? null : chunk.properties.get(nodeId);
+            for (int i = 0; i < targets.length; i++) {
+                if (!consumer.accept(nodeId, targets[i], properties == null ? fallbackValue : properties[i])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public boolean exists(long sourceNodeId, long targetNodeId) {
+        return indexOf(sourceNodeId, targetNodeId) != null;
+    }
+
+    public double relationshipProperty(long sourceNodeId, long targetNodeId, double fallbackValue) {
+        long[] position = indexOf(sourceNodeId, targetNodeId);
+        if (position == null) {
+            return fallbackValue;
+        }
+        Chunk chunk = chunks.get((int) position[0]);
+        return chunk.properties == null
+            ? fallbackValue
+            : chunk.properties.get(sourceNodeId)[(int) position[1]];
+    }
+
+    /**
+     * Returns the {@code index}-th target of the node within the overlay or
+     * {@link HugeGraph.GetTargetConsumer#TARGET_NOT_FOUND}.
+     */
+    public long getTarget(long nodeId, long index) {
+        long remaining = index;
+        for (Chunk chunk : chunks) {
+            long[] targets = chunk.targets.get(nodeId);
+            if (targets != null) {
+                if (remaining < targets.length) {
+                    return targets[(int) remaining];
+                }
+                remaining -= targets.length;
+            }
+        }
+        return HugeGraph.GetTargetConsumer.TARGET_NOT_FOUND;
+    }
+
+    private @Nullable long[] indexOf(long sourceNodeId, long targetNodeId) {
+        for (int c = 0; c < chunks.size(); c++) {
+            long[] targets = chunks.get(c).targets.get(sourceNodeId);
+            if (targets != null) {
+                for (int i = 0; i < targets.length; i++) {
+                    if (targets[i] == targetNodeId) {
+                        return new long[]{c, i};
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    public static ChunkBuilder chunkBuilder(boolean hasProperties) {
+        return new ChunkBuilder(hasProperties);
+    }
+
+    public static final class Chunk {
+
+        private final LongObjectHashMap<long[]> targets;
+        private final @Nullable LongObjectHashMap<double[]> properties;
+        private final long elementCount;
+
+        private Chunk(
+            LongObjectHashMap<long[]> targets,
+            @Nullable LongObjectHashMap<double[]> properties,
+            long elementCount
+        ) {
+            this.targets = targets;
+            this.properties = properties;
+            this.elementCount = elementCount;
+        }
+    }
+
+    public static final class ChunkBuilder {
+
+        private final LongObjectHashMap<LongArrayList> targets = new LongObjectHashMap<>();
+        private final @Nullable LongObjectHashMap<DoubleArrayList> properties;
+        private long elementCount;
+
+        private ChunkBuilder(boolean hasProperties) {
+            this.properties = hasProperties ? new LongObjectHashMap<>() : null;
+        }
+
+        /**
+         * Adds an entry to the adjacency list of {@code nodeId}, the caller is responsible for adding
+         * both entries of an undirected relationship.
+         */
+        public ChunkBuilder add(long nodeId, long targetNodeId, double property) {
+            LongArrayList nodeTargets = targets.get(nodeId);
+            if (nodeTargets == null) {
+                nodeTargets = new LongArrayList();
+                targets.put(nodeId, nodeTargets);
+            }
+            nodeTargets.add(targetNodeId);
+            if (properties != null) {
+                DoubleArrayList nodeProperties = properties.get(nodeId);
+                if (nodeProperties == null) {
+                    nodeProperties = new DoubleArrayList();
+                    properties.put(nodeId, nodeProperties);
+                }
+                nodeProperties.add(property);
+            }
+            elementCount++;
+            return this;
+        }
+
+        public Chunk build() {
+            LongObjectHashMap<long[]> builtTargets = new LongObjectHashMap<>(targets.size());
+            for (LongObjectCursor<LongArrayList> cursor : targets) {
+                builtTargets.put(cursor.key, cursor.value.toArray());
+            }
+            LongObjectHashMap<double[]> builtProperties = null;
+            if (properties != null) {
+                builtProperties = new LongObjectHashMap<>(properties.size());
+                for (LongObjectCursor<DoubleArrayList> cursor : properties) {
+                    builtProperties.put(cursor.key, cursor.value.toArray());
+                }
+            }
+            return new Chunk(builtTargets, builtProperties, elementCount);
+        }
+    }
+}
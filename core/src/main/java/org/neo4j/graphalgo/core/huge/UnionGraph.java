@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.core.huge;
 
 import org.neo4j.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
@@ -87,6 +88,16 @@ public final class UnionGraph implements Graph {
         return first.availableNodeProperties();
     }
 
+    @Override
+    public ArrayNodeProperties arrayNodeProperties(final String type) {
+        return first.arrayNodeProperties(type);
+    }
+
+    @Override
+    public Set<String> availableArrayNodeProperties() {
+        return first.availableArrayNodeProperties();
+    }
+
     @Override
     public long toMappedNodeId(long nodeId) {
         return first.toMappedNodeId(nodeId);
@@ -23,6 +23,7 @@ import org.neo4j.graphalgo.api.GraphSetup;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
+import java.util.Map;
 import java.util.Set;
 
 class CountingCypherRecordLoader extends CypherRecordLoader<BatchLoadResult> {
@@ -37,9 +38,9 @@ class CountingCypherRecordLoader extends CypherRecordLoader<BatchLoadResult> {
     }
 
     @Override
-    BatchLoadResult loadSingleBatch(Transaction tx, int bufferSize) {
+    BatchLoadResult loadSingleBatch(Transaction tx, Map<String, Object> parameters, int bufferSize) {
         ResultCountingVisitor visitor = new ResultCountingVisitor();
-        runLoadingQuery(tx).accept(visitor);
+        runLoadingQuery(tx, parameters).accept(visitor);
         return new BatchLoadResult(visitor.rows(), -1L);
     }
 
@@ -28,6 +28,7 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.NotInTransactionException;
 import org.neo4j.graphdb.Transaction;
+import org.neo4j.internal.kernel.api.Read;
 import org.neo4j.internal.kernel.api.security.AuthSubject;
 import org.neo4j.internal.kernel.api.security.SecurityContext;
 import org.neo4j.kernel.api.KernelTransaction;
@@ -42,8 +43,8 @@ import static org.neo4j.internal.kernel.api.security.AccessMode.Static.READ;
 
 public class CypherFactory extends GraphStoreFactory {
 
-    static final String LIMIT = "limit";
-    static final String SKIP = "skip";
+    static final String LOWER = "lower";
+    static final String UPPER = "upper";
 
     private final GraphDatabaseAPI api;
     private final GraphSetup setup;
@@ -80,11 +81,10 @@ public class CypherFactory extends GraphStoreFactory {
     public ImportResult build() {
         // Temporarily override the security context to enforce read-only access during load
         try (Ktx ktx = setReadOnlySecurityContext()) {
-            BatchLoadResult nodeCount = new CountingCypherRecordLoader(nodeQuery(), NODE, api, setup).load(ktx);
-
+            // the highest node id is only an estimate for the node count, the node loader grows if needed
             CypherNodeLoader.LoadResult nodes = new CypherNodeLoader(
                 nodeQuery(),
-                nodeCount.rows(),
+                dimensions.highestNeoId(),
                 api,
                 setup,
                 dimensions
@@ -170,6 +170,10 @@ public class CypherFactory extends GraphStoreFactory {
             this.revertTop = top.ktx().overrideWith(securityContext);
         }
 
+        Read dataRead() {
+            return top.ktx().dataRead();
+        }
+
         <T> T run(Function<Transaction, T> block) {
             return block.apply(top.tx());
         }
@@ -25,6 +25,7 @@ import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.ResolvedPropertyMappings;
 import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
 import org.neo4j.graphalgo.api.GraphSetup;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.Aggregation;
@@ -55,11 +56,16 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
     private final GraphDimensions outerDimensions;
 
     private HugeLongArrayBuilder builder;
+    private long capacity;
     private NodeImporter importer;
     private Map<PropertyMapping, NodePropertiesBuilder> nodePropertyBuilders;
     private long maxNodeId;
     private boolean initializedFromResult;
 
+    /**
+     * @param nodeCount an upper bound for the estimated number of nodes, the id map starts empty and grows with
+     *                  the loaded batches, also beyond this bound if the query returns more nodes
+     */
     CypherNodeLoader(
         String nodeQuery,
         long nodeCount,
@@ -80,13 +86,38 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
 
     private void initImporter(PropertyMappings nodeProperties) {
         nodePropertyBuilders = nodeProperties(nodeProperties);
-        builder = HugeLongArrayBuilder.of(nodeCount, setup.tracker());
+        capacity = 0L;
+        builder = HugeLongArrayBuilder.of(capacity, setup.tracker());
         importer = new NodeImporter(builder, new HashMap<>(), nodePropertyBuilders.values(), new LongObjectHashMap<>());
     }
 
+    /**
+     * @return an importer whose id map has room for another {@code batchLength} nodes
+     */
+    private NodeImporter importer(int batchLength) {
+        long required = builder.size() + batchLength;
+        if (required > capacity) {
+            // the first batch sizes the id map, later batches grow it by half, but not beyond the id space of the store
+            resize(Math.max(required, Math.min(capacity + (capacity >> 1), nodeCount)));
+        }
+        return importer;
+    }
+
+    private void resize(long newCapacity) {
+        // moves the pages of the id map instead of copying them
+        builder = builder.resize(newCapacity, setup.tracker());
+        capacity = newCapacity;
+        importer = new NodeImporter(
+            builder,
+            importer.elementIdentifierBitSetMapping,
+            nodePropertyBuilders.values(),
+            importer.labelElementIdentifierMapping
+        );
+    }
+
     @Override
-    BatchLoadResult loadSingleBatch(Transaction tx, int bufferSize) {
-        Result queryResult = runLoadingQuery(tx);
+    BatchLoadResult loadSingleBatch(Transaction tx, Map<String, Object> parameters, int bufferSize) {
+        Result queryResult = runLoadingQuery(tx, parameters);
 
         Collection<String> propertyColumns = getPropertyColumns(queryResult);
         if (!hasExplicitPropertyMappings && !initializedFromResult) {
@@ -114,12 +145,24 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
             .hasLabelInformation(hasLabelInformation)
             .readProperty(true)
             .build();
-        NodeRowVisitor visitor = new NodeRowVisitor(nodePropertyBuilders, buffer, importer, hasLabelInformation);
+        NodeRowVisitor visitor = new NodeRowVisitor(
+            nodePropertyBuilders,
+            buffer,
+            importer.labelElementIdentifierMapping,
+            this::importer,
+            hasLabelInformation
+        );
         queryResult.accept(visitor);
         visitor.flush();
         return new BatchLoadResult(visitor.rows(), visitor.maxId());
     }
 
+    @Override
+    int batchConcurrency() {
+        // the importer and the property builders are shared by all batches
+        return 1;
+    }
+
     @Override
     void updateCounts(BatchLoadResult result) {
         if (result.maxId() > maxNodeId) {
@@ -129,9 +172,23 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
 
     @Override
     LoadResult result() {
+        long loadedNodes = builder.size();
+        // the id map is built from the whole array, so it must not have unused trailing slots,
+        // trimming only copies the last page
+        if (loadedNodes != capacity) {
+            builder = builder.resize(loadedNodes, setup.tracker());
+            capacity = loadedNodes;
+        }
         IdMap idMap = IdMapBuilder.build(builder, importer.elementIdentifierBitSetMapping, maxNodeId, setup.concurrency(), setup.tracker());
-        Map<String, NodeProperties> nodeProperties = nodePropertyBuilders.entrySet().stream()
-            .collect(Collectors.toMap(e -> e.getKey().propertyKey(), e -> e.getValue().build()));
+        Map<String, NodeProperties> nodeProperties = new HashMap<>();
+        Map<String, ArrayNodeProperties> arrayNodeProperties = new HashMap<>();
+        nodePropertyBuilders.forEach((propertyMapping, builder) -> {
+            if (builder.hasArrayValues()) {
+                arrayNodeProperties.put(propertyMapping.propertyKey(), builder.buildArrays());
+            } else {
+                nodeProperties.put(propertyMapping.propertyKey(), builder.build(loadedNodes));
+            }
+        });
 
         ResolvedPropertyMappings nodePropertyMappings = ResolvedPropertyMappings.of(
             nodePropertyBuilders
@@ -148,7 +205,7 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
 
         return ImmutableCypherNodeLoader.LoadResult.builder()
             .dimensions(resultDimensions)
-            .idsAndProperties(new IdsAndProperties(idMap, nodeProperties))
+            .idsAndProperties(new IdsAndProperties(idMap, nodeProperties, arrayNodeProperties))
             .build();
     }
 
@@ -170,8 +227,9 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
     private Map<PropertyMapping, NodePropertiesBuilder> nodeProperties(PropertyMappings propertyMappings) {
         return propertyMappings.stream().collect(Collectors.toMap(
             propertyMapping -> propertyMapping,
+            // the builders grow with the loaded nodes and are sized by their final count in result()
             propertyMapping -> NodePropertiesBuilder.of(
-                nodeCount,
+                0L,
                 AllocationTracker.EMPTY,
                 propertyMapping.defaultValue(),
                 CYPHER_RESULT_PROPERTY_KEY,
@@ -23,14 +23,20 @@ import org.apache.commons.compress.utils.Lists;
 import org.neo4j.graphalgo.ResolvedPropertyMapping;
 import org.neo4j.graphalgo.ResolvedPropertyMappings;
 import org.neo4j.graphalgo.api.GraphSetup;
+import org.neo4j.graphalgo.compat.InternalReadOps;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphdb.Result;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.graphdb.security.AuthorizationViolationException;
+import org.neo4j.internal.kernel.api.Read;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -53,6 +59,8 @@ abstract class CypherRecordLoader<R> {
 
     static final long NO_COUNT = -1L;
 
+    static final int DEFAULT_BATCH_SIZE = 100_000;
+
     private final String loadQuery;
     protected final GraphDatabaseAPI api;
     private final long recordCount;
@@ -67,19 +75,108 @@ abstract class CypherRecordLoader<R> {
 
     final R load(CypherFactory.Ktx ktx) {
         try {
-            int bufferSize = (int) Math.min(recordCount, RecordsBatchBuffer.DEFAULT_BUFFER_SIZE);
-            BatchLoadResult result = ktx.run(tx -> loadSingleBatch(tx, bufferSize));
-            updateCounts(result);
+            int bufferSize = recordCount == NO_COUNT
+                ? RecordsBatchBuffer.DEFAULT_BUFFER_SIZE
+                : (int) Math.max(1L, Math.min(recordCount, RecordsBatchBuffer.DEFAULT_BUFFER_SIZE));
+            if (canBatchLoad()) {
+                loadInBatches(ktx, bufferSize);
+            } else {
+                BatchLoadResult result = ktx.run(tx -> loadSingleBatch(tx, setup.parameters(), bufferSize));
+                updateCounts(result);
+            }
             return result();
         } catch (AuthorizationViolationException ex) {
             throw new IllegalArgumentException(String.format("Query must be read only. Query: [%s]", loadQuery));
         }
     }
 
+    /**
+     * Queries that restrict their matches to an id range with {@code $lower} and {@code $upper},
+     * e.g. {@code WHERE id(n) >= $lower AND id(n) < $upper}, are loaded in batches of disjoint id ranges.
+     * Each batch runs in its own transaction and up to {@link #batchConcurrency()} batches are loaded in parallel.
+     * If the user passes either parameter, the query is run once with the given parameters.
+     */
+    private boolean canBatchLoad() {
+        return loadQuery.contains("$" + CypherFactory.LOWER)
+               && loadQuery.contains("$" + CypherFactory.UPPER)
+               && !setup.parameters().containsKey(CypherFactory.LOWER)
+               && !setup.parameters().containsKey(CypherFactory.UPPER);
+    }
+
+    private void loadInBatches(CypherFactory.Ktx ktx, int bufferSize) {
+        long idUpperBound = Math.max(1L, idUpperBound(ktx));
+        long batchSize = ParallelUtil.adjustedBatchSize(idUpperBound, setup.concurrency(), 1L, DEFAULT_BATCH_SIZE);
+        int batchCount = Math.toIntExact(ParallelUtil.threadCount(batchSize, idUpperBound));
+        int batchBufferSize = (int) Math.min(bufferSize, batchSize);
+        int concurrency = ParallelUtil.canRunInParallel(setup.executor()) ? batchConcurrency() : 1;
+
+        // the first batch runs on the calling thread, so that loaders can initialize from the result columns
+        BatchLoadResult firstBatch = ktx.run(tx -> loadSingleBatch(
+            tx,
+            batchParameters(0L, batchSize),
+            batchBufferSize
+        ));
+        updateCounts(firstBatch);
+
+        BatchLoadResult[] results = new BatchLoadResult[batchCount - 1];
+        if (concurrency == 1) {
+            for (int batch = 1; batch < batchCount; batch++) {
+                long lower = batch * batchSize;
+                results[batch - 1] = ktx.run(tx -> loadSingleBatch(
+                    tx,
+                    batchParameters(lower, lower + batchSize),
+                    batchBufferSize
+                ));
+            }
+        } else {
+            List<Runnable> tasks = new ArrayList<>(batchCount - 1);
+            for (int batch = 1; batch < batchCount; batch++) {
+                int resultIndex = batch - 1;
+                long lower = batch * batchSize;
+                tasks.add(() -> results[resultIndex] = ktx.fork(tx -> loadSingleBatch(
+                    tx,
+                    batchParameters(lower, lower + batchSize),
+                    batchBufferSize
+                )));
+            }
+            ParallelUtil.runWithConcurrency(concurrency, tasks, setup.executor());
+        }
+
+        for (BatchLoadResult result : results) {
+            updateCounts(result);
+        }
+    }
+
+    /**
+     * Node queries are batched over node ids, relationship queries can use either node or relationship ids.
+     */
+    private long idUpperBound(CypherFactory.Ktx ktx) {
+        Read read = ktx.dataRead();
+        long highestNodeId = InternalReadOps.getHighestPossibleNodeCount(read, api);
+        return queryType() == QueryType.NODE
+            ? highestNodeId
+            : Math.max(highestNodeId, InternalReadOps.getHighestPossibleRelationshipCount(read, api));
+    }
+
+    private Map<String, Object> batchParameters(long lower, long upper) {
+        Map<String, Object> parameters = new HashMap<>(setup.parameters());
+        parameters.put(CypherFactory.LOWER, lower);
+        parameters.put(CypherFactory.UPPER, upper);
+        return parameters;
+    }
+
+    /**
+     * The number of batches that can be loaded in parallel, loaders that are not thread-safe return 1.
+     */
+    int batchConcurrency() {
+        return setup.concurrency();
+    }
+
     abstract QueryType queryType();
 
     abstract BatchLoadResult loadSingleBatch(
         Transaction tx,
+        Map<String, Object> parameters,
         int bufferSize
     );
 
@@ -100,8 +197,8 @@ abstract class CypherRecordLoader<R> {
             .collect(Collectors.toList());
     }
 
-    Result runLoadingQuery(Transaction tx) {
-        Result result = runQueryWithoutClosingTheResult(api, tx, loadQuery, setup.parameters());
+    Result runLoadingQuery(Transaction tx, Map<String, Object> parameters) {
+        Result result = runQueryWithoutClosingTheResult(api, tx, loadQuery, parameters);
         validateMandatoryColumns(Lists.newArrayList(result.columns().iterator()));
         return result;
     }
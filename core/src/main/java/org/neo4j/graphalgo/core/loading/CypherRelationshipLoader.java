@@ -139,8 +139,8 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
     }
 
     @Override
-    BatchLoadResult loadSingleBatch(Transaction tx, int bufferSize) {
-        Result queryResult = runLoadingQuery(tx);
+    BatchLoadResult loadSingleBatch(Transaction tx, Map<String, Object> parameters, int bufferSize) {
+        Result queryResult = runLoadingQuery(tx, parameters);
 
         List<String> allColumns = queryResult.columns();
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+
+import java.util.OptionalLong;
+
+/**
+ * Node properties stored in a dense {@link HugeDoubleArray}, indexed by node id.
+ * Nodes without a value are tracked in a separate bit set, which is {@code null} if every node has a value.
+ */
+final class DoubleArrayNodeProperties implements NodeProperties {
+
+    private HugeDoubleArray properties;
+    private final BitSet defined;
+    private final double defaultValue;
+    private final long size;
+    private final OptionalLong maxValue;
+
+    DoubleArrayNodeProperties(
+        HugeDoubleArray properties,
+        BitSet defined,
+        double defaultValue,
+        long size,
+        OptionalLong maxValue
+    ) {
+        this.properties = properties;
+        this.defined = defined;
+        this.defaultValue = defaultValue;
+        this.size = size;
+        this.maxValue = maxValue;
+    }
+
+    @Override
+    public double nodeProperty(long nodeId) {
+        return nodeProperty(nodeId, defaultValue);
+    }
+
+    @Override
+    public double nodeProperty(long nodeId, double defaultValue) {
+        return isDefined(nodeId) ? properties.get(nodeId) : defaultValue;
+    }
+
+    private boolean isDefined(long nodeId) {
+        return nodeId < properties.size() && (defined == null || defined.get(nodeId));
+    }
+
+    @Override
+    public OptionalLong getMaxPropertyValue() {
+        return maxValue;
+    }
+
+    @Override
+    public long release() {
+        if (properties != null) {
+            long freed = properties.release();
+            properties = null;
+            return freed;
+        }
+        return 0L;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+}
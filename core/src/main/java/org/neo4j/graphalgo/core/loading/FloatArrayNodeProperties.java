@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+/**
+ * Array valued node properties, e.g. embeddings, stored as one {@code float[]} per node, indexed by node id.
+ * Nodes without a value have a {@code null} entry.
+ */
+final class FloatArrayNodeProperties implements ArrayNodeProperties {
+
+    private HugeObjectArray<float[]> properties;
+    private final long size;
+
+    FloatArrayNodeProperties(HugeObjectArray<float[]> properties, long size) {
+        this.properties = properties;
+        this.size = size;
+    }
+
+    @Override
+    public float[] floatArrayNodeProperty(long nodeId) {
+        return nodeId < properties.size() ? properties.get(nodeId) : null;
+    }
+
+    @Override
+    public long release() {
+        if (properties != null) {
+            long freed = properties.release();
+            properties = null;
+            return freed;
+        }
+        return 0L;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+/**
+ * A structure that is built over a graph of the catalog to answer queries faster, e.g. a nearest neighbour index.
+ * Indexes are kept next to the graph store and not inside it: they are not node properties, are not part of the
+ * versions of the graph store and can change after they are stored. They are released when the graph is dropped.
+ */
+public interface GraphIndex {
+
+    /**
+     * Frees the memory of the index, calling it more than once has no further effect.
+     *
+     * @return the number of bytes freed
+     */
+    long release();
+
+    /**
+     * Indexes that are kept up to date while relationships are inserted cannot take deletes into account
+     * and prevent them instead. Other indexes detect changed relationships by the relationship version of
+     * the graph store.
+     *
+     * @return {@code false} if relationships of the given type must not be deleted while the index exists
+     */
+    default boolean allowsRelationshipDeletes(String relationshipType) {
+        return true;
+    }
+}
@@ -21,12 +21,18 @@ package org.neo4j.graphalgo.core.loading;
 
 import com.carrotsearch.hppc.BitSet;
 import org.neo4j.graphalgo.ElementIdentifier;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.ProcedureConstants;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.huge.NodeFilteredGraph;
+import org.neo4j.graphalgo.core.huge.OverlayGraph;
+import org.neo4j.graphalgo.core.huge.RelationshipOverlay;
 import org.neo4j.graphalgo.core.huge.UnionGraph;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
@@ -38,42 +44,74 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.Collections.unmodifiableMap;
 import static org.neo4j.graphalgo.AbstractProjections.PROJECT_ALL;
 import static org.neo4j.graphalgo.config.AlgoBaseConfig.ALL_NODE_LABELS;
 
 public final class GraphStore {
 
-    private final IdMap nodes;
+    /**
+     * Overlays with more relationships than this fraction of the relationships in the CSR of their type
+     * are compacted in the background.
+     */
+    private static final double OVERLAY_COMPACTION_RATIO = 0.1;
 
-    private final Map<String, NodeProperties> nodeProperties;
+    /**
+     * Reads look up a node in every chunk of an overlay, so overlays are also compacted once they consist
+     * of more chunks than this, regardless of their size.
+     */
+    private static final int MAX_OVERLAY_CHUNKS = 64;
 
-    private final Map<String, HugeGraph.TopologyCSR> relationships;
+    private final IdMap nodes;
 
-    private final Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties;
+    // array properties are only loaded and never mutated, so they are not part of the versions
+    private final Map<String, ArrayNodeProperties> arrayNodeProperties;
 
-    private final Set<Graph> createdGraphs;
+    /**
+     * The node properties and relationships of the graph store. Versions are never modified, mutations create a
+     * new version that shares all unchanged properties and relationships with the previous one. Readers only
+     * read this field once per operation and see a consistent state without any locking.
+     */
+    private volatile Version current;
 
     private final AllocationTracker tracker;
 
+    private final Set<String> compactingRelationshipTypes;
+
+    public static GraphStore of(
+        IdMap nodes,
+        Map<String, NodeProperties> nodeProperties,
+        Map<String, HugeGraph.TopologyCSR> relationships,
+        Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties,
+        AllocationTracker tracker
+    ) {
+        return of(nodes, nodeProperties, Collections.emptyMap(), relationships, relationshipProperties, tracker);
+    }
+
     public static GraphStore of(
         IdMap nodes,
         Map<String, NodeProperties> nodeProperties,
+        Map<String, ArrayNodeProperties> arrayNodeProperties,
         Map<String, HugeGraph.TopologyCSR> relationships,
         Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties,
         AllocationTracker tracker
     ) {
         return new GraphStore(
             nodes,
-            nodeProperties,
-            relationships,
-            relationshipProperties,
+            unmodifiableMap(new HashMap<>(arrayNodeProperties)),
+            Version.of(nodeProperties, relationships, relationshipProperties),
             tracker
         );
     }
@@ -90,6 +128,8 @@ public final class GraphStore {
 
         Map<String, NodeProperties> nodeProperties = graph.availableNodeProperties().stream()
             .collect(Collectors.toMap(property -> property, graph::nodeProperties));
+        Map<String, ArrayNodeProperties> arrayNodeProperties = graph.availableArrayNodeProperties().stream()
+            .collect(Collectors.toMap(property -> property, graph::arrayNodeProperties));
 
         Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties = Collections.emptyMap();
         if (relationships.hasProperties() && relationshipProperty.isPresent()) {
@@ -99,22 +139,50 @@ public final class GraphStore {
             );
         }
 
-        return GraphStore.of(graph.idMapping(), nodeProperties, topology, relationshipProperties, tracker);
+        return GraphStore.of(
+            graph.idMapping(),
+            nodeProperties,
+            arrayNodeProperties,
+            topology,
+            relationshipProperties,
+            tracker
+        );
     }
 
     private GraphStore(
         IdMap nodes,
-        Map<String, NodeProperties> nodeProperties,
-        Map<String, HugeGraph.TopologyCSR> relationships,
-        Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties,
+        Map<String, ArrayNodeProperties> arrayNodeProperties,
+        Version version,
         AllocationTracker tracker
     ) {
         this.nodes = nodes;
-        this.nodeProperties = new ConcurrentHashMap<>(nodeProperties);
-        this.relationships = relationships;
-        this.relationshipProperties = relationshipProperties;
-        this.createdGraphs = new HashSet<>();
+        this.arrayNodeProperties = arrayNodeProperties;
+        this.current = version;
         this.tracker = tracker;
+        this.compactingRelationshipTypes = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Returns a graph store that is pinned to the current version of this one. Mutations of either graph store
+     * are not visible in the other one, but both share all node properties and relationships that exist now.
+     */
+    public GraphStore snapshot() {
+        return new GraphStore(nodes, arrayNodeProperties, current, tracker);
+    }
+
+    /**
+     * The number of mutations that have been applied to this graph store.
+     */
+    public long version() {
+        return current.number;
+    }
+
+    /**
+     * The version of the last mutation that added or changed relationships, structures computed from the
+     * relationships are outdated once it differs from the version they were computed at.
+     */
+    public long relationshipVersion() {
+        return current.relationshipNumber;
     }
 
     public IdMapping nodes() {
@@ -132,54 +200,92 @@ public final class GraphStore {
             .collect(Collectors.toSet());
     }
 
+    /**
+     * The keys of all node properties, including array node properties.
+     */
     public Set<String> nodePropertyKeys() {
-        return nodeProperties.keySet();
+        Set<String> nodeProperties = current.nodeProperties.keySet();
+        if (arrayNodeProperties.isEmpty()) {
+            return nodeProperties;
+        }
+        Set<String> propertyKeys = new HashSet<>(nodeProperties);
+        propertyKeys.addAll(arrayNodeProperties.keySet());
+        return propertyKeys;
     }
 
     public long nodePropertyCount() {
-        return nodeProperties.size() * nodeCount();
+        return (current.nodeProperties.size() + arrayNodeProperties.size()) * nodeCount();
     }
 
     public boolean hasNodeProperty(String propertyKey) {
-        return nodeProperties.containsKey(propertyKey);
+        return current.nodeProperties.containsKey(propertyKey) || hasArrayNodeProperty(propertyKey);
     }
 
-    public void addNodeProperty(String propertyKey, NodeProperties nodeProperties) {
-        this.nodeProperties.putIfAbsent(propertyKey, nodeProperties);
+    public boolean hasArrayNodeProperty(String propertyKey) {
+        return arrayNodeProperties.containsKey(propertyKey);
     }
 
+    public synchronized void addNodeProperty(String propertyKey, NodeProperties nodeProperties) {
+        if (!hasNodeProperty(propertyKey)) {
+            current = current.withNodeProperty(propertyKey, nodeProperties);
+        }
+    }
+
+    /**
+     * Replaces the values of an existing node property. Graphs that have been created before keep reading the
+     * previous values, so the given properties must not be changed afterwards either.
+     */
+    public synchronized void updateNodeProperty(String propertyKey, NodeProperties nodeProperties) {
+        if (!current.nodeProperties.containsKey(propertyKey)) {
+            throw new IllegalArgumentException(String.format(
+                "Node property `%s` does not exist in the in-memory graph.",
+                propertyKey
+            ));
+        }
+        current = current.withNodeProperty(propertyKey, nodeProperties);
+    }
+
+    /**
+     * @return the numeric properties of the key or {@code null} if there are none, also for array node properties
+     */
     public NodeProperties nodeProperty(String propertyKey) {
-        return this.nodeProperties.get(propertyKey);
+        return current.nodeProperties.get(propertyKey);
+    }
+
+    public ArrayNodeProperties arrayNodeProperty(String propertyKey) {
+        return arrayNodeProperties.get(propertyKey);
     }
 
     public Set<String> relationshipTypes() {
-        return relationships.keySet();
+        return current.relationships.keySet();
     }
 
     public boolean hasRelationshipType(String relationshipType) {
-        return relationships.containsKey(relationshipType);
+        return current.relationships.containsKey(relationshipType);
     }
 
     public long relationshipCount() {
-        return relationships.values().stream()
-            .mapToLong(HugeGraph.TopologyCSR::elementCount)
+        Version version = current;
+        return version.relationships.keySet().stream()
+            .mapToLong(version::relationshipCount)
             .sum();
     }
 
     public long relationshipCount(String relationshipType) {
-        return relationships.get(relationshipType).elementCount();
+        return current.relationshipCount(relationshipType);
     }
 
     public long relationshipPropertyCount() {
-        return relationshipProperties
-            .values()
+        Version version = current;
+        return version.relationshipProperties
+            .entrySet()
             .stream()
-            .flatMapToLong(map -> map.values().stream().mapToLong(HugeGraph.PropertyCSR::elementCount))
+            .mapToLong(entry -> entry.getValue().size() * version.relationshipCount(entry.getKey()))
             .sum();
     }
 
     public Set<String> relationshipPropertyKeys() {
-        return relationshipProperties
+        return current.relationshipProperties
             .values()
             .stream()
             .flatMap(properties -> properties.keySet().stream())
@@ -187,19 +293,286 @@ public final class GraphStore {
     }
 
     public Set<String> relationshipPropertyKeys(String relationshipType) {
-        return relationshipProperties.getOrDefault(relationshipType, Collections.emptyMap()).keySet();
+        return current.relationshipProperties.getOrDefault(relationshipType, Collections.emptyMap()).keySet();
     }
 
     public synchronized void addRelationshipType(String relationshipType, Optional<String> relationshipProperty, HugeGraph.Relationships relationships) {
         if (!hasRelationshipType(relationshipType)) {
-            this.relationships.put(relationshipType, relationships.topology());
+            Map<String, HugeGraph.PropertyCSR> properties = relationshipProperty.isPresent() && relationships.hasProperties()
+                ? singletonMap(relationshipProperty.get(), relationships.properties().get())
+                : Collections.emptyMap();
+            current = current.withRelationshipType(relationshipType, relationships.topology(), properties);
+        }
+    }
+
+    /**
+     * Applies a batch of relationship inserts and deletes to an existing relationship type.
+     *
+     * Batches that only insert relationships into a type without aggregation are added to an overlay of the type,
+     * which costs time in the size of the batch. The overlay is compacted into a new CSR in the background once it
+     * grows. All other batches build a new CSR from the relationships of the type, copying ranges of nodes in
+     * parallel. The CSR is built without holding the lock of the graph store and is published only if the type has
+     * not been changed in the meantime, otherwise the batch is applied again to the changed type.
+     *
+     * The new topology, its property and its overlay are published together in one version, so readers never
+     * combine the relationships of one version with those of another. Graphs that have been created before keep
+     * reading the previous relationships, so running algorithms always see a consistent snapshot. Nodes cannot be
+     * added or removed, as node properties and label information are indexed by the fixed node id space of the
+     * graph store.
+     *
+     * @param aggregation the aggregation the relationship type was projected with, it is applied to the existing
+     *                    and the inserted relationships
+     * @return the relationship version that includes the batch
+     */
+    public long applyRelationshipDelta(
+        String relationshipType,
+        RelationshipDelta delta,
+        Aggregation aggregation,
+        int concurrency,
+        ExecutorService executorService
+    ) {
+        return applyRelationshipDelta(
+            relationshipType,
+            delta,
+            aggregation,
+            concurrency,
+            executorService,
+            OptionalLong.empty()
+        );
+    }
+
+    /**
+     * Applies a batch of relationship changes only if no relationships have been changed since the given
+     * relationship version, so that structures computed at that version can be updated with the same batch.
+     *
+     * @throws IllegalStateException if the relationship version of the graph store differs from the expected one
+     * @see #applyRelationshipDelta(String, RelationshipDelta, Aggregation, int, ExecutorService)
+     */
+    public long applyRelationshipDelta(
+        String relationshipType,
+        RelationshipDelta delta,
+        Aggregation aggregation,
+        int concurrency,
+        ExecutorService executorService,
+        long expectedRelationshipVersion
+    ) {
+        return applyRelationshipDelta(
+            relationshipType,
+            delta,
+            aggregation,
+            concurrency,
+            executorService,
+            OptionalLong.of(expectedRelationshipVersion)
+        );
+    }
 
-            if (relationshipProperty.isPresent() && relationships.hasProperties()) {
-                HugeGraph.PropertyCSR propertyCSR = relationships.properties().get();
-                this.relationshipProperties
-                    .computeIfAbsent(relationshipType, ignore -> new HashMap<>())
-                    .putIfAbsent(relationshipProperty.get(), propertyCSR);
+    private long applyRelationshipDelta(
+        String relationshipType,
+        RelationshipDelta delta,
+        Aggregation aggregation,
+        int concurrency,
+        ExecutorService executorService,
+        OptionalLong expectedRelationshipVersion
+    ) {
+        Aggregation effectiveAggregation = aggregation == Aggregation.DEFAULT ? Aggregation.NONE : aggregation;
+        while (true) {
+            Version version = current;
+            validateInput(version, singletonList(relationshipType), Optional.empty());
+            validateRelationshipVersion(version, expectedRelationshipVersion);
+            if (delta.isEmpty()) {
+                return version.relationshipNumber;
             }
+
+            Optional<String> maybePropertyKey = updatablePropertyKey(version, relationshipType);
+            Optional<HugeGraph.PropertyCSR> maybeProperties = maybePropertyKey
+                .map(version.relationshipProperties.getOrDefault(relationshipType, Collections.emptyMap())::get);
+            HugeGraph.TopologyCSR topology = version.relationships.get(relationshipType);
+
+            OptionalLong published;
+            if (delta.isInsertOnly() && effectiveAggregation == Aggregation.NONE) {
+                RelationshipOverlay overlay = version.overlay(relationshipType)
+                    .with(delta.overlayChunk(nodes, topology.orientation(), maybeProperties));
+                published = publish(
+                    version,
+                    relationshipType,
+                    expectedRelationshipVersion,
+                    latest -> latest.withOverlay(relationshipType, overlay)
+                );
+                if (published.isPresent()) {
+                    maybeCompact(relationshipType, topology, overlay, executorService);
+                }
+            } else {
+                HugeGraph.Relationships updated = delta.apply(
+                    nodes,
+                    relationshipGraph(version, relationshipType, maybeProperties, Collections.emptyMap()),
+                    topology.orientation(),
+                    maybeProperties,
+                    effectiveAggregation,
+                    concurrency,
+                    executorService,
+                    tracker
+                );
+                Map<String, HugeGraph.PropertyCSR> updatedProperties = maybePropertyKey
+                    .map(propertyKey -> singletonMap(propertyKey, updated.properties().get()))
+                    .orElse(Collections.emptyMap());
+                published = publish(
+                    version,
+                    relationshipType,
+                    expectedRelationshipVersion,
+                    latest -> latest.withRelationshipType(relationshipType, updated.topology(), updatedProperties)
+                );
+            }
+
+            if (published.isPresent()) {
+                return published.getAsLong();
+            }
+        }
+    }
+
+    /**
+     * Replaces the current version with the mutated one, unless the relationships of the type have been changed
+     * since {@code base}. Changes of other types and of node properties are kept, as the mutation is applied to
+     * the current version.
+     *
+     * @return the new relationship version or an empty optional if the type has been changed
+     */
+    private synchronized OptionalLong publish(
+        Version base,
+        String relationshipType,
+        OptionalLong expectedRelationshipVersion,
+        UnaryOperator<Version> mutation
+    ) {
+        Version latest = current;
+        validateRelationshipVersion(latest, expectedRelationshipVersion);
+        if (latest.relationships.get(relationshipType) != base.relationships.get(relationshipType) ||
+            latest.relationshipProperties.get(relationshipType) != base.relationshipProperties.get(relationshipType) ||
+            latest.overlay(relationshipType) != base.overlay(relationshipType)) {
+            return OptionalLong.empty();
+        }
+        current = mutation.apply(latest);
+        return OptionalLong.of(current.relationshipNumber);
+    }
+
+    private void maybeCompact(
+        String relationshipType,
+        HugeGraph.TopologyCSR topology,
+        RelationshipOverlay overlay,
+        ExecutorService executorService
+    ) {
+        boolean needsCompaction = overlay.elementCount() > OVERLAY_COMPACTION_RATIO * topology.elementCount() ||
+                                  overlay.chunkCount() > MAX_OVERLAY_CHUNKS;
+        if (!needsCompaction || !compactingRelationshipTypes.add(relationshipType)) {
+            return;
+        }
+        Runnable compaction = () -> {
+            try {
+                compactRelationships(relationshipType);
+            } finally {
+                compactingRelationshipTypes.remove(relationshipType);
+            }
+        };
+        if (ParallelUtil.canRunInParallel(executorService)) {
+            try {
+                executorService.execute(compaction);
+            } catch (RejectedExecutionException e) {
+                compaction.run();
+            }
+        } else {
+            compaction.run();
+        }
+    }
+
+    /**
+     * Builds a new CSR from the relationships of the type and its overlay. The relationship version does not change,
+     * as the relationships stay the same. Overlay chunks that are added while the CSR is built are kept, the CSR is
+     * discarded if the type has been rebuilt in the meantime.
+     *
+     * @return {@code true} if the compacted relationships have been published
+     */
+    boolean compactRelationships(String relationshipType) {
+        Version version = current;
+        RelationshipOverlay overlay = version.overlay(relationshipType);
+        if (overlay.isEmpty()) {
+            return false;
+        }
+
+        Optional<String> maybePropertyKey = updatablePropertyKey(version, relationshipType);
+        Optional<HugeGraph.PropertyCSR> maybeProperties = maybePropertyKey
+            .map(version.relationshipProperties.getOrDefault(relationshipType, Collections.emptyMap())::get);
+        HugeGraph.TopologyCSR topology = version.relationships.get(relationshipType);
+
+        HugeGraph.Relationships compacted = compact(
+            relationshipGraph(version, relationshipType, maybeProperties, Collections.emptyMap()),
+            topology.orientation(),
+            maybeProperties
+        );
+        Map<String, HugeGraph.PropertyCSR> compactedProperties = maybePropertyKey
+            .map(propertyKey -> singletonMap(propertyKey, compacted.properties().get()))
+            .orElse(Collections.emptyMap());
+
+        synchronized (this) {
+            Version latest = current;
+            if (latest.relationships.get(relationshipType) != topology) {
+                return false;
+            }
+            Optional<RelationshipOverlay> remaining = latest.overlay(relationshipType).without(overlay);
+            if (!remaining.isPresent()) {
+                return false;
+            }
+            current = latest.withCompactedRelationshipType(
+                relationshipType,
+                compacted.topology(),
+                compactedProperties,
+                remaining.get()
+            );
+            return true;
+        }
+    }
+
+    /**
+     * Compactions run on the calling thread only, as they either run in the background or on demand
+     * while an algorithm is already using the pool.
+     */
+    private HugeGraph.Relationships compact(
+        Graph graph,
+        Orientation orientation,
+        Optional<HugeGraph.PropertyCSR> maybeProperties
+    ) {
+        return new RelationshipDelta().apply(
+            nodes,
+            graph,
+            orientation,
+            maybeProperties,
+            Aggregation.NONE,
+            1,
+            null,
+            tracker
+        );
+    }
+
+    private Optional<String> updatablePropertyKey(Version version, String relationshipType) {
+        Map<String, HugeGraph.PropertyCSR> properties = version.relationshipProperties.getOrDefault(
+            relationshipType,
+            Collections.emptyMap()
+        );
+        if (properties.size() > 1) {
+            throw new IllegalArgumentException(String.format(
+                "Relationship type '%s' has more than one relationship property %s, which is not supported by relationship updates.",
+                relationshipType,
+                properties.keySet()
+            ));
+        }
+        return properties.keySet().stream().findFirst();
+    }
+
+    private static void validateRelationshipVersion(Version version, OptionalLong expectedRelationshipVersion) {
+        if (expectedRelationshipVersion.isPresent() &&
+            expectedRelationshipVersion.getAsLong() != version.relationshipNumber) {
+            throw new IllegalStateException(String.format(
+                "Relationships have been changed concurrently, expected relationship version %d but found %d.",
+                expectedRelationshipVersion.getAsLong(),
+                version.relationshipNumber
+            ));
         }
     }
 
@@ -212,46 +585,57 @@ public final class GraphStore {
     }
 
     public Graph getGraph(List<String> relationshipTypes, Optional<String> maybeRelationshipProperty) {
-        validateInput(relationshipTypes, maybeRelationshipProperty);
-        return createGraph(ALL_NODE_LABELS, relationshipTypes, maybeRelationshipProperty, 1);
+        return getGraph(ALL_NODE_LABELS, relationshipTypes, maybeRelationshipProperty, 1);
     }
 
     public Graph getGraph(List<String> nodeLabels, List<String> relationshipTypes, Optional<String> maybeRelationshipProperty, int concurrency) {
-        validateInput(relationshipTypes, maybeRelationshipProperty);
-        return createGraph(nodeLabels, relationshipTypes, maybeRelationshipProperty, concurrency);
+        Version version = current;
+        validateInput(version, relationshipTypes, maybeRelationshipProperty);
+        return createGraph(version, nodeLabels, relationshipTypes, maybeRelationshipProperty, concurrency);
     }
 
     public Graph getUnion() {
-        return UnionGraph.of(relationships
+        Version version = current;
+        return UnionGraph.of(version.relationships
             .keySet()
             .stream()
             .flatMap(relationshipType -> {
-                if (relationshipProperties.containsKey(relationshipType)) {
-                    return relationshipProperties
+                if (version.relationshipProperties.containsKey(relationshipType)) {
+                    return version.relationshipProperties
                         .get(relationshipType)
                         .keySet()
                         .stream()
-                        .map(propertyKey -> createGraph(ALL_NODE_LABELS, relationshipType, Optional.of(propertyKey)));
+                        .map(propertyKey -> createGraph(version, ALL_NODE_LABELS, relationshipType, Optional.of(propertyKey)));
                 } else {
-                    return Stream.of(createGraph(ALL_NODE_LABELS, relationshipType, Optional.empty()));
+                    return Stream.of(createGraph(version, ALL_NODE_LABELS, relationshipType, Optional.empty()));
                 }
             })
             .collect(Collectors.toList()));
     }
 
+    /**
+     * Applies to the graphs of the current version only. Graphs of previous versions are never released
+     * explicitly, they and the relationships that only they reference are collected once they are no longer used.
+     */
     public void canRelease(boolean canRelease) {
-        createdGraphs.forEach(graph -> graph.canRelease(canRelease));
+        current.createdGraphs.forEach(graph -> graph.canRelease(canRelease));
     }
 
     public long nodeCount() {
         return nodes.nodeCount();
     }
 
-    private Graph createGraph(List<String> nodeLabels, String relationshipType, Optional<String> maybeRelationshipProperty) {
-        return createGraph(nodeLabels, singletonList(relationshipType), maybeRelationshipProperty, 1);
+    private Graph createGraph(Version version, List<String> nodeLabels, String relationshipType, Optional<String> maybeRelationshipProperty) {
+        return createGraph(version, nodeLabels, singletonList(relationshipType), maybeRelationshipProperty, 1);
     }
 
-    private Graph createGraph(List<String> nodeLabels, List<String> relationshipTypes, Optional<String> maybeRelationshipProperty, int concurrency) {
+    private Graph createGraph(
+        Version version,
+        List<String> nodeLabels,
+        List<String> relationshipTypes,
+        Optional<String> maybeRelationshipProperty,
+        int concurrency
+    ) {
         boolean loadAllRelationships = relationshipTypes.contains(PROJECT_ALL.name);
         boolean loadAllNodes = nodeLabels.contains(PROJECT_ALL.name);
 
@@ -269,17 +653,16 @@ public final class GraphStore {
             ? Optional.empty()
             : Optional.of(this.nodes.withFilteredLabels(combinedBitSet, concurrency));
 
-        List<Graph> filteredGraphs = relationships.entrySet().stream()
+        List<Graph> filteredGraphs = version.relationships.entrySet().stream()
             .filter(relTypeAndCSR -> loadAllRelationships || relationshipTypes.contains(relTypeAndCSR.getKey()))
             .map(relTypeAndCSR -> {
-                HugeGraph initialGraph = HugeGraph.create(
-                    this.nodes,
-                    nodeProperties,
-                    relTypeAndCSR.getValue(),
-                    maybeRelationshipProperty.map(propertyKey -> relationshipProperties
+                Graph initialGraph = relationshipGraph(
+                    version,
+                    relTypeAndCSR.getKey(),
+                    maybeRelationshipProperty.map(propertyKey -> version.relationshipProperties
                         .get(relTypeAndCSR.getKey())
                         .get(propertyKey)),
-                    tracker
+                    version.nodeProperties
                 );
 
                 if (filteredNodes.isPresent()) {
@@ -291,10 +674,39 @@ public final class GraphStore {
             .collect(Collectors.toList());
 
         filteredGraphs.forEach(graph -> graph.canRelease(false));
-        createdGraphs.addAll(filteredGraphs);
+        version.createdGraphs.addAll(filteredGraphs);
         return UnionGraph.of(filteredGraphs);
     }
 
+    /**
+     * The relationships of a single type, including its overlay.
+     */
+    private Graph relationshipGraph(
+        Version version,
+        String relationshipType,
+        Optional<HugeGraph.PropertyCSR> maybeProperties,
+        Map<String, NodeProperties> nodeProperties
+    ) {
+        HugeGraph.TopologyCSR topology = version.relationships.get(relationshipType);
+        HugeGraph graph = HugeGraph.create(
+            nodes,
+            nodeProperties,
+            arrayNodeProperties,
+            topology,
+            maybeProperties,
+            tracker
+        );
+        RelationshipOverlay overlay = version.overlay(relationshipType);
+        if (overlay.isEmpty()) {
+            return graph;
+        }
+        return new OverlayGraph(
+            graph,
+            overlay,
+            new CompactedGraph(graph, overlay, topology.orientation(), maybeProperties, nodeProperties)
+        );
+    }
+
     private void validateNodeLabelFilter(List<String> nodeLabels, Map<ElementIdentifier, BitSet> labelInformation) {
         List<String> invalidLabels = nodeLabels
             .stream()
@@ -310,7 +722,11 @@ public final class GraphStore {
         }
     }
 
-    private void validateInput(Collection<String> relationshipTypes, Optional<String> maybeRelationshipProperty) {
+    private void validateInput(
+        Version version,
+        Collection<String> relationshipTypes,
+        Optional<String> maybeRelationshipProperty
+    ) {
         if (relationshipTypes.isEmpty()) {
             throw new IllegalArgumentException(String.format(
                 "The parameter '%s' should not be empty. Use '*' to load all relationship types.",
@@ -320,7 +736,7 @@ public final class GraphStore {
 
         if (!relationshipTypes.contains(PROJECT_ALL.name)) {
             relationshipTypes.forEach(relationshipType -> {
-                if (!relationships.containsKey(relationshipType)) {
+                if (!version.relationships.containsKey(relationshipType)) {
                     throw new IllegalArgumentException(String.format(
                         "No relationships have been loaded for relationship type '%s'",
                         relationshipType
@@ -328,7 +744,7 @@ public final class GraphStore {
                 }
 
                 maybeRelationshipProperty.ifPresent(relationshipProperty -> {
-                    if (!relationshipProperties.get(relationshipType).containsKey(relationshipProperty)) {
+                    if (!version.relationshipProperties.get(relationshipType).containsKey(relationshipProperty)) {
                         throw new IllegalArgumentException(String.format(
                             "No relationships have been loaded for relationship type '%s' and relationship property '%s'.",
                             relationshipType,
@@ -339,5 +755,191 @@ public final class GraphStore {
             });
         }
     }
-}
 
+    /**
+     * Compacts the relationships of an {@link OverlayGraph} the first time they are needed with sorted
+     * adjacency lists, without publishing them.
+     */
+    private final class CompactedGraph implements Supplier<Graph> {
+
+        private final HugeGraph graph;
+        private final RelationshipOverlay overlay;
+        private final Orientation orientation;
+        private final Optional<HugeGraph.PropertyCSR> maybeProperties;
+        private final Map<String, NodeProperties> nodeProperties;
+        private Graph compacted;
+
+        CompactedGraph(
+            HugeGraph graph,
+            RelationshipOverlay overlay,
+            Orientation orientation,
+            Optional<HugeGraph.PropertyCSR> maybeProperties,
+            Map<String, NodeProperties> nodeProperties
+        ) {
+            this.graph = graph;
+            this.overlay = overlay;
+            this.orientation = orientation;
+            this.maybeProperties = maybeProperties;
+            this.nodeProperties = nodeProperties;
+        }
+
+        @Override
+        public synchronized Graph get() {
+            if (compacted == null) {
+                HugeGraph.Relationships relationships = compact(
+                    new OverlayGraph(graph.concurrentCopy(), overlay, this),
+                    orientation,
+                    maybeProperties
+                );
+                compacted = HugeGraph.create(
+                    nodes,
+                    nodeProperties,
+                    arrayNodeProperties,
+                    relationships.topology(),
+                    relationships.properties(),
+                    tracker
+                );
+            }
+            return compacted;
+        }
+    }
+
+    private static final class Version {
+
+        final long number;
+        final long relationshipNumber;
+        final Map<String, NodeProperties> nodeProperties;
+        final Map<String, HugeGraph.TopologyCSR> relationships;
+        final Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties;
+        final Map<String, RelationshipOverlay> overlays;
+        // graphs are tracked per version, so that the graphs of a replaced version do not keep its relationships alive
+        final Set<Graph> createdGraphs;
+
+        static Version of(
+            Map<String, NodeProperties> nodeProperties,
+            Map<String, HugeGraph.TopologyCSR> relationships,
+            Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties
+        ) {
+            Map<String, Map<String, HugeGraph.PropertyCSR>> propertiesByType = new HashMap<>();
+            relationshipProperties.forEach((relationshipType, properties) ->
+                propertiesByType.put(relationshipType, unmodifiableMap(new HashMap<>(properties)))
+            );
+            return new Version(
+                0,
+                0,
+                new HashMap<>(nodeProperties),
+                new HashMap<>(relationships),
+                propertiesByType,
+                Collections.emptyMap()
+            );
+        }
+
+        private Version(
+            long number,
+            long relationshipNumber,
+            Map<String, NodeProperties> nodeProperties,
+            Map<String, HugeGraph.TopologyCSR> relationships,
+            Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties,
+            Map<String, RelationshipOverlay> overlays
+        ) {
+            this.number = number;
+            this.relationshipNumber = relationshipNumber;
+            this.nodeProperties = unmodifiableMap(nodeProperties);
+            this.relationships = unmodifiableMap(relationships);
+            this.relationshipProperties = unmodifiableMap(relationshipProperties);
+            this.overlays = unmodifiableMap(overlays);
+            this.createdGraphs = ConcurrentHashMap.newKeySet();
+        }
+
+        Version withNodeProperty(String propertyKey, NodeProperties properties) {
+            Map<String, NodeProperties> newNodeProperties = new HashMap<>(nodeProperties);
+            newNodeProperties.put(propertyKey, properties);
+            return new Version(
+                number + 1,
+                relationshipNumber,
+                newNodeProperties,
+                relationships,
+                relationshipProperties,
+                overlays
+            );
+        }
+
+        RelationshipOverlay overlay(String relationshipType) {
+            return overlays.getOrDefault(relationshipType, RelationshipOverlay.EMPTY);
+        }
+
+        long relationshipCount(String relationshipType) {
+            return relationships.get(relationshipType).elementCount() + overlay(relationshipType).elementCount();
+        }
+
+        /**
+         * Adds or replaces the topology and the properties of a relationship type and drops its overlay.
+         */
+        Version withRelationshipType(
+            String relationshipType,
+            HugeGraph.TopologyCSR topology,
+            Map<String, HugeGraph.PropertyCSR> properties
+        ) {
+            return withRelationships(relationshipType, topology, properties, RelationshipOverlay.EMPTY, number + 1);
+        }
+
+        /**
+         * Replaces the topology and the properties of a relationship type with a compacted copy that contains
+         * the same relationships, the relationship version stays the same.
+         */
+        Version withCompactedRelationshipType(
+            String relationshipType,
+            HugeGraph.TopologyCSR topology,
+            Map<String, HugeGraph.PropertyCSR> properties,
+            RelationshipOverlay remainingOverlay
+        ) {
+            return withRelationships(relationshipType, topology, properties, remainingOverlay, relationshipNumber);
+        }
+
+        Version withOverlay(String relationshipType, RelationshipOverlay overlay) {
+            Map<String, RelationshipOverlay> newOverlays = new HashMap<>(overlays);
+            newOverlays.put(relationshipType, overlay);
+            return new Version(
+                number + 1,
+                number + 1,
+                nodeProperties,
+                relationships,
+                relationshipProperties,
+                newOverlays
+            );
+        }
+
+        private Version withRelationships(
+            String relationshipType,
+            HugeGraph.TopologyCSR topology,
+            Map<String, HugeGraph.PropertyCSR> properties,
+            RelationshipOverlay overlay,
+            long newRelationshipNumber
+        ) {
+            Map<String, HugeGraph.TopologyCSR> newRelationships = new HashMap<>(relationships);
+            newRelationships.put(relationshipType, topology);
+
+            Map<String, Map<String, HugeGraph.PropertyCSR>> newRelationshipProperties = new HashMap<>(relationshipProperties);
+            if (properties.isEmpty()) {
+                newRelationshipProperties.remove(relationshipType);
+            } else {
+                newRelationshipProperties.put(relationshipType, unmodifiableMap(new HashMap<>(properties)));
+            }
+
+            Map<String, RelationshipOverlay> newOverlays = new HashMap<>(overlays);
+            if (overlay.isEmpty()) {
+                newOverlays.remove(relationshipType);
+            } else {
+                newOverlays.put(relationshipType, overlay);
+            }
+            return new Version(
+                number + 1,
+                newRelationshipNumber,
+                nodeProperties,
+                newRelationships,
+                newRelationshipProperties,
+                newOverlays
+            );
+        }
+    }
+}
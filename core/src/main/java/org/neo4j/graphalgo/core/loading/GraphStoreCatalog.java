@@ -23,6 +23,7 @@ import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -77,11 +78,30 @@ public final class GraphStoreCatalog {
 
         graphRemovedConsumer.accept(graphStoreWithConfig);
 
+        getUserCatalog(username).releaseIndexes(graphName);
         Graph graph = graphStoreWithConfig.getGraph();
         graph.canRelease(true);
         graph.release();
     }
 
+    /**
+     * Stores an index next to a graph of the catalog, the index is released when the graph is dropped.
+     */
+    public static void setIndex(String username, String graphName, String indexName, GraphIndex index) {
+        getUserCatalog(username).setIndex(graphName, indexName, index);
+    }
+
+    public static Optional<GraphIndex> getIndex(String username, String graphName, String indexName) {
+        return getUserCatalog(username).getIndex(graphName, indexName);
+    }
+
+    /**
+     * @return all indexes of the graph by their name
+     */
+    public static Map<String, GraphIndex> getIndexes(String username, String graphName) {
+        return getUserCatalog(username).getIndexes(graphName);
+    }
+
     private static UserCatalog getUserCatalog(String username) {
         return userCatalogs.getOrDefault(username, UserCatalog.EMPTY);
     }
@@ -114,6 +134,8 @@ public final class GraphStoreCatalog {
 
         private final Map<String, GraphStoreWithConfig> graphsByName = new ConcurrentHashMap<>();
 
+        private final Map<String, Map<String, GraphIndex>> indexesByGraph = new ConcurrentHashMap<>();
+
         void set(GraphCreateConfig config, GraphStore graphStore) {
             if (config.graphName() == null || graphStore == null) {
                 throw new IllegalArgumentException("Both name and graph store must be not null");
@@ -153,6 +175,39 @@ public final class GraphStoreCatalog {
             return !exists(graphName) ? Optional.empty() : Optional.of(graphsByName.get(graphName).graphStore().getUnion());
         }
 
+        void setIndex(String graphName, String indexName, GraphIndex index) {
+            // adding the index while holding the entry of the graph makes sure that a concurrent drop releases it
+            GraphStoreWithConfig graphStoreWithConfig = graphsByName.computeIfPresent(graphName, (name, graph) -> {
+                Map<String, GraphIndex> indexes = indexesByGraph.computeIfAbsent(name, ignore -> new ConcurrentHashMap<>());
+                if (indexes.putIfAbsent(indexName, index) != null) {
+                    throw new IllegalArgumentException(String.format(
+                        "Index `%s` already exists for graph `%s`.",
+                        indexName,
+                        graphName
+                    ));
+                }
+                return graph;
+            });
+            if (graphStoreWithConfig == null) {
+                throw new NoSuchElementException(String.format("Cannot find graph with name '%s'.", graphName));
+            }
+        }
+
+        Optional<GraphIndex> getIndex(String graphName, String indexName) {
+            return Optional.ofNullable(indexesByGraph.getOrDefault(graphName, Collections.emptyMap()).get(indexName));
+        }
+
+        Map<String, GraphIndex> getIndexes(String graphName) {
+            return Collections.unmodifiableMap(indexesByGraph.getOrDefault(graphName, Collections.emptyMap()));
+        }
+
+        void releaseIndexes(String graphName) {
+            Map<String, GraphIndex> indexes = indexesByGraph.remove(graphName);
+            if (indexes != null) {
+                indexes.values().forEach(GraphIndex::release);
+            }
+        }
+
         boolean exists(String graphName) {
             return graphName != null && graphsByName.containsKey(graphName);
         }
@@ -166,6 +221,7 @@ public final class GraphStoreCatalog {
                 return null;
             }
             GraphStoreWithConfig graphStoreWithConfig = graphsByName.remove(graphName);
+            releaseIndexes(graphName);
             Graph graph = graphStoreWithConfig.getGraph();
             graph.canRelease(true);
             graph.release();
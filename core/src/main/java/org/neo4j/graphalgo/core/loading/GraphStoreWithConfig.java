@@ -19,9 +19,15 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import org.neo4j.graphalgo.ElementIdentifier;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.RelationshipProjection;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+
+import java.util.Set;
 
 @ValueClass
 public interface GraphStoreWithConfig {
@@ -32,4 +38,27 @@ public interface GraphStoreWithConfig {
     default Graph getGraph() {
         return graphStore().getUnion();
     }
+
+    /**
+     * Resolves the aggregation the relationship type has been projected with, so that updates aggregate parallel
+     * relationships the same way the initial load did. Types that have not been projected, e.g. types added
+     * by a mutate procedure, are not aggregated.
+     */
+    default Aggregation relationshipAggregation(String relationshipType) {
+        RelationshipProjection projection = config()
+            .relationshipProjections()
+            .projections()
+            .get(ElementIdentifier.of(relationshipType));
+        if (projection == null) {
+            return Aggregation.NONE;
+        }
+        Set<String> propertyKeys = graphStore().relationshipPropertyKeys(relationshipType);
+        Aggregation aggregation = projection.aggregation();
+        for (PropertyMapping mapping : projection.properties().mappings()) {
+            if (propertyKeys.contains(mapping.propertyKey()) && mapping.aggregation() != Aggregation.DEFAULT) {
+                aggregation = mapping.aggregation();
+            }
+        }
+        return aggregation == Aggregation.DEFAULT ? Aggregation.NONE : aggregation;
+    }
 }
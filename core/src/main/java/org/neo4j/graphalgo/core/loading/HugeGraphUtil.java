@@ -142,7 +142,7 @@ public final class HugeGraphUtil {
         private final boolean loadRelationshipProperty;
         private final ExecutorService executorService;
 
-        private long importedRelationships = 0;
+        private final LongAdder importedRelationships = new LongAdder();
 
         public RelationshipsBuilder(
             IdMapping idMapping,
@@ -224,12 +224,20 @@ public final class HugeGraphUtil {
             addFromInternal(relationship.sourceNodeId(), relationship.targetNodeId(), relationship.property());
         }
 
+        /**
+         * Returns a buffer that adds relationships from a single thread. Several threads can add relationships
+         * concurrently as long as each of them uses its own buffer and flushes it before {@link #build()} is called.
+         */
+        public LocalBuffer localBuffer() {
+            return new LocalBuffer();
+        }
+
         public HugeGraph.Relationships build() {
             flushBuffer();
 
             ParallelUtil.run(relationshipImporter.flushTasks(), executorService);
             return HugeGraph.Relationships.of(
-                importedRelationships,
+                importedRelationships.sum(),
                 orientation,
                 relationshipsBuilder.adjacencyList(),
                 relationshipsBuilder.globalAdjacencyOffsets(),
@@ -240,11 +248,44 @@ public final class HugeGraphUtil {
         }
 
         private void flushBuffer() {
+            importBuffer(relationshipBuffer);
+        }
+
+        private void importBuffer(RelationshipsBatchBuffer buffer) {
             RelationshipImporter.PropertyReader propertyReader = loadRelationshipProperty ? RelationshipImporter.preLoadedPropertyReader() : null;
 
-            long newImportedInOut = imports.importRelationships(relationshipBuffer, propertyReader);
-            importedRelationships += RawValues.getHead(newImportedInOut);
-            relationshipBuffer.reset();
+            long newImportedInOut = imports.importRelationships(buffer, propertyReader);
+            importedRelationships.add(RawValues.getHead(newImportedInOut));
+            buffer.reset();
+        }
+
+        public final class LocalBuffer {
+
+            private final RelationshipsBatchBuffer buffer = new RelationshipsBatchBuffer(
+                idMapping,
+                -1,
+                ParallelUtil.DEFAULT_BATCH_SIZE
+            );
+
+            private LocalBuffer() {}
+
+            public void addFromInternal(long source, long target) {
+                buffer.add(source, target, -1L, -1L);
+                if (buffer.isFull()) {
+                    importBuffer(buffer);
+                }
+            }
+
+            public void addFromInternal(long source, long target, double relationshipPropertyValue) {
+                buffer.add(source, target, -1L, Double.doubleToLongBits(relationshipPropertyValue));
+                if (buffer.isFull()) {
+                    importBuffer(buffer);
+                }
+            }
+
+            public void flush() {
+                importBuffer(buffer);
+            }
         }
     }
 
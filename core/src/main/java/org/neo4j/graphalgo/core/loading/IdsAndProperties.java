@@ -19,20 +19,31 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
 import org.neo4j.graphalgo.api.NodeProperties;
 
+import java.util.Collections;
 import java.util.Map;
 
 public class IdsAndProperties {
 
     final IdMap hugeIdMap;
     final Map<String, NodeProperties> properties;
+    final Map<String, ArrayNodeProperties> arrayProperties;
 
     public IdsAndProperties(
             final IdMap hugeIdMap,
             final Map<String, NodeProperties> properties) {
+        this(hugeIdMap, properties, Collections.emptyMap());
+    }
+
+    public IdsAndProperties(
+            final IdMap hugeIdMap,
+            final Map<String, NodeProperties> properties,
+            final Map<String, ArrayNodeProperties> arrayProperties) {
         this.hugeIdMap = hugeIdMap;
         this.properties = properties;
+        this.arrayProperties = arrayProperties;
     }
 
     public IdMap idMap() {
@@ -42,4 +53,8 @@ public class IdsAndProperties {
     public Map<String, NodeProperties> properties() {
         return properties;
     }
+
+    public Map<String, ArrayNodeProperties> arrayProperties() {
+        return arrayProperties;
+    }
 }
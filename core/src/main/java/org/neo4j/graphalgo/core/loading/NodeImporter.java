@@ -29,6 +29,7 @@ import org.neo4j.graphalgo.core.utils.paged.HugeLongArrayBuilder;
 import org.neo4j.internal.kernel.api.CursorFactory;
 import org.neo4j.internal.kernel.api.PropertyCursor;
 import org.neo4j.internal.kernel.api.Read;
+import org.neo4j.values.storable.NumberArray;
 import org.neo4j.values.storable.Value;
 
 import java.util.Collection;
@@ -159,9 +160,13 @@ public class NodeImporter {
                 NodePropertiesBuilder props = nodeProperties.get(pc.propertyKey());
                 if (props != null) {
                     Value value = pc.propertyValue();
-                    double defaultValue = props.defaultValue();
-                    double propertyValue = ReadHelper.extractValue(value, defaultValue);
-                    props.set(internalId, propertyValue);
+                    if (value instanceof NumberArray) {
+                        props.setArray(internalId, ReadHelper.extractFloatArray((NumberArray) value));
+                    } else {
+                        double defaultValue = props.defaultValue();
+                        double propertyValue = ReadHelper.extractValue(value, defaultValue);
+                        props.set(internalId, propertyValue);
+                    }
                     nodePropertiesRead++;
                 }
             }
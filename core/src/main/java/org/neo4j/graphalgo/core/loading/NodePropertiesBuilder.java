@@ -19,18 +19,34 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.graphalgo.core.utils.paged.PagedLongDoubleMap;
 
+import java.util.OptionalLong;
+
 import static org.neo4j.graphalgo.compat.StatementConstantsProxy.NO_SUCH_PROPERTY_KEY;
 
 public final class NodePropertiesBuilder {
 
+    // above this fraction of nodes with a value, an array indexed by node id is smaller than the hash map pages
+    private static final double DENSE_FILL_RATIO = 0.5;
+
+    private final long numberOfNodes;
+    private final AllocationTracker tracker;
     private final double defaultValue;
     private final int propertyId;
     private final PagedLongDoubleMap properties;
     private final String propertyKey;
+    // only ever flips from true to false, so concurrent writers need no coordination
+    private volatile boolean integral = true;
+    // allocated by the first array value, properties hold either numbers or arrays
+    private volatile HugeObjectArray<float[]> arrays;
 
     public static NodePropertiesBuilder of(
         long numberOfNodes,
@@ -42,14 +58,18 @@ public final class NodePropertiesBuilder {
     ) {
         assert propertyId != NO_SUCH_PROPERTY_KEY;
         PagedLongDoubleMap properties = PagedLongDoubleMap.of(numberOfNodes, tracker, concurrency);
-        return new NodePropertiesBuilder(defaultValue, propertyId, properties, propertyKey);
+        return new NodePropertiesBuilder(numberOfNodes, tracker, defaultValue, propertyId, properties, propertyKey);
     }
 
     private NodePropertiesBuilder(
+            final long numberOfNodes,
+            final AllocationTracker tracker,
             final double defaultValue,
             final int propertyId,
             final PagedLongDoubleMap properties,
             final String propertyKey) {
+        this.numberOfNodes = numberOfNodes;
+        this.tracker = tracker;
         this.defaultValue = defaultValue;
         this.propertyId = propertyId;
         this.properties = properties;
@@ -70,9 +90,129 @@ public final class NodePropertiesBuilder {
 
     public void set(long index, double value) {
         properties.put(index, value);
+        if (integral && !isIntegral(value)) {
+            integral = false;
+        }
+    }
+
+    /**
+     * Indices beyond the number of nodes of this builder grow the array values,
+     * which is only supported for a single writer, e.g. for Cypher loading.
+     */
+    public void setArray(long index, float[] value) {
+        HugeObjectArray<float[]> values = arrays;
+        if (values == null || index >= values.size()) {
+            values = allocateArrays(index + 1);
+        }
+        values.set(index, value);
+    }
+
+    private synchronized HugeObjectArray<float[]> allocateArrays(long minSize) {
+        HugeObjectArray<float[]> values = arrays;
+        if (values == null) {
+            arrays = HugeObjectArray.newArray(float[].class, Math.max(numberOfNodes, minSize), tracker);
+        } else if (values.size() < minSize) {
+            arrays = values.copyOf(Math.max(minSize, values.size() + (values.size() >> 1)), tracker);
+            tracker.remove(values.release());
+        }
+        return arrays;
+    }
+
+    /**
+     * @return {@code true} if array values have been set, which have to be built with {@link #buildArrays()}
+     */
+    public boolean hasArrayValues() {
+        return arrays != null;
+    }
+
+    /**
+     * Array values are kept in a {@link HugeObjectArray} indexed by node id.
+     */
+    public ArrayNodeProperties buildArrays() {
+        if (arrays == null) {
+            throw new IllegalStateException(String.format(
+                "Node property `%s` contains no array values.",
+                propertyKey
+            ));
+        }
+        validateSingleValueType();
+        properties.release();
+        long arrayCount = 0L;
+        for (long index = 0; index < arrays.size(); index++) {
+            if (arrays.get(index) != null) {
+                arrayCount++;
+            }
+        }
+        return new FloatArrayNodeProperties(arrays, arrayCount);
     }
 
+    /**
+     * Sparse properties stay in the paged hash map.
+     * Once at least half of the nodes have a value, the values are moved into an array indexed by node id,
+     * a {@link HugeLongArray} if all values are integral and a {@link HugeDoubleArray} otherwise.
+     */
     public NodeProperties build() {
-        return new NodePropertyMap(properties, defaultValue);
+        return build(numberOfNodes);
+    }
+
+    /**
+     * Builds the properties for the given number of nodes, which replaces the number of nodes of this builder
+     * if the builder has been created before the nodes were counted.
+     */
+    NodeProperties build(long nodeCount) {
+        if (arrays != null) {
+            throw new IllegalStateException(String.format(
+                "Node property `%s` contains array values, which have to be built as array node properties.",
+                propertyKey
+            ));
+        }
+        long size = properties.size();
+        if (size == 0 || size < nodeCount * DENSE_FILL_RATIO) {
+            return new NodePropertyMap(properties, defaultValue);
+        }
+
+        // size the array by the highest id seen in case the node count is an estimate
+        long[] capacity = {nodeCount};
+        properties.forEach((index, value) -> capacity[0] = Math.max(capacity[0], index + 1));
+        BitSet defined = size == capacity[0] ? null : new BitSet(capacity[0]);
+
+        // the map pages are released while they are copied, so the map and the array are not both fully alive
+        if (integral) {
+            HugeLongArray values = HugeLongArray.newArray(capacity[0], tracker);
+            long[] max = {Long.MIN_VALUE};
+            properties.drain((index, value) -> {
+                long longValue = (long) value;
+                values.set(index, longValue);
+                max[0] = Math.max(max[0], longValue);
+                if (defined != null) {
+                    defined.set(index);
+                }
+            });
+            return new LongArrayNodeProperties(values, defined, defaultValue, size, OptionalLong.of(max[0]));
+        } else {
+            HugeDoubleArray values = HugeDoubleArray.newArray(capacity[0], tracker);
+            long[] max = {Long.MIN_VALUE};
+            properties.drain((index, value) -> {
+                values.set(index, value);
+                max[0] = Math.max(max[0], (long) value);
+                if (defined != null) {
+                    defined.set(index);
+                }
+            });
+            return new DoubleArrayNodeProperties(values, defined, defaultValue, size, OptionalLong.of(max[0]));
+        }
+    }
+
+    private void validateSingleValueType() {
+        if (properties.size() > 0) {
+            throw new IllegalArgumentException(String.format(
+                "Node property `%s` contains both numeric and array values. Please use one type of values per property.",
+                propertyKey
+            ));
+        }
+    }
+
+    private static boolean isIntegral(double value) {
+        return value == (long) value;
     }
 }
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import com.carrotsearch.hppc.LongObjectMap;
 import org.apache.commons.compress.utils.Sets;
 import org.neo4j.graphalgo.ElementIdentifier;
 import org.neo4j.graphalgo.PropertyMapping;
@@ -32,6 +33,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.IntFunction;
 
 class NodeRowVisitor implements Result.ResultVisitor<RuntimeException> {
     private static final String ID_COLUMN = "id";
@@ -45,16 +47,27 @@ class NodeRowVisitor implements Result.ResultVisitor<RuntimeException> {
     private final Map<PropertyMapping, NodePropertiesBuilder> nodeProperties;
     private final NodesBatchBuffer buffer;
     private final List<Map<String, Number>> cypherNodeProperties;
-    private final NodeImporter importer;
+    private final LongObjectMap<List<ElementIdentifier>> labelElementIdentifierMapping;
+    private final IntFunction<NodeImporter> importers;
     private final boolean hasLabelInformation;
 
     private final Map<ElementIdentifier, Long> elementIdentifierLabelIdMapping;
     private long labelIdCounter = 0;
 
-    public NodeRowVisitor(Map<PropertyMapping, NodePropertiesBuilder> nodeProperties, NodesBatchBuffer buffer, NodeImporter importer, boolean hasLabelInformation) {
+    /**
+     * @param importers returns an importer that can take the given number of nodes
+     */
+    public NodeRowVisitor(
+        Map<PropertyMapping, NodePropertiesBuilder> nodeProperties,
+        NodesBatchBuffer buffer,
+        LongObjectMap<List<ElementIdentifier>> labelElementIdentifierMapping,
+        IntFunction<NodeImporter> importers,
+        boolean hasLabelInformation
+    ) {
         this.nodeProperties = nodeProperties;
         this.buffer = buffer;
-        this.importer = importer;
+        this.labelElementIdentifierMapping = labelElementIdentifierMapping;
+        this.importers = importers;
         this.cypherNodeProperties = new ArrayList<>(buffer.capacity());
         this.hasLabelInformation = hasLabelInformation;
         this.elementIdentifierLabelIdMapping = new HashMap<>();
@@ -98,7 +111,7 @@ class NodeRowVisitor implements Result.ResultVisitor<RuntimeException> {
     }
 
     void flush() {
-        importer.importCypherNodes(buffer, cypherNodeProperties);
+        importers.apply(buffer.length()).importCypherNodes(buffer, cypherNodeProperties);
     }
 
     private long[] getLabelIdsForRow(Result.ResultRow row, long neoId) {
@@ -130,7 +143,7 @@ class NodeRowVisitor implements Result.ResultVisitor<RuntimeException> {
             for (int i = 0; i < labelStrings.size(); i++) {
                 ElementIdentifier labelString = ElementIdentifier.of(labelStrings.get(i));
                 long labelId = elementIdentifierLabelIdMapping.computeIfAbsent(labelString, (l) -> {
-                    importer.labelElementIdentifierMapping.put(labelIdCounter, Collections.singletonList(labelString));
+                    labelElementIdentifierMapping.put(labelIdCounter, Collections.singletonList(labelString));
                     return labelIdCounter++;
                 });
                 labelIds[i] = labelId;
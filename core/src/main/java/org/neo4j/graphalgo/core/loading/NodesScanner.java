@@ -23,6 +23,7 @@ import com.carrotsearch.hppc.LongSet;
 import org.neo4j.graphalgo.core.utils.RawValues;
 import org.neo4j.graphalgo.core.utils.StatementAction;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetrics;
 import org.neo4j.internal.kernel.api.CursorFactory;
 import org.neo4j.internal.kernel.api.Read;
 import org.neo4j.kernel.api.KernelTransaction;
@@ -41,14 +42,16 @@ final class NodesScanner extends StatementAction implements RecordScanner {
             LongSet labels,
             ImportProgress progress,
             NodeImporter importer,
-            TerminationFlag terminationFlag) {
+            TerminationFlag terminationFlag,
+            JobMetrics metrics) {
         return new NodesScanner.Creator(
                 api,
                 scanner,
                 labels,
                 progress,
                 importer,
-                terminationFlag);
+                terminationFlag,
+                metrics);
     }
 
     static final class Creator implements InternalImporter.CreateScanner {
@@ -58,6 +61,7 @@ final class NodesScanner extends StatementAction implements RecordScanner {
         private final ImportProgress progress;
         private final NodeImporter importer;
         private final TerminationFlag terminationFlag;
+        private final JobMetrics metrics;
 
         Creator(
                 GraphDatabaseAPI api,
@@ -65,13 +69,15 @@ final class NodesScanner extends StatementAction implements RecordScanner {
                 LongSet labels,
                 ImportProgress progress,
                 NodeImporter importer, 
-                TerminationFlag terminationFlag) {
+                TerminationFlag terminationFlag,
+                JobMetrics metrics) {
             this.api = api;
             this.scanner = scanner;
             this.labels = labels;
             this.progress = progress;
             this.importer = importer;
             this.terminationFlag = terminationFlag;
+            this.metrics = metrics;
         }
 
         @Override
@@ -83,7 +89,8 @@ final class NodesScanner extends StatementAction implements RecordScanner {
                     labels,
                     index,
                     progress,
-                    importer
+                    importer,
+                    metrics
             );
         }
 
@@ -101,6 +108,7 @@ final class NodesScanner extends StatementAction implements RecordScanner {
     private final int scannerIndex;
     private final ImportProgress progress;
     private final NodeImporter importer;
+    private final JobMetrics metrics;
     private long propertiesImported;
     private long nodesImported;
 
@@ -111,7 +119,8 @@ final class NodesScanner extends StatementAction implements RecordScanner {
             LongSet labels,
             int threadIndex,
             ImportProgress progress,
-            NodeImporter importer) {
+            NodeImporter importer,
+            JobMetrics metrics) {
         super(api);
         this.terminationFlag = terminationFlag;
         this.nodeStore = (NodeStore) scanner.store();
@@ -120,6 +129,7 @@ final class NodesScanner extends StatementAction implements RecordScanner {
         this.scannerIndex = threadIndex;
         this.progress = progress;
         this.importer = importer;
+        this.metrics = metrics;
     }
 
     @Override
@@ -146,6 +156,7 @@ final class NodesScanner extends StatementAction implements RecordScanner {
                 int batchImportedNodes = RawValues.getHead(imported);
                 int batchImportedProperties = RawValues.getTail(imported);
                 progress.nodesImported(batchImportedNodes);
+                metrics.addNodes(batchImportedNodes);
                 nodesImported += batchImportedNodes;
                 propertiesImported += batchImportedProperties;
             }
@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.values.storable.NumberArray;
 import org.neo4j.values.storable.NumberValue;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
@@ -67,4 +68,38 @@ public final class ReadHelper {
                 value.valueGroup(),
                 value));
     }
+
+    /**
+     * Copies a numeric array value into a {@code float[]}, double values are narrowed to float precision.
+     */
+    public static float[] extractFloatArray(NumberArray value) {
+        Object array = value.asObjectCopy();
+        if (array instanceof float[]) {
+            return (float[]) array;
+        }
+        float[] floats = new float[value.length()];
+        if (array instanceof double[]) {
+            double[] doubles = (double[]) array;
+            for (int i = 0; i < floats.length; i++) {
+                floats[i] = (float) doubles[i];
+            }
+        } else if (array instanceof long[]) {
+            long[] longs = (long[]) array;
+            for (int i = 0; i < floats.length; i++) {
+                floats[i] = (float) longs[i];
+            }
+        } else if (array instanceof int[]) {
+            int[] ints = (int[]) array;
+            for (int i = 0; i < floats.length; i++) {
+                floats[i] = (float) ints[i];
+            }
+        } else {
+            throw new IllegalArgumentException(String.format(
+                "Unsupported type [%s] of value %s. Please use a float, double, int or long array property.",
+                value.valueGroup(),
+                value
+            ));
+        }
+        return floats;
+    }
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.huge.RelationshipOverlay;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A batch of relationship inserts and deletes for a single relationship type of a {@link GraphStore}.
+ *
+ * Relationships are identified by the original (Neo4j) ids of their source and target node, both nodes
+ * have to be part of the graph. A delete removes all relationships between the two nodes, including parallel ones.
+ * Deletes are applied to the current relationships before the inserts of the same batch are added.
+ *
+ * @see GraphStore#applyRelationshipDelta(String, RelationshipDelta, Aggregation, int, ExecutorService)
+ */
+public final class RelationshipDelta {
+
+    private final LongArrayList insertSources = new LongArrayList();
+    private final LongArrayList insertTargets = new LongArrayList();
+    private final DoubleArrayList insertProperties = new DoubleArrayList();
+    private final LongArrayList deleteSources = new LongArrayList();
+    private final LongArrayList deleteTargets = new LongArrayList();
+
+    public RelationshipDelta insert(long sourceNodeId, long targetNodeId) {
+        return insert(sourceNodeId, targetNodeId, Double.NaN);
+    }
+
+    /**
+     * @param property the relationship property value, {@code NaN} stores the default value of the property.
+     *                 It is ignored if the relationship type has no property.
+     */
+    public RelationshipDelta insert(long sourceNodeId, long targetNodeId, double property) {
+        insertSources.add(sourceNodeId);
+        insertTargets.add(targetNodeId);
+        insertProperties.add(property);
+        return this;
+    }
+
+    public RelationshipDelta delete(long sourceNodeId, long targetNodeId) {
+        deleteSources.add(sourceNodeId);
+        deleteTargets.add(targetNodeId);
+        return this;
+    }
+
+    public int insertCount() {
+        return insertSources.size();
+    }
+
+    public int deleteCount() {
+        return deleteSources.size();
+    }
+
+    public boolean isInsertOnly() {
+        return deleteSources.isEmpty();
+    }
+
+    public boolean isEmpty() {
+        return insertSources.isEmpty() && deleteSources.isEmpty();
+    }
+
+    /**
+     * Builds a new CSR from the relationships of {@code current} that are not deleted, followed by all inserts.
+     * Parallel relationships are aggregated with the given aggregation, as they are when the type is projected.
+     * The node id space is split into ranges that are copied concurrently. The given graph is only read,
+     * so graphs that still reference its CSR are not affected.
+     */
+    HugeGraph.Relationships apply(
+        IdMap nodes,
+        Graph current,
+        Orientation orientation,
+        Optional<HugeGraph.PropertyCSR> maybeProperties,
+        Aggregation aggregation,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        LongObjectHashMap<LongHashSet> deletes = mappedDeletes(nodes, orientation);
+        boolean hasProperties = maybeProperties.isPresent();
+        double defaultPropertyValue = maybeProperties
+            .map(HugeGraph.PropertyCSR::defaultPropertyValue)
+            .orElse(HugeGraph.NO_PROPERTY_VALUE);
+
+        HugeGraphUtil.RelationshipsBuilder builder = HugeGraphUtil.createRelImporter(
+            nodes,
+            orientation,
+            hasProperties,
+            aggregation,
+            executorService,
+            tracker
+        );
+
+        ParallelUtil.readParallel(concurrency, current.nodeCount(), executorService, (start, end) -> {
+            RelationshipIterator relationships = current.concurrentCopy();
+            HugeGraphUtil.RelationshipsBuilder.LocalBuffer buffer = builder.localBuffer();
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                LongHashSet deletedTargets = deletes.get(nodeId);
+                // undirected relationships are stored in both adjacency lists and self loops twice in the same one,
+                // only every second self loop is copied as the builder adds the other direction again
+                boolean[] skipSelfLoop = {false};
+                relationships.forEachRelationship(nodeId, defaultPropertyValue, (sourceNodeId, targetNodeId, property) -> {
+                    if (orientation == Orientation.UNDIRECTED) {
+                        if (targetNodeId < sourceNodeId) {
+                            return true;
+                        }
+                        if (targetNodeId == sourceNodeId && (skipSelfLoop[0] = !skipSelfLoop[0])) {
+                            return true;
+                        }
+                    }
+                    if (deletedTargets != null && deletedTargets.contains(targetNodeId)) {
+                        return true;
+                    }
+                    // reverse adjacency lists contain the sources of the relationships
+                    if (orientation == Orientation.REVERSE) {
+                        add(buffer, hasProperties, targetNodeId, sourceNodeId, property);
+                    } else {
+                        add(buffer, hasProperties, sourceNodeId, targetNodeId, property);
+                    }
+                    return true;
+                });
+            }
+            buffer.flush();
+        });
+
+        HugeGraphUtil.RelationshipsBuilder.LocalBuffer buffer = builder.localBuffer();
+        for (int i = 0; i < insertSources.size(); i++) {
+            double property = insertProperties.get(i);
+            add(
+                buffer,
+                hasProperties,
+                mappedNodeId(nodes, insertSources.get(i)),
+                mappedNodeId(nodes, insertTargets.get(i)),
+                Double.isNaN(property) ? defaultPropertyValue : property
+            );
+        }
+        buffer.flush();
+
+        return builder.build();
+    }
+
+    /**
+     * Groups the inserts by the node in whose adjacency list they are stored for the given orientation,
+     * without reading any existing relationships. Deletes cannot be represented and must be applied with
+     * {@link #apply} instead.
+     */
+    RelationshipOverlay.Chunk overlayChunk(
+        IdMap nodes,
+        Orientation orientation,
+        Optional<HugeGraph.PropertyCSR> maybeProperties
+    ) {
+        if (!isInsertOnly()) {
+            throw new IllegalStateException("Relationship deltas with deletes cannot be added to an overlay.");
+        }
+        double defaultPropertyValue = maybeProperties
+            .map(HugeGraph.PropertyCSR::defaultPropertyValue)
+            .orElse(HugeGraph.NO_PROPERTY_VALUE);
+
+        RelationshipOverlay.ChunkBuilder chunkBuilder = RelationshipOverlay.chunkBuilder(maybeProperties.isPresent());
+        for (int i = 0; i < insertSources.size(); i++) {
+            long source = mappedNodeId(nodes, insertSources.get(i));
+            long target = mappedNodeId(nodes, insertTargets.get(i));
+            double property = Double.isNaN(insertProperties.get(i)) ? defaultPropertyValue : insertProperties.get(i);
+            if (orientation == Orientation.REVERSE) {
+                chunkBuilder.add(target, source, property);
+            } else {
+                chunkBuilder.add(source, target, property);
+                if (orientation == Orientation.UNDIRECTED) {
+                    // self loops are stored twice in the same adjacency list, as the CSR stores them
+                    chunkBuilder.add(target, source, property);
+                }
+            }
+        }
+        return chunkBuilder.build();
+    }
+
+    /**
+     * The deleted relationships grouped by the node in whose adjacency list {@link #apply} encounters them.
+     */
+    private LongObjectHashMap<LongHashSet> mappedDeletes(IdMap nodes, Orientation orientation) {
+        LongObjectHashMap<LongHashSet> deletes = new LongObjectHashMap<>();
+        for (int i = 0; i < deleteSources.size(); i++) {
+            long source = mappedNodeId(nodes, deleteSources.get(i));
+            long target = mappedNodeId(nodes, deleteTargets.get(i));
+            long key;
+            long value;
+            if (orientation == Orientation.UNDIRECTED) {
+                key = Math.min(source, target);
+                value = Math.max(source, target);
+            } else if (orientation == Orientation.REVERSE) {
+                key = target;
+                value = source;
+            } else {
+                key = source;
+                value = target;
+            }
+            LongHashSet targets = deletes.get(key);
+            if (targets == null) {
+                targets = new LongHashSet();
+                deletes.put(key, targets);
+            }
+            targets.add(value);
+        }
+        return deletes;
+    }
+
+    private static void add(
+        HugeGraphUtil.RelationshipsBuilder.LocalBuffer buffer,
+        boolean hasProperties,
+        long sourceNodeId,
+        long targetNodeId,
+        double property
+    ) {
+        if (hasProperties) {
+            buffer.addFromInternal(sourceNodeId, targetNodeId, property);
+        } else {
+            buffer.addFromInternal(sourceNodeId, targetNodeId);
+        }
+    }
+
+    private static long mappedNodeId(IdMap nodes, long originalNodeId) {
+        if (!nodes.contains(originalNodeId)) {
+            throw new IllegalArgumentException(String.format(
+                "Node with id %d is not part of the graph. Relationships can only be changed between existing nodes.",
+                originalNodeId
+            ));
+        }
+        return nodes.toMappedNodeId(originalNodeId);
+    }
+}
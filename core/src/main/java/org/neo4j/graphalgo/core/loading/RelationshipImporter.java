@@ -19,7 +19,9 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import com.carrotsearch.hppc.sorting.IndirectSort;
 import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
 import org.neo4j.graphalgo.core.utils.RawValues;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.internal.kernel.api.CursorFactory;
@@ -28,6 +30,7 @@ import org.neo4j.internal.kernel.api.Read;
 
 import java.util.Collection;
 
+import static org.neo4j.graphalgo.core.loading.RelationshipsBatchBuffer.BATCH_ENTRY_SHIFT_SIZE;
 import static org.neo4j.graphalgo.core.loading.RelationshipsBatchBuffer.BATCH_ENTRY_SIZE;
 import static org.neo4j.graphalgo.core.loading.RelationshipsBatchBuffer.PROPERTIES_REFERENCE_OFFSET;
 import static org.neo4j.graphalgo.core.loading.RelationshipsBatchBuffer.RELATIONSHIP_REFERENCE_OFFSET;
@@ -81,17 +84,34 @@ class RelationshipImporter {
                 adjacencyBuilder.getPropertyKeyIds(),
                 adjacencyBuilder.getDefaultValues());
         int importedOut = importRelationships(buffer, batch, outProperties, adjacencyBuilder, tracker);
+
+        // The properties have been read already, instead of reading them from the store a second time,
+        // we remember the position of each relationship in the source order and permute the values.
+        // The properties reference is not needed anymore and holds the position during the sort.
+        for (int i = 0; i < batchLength; i += BATCH_ENTRY_SIZE) {
+            batch[PROPERTIES_REFERENCE_OFFSET + i] = i >>> BATCH_ENTRY_SHIFT_SIZE;
+        }
         batch = buffer.sortByTarget();
+        permuteProperties(batch, batchLength, outProperties, buffer.spareLongs());
 
-        long[][] inProperties = reader.readProperty(
-                batch,
-                batchLength,
-                adjacencyBuilder.getPropertyKeyIds(),
-                adjacencyBuilder.getDefaultValues());
-        int importedIn = importRelationships(buffer, batch, inProperties, adjacencyBuilder, tracker);
+        int importedIn = importRelationships(buffer, batch, outProperties, adjacencyBuilder, tracker);
         return RawValues.combineIntInt(importedOut + importedIn, importedOut + importedIn);
     }
 
+    /**
+     * Reorders the property values in place into the order of the batch, using the stored source order positions.
+     * The spare buffer of the batch is used as scratch space, it is overwritten by the next import anyway.
+     */
+    private static void permuteProperties(long[] batch, int batchLength, long[][] properties, long[] scratch) {
+        int relationshipCount = batchLength >>> BATCH_ENTRY_SHIFT_SIZE;
+        for (long[] values : properties) {
+            for (int i = 0; i < batchLength; i += BATCH_ENTRY_SIZE) {
+                scratch[i >>> BATCH_ENTRY_SHIFT_SIZE] = values[(int) batch[PROPERTIES_REFERENCE_OFFSET + i]];
+            }
+            System.arraycopy(scratch, 0, values, 0, relationshipCount);
+        }
+    }
+
     private long importNatural(RelationshipsBatchBuffer buffer, PropertyReader propertyReader) {
         long[] batch = buffer.sortBySource();
         return RawValues.combineIntInt(importRelationships(buffer, batch, null, adjacencyBuilder, tracker), 0);
@@ -144,16 +164,31 @@ class RelationshipImporter {
         return adjacencyBuilder.flushTasks();
     }
 
+    /**
+     * Reads the properties of a batch in ascending order of their property record reference instead of the order of
+     * the batch. Property records are mostly allocated in the same order as their relationships, so the reads of a
+     * batch move forward through the property store and consecutive reads often hit the same page.
+     */
     PropertyReader storeBackedPropertiesReader(CursorFactory cursors, Read read) {
         return (batch, batchLength, relationshipProperties, defaultPropertyValues) -> {
-            long[][] properties = new long[relationshipProperties.length][batchLength / BATCH_ENTRY_SIZE];
+            int relationshipCount = batchLength >>> BATCH_ENTRY_SHIFT_SIZE;
+            long[][] properties = new long[relationshipProperties.length][relationshipCount];
+
+            long[] propertiesReferences = new long[relationshipCount];
+            for (int i = 0; i < batchLength; i += BATCH_ENTRY_SIZE) {
+                propertiesReferences[i >>> BATCH_ENTRY_SHIFT_SIZE] = batch[PROPERTIES_REFERENCE_OFFSET + i];
+            }
+            int[] readOrder = IndirectSort.mergesort(
+                0,
+                relationshipCount,
+                new AscendingLongComparator(propertiesReferences)
+            );
+
             try (PropertyCursor pc = cursors.allocatePropertyCursor()) {
-                for (int i = 0; i < batchLength; i += BATCH_ENTRY_SIZE) {
-                    long relationshipReference = batch[RELATIONSHIP_REFERENCE_OFFSET + i];
-                    long propertiesReference = batch[PROPERTIES_REFERENCE_OFFSET + i];
-                    read.relationshipProperties(relationshipReference, propertiesReference, pc);
+                for (int propertyPos : readOrder) {
+                    long relationshipReference = batch[RELATIONSHIP_REFERENCE_OFFSET + (propertyPos << BATCH_ENTRY_SHIFT_SIZE)];
+                    read.relationshipProperties(relationshipReference, propertiesReferences[propertyPos], pc);
                     double[] relProps = ReadHelper.readProperties(pc, relationshipProperties, defaultPropertyValues);
-                    int propertyPos = i / BATCH_ENTRY_SIZE;
                     for (int j = 0; j < relProps.length; j++) {
                         properties[j][propertyPos] = Double.doubleToLongBits(relProps[j]);
                     }
@@ -24,6 +24,7 @@ import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.core.utils.RawValues;
 import org.neo4j.graphalgo.core.utils.StatementAction;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetrics;
 import org.neo4j.internal.kernel.api.CursorFactory;
 import org.neo4j.internal.kernel.api.Read;
 import org.neo4j.kernel.api.KernelTransaction;
@@ -44,7 +45,8 @@ final class RelationshipsScanner extends StatementAction implements RecordScanne
             IdMapping idMap,
             AbstractStorePageCacheScanner<RelationshipRecord> scanner,
             boolean loadProperties,
-            Collection<SingleTypeRelationshipImporter.Builder> importerBuilders) {
+            Collection<SingleTypeRelationshipImporter.Builder> importerBuilders,
+            JobMetrics metrics) {
         List<SingleTypeRelationshipImporter.Builder.WithImporter> builders = importerBuilders
                 .stream()
                 .map(relImporter -> relImporter.loadImporter(loadProperties))
@@ -59,7 +61,8 @@ final class RelationshipsScanner extends StatementAction implements RecordScanne
                 idMap,
                 scanner,
                 builders,
-            setup.terminationFlag()
+            setup.terminationFlag(),
+            metrics
         );
     }
 
@@ -70,6 +73,7 @@ final class RelationshipsScanner extends StatementAction implements RecordScanne
         private final AbstractStorePageCacheScanner<RelationshipRecord> scanner;
         private final List<SingleTypeRelationshipImporter.Builder.WithImporter> importerBuilders;
         private final TerminationFlag terminationFlag;
+        private final JobMetrics metrics;
 
         Creator(
                 GraphDatabaseAPI api,
@@ -77,13 +81,15 @@ final class RelationshipsScanner extends StatementAction implements RecordScanne
                 IdMapping idMap,
                 AbstractStorePageCacheScanner<RelationshipRecord> scanner,
                 List<SingleTypeRelationshipImporter.Builder.WithImporter> importerBuilders,
-                TerminationFlag terminationFlag) {
+                TerminationFlag terminationFlag,
+                JobMetrics metrics) {
             this.api = api;
             this.progress = progress;
             this.idMap = idMap;
             this.scanner = scanner;
             this.importerBuilders = importerBuilders;
             this.terminationFlag = terminationFlag;
+            this.metrics = metrics;
         }
 
         @Override
@@ -95,7 +101,8 @@ final class RelationshipsScanner extends StatementAction implements RecordScanne
                     idMap,
                     scanner,
                     index,
-                    importerBuilders
+                    importerBuilders,
+                    metrics
             );
         }
 
@@ -113,6 +120,7 @@ final class RelationshipsScanner extends StatementAction implements RecordScanne
     private final AbstractStorePageCacheScanner<RelationshipRecord> scanner;
     private final int scannerIndex;
     private final List<SingleTypeRelationshipImporter.Builder.WithImporter> importerBuilders;
+    private final JobMetrics metrics;
 
     private long relationshipsImported;
     private long weightsImported;
@@ -124,7 +132,8 @@ final class RelationshipsScanner extends StatementAction implements RecordScanne
             IdMapping idMap,
             AbstractStorePageCacheScanner<RelationshipRecord> scanner,
             int threadIndex,
-            List<SingleTypeRelationshipImporter.Builder.WithImporter> importerBuilders) {
+            List<SingleTypeRelationshipImporter.Builder.WithImporter> importerBuilders,
+            JobMetrics metrics) {
         super(api);
         this.terminationFlag = terminationFlag;
         this.progress = progress;
@@ -132,6 +141,7 @@ final class RelationshipsScanner extends StatementAction implements RecordScanne
         this.scanner = scanner;
         this.scannerIndex = threadIndex;
         this.importerBuilders = importerBuilders;
+        this.metrics = metrics;
     }
 
     @Override
@@ -168,6 +178,7 @@ final class RelationshipsScanner extends StatementAction implements RecordScanne
                 int importedRels = RawValues.getHead(imported);
                 int importedWeights = RawValues.getTail(imported);
                 progress.relationshipsImported(importedRels);
+                metrics.addRelationships(importedRels);
                 allImportedRels += importedRels;
                 allImportedWeights += importedWeights;
             }
@@ -24,9 +24,11 @@ import org.neo4j.graphalgo.ElementIdentifier;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.ResolvedPropertyMapping;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetrics;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArrayBuilder;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
@@ -72,7 +74,8 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeRecord, Id
     InternalImporter.CreateScanner creator(
         long nodeCount,
         ImportSizing sizing,
-        AbstractStorePageCacheScanner<NodeRecord> scanner
+        AbstractStorePageCacheScanner<NodeRecord> scanner,
+        JobMetrics metrics
     ) {
         idMapBuilder = HugeLongArrayBuilder.of(nodeCount, tracker);
 
@@ -93,7 +96,8 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeRecord, Id
             dimensions.nodeLabelIds(),
             progress,
             new NodeImporter(idMapBuilder, elementIdentifierBitSetMapping, builders.values(), dimensions.labelElementIdentifierMapping()),
-            terminationFlag
+            terminationFlag,
+            metrics
         );
     }
 
@@ -107,12 +111,21 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeRecord, Id
             tracker
         );
         Map<String, NodeProperties> nodeProperties = new HashMap<>();
+        Map<String, ArrayNodeProperties> arrayNodeProperties = new HashMap<>();
         for (PropertyMapping propertyMapping : propertyMappings) {
             NodePropertiesBuilder builder = builders.get(propertyMapping.propertyKey());
-            NodeProperties props = builder != null ? builder.build() : new NullPropertyMap(propertyMapping.defaultValue());
-            nodeProperties.put(propertyMapping.propertyKey(), props);
+            if (builder != null && builder.hasArrayValues()) {
+                arrayNodeProperties.put(propertyMapping.propertyKey(), builder.buildArrays());
+            } else {
+                NodeProperties props = builder != null ? builder.build() : new NullPropertyMap(propertyMapping.defaultValue());
+                nodeProperties.put(propertyMapping.propertyKey(), props);
+            }
         }
-        return new IdsAndProperties(hugeIdMap, Collections.unmodifiableMap(nodeProperties));
+        return new IdsAndProperties(
+            hugeIdMap,
+            Collections.unmodifiableMap(nodeProperties),
+            Collections.unmodifiableMap(arrayNodeProperties)
+        );
     }
 
     private Map<String, NodePropertiesBuilder> propertyBuilders(long nodeCount) {
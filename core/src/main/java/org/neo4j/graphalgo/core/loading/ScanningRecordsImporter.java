@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.loading.InternalImporter.ImportResult;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetrics;
 import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.logging.Log;
@@ -68,7 +69,8 @@ abstract class ScanningRecordsImporter<Record extends AbstractBaseRecord, T> {
         AbstractStorePageCacheScanner<Record> scanner =
                 new AbstractStorePageCacheScanner<>(DEFAULT_PREFETCH_SIZE, api, access);
 
-        InternalImporter.CreateScanner creator = creator(nodeCount, sizing, scanner);
+        // the import tasks run on the pool, so they record into the metrics of the job that started the import
+        InternalImporter.CreateScanner creator = creator(nodeCount, sizing, scanner, JobMetrics.current());
         InternalImporter importer = new InternalImporter(numberOfThreads, creator);
         ImportResult importResult = importer.runImport(threadPool);
 
@@ -103,7 +105,8 @@ abstract class ScanningRecordsImporter<Record extends AbstractBaseRecord, T> {
     abstract InternalImporter.CreateScanner creator(
             long nodeCount,
             ImportSizing sizing,
-            AbstractStorePageCacheScanner<Record> scanner);
+            AbstractStorePageCacheScanner<Record> scanner,
+            JobMetrics metrics);
 
     abstract T build();
 }
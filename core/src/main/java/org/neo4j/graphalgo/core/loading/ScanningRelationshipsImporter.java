@@ -25,6 +25,7 @@ import org.neo4j.graphalgo.RelationshipProjectionMapping;
 import org.neo4j.graphalgo.api.GraphSetup;
 import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetrics;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
@@ -76,7 +77,8 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
     InternalImporter.CreateScanner creator(
             final long nodeCount,
             final ImportSizing sizing,
-            final AbstractStorePageCacheScanner<RelationshipRecord> scanner) {
+            final AbstractStorePageCacheScanner<RelationshipRecord> scanner,
+            final JobMetrics metrics) {
 
         int pageSize = sizing.pageSize();
         int numberOfPages = sizing.numberOfPages();
@@ -100,7 +102,8 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
                 idMap,
                 scanner,
                 importWeights,
-                importerBuilders
+                importerBuilders,
+                metrics
         );
     }
 
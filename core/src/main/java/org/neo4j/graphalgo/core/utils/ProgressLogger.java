@@ -72,4 +72,10 @@ public interface ProgressLogger {
     default void logDone() {
         logDone(NO_MESSAGE);
     }
+
+    /**
+     * Reports the number of iterations an iterative algorithm has completed so far.
+     */
+    default void logIteration(long ranIterations) {
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.mem;
+
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admission control for procedures that run concurrently.
+ * <p>
+ * Free heap alone does not tell whether a procedure fits, since other procedures
+ * that were admitted earlier may not have allocated their data structures yet.
+ * Every admitted procedure therefore reserves its estimated memory until it
+ * finished, and a new procedure is only admitted if its estimate fits into the
+ * free memory that is not yet reserved by others.
+ * <p>
+ * Memory that a procedure already allocated is part of the used heap, so it must
+ * not be reserved a second time. A reservation shrinks by the bytes that are
+ * recorded on the {@link AllocationTracker} of its procedure and only the part
+ * that has not been allocated yet is held back from new procedures.
+ */
+public final class MemoryReservations {
+
+    private static final Set<Reservation> active = ConcurrentHashMap.newKeySet();
+
+    private MemoryReservations() {
+        throw new UnsupportedOperationException("No instances");
+    }
+
+    /**
+     * Reserves {@code bytes} if they fit into {@code freeMemory} minus all outstanding reservations.
+     * The reservation is reduced by every byte that is added to {@code tracker}.
+     *
+     * @throws IllegalStateException if the reservation does not fit
+     */
+    public static synchronized Reservation reserve(long bytes, long freeMemory, AllocationTracker tracker) {
+        long available = Math.max(0L, freeMemory - reservedBytes());
+        if (bytes > available) {
+            throw new IllegalStateException(String.format(
+                "Procedure was blocked since minimum estimated memory (%s) exceeds the free memory that is not reserved by running procedures (%s).",
+                MemoryUsage.humanReadable(bytes),
+                MemoryUsage.humanReadable(available)
+            ));
+        }
+        Reservation reservation = new Reservation(bytes, tracker);
+        active.add(reservation);
+        return reservation;
+    }
+
+    /**
+     * The sum of the reserved bytes that the running procedures have not allocated yet.
+     */
+    public static long reservedBytes() {
+        long reserved = 0L;
+        for (Reservation reservation : active) {
+            reserved += reservation.outstandingBytes();
+        }
+        return reserved;
+    }
+
+    public static final class Reservation implements AutoCloseable {
+
+        public static final Reservation NONE = new Reservation(0L, AllocationTracker.EMPTY);
+
+        private final long bytes;
+        private final AllocationTracker tracker;
+        private final long trackedBefore;
+
+        private Reservation(long bytes, AllocationTracker tracker) {
+            this.bytes = bytes;
+            this.tracker = tracker;
+            this.trackedBefore = tracker.tracked();
+        }
+
+        public long bytes() {
+            return bytes;
+        }
+
+        /**
+         * The reserved bytes minus the bytes the procedure allocated since the reservation was made.
+         */
+        public long outstandingBytes() {
+            long allocated = Math.max(0L, tracker.tracked() - trackedBefore);
+            return Math.max(0L, bytes - allocated);
+        }
+
+        @Override
+        public void close() {
+            active.remove(this);
+        }
+    }
+}
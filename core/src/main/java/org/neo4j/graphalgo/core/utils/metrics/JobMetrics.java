@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.metrics;
+
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Machine-readable metrics of a single job, e.g. one procedure call.
+ *
+ * Counters are striped ({@link LongAdder}) and progress is published with
+ * lazy writes, so that updating the metrics from many worker threads
+ * does not introduce contention in the hot loops that feed them.
+ */
+public final class JobMetrics {
+
+    /**
+     * Metrics of code that does not run as part of a job, all updates are ignored.
+     */
+    public static final JobMetrics EMPTY = new JobMetrics(-1L, "", "", AllocationTracker.EMPTY);
+
+    /**
+     * Minimal change of the progress before a new value is recorded.
+     */
+    static final double PROGRESS_STEP = 0.01;
+
+    private final long jobId;
+    private final String username;
+    private final String jobName;
+    private final AllocationTracker tracker;
+    private final long startMillis;
+
+    private final LongAdder nodes;
+    private final LongAdder relationships;
+    private final LongAdder relationshipsWritten;
+    private final LongAdder propertiesWritten;
+    private final AtomicLong iterations;
+    private final AtomicLong progress;
+    private final AtomicLong lastUpdateMillis;
+    private final Map<String, Long> phaseMillis;
+
+    private volatile String activePhase;
+    private volatile boolean failed;
+
+    JobMetrics(long jobId, String username, String jobName, AllocationTracker tracker) {
+        this.jobId = jobId;
+        this.username = username;
+        this.jobName = jobName;
+        this.tracker = tracker;
+        this.startMillis = System.currentTimeMillis();
+        this.nodes = new LongAdder();
+        this.relationships = new LongAdder();
+        this.relationshipsWritten = new LongAdder();
+        this.propertiesWritten = new LongAdder();
+        this.iterations = new AtomicLong();
+        this.progress = new AtomicLong(Double.doubleToRawLongBits(0.0));
+        this.lastUpdateMillis = new AtomicLong(startMillis);
+        this.phaseMillis = new LinkedHashMap<>();
+    }
+
+    /**
+     * Metrics of the job that runs on the current thread, or {@link #EMPTY} if there is none.
+     */
+    public static JobMetrics current() {
+        return JobMetricsRegistry.current();
+    }
+
+    /**
+     * Starts a phase of this job and makes it the job of the current thread until the phase is closed.
+     * Phases of {@link #EMPTY} are not recorded and leave the job of the current thread unchanged.
+     */
+    public Phase startPhase(String phase) {
+        return new Phase(phase, this != EMPTY);
+    }
+
+    public void addNodes(long count) {
+        if (this != EMPTY) {
+            nodes.add(count);
+            touch();
+        }
+    }
+
+    public void addRelationships(long count) {
+        if (this != EMPTY) {
+            relationships.add(count);
+            touch();
+        }
+    }
+
+    public void addRelationshipsWritten(long count) {
+        if (this != EMPTY) {
+            relationshipsWritten.add(count);
+            touch();
+        }
+    }
+
+    public void addPropertiesWritten(long count) {
+        if (this != EMPTY) {
+            propertiesWritten.add(count);
+            touch();
+        }
+    }
+
+    public void iteration(long ranIterations) {
+        if (this != EMPTY) {
+            iterations.lazySet(ranIterations);
+            touch();
+        }
+    }
+
+    public void progress(double percentDone) {
+        if (this != EMPTY) {
+            progress.lazySet(Double.doubleToRawLongBits(percentDone));
+            touch();
+        }
+    }
+
+    public void fail() {
+        if (this != EMPTY) {
+            failed = true;
+        }
+    }
+
+    /**
+     * Decorates the given logger so that reported progress is also recorded in these metrics.
+     * Algorithms may report progress once per node from many threads, so progress is only
+     * recorded once it changed by {@value #PROGRESS_STEP} since the last recorded value.
+     * Iterative algorithms restart their progress in each iteration, so a decrease counts as a change.
+     */
+    public ProgressLogger progressLogger(ProgressLogger delegate) {
+        if (this == EMPTY) {
+            return delegate;
+        }
+        return new ProgressLogger() {
+            // only read on the hot path, so that reporting threads do not contend on a shared write
+            private volatile double lastRecorded = 0.0;
+
+            @Override
+            public void logProgress(double percentDone, Supplier<String> msg) {
+                if (Math.abs(percentDone - lastRecorded) >= PROGRESS_STEP) {
+                    lastRecorded = percentDone;
+                    progress(percentDone);
+                }
+                delegate.logProgress(percentDone, msg);
+            }
+
+            @Override
+            public void log(Supplier<String> msg) {
+                delegate.log(msg);
+            }
+
+            @Override
+            public void logDone(Supplier<String> msg) {
+                progress(1.0);
+                delegate.logDone(msg);
+            }
+
+            @Override
+            public void logIteration(long ranIterations) {
+                iteration(ranIterations);
+                delegate.logIteration(ranIterations);
+            }
+        };
+    }
+
+    public long jobId() {
+        return jobId;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public String jobName() {
+        return jobName;
+    }
+
+    public String status() {
+        if (failed) {
+            return "FAILED";
+        }
+        return activePhase != null ? "RUNNING" : "DONE";
+    }
+
+    public String activePhase() {
+        return activePhase;
+    }
+
+    public long startMillis() {
+        return startMillis;
+    }
+
+    public long elapsedMillis() {
+        return (activePhase != null ? System.currentTimeMillis() : lastUpdateMillis.get()) - startMillis;
+    }
+
+    /**
+     * Milliseconds since the last update; a steadily growing value for a running job indicates a stall.
+     */
+    public long idleMillis() {
+        return System.currentTimeMillis() - lastUpdateMillis.get();
+    }
+
+    public double progress() {
+        return Double.longBitsToDouble(progress.get());
+    }
+
+    public long iterations() {
+        return iterations.get();
+    }
+
+    public long nodes() {
+        return nodes.sum();
+    }
+
+    public long relationships() {
+        return relationships.sum();
+    }
+
+    public long relationshipsWritten() {
+        return relationshipsWritten.sum();
+    }
+
+    public long propertiesWritten() {
+        return propertiesWritten.sum();
+    }
+
+    public long bytesAllocated() {
+        return tracker.tracked();
+    }
+
+    public Map<String, Long> phaseMillis() {
+        synchronized (phaseMillis) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(phaseMillis));
+        }
+    }
+
+    boolean isActive() {
+        return activePhase != null;
+    }
+
+    private void touch() {
+        lastUpdateMillis.lazySet(System.currentTimeMillis());
+    }
+
+    public final class Phase implements AutoCloseable {
+
+        private final String name;
+        private final long startNanos;
+        private final boolean recorded;
+
+        private Phase(String name, boolean recorded) {
+            this.name = name;
+            this.startNanos = System.nanoTime();
+            this.recorded = recorded;
+            if (recorded) {
+                activePhase = name;
+                JobMetricsRegistry.setCurrent(JobMetrics.this);
+                touch();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!recorded) {
+                return;
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            synchronized (phaseMillis) {
+                phaseMillis.merge(name, millis, Long::sum);
+            }
+            activePhase = null;
+            JobMetricsRegistry.setCurrent(EMPTY);
+            touch();
+        }
+    }
+}
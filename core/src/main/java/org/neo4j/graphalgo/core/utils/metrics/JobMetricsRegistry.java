@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.metrics;
+
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public final class JobMetricsRegistry {
+
+    /**
+     * Number of finished jobs that are kept for inspection after they completed.
+     */
+    static final int MAX_FINISHED_JOBS = 100;
+
+    private static final Map<Long, JobMetrics> jobs = new ConcurrentHashMap<>();
+    private static final AtomicLong nextJobId = new AtomicLong();
+    private static final ThreadLocal<JobMetrics> currentJob = ThreadLocal.withInitial(() -> JobMetrics.EMPTY);
+
+    private JobMetricsRegistry() { }
+
+    public static JobMetrics register(String username, String jobName, AllocationTracker tracker) {
+        evictFinishedJobs();
+        JobMetrics metrics = new JobMetrics(nextJobId.incrementAndGet(), username, jobName, tracker);
+        jobs.put(metrics.jobId(), metrics);
+        return metrics;
+    }
+
+    public static List<JobMetrics> jobs(String username) {
+        return jobs
+            .values()
+            .stream()
+            .filter(metrics -> metrics.username().equals(username))
+            .sorted(Comparator.comparingLong(JobMetrics::jobId))
+            .collect(Collectors.toList());
+    }
+
+    public static void removeAllJobs() {
+        jobs.clear();
+    }
+
+    static JobMetrics current() {
+        return currentJob.get();
+    }
+
+    static void setCurrent(JobMetrics metrics) {
+        currentJob.set(metrics);
+    }
+
+    private static void evictFinishedJobs() {
+        List<JobMetrics> finished = jobs
+            .values()
+            .stream()
+            .filter(metrics -> !metrics.isActive())
+            .sorted(Comparator.comparingLong(JobMetrics::jobId))
+            .collect(Collectors.toList());
+        for (int i = 0; i < finished.size() - MAX_FINISHED_JOBS + 1; i++) {
+            jobs.remove(finished.get(i).jobId());
+        }
+    }
+}
@@ -29,9 +29,16 @@ abstract class HugeArrayBuilder<Array, Huge extends HugeArray<Array, ?, Huge>> {
     private final ThreadLocal<BulkAdder<Array>> adders;
 
     HugeArrayBuilder(Huge array, final long length) {
+        this(array, length, 0L);
+    }
+
+    /**
+     * @param allocated the number of leading values that have already been allocated
+     */
+    HugeArrayBuilder(Huge array, final long length, final long allocated) {
         this.array = array;
         this.length = length;
-        this.allocationIndex = new AtomicLong();
+        this.allocationIndex = new AtomicLong(allocated);
         this.adders = ThreadLocal.withInitial(this::newBulkAdder);
     }
 
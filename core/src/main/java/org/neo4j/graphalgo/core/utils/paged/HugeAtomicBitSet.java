@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.neo4j.graphalgo.core.utils.BitUtil;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+import static org.neo4j.graphalgo.core.utils.paged.HugeArrays.PAGE_SIZE;
+import static org.neo4j.graphalgo.core.utils.paged.HugeArrays.indexInPage;
+import static org.neo4j.graphalgo.core.utils.paged.HugeArrays.numberOfPages;
+import static org.neo4j.graphalgo.core.utils.paged.HugeArrays.pageIndex;
+
+/**
+ * A thread-safe, long-indexable bit set of a fixed size.
+ * <p>
+ * The bits are stored in pages of {@code long} words which are allocated on the first write to the page.
+ * Reading a bit from a page that has not been allocated yet returns {@code false}, so a bit set over all nodes
+ * of a graph only uses memory for the regions of the id space that contain set bits.
+ * The allocated pages are tracked in the {@link AllocationTracker} that the bit set was created with.
+ */
+public final class HugeAtomicBitSet {
+
+    private static final int NUM_BITS = Long.SIZE;
+
+    private final long size;
+    private final AtomicReferenceArray<AtomicLongArray> pages;
+    private final AllocationTracker tracker;
+
+    public static long memoryEstimation(long size) {
+        long wordCount = BitUtil.ceilDiv(size, NUM_BITS);
+        return sizeOfInstance(HugeAtomicBitSet.class) +
+               sizeOfObjectArray(numberOfPages(wordCount)) +
+               numberOfPages(wordCount) * sizeOfLongArray(PAGE_SIZE);
+    }
+
+    public static HugeAtomicBitSet create(long size, AllocationTracker tracker) {
+        int pageCount = numberOfPages(BitUtil.ceilDiv(size, NUM_BITS));
+        tracker.add(sizeOfInstance(HugeAtomicBitSet.class) + sizeOfObjectArray(pageCount));
+        return new HugeAtomicBitSet(size, new AtomicReferenceArray<>(pageCount), tracker);
+    }
+
+    private HugeAtomicBitSet(long size, AtomicReferenceArray<AtomicLongArray> pages, AllocationTracker tracker) {
+        this.size = size;
+        this.pages = pages;
+        this.tracker = tracker;
+    }
+
+    /**
+     * @return the state of the bit at the given index
+     */
+    public boolean get(long index) {
+        long wordIndex = index / NUM_BITS;
+        AtomicLongArray page = pages.get(pageIndex(wordIndex));
+        if (page == null) {
+            return false;
+        }
+        long mask = 1L << index;
+        return (page.get(indexInPage(wordIndex)) & mask) != 0;
+    }
+
+    /**
+     * Sets the bit at the given index to true.
+     */
+    public void set(long index) {
+        getAndSet(index);
+    }
+
+    /**
+     * Atomically sets the bit at the given index to true.
+     *
+     * @return the state of the bit before it was set, i.e. {@code false} only for the one caller that set it
+     */
+    public boolean getAndSet(long index) {
+        long wordIndex = index / NUM_BITS;
+        AtomicLongArray page = page(pageIndex(wordIndex));
+        int wordInPage = indexInPage(wordIndex);
+        long mask = 1L << index;
+        long oldWord = page.get(wordInPage);
+        while ((oldWord & mask) == 0) {
+            if (page.compareAndSet(wordInPage, oldWord, oldWord | mask)) {
+                return false;
+            }
+            oldWord = page.get(wordInPage);
+        }
+        return true;
+    }
+
+    /**
+     * Atomically sets the bit at the given index to false.
+     */
+    public void clear(long index) {
+        long wordIndex = index / NUM_BITS;
+        AtomicLongArray page = pages.get(pageIndex(wordIndex));
+        if (page == null) {
+            return;
+        }
+        int wordInPage = indexInPage(wordIndex);
+        long mask = ~(1L << index);
+        long oldWord = page.get(wordInPage);
+        while (!page.compareAndSet(wordInPage, oldWord, oldWord & mask)) {
+            oldWord = page.get(wordInPage);
+        }
+    }
+
+    /**
+     * @return the number of set bits, the result is exact if there are no concurrent writes
+     */
+    public long cardinality() {
+        long setBits = 0L;
+        for (int pageIndex = 0; pageIndex < pages.length(); pageIndex++) {
+            AtomicLongArray page = pages.get(pageIndex);
+            if (page != null) {
+                for (int wordIndex = 0; wordIndex < page.length(); wordIndex++) {
+                    setBits += Long.bitCount(page.get(wordIndex));
+                }
+            }
+        }
+        return setBits;
+    }
+
+    /**
+     * @return the number of bits in the bit set, the highest supported index is {@code size() - 1}
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return the amount of memory used by the allocated pages, in bytes
+     */
+    public long sizeOf() {
+        long allocated = sizeOfInstance(HugeAtomicBitSet.class) + sizeOfObjectArray(pages.length());
+        for (int pageIndex = 0; pageIndex < pages.length(); pageIndex++) {
+            if (pages.get(pageIndex) != null) {
+                allocated += sizeOfLongArray(PAGE_SIZE);
+            }
+        }
+        return allocated;
+    }
+
+    private AtomicLongArray page(int pageIndex) {
+        AtomicLongArray page = pages.get(pageIndex);
+        if (page == null) {
+            AtomicLongArray newPage = new AtomicLongArray(PAGE_SIZE);
+            if (pages.compareAndSet(pageIndex, null, newPage)) {
+                tracker.add(sizeOfLongArray(PAGE_SIZE));
+                return newPage;
+            }
+            page = pages.get(pageIndex);
+        }
+        return page;
+    }
+}
@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.core.utils.paged;
 
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.LongToDoubleFunction;
 import java.util.function.LongUnaryOperator;
@@ -141,4 +143,16 @@ public class HugeAtomicDoubleArray {
         return instanceSize + hugeLongArraySize;
     }
 
+    /**
+     * A {@link PropertyTranslator} for instances of {@link HugeAtomicDoubleArray}s.
+     */
+    public static class Translator implements PropertyTranslator.OfDouble<HugeAtomicDoubleArray> {
+
+        public static final Translator INSTANCE = new Translator();
+
+        @Override
+        public double toDouble(final HugeAtomicDoubleArray data, final long nodeId) {
+            return data.get(nodeId);
+        }
+    }
 }
\ No newline at end of file
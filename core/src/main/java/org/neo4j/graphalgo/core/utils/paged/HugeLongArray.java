@@ -156,6 +156,17 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
         return copy;
     }
 
+    /**
+     * Returns an array of the given length that starts with the first {@code min(size(), newLength)} values of this
+     * array, the remaining values are {@code 0}.
+     * <p>
+     * Unlike {@link #copyOf(long, AllocationTracker)}, a paged array moves its full pages into the returned array and
+     * only copies a partially used last page, so resizing costs time in the size of a page and not of the array.
+     * A single page array is copied into a paged array when it grows, so that it can share its pages from then on.
+     * This array must not be used afterwards.
+     */
+    abstract HugeLongArray resize(long newLength, AllocationTracker tracker);
+
     /**
      * {@inheritDoc}
      */
@@ -362,6 +373,16 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
             return 0L;
         }
 
+        @Override
+        HugeLongArray resize(long newLength, AllocationTracker tracker) {
+            HugeLongArray resized = newLength > size
+                ? PagedHugeLongArray.of(newLength, tracker)
+                : SingleHugeLongArray.of(newLength, tracker);
+            copyTo(resized, newLength);
+            tracker.remove(release());
+            return resized;
+        }
+
         @Override
         public HugeCursor<long[]> newCursor() {
             return new HugeCursor.SinglePageCursor<>(page);
@@ -525,6 +546,27 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
             return 0L;
         }
 
+        @Override
+        HugeLongArray resize(long newLength, AllocationTracker tracker) {
+            int numPages = numberOfPages(newLength);
+            long[][] newPages = Arrays.copyOf(pages, numPages);
+            long newMemoryUsed = sizeOfObjectArray(numPages);
+            for (int i = 0; i < numPages; i++) {
+                int pageSize = i == numPages - 1 ? exclusiveIndexOfPage(newLength) : PAGE_SIZE;
+                long[] page = newPages[i];
+                if (page == null) {
+                    newPages[i] = new long[pageSize];
+                } else if (page.length != pageSize) {
+                    newPages[i] = Arrays.copyOf(page, pageSize);
+                }
+                newMemoryUsed += sizeOfLongArray(pageSize);
+            }
+            pages = null;
+            tracker.remove(memoryUsed);
+            tracker.add(newMemoryUsed);
+            return new PagedHugeLongArray(newLength, newPages, newMemoryUsed);
+        }
+
         @Override
         public HugeCursor<long[]> newCursor() {
             return new HugeCursor.PagedCursor<>(size, pages);
@@ -29,4 +29,19 @@ public final class HugeLongArrayBuilder extends HugeArrayBuilder<long[], HugeLon
     private HugeLongArrayBuilder(HugeLongArray array, final long length) {
         super(array, length);
     }
+
+    private HugeLongArrayBuilder(HugeLongArray array, final long length, final long allocated) {
+        super(array, length, allocated);
+    }
+
+    /**
+     * Returns a builder of the given length that continues after the values allocated by this builder.
+     * The array is resized with {@link HugeLongArray#resize(long, AllocationTracker)}, so the pages of this
+     * builder are moved to the new builder and this builder must not be used afterwards.
+     */
+    public HugeLongArrayBuilder resize(long newLength, AllocationTracker tracker) {
+        long allocated = Math.min(size(), newLength);
+        HugeLongArray resized = build().resize(newLength, tracker);
+        return new HugeLongArrayBuilder(resized, newLength, allocated);
+    }
 }
@@ -20,6 +20,8 @@
 package org.neo4j.graphalgo.core.utils.paged;
 
 import com.carrotsearch.hppc.IntDoubleMap;
+import com.carrotsearch.hppc.cursors.IntDoubleCursor;
+import com.carrotsearch.hppc.procedures.LongDoubleProcedure;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
@@ -132,6 +134,43 @@ public final class PagedLongDoubleMap {
         return subMap;
     }
 
+    /**
+     * Calls the procedure for every stored entry, page by page.
+     */
+    public void forEach(LongDoubleProcedure procedure) {
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            TrackingIntDoubleHashMap page = pages[pageIndex];
+            if (page != null) {
+                long pageOffset = (long) pageIndex << PAGE_SHIFT;
+                for (IntDoubleCursor cursor : page) {
+                    procedure.apply(pageOffset + cursor.key, cursor.value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calls the procedure for every stored entry, page by page, and releases every page once it has been visited,
+     * so that the entries can be moved into another structure without keeping both alive.
+     * The map is not usable afterwards.
+     */
+    public void drain(LongDoubleProcedure procedure) {
+        TrackingIntDoubleHashMap[] pages = this.pages;
+        this.pages = null;
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            TrackingIntDoubleHashMap page = pages[pageIndex];
+            if (page != null) {
+                pages[pageIndex] = null;
+                long pageOffset = (long) pageIndex << PAGE_SHIFT;
+                for (IntDoubleCursor cursor : page) {
+                    procedure.apply(pageOffset + cursor.key, cursor.value);
+                }
+                tracker.remove(page.instanceSize());
+            }
+        }
+        tracker.remove(sizeOfObjectArray(pages.length));
+    }
+
     public OptionalLong getMaxValue() {
         return parallelStream(Arrays.stream(pages), concurrency, stream -> stream
                 .filter(Objects::nonNull)
@@ -60,4 +60,13 @@ public interface DisjointSetStruct {
      * @return element count
      */
     long size();
+
+    /**
+     * Releases the internal data structures, the struct is not usable afterwards.
+     *
+     * @return the number of bytes freed
+     */
+    default long release() {
+        return 0L;
+    }
 }
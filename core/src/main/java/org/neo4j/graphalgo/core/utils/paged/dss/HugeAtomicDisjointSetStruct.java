@@ -97,10 +97,7 @@ public final class HugeAtomicDisjointSetStruct implements DisjointSetStruct {
         this.parent = HugeAtomicLongArray.newArray(capacity, PageFiller.identity(concurrency), tracker);
         this.communities = HugeAtomicLongArray.newArray(
             capacity,
-            PageFiller.of(concurrency, nodeId -> {
-                double communityIdValue = communityMapping.nodeProperty(nodeId, Double.NaN);
-                return Double.isNaN(communityIdValue) ? -1L : (long) communityIdValue;
-            }),
+            PageFiller.of(concurrency, nodeId -> communityMapping.longNodeProperty(nodeId, -1L)),
             tracker
         );
         maxCommunityId = new AtomicLong(communityMapping.getMaxPropertyValue().orElse(NO_SUCH_SEED_VALUE));
@@ -110,7 +107,11 @@ public final class HugeAtomicDisjointSetStruct implements DisjointSetStruct {
         return parent.get(id);
     }
 
-    private long find(long id) {
+    /**
+     * Returns the root of the set that contains {@code id}, ignoring any seeded community ids.
+     * Halves the path from {@code id} to the root on the way.
+     */
+    public long find(long id) {
         long parent;
         while (id != (parent = parent(id))) {
             long grandParent = parent(parent);
@@ -196,4 +197,13 @@ public final class HugeAtomicDisjointSetStruct implements DisjointSetStruct {
     public long size() {
         return parent.size();
     }
+
+    @Override
+    public long release() {
+        long freed = parent.release();
+        if (communities != null) {
+            freed += communities.release();
+        }
+        return freed;
+    }
 }
@@ -42,6 +42,7 @@ public final class IncrementalDisjointSetStruct extends SequentialDisjointSetStr
             .add("internalToProvidedIds", HugeLongLongMap.memoryEstimation())
             .build();
     private static final int NO_SUCH_SEED_PROPERTY = -1;
+    private static final long NO_COMMUNITY = Long.MIN_VALUE;
 
     private final HugeLongArray parent;
     private final HugeLongLongMap internalToProvidedIds;
@@ -84,11 +85,9 @@ public final class IncrementalDisjointSetStruct extends SequentialDisjointSetStr
 
         this.parent.setAll(nodeId -> {
             long parentValue = -1;
-            double communityIdValue = communityMapping.nodeProperty(nodeId, Double.NaN);
-
-            if (!Double.isNaN(communityIdValue)) {
-                long communityId = (long) communityIdValue;
+            long communityId = communityMapping.longNodeProperty(nodeId, NO_COMMUNITY);
 
+            if (communityId != NO_COMMUNITY) {
                 long internalCommunityId = internalMapping.getOrDefault(communityId, -1);
                 if (internalCommunityId != -1) {
                     parentValue = internalCommunityId;
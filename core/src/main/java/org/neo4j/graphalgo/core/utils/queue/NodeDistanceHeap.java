@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.queue;
+
+import org.apache.lucene.util.ArrayUtil;
+
+import java.util.Arrays;
+
+/**
+ * A binary min heap of (node, key) entries without a decrease-key operation.
+ * A node is added again whenever its key improves, callers skip the outdated entries when they are popped.
+ * Compared to a heap with decrease-key this needs no node to position index, which would have to be
+ * as large as the graph or a hash map.
+ */
+public final class NodeDistanceHeap {
+
+    private long[] nodes;
+    private double[] keys;
+    private int size;
+
+    public NodeDistanceHeap() {
+        this.nodes = new long[16];
+        this.keys = new double[16];
+    }
+
+    public void add(long node, double key) {
+        if (size == nodes.length) {
+            int newLength = ArrayUtil.oversize(size + 1, Long.BYTES);
+            nodes = Arrays.copyOf(nodes, newLength);
+            keys = Arrays.copyOf(keys, newLength);
+        }
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            nodes[index] = nodes[parent];
+            keys[index] = keys[parent];
+            index = parent;
+        }
+        nodes[index] = node;
+        keys[index] = key;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the node with the smallest key, the heap must not be empty
+     */
+    public long topNode() {
+        return nodes[0];
+    }
+
+    /**
+     * @return the smallest key or {@link Double#POSITIVE_INFINITY} if the heap is empty
+     */
+    public double topKey() {
+        return size == 0 ? Double.POSITIVE_INFINITY : keys[0];
+    }
+
+    public void pop() {
+        size--;
+        long node = nodes[size];
+        double key = keys[size];
+        int index = 0;
+        int child;
+        while ((child = 2 * index + 1) < size) {
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            nodes[index] = nodes[child];
+            keys[index] = keys[child];
+            index = child;
+        }
+        nodes[index] = node;
+        keys[index] = key;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
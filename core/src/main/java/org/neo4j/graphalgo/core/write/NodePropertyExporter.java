@@ -25,15 +25,21 @@ import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.LazyBatchCollection;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetrics;
+import org.neo4j.graphalgo.core.utils.partition.PartitionConsumer;
 import org.neo4j.graphalgo.utils.StatementApi;
 import org.neo4j.internal.kernel.api.Write;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.values.storable.Value;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
@@ -52,6 +58,7 @@ public final class NodePropertyExporter extends StatementApi {
     private final long nodeCount;
     private final LongUnaryOperator toOriginalId;
     private final LongAdder propertiesWritten;
+    private final JobMetrics metrics;
 
     public static Builder of(GraphDatabaseAPI db, IdMapping idMapping, TerminationFlag terminationFlag) {
         return new Builder(db, idMapping, terminationFlag);
@@ -132,6 +139,7 @@ public final class NodePropertyExporter extends StatementApi {
         this.concurrency = concurrency;
         this.executorService = executorService;
         this.propertiesWritten = new LongAdder();
+        this.metrics = JobMetrics.current();
     }
 
     public <T> void write(String property, T data, PropertyTranslator<T> translator) {
@@ -149,11 +157,26 @@ public final class NodePropertyExporter extends StatementApi {
     }
 
     private void writeInternal(List<ResolvedNodeProperty> nodeProperties) {
+        long writtenBefore = propertiesWritten();
         if (ParallelUtil.canRunInParallel(executorService)) {
             writeParallel(nodeProperties);
         } else {
             writeSequential(nodeProperties);
         }
+        metrics.addPropertiesWritten(propertiesWritten() - writtenBefore);
+    }
+
+    /**
+     * Starts a write that runs concurrently to the computation of its data.
+     * The computation hands over finished node ranges through the returned
+     * {@link PipelinedWrite}, which buffers them in a bounded queue and
+     * writes them on the executor of this exporter.
+     */
+    public <T> PipelinedWrite<T> pipelined(String property, PropertyTranslator<T> translator) {
+        if (!ParallelUtil.canRunInParallel(executorService)) {
+            throw new IllegalStateException("Pipelined writes require an executor to run the write transactions on.");
+        }
+        return new PipelinedWrite<>(getOrCreatePropertyToken(property), translator);
     }
 
     public long propertiesWritten() {
@@ -251,4 +274,122 @@ public final class NodePropertyExporter extends StatementApi {
             }
         }
     }
+
+    public final class PipelinedWrite<T> implements PartitionConsumer<T> {
+
+        private static final int QUEUE_CAPACITY_PER_WRITER = 4;
+        private static final long POLL_INTERVAL_MILLIS = 100L;
+
+        private final int propertyToken;
+        private final PropertyTranslator<T> translator;
+        private final BlockingQueue<Slice<T>> queue;
+        private final Collection<Future<?>> writers;
+        private final AtomicLong progress;
+
+        private volatile boolean accepting;
+
+        private PipelinedWrite(int propertyToken, PropertyTranslator<T> translator) {
+            this.propertyToken = propertyToken;
+            this.translator = translator;
+            this.queue = new ArrayBlockingQueue<>(concurrency * QUEUE_CAPACITY_PER_WRITER);
+            this.writers = new ArrayList<>(concurrency);
+            this.progress = new AtomicLong(0L);
+            this.accepting = true;
+            for (int i = 0; i < concurrency; i++) {
+                writers.add(executorService.submit(this::drain));
+            }
+        }
+
+        /**
+         * Enqueues a finished node range, blocking the calling compute thread
+         * while the writers are behind by more than the queue capacity.
+         */
+        @Override
+        public void accept(T result, long startNode, long nodeCount) {
+            Slice<T> slice = new Slice<>(result, startNode, nodeCount);
+            try {
+                while (!queue.offer(slice, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    terminationFlag.assertRunning();
+                    if (!accepting || writers.stream().anyMatch(Future::isDone)) {
+                        throw new IllegalStateException("Pipelined write is no longer accepting partitions.");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+
+        /**
+         * Signals that no more ranges will be handed over and blocks until
+         * all enqueued ranges have been written.
+         */
+        public void awaitTermination() {
+            accepting = false;
+            ParallelUtil.awaitTermination(writers);
+            progressLogger.logDone();
+        }
+
+        public long propertiesWritten() {
+            return NodePropertyExporter.this.propertiesWritten();
+        }
+
+        /**
+         * Abandons all enqueued ranges, e.g. when the computation failed.
+         */
+        public void cancel() {
+            accepting = false;
+            queue.clear();
+            writers.forEach(writer -> writer.cancel(false));
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    Slice<T> slice = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (slice == null) {
+                        if (!accepting && queue.isEmpty()) {
+                            return;
+                        }
+                        terminationFlag.assertRunning();
+                    } else {
+                        write(slice);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void write(Slice<T> slice) {
+            acceptInTransaction(stmt -> {
+                terminationFlag.assertRunning();
+                Write ops = stmt.dataWrite();
+                long end = slice.startNode + slice.nodeCount;
+                long written = 0L;
+                for (long nodeId = slice.startNode; nodeId < end; nodeId++) {
+                    Value prop = translator.toProperty(propertyToken, slice.result, nodeId);
+                    if (prop != null) {
+                        ops.nodeSetProperty(toOriginalId.applyAsLong(nodeId), propertyToken, prop);
+                        ++written;
+                    }
+                }
+                propertiesWritten.add(written);
+                metrics.addPropertiesWritten(written);
+                progressLogger.logProgress(progress.addAndGet(slice.nodeCount), nodeCount);
+            });
+        }
+    }
+
+    private static final class Slice<T> {
+        final T result;
+        final long startNode;
+        final long nodeCount;
+
+        Slice(T result, long startNode, long nodeCount) {
+            this.result = result;
+            this.startNode = startNode;
+            this.nodeCount = nodeCount;
+        }
+    }
 }
@@ -95,6 +95,27 @@ public interface PropertyTranslator<T> {
         }
     }
 
+    interface OfFloatArray<T> extends PropertyTranslator<T> {
+        float[] toFloatArray(final T data, final long nodeId);
+
+        @Override
+        default double toDouble(final T data, final long nodeId) {
+            throw new UnsupportedOperationException("Can not translate list property to single double value.");
+        }
+
+        /**
+         * Nodes without an array are skipped.
+         */
+        @Override
+        default Value toProperty(
+            int propertyId,
+            T data,
+            long nodeId) {
+            final float[] value = toFloatArray(data, nodeId);
+            return value == null ? null : Values.floatArray(value);
+        }
+    }
+
     @FunctionalInterface
     interface SeededDataAccessFunction<T> {
 
@@ -104,6 +125,8 @@ public interface PropertyTranslator<T> {
 
     final class OfLongIfChanged<T> implements PropertyTranslator<T> {
 
+        private static final long NO_SEED = Long.MIN_VALUE;
+
         private final NodeProperties currentProperties;
         private final SeededDataAccessFunction<T> newPropertiesFn;
 
@@ -119,9 +142,9 @@ public interface PropertyTranslator<T> {
 
         @Override
         public Value toProperty(int propertyId, T data, long nodeId) {
-            double seedValue = currentProperties.nodeProperty(nodeId, Double.NaN);
+            long seedValue = currentProperties.longNodeProperty(nodeId, NO_SEED);
             long computedValue = newPropertiesFn.getValue(data, nodeId);
-            return Double.isNaN(seedValue) || ((long) seedValue != computedValue) ? Values.longValue(computedValue) : null;
+            return seedValue == NO_SEED || seedValue != computedValue ? Values.longValue(computedValue) : null;
         }
     }
 }
@@ -27,6 +27,7 @@ import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetrics;
 import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 import org.neo4j.graphalgo.utils.StatementApi;
 import org.neo4j.internal.kernel.api.Write;
@@ -49,6 +50,7 @@ public final class RelationshipExporter extends StatementApi {
     private final TerminationFlag terminationFlag;
     private final ProgressLogger progressLogger;
     private final ExecutorService executorService;
+    private final JobMetrics metrics;
 
     public static RelationshipExporter.Builder of(GraphDatabaseAPI db, Graph graph, TerminationFlag terminationFlag) {
         return new RelationshipExporter.Builder(
@@ -94,6 +96,7 @@ public final class RelationshipExporter extends StatementApi {
         this.terminationFlag = terminationFlag;
         this.progressLogger = progressLogger;
         this.executorService = DEFAULT_SINGLE_THREAD_POOL;
+        this.metrics = JobMetrics.current();
     }
 
     public void write(String relationshipType) {
@@ -131,7 +134,7 @@ public final class RelationshipExporter extends StatementApi {
                 partition.nodeCount,
                 afterWriteConsumer
             ))
-            .forEach(runnable -> ParallelUtil.run(runnable, executorService));
+            .forEach(runnable -> ParallelUtil.run(runnable, terminationFlag, executorService));
     }
 
     private Runnable createBatchRunnable(
@@ -146,13 +149,14 @@ public final class RelationshipExporter extends StatementApi {
             terminationFlag.assertRunning();
             long end = start + length;
             Write ops = stmt.dataWrite();
-            RelationshipWithPropertyConsumer writeConsumer = new WriteConsumer(graph, ops, relationshipToken, propertyToken);
+            WriteConsumer writeConsumer = new WriteConsumer(graph, ops, relationshipToken, propertyToken);
+            RelationshipWithPropertyConsumer consumer = writeConsumer;
             if (afterWrite != null) {
-                writeConsumer = writeConsumer.andThen(afterWrite);
+                consumer = writeConsumer.andThen(afterWrite);
             }
             RelationshipIterator relationshipIterator = graph.concurrentCopy();
             for (long currentNode = start; currentNode < end; currentNode++) {
-                relationshipIterator.forEachRelationship(currentNode, Double.NaN, writeConsumer);
+                relationshipIterator.forEachRelationship(currentNode, Double.NaN, consumer);
 
                 // Only log after writing relationships for 10_000 nodes
                 if ((currentNode - start) % TerminationFlag.RUN_CHECK_NODE_COUNT == 0) {
@@ -170,6 +174,7 @@ public final class RelationshipExporter extends StatementApi {
                 progress.addAndGet((end - start + 1) % TerminationFlag.RUN_CHECK_NODE_COUNT),
                 nodeCount
             );
+            metrics.addRelationshipsWritten(writeConsumer.relationshipsWritten);
         });
     }
 
@@ -179,6 +184,7 @@ public final class RelationshipExporter extends StatementApi {
         private final Write ops;
         private final int relTypeToken;
         private final int propertyToken;
+        private long relationshipsWritten;
 
         WriteConsumer(IdMapping idMapping, Write ops, int relTypeToken, int propertyToken) {
             this.idMapping = idMapping;
@@ -202,6 +208,7 @@ public final class RelationshipExporter extends StatementApi {
                         Values.doubleValue(property)
                     );
                 }
+                ++relationshipsWritten;
             } catch (Exception e) {
                 throwIfUnchecked(e);
                 throw new RuntimeException(e);
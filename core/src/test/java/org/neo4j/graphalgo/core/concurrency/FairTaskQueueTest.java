@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FairTaskQueueTest {
+
+    @Test
+    void shouldAlternateBetweenJobs() {
+        FairTaskQueue queue = new FairTaskQueue(10);
+        Runnable a1 = task("a"), a2 = task("a"), a3 = task("a"), b1 = task("b"), b2 = task("b");
+
+        offerAll(queue, a1, a2, a3);
+        offerAll(queue, b1, b2);
+
+        assertEquals(5, queue.size());
+        assertEquals(Arrays.asList(a1, b1, a2, b2, a3), drain(queue));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void shouldBoundCapacityPerJob() {
+        FairTaskQueue queue = new FairTaskQueue(2);
+
+        offerAll(queue, task("a"), task("a"));
+        assertFalse(queue.offer(task("a")));
+        assertTrue(queue.offer(task("b")));
+    }
+
+    @Test
+    void shouldShareOneLaneForTasksWithoutLane() {
+        FairTaskQueue queue = new FairTaskQueue(2);
+        Runnable shared1 = task(), shared2 = task(), a1 = task("a");
+
+        assertEquals(2, queue.remainingCapacity());
+        assertTrue(queue.offer(shared1));
+        assertTrue(queue.offer(a1));
+        assertTrue(queue.offer(shared2));
+        assertEquals(0, queue.remainingCapacity());
+        assertFalse(queue.offer(task()));
+
+        assertEquals(Arrays.asList(shared1, a1, shared2), drain(queue));
+    }
+
+    @Test
+    void shouldUnblockPutWhenTaskIsTaken() throws Exception {
+        FairTaskQueue queue = new FairTaskQueue(1);
+        Runnable first = task(), second = task();
+        queue.put(first);
+
+        CountDownLatch putDone = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(second);
+                putDone.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        assertFalse(putDone.await(50, TimeUnit.MILLISECONDS));
+        assertSame(first, queue.take());
+        assertTrue(putDone.await(5, TimeUnit.SECONDS));
+        assertSame(second, queue.poll(1, TimeUnit.SECONDS));
+        producer.join();
+    }
+
+    @Test
+    void shouldStopWaitingInPutOnceExecutorIsShutDown() throws Exception {
+        FairTaskQueue queue = new FairTaskQueue(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        queue.bindTo(executor);
+        queue.put(task());
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch putDone = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(task());
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+            putDone.countDown();
+        });
+        producer.start();
+
+        assertFalse(putDone.await(50, TimeUnit.MILLISECONDS));
+        executor.shutdown();
+        assertTrue(putDone.await(5, TimeUnit.SECONDS));
+        assertTrue(failure.get() instanceof RejectedExecutionException);
+        assertEquals(1, queue.size());
+        producer.join();
+    }
+
+    @Test
+    void shouldRemoveTasksAndEmptyLanes() {
+        FairTaskQueue queue = new FairTaskQueue(10);
+        Runnable a1 = task("a"), b1 = task("b"), b2 = task("b");
+        offerAll(queue, a1);
+        offerAll(queue, b1, b2);
+
+        assertTrue(queue.remove(a1));
+        assertFalse(queue.remove(a1));
+        assertEquals(Arrays.asList(b1, b2), new ArrayList<>(queue));
+        assertEquals(Arrays.asList(b1, b2), drain(queue));
+        assertNull(queue.poll());
+    }
+
+    private static void offerAll(FairTaskQueue queue, Runnable... tasks) {
+        for (Runnable task : tasks) {
+            assertTrue(queue.offer(task));
+        }
+    }
+
+    private static List<Runnable> drain(FairTaskQueue queue) {
+        List<Runnable> tasks = new ArrayList<>();
+        queue.drainTo(tasks);
+        return tasks;
+    }
+
+    private static Runnable task() {
+        return () -> {};
+    }
+
+    private static Runnable task(String job) {
+        return FairTaskQueue.inLane(job, task());
+    }
+}
@@ -43,6 +43,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAccumulator;
 import java.util.concurrent.locks.LockSupport;
@@ -245,6 +246,85 @@ final class ParallelUtilTest {
         });
     }
 
+    @Test
+    void shouldRunAtMostConcurrencyTasksOnForkJoinPool() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Tasks ts = new Tasks(6, 5);
+            ParallelUtil.runWithConcurrency(2, ts, pool);
+            assertTrue(ts.maxRunning() <= 2);
+            assertEquals(6, ts.started());
+            assertEquals(6, ts.requested());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void shouldPropagateFailuresFromForkJoinPool() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Runnable> tasks = asList(
+                () -> {},
+                () -> { throw new IllegalArgumentException("boom"); },
+                () -> {}
+            );
+            IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> ParallelUtil.runWithConcurrency(2, tasks, pool)
+            );
+            assertThat(exception.getMessage(), containsString("boom"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @ValueSource(ints = {1, 2, 4, 8})
+    @ParameterizedTest
+    void shouldVisitEachNodeOnceWithRangeSplitting(int concurrency) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int nodeCount = 100_000;
+            AtomicIntegerArray visits = new AtomicIntegerArray(nodeCount);
+            ParallelUtil.parallelForEachNode(
+                nodeCount,
+                concurrency,
+                TerminationFlag.RUNNING_TRUE,
+                pool,
+                nodeId -> visits.incrementAndGet((int) nodeId)
+            );
+            for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+                assertEquals(1, visits.get(nodeId), "node " + nodeId);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @ValueSource(ints = {1, 2, 4})
+    @ParameterizedTest
+    void shouldVisitNodesWithAtMostConcurrencyThreads(int concurrency) {
+        ForkJoinPool pool = new ForkJoinPool(8);
+        try {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            ParallelUtil.parallelForEachNode(
+                10_000,
+                concurrency,
+                TerminationFlag.RUNNING_TRUE,
+                pool,
+                nodeId -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    LockSupport.parkNanos(1_000);
+                    running.decrementAndGet();
+                }
+            );
+            assertTrue(maxRunning.get() <= concurrency, "ran with " + maxRunning.get() + " threads");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     void shouldRunSequentially() {
         withPool(4, pool -> {
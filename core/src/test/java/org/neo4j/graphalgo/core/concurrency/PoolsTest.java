@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PoolsTest {
 
@@ -46,5 +47,13 @@ class PoolsTest {
         assertEquals(2 * availableProcessors, defaultPool.getMaximumPoolSize());
     }
 
+    @Test
+    void shouldScheduleTasksOfConcurrentJobsFairly() {
+        ThreadPoolExecutor defaultPool = (ThreadPoolExecutor) Pools.createDefaultPool();
+
+        assertTrue(defaultPool.getQueue() instanceof FairTaskQueue);
+        assertTrue(defaultPool.getRejectedExecutionHandler() instanceof Pools.CallerBlocksPolicy);
+    }
+
 
 }
\ No newline at end of file
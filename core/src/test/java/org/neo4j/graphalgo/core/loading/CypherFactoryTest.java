@@ -166,6 +166,75 @@ class CypherFactoryTest {
         loadAndTestGraph(nodeStatement, relStatement, Aggregation.NONE);
     }
 
+    @Test
+    void testLoadInParallelIdRangeBatches() {
+        String nodeStatement = "MATCH (n) WHERE id(n) >= $lower AND id(n) < $upper RETURN id(n) AS id";
+        String relStatement =
+            "MATCH (n)-[r:REL]->(m) WHERE id(r) >= $lower AND id(r) < $upper " +
+            "RETURN id(n) AS source, id(m) AS target, r.prop AS weight";
+
+        CypherLoaderBuilder builder = new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery(nodeStatement)
+            .relationshipQuery(relStatement)
+            .concurrency(4)
+            .addRelationshipProperty(PropertyMapping.of("weight", 0D));
+
+        Graph graph = applyInTransaction(db, tx -> builder.build().load(CypherFactory.class));
+
+        assertEquals(COUNT, graph.nodeCount());
+        assertEquals(COUNT, graph.relationshipCount());
+        AtomicInteger total = new AtomicInteger();
+        graph.forEachNode(n -> {
+            graph.forEachRelationship(n, Double.NaN, (s, t, w) -> {
+                total.addAndGet((int) w);
+                return true;
+            });
+            return true;
+        });
+        assertEquals(9 * COUNT / 2, total.get());
+    }
+
+    @Test
+    void testLoadUserDefinedIdRange() {
+        String nodeStatement = "MATCH (n) RETURN id(n) AS id";
+        String relStatement =
+            "MATCH (n)-[r:REL]->(m) WHERE id(r) >= $lower AND id(r) < $upper " +
+            "RETURN id(n) AS source, id(m) AS target";
+
+        Graph graph = applyInTransaction(db, tx -> new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery(nodeStatement)
+            .relationshipQuery(relStatement)
+            .parameters(MapUtil.map("lower", 10, "upper", 20))
+            .concurrency(4)
+            .build()
+            .load(CypherFactory.class));
+
+        assertEquals(COUNT, graph.nodeCount());
+        assertEquals(10, graph.relationshipCount());
+    }
+
+    @Test
+    void testLoadMoreNodesThanInTheStore() {
+        String nodeStatement = "UNWIND range(0, 2 * $count) AS id RETURN id";
+        String relStatement = "MATCH (n)-[r:REL]->(m) RETURN id(n) AS source, id(m) AS target";
+
+        Graph graph = applyInTransaction(db, tx -> new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery(nodeStatement)
+            .relationshipQuery(relStatement)
+            .parameters(MapUtil.map("count", COUNT))
+            .build()
+            .load(CypherFactory.class));
+
+        assertEquals(2 * COUNT + 1, graph.nodeCount());
+        assertEquals(COUNT, graph.relationshipCount());
+        for (long nodeId = 0; nodeId <= 2 * COUNT; nodeId++) {
+            assertEquals(nodeId, graph.toOriginalNodeId(graph.toMappedNodeId(nodeId)));
+        }
+    }
+
     @Test
     void testLoadRelationshipsAccumulateWeightCypher() {
         String nodeStatement = "MATCH (n) RETURN id(n) AS id";
@@ -42,10 +42,16 @@ import org.neo4j.graphalgo.core.GraphLoader;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.graphalgo.QueryRunner.runQuery;
 import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
 import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
@@ -154,6 +160,36 @@ class GraphStoreCatalogTest {
         assertGraphEquals(filteredAllGraph, nonFilteredGraph);
     }
 
+    @Test
+    void testIndexesAreReleasedWithTheGraph() {
+        GraphLoader graphLoader = new StoreLoaderBuilder()
+            .api(db)
+            .graphName("myGraph")
+            .loadAnyLabel()
+            .loadAnyRelationshipType()
+            .build();
+        GraphStoreCatalog.set(graphLoader.createConfig(), graphLoader.graphStore(NativeFactory.class));
+
+        AtomicInteger releases = new AtomicInteger();
+        GraphIndex index = releases::incrementAndGet;
+        GraphStoreCatalog.setIndex("", "myGraph", "index", index);
+
+        assertSame(index, GraphStoreCatalog.getIndex("", "myGraph", "index").orElse(null));
+        assertFalse(GraphStoreCatalog.getIndex("", "myGraph", "other").isPresent());
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> GraphStoreCatalog.setIndex("", "myGraph", "index", index)
+        );
+        assertThrows(
+            NoSuchElementException.class,
+            () -> GraphStoreCatalog.setIndex("", "otherGraph", "index", index)
+        );
+
+        GraphStoreCatalog.remove("", "myGraph");
+        assertEquals(1, releases.get());
+        assertFalse(GraphStoreCatalog.getIndex("", "myGraph", "index").isPresent());
+    }
+
     @NotNull
     private List<NodeProjection> nodeProjections(boolean includeIgnore) {
         NodeProjection aMapping = NodeProjection.builder()
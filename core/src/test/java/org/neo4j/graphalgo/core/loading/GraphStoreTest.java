@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.compat.GraphDbApi;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.QueryRunner.runQuery;
+import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class GraphStoreTest {
+
+    private GraphDbApi db;
+
+    @BeforeEach
+    void setup() {
+        db = TestDatabaseCreator.createTestDatabase();
+        runQuery(db, " CREATE (a)-[:T1]->(b)" +
+                     " CREATE (b)-[:T2]->(a)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    void shouldCreateNewVersionOnMutation() {
+        GraphStore graphStore = loadGraphStore();
+        assertEquals(0L, graphStore.version());
+
+        graphStore.addNodeProperty("foo", nodeId -> 42.0);
+        assertEquals(1L, graphStore.version());
+
+        // properties that already exist are not replaced and do not create a version
+        graphStore.addNodeProperty("foo", nodeId -> 1337.0);
+        assertEquals(1L, graphStore.version());
+        assertEquals(42.0, graphStore.nodeProperty("foo").nodeProperty(0));
+    }
+
+    @Test
+    void shouldUpdateNodePropertiesInANewVersion() {
+        GraphStore graphStore = loadGraphStore();
+        graphStore.addNodeProperty("foo", nodeId -> 42.0);
+        Graph before = graphStore.getGraph("T1");
+
+        graphStore.updateNodeProperty("foo", nodeId -> 1337.0);
+
+        assertEquals(2L, graphStore.version());
+        assertEquals(1337.0, graphStore.nodeProperty("foo").nodeProperty(0));
+        assertEquals(42.0, before.nodeProperties("foo").nodeProperty(0));
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> graphStore.updateNodeProperty("bar", nodeId -> 1.0)
+        );
+        assertEquals("Node property `bar` does not exist in the in-memory graph.", exception.getMessage());
+    }
+
+    @Test
+    void shouldNotSeeMutationsOfSnapshot() {
+        GraphStore graphStore = loadGraphStore();
+        GraphStore snapshot = graphStore.snapshot();
+
+        graphStore.addNodeProperty("foo", nodeId -> 42.0);
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = new HugeGraphUtil.RelationshipsBuilder(
+            graphStore.nodes(),
+            Orientation.NATURAL,
+            false,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+        relationshipsBuilder.addFromInternal(1, 1);
+        graphStore.addRelationshipType("T3", Optional.empty(), relationshipsBuilder.build());
+
+        assertTrue(graphStore.hasNodeProperty("foo"));
+        assertTrue(graphStore.hasRelationshipType("T3"));
+        assertFalse(snapshot.hasNodeProperty("foo"));
+        assertFalse(snapshot.hasRelationshipType("T3"));
+        assertEquals(0L, snapshot.version());
+    }
+
+    @Test
+    void shouldPinGraphsToTheVersionTheyWereCreatedFrom() {
+        GraphStore graphStore = loadGraphStore();
+        Graph before = graphStore.getGraph("T1");
+
+        graphStore.addNodeProperty("foo", nodeId -> 42.0);
+        graphStore.applyRelationshipDelta("T1", new RelationshipDelta().delete(0, 1), Aggregation.NONE, 4, Pools.DEFAULT);
+
+        assertGraphEquals(fromGdl("(a)-->(b)"), before);
+        assertFalse(before.availableNodeProperties().contains("foo"));
+        assertEquals(0L, graphStore.getGraph("T1").relationshipCount());
+    }
+
+    @Test
+    void shouldOnlyChangeRelationshipVersionOnRelationshipMutations() {
+        GraphStore graphStore = loadGraphStore();
+        assertEquals(0L, graphStore.relationshipVersion());
+
+        graphStore.addNodeProperty("foo", nodeId -> 42.0);
+        assertEquals(0L, graphStore.relationshipVersion());
+
+        graphStore.applyRelationshipDelta("T1", new RelationshipDelta().delete(0, 1), Aggregation.NONE, 4, Pools.DEFAULT);
+        assertEquals(graphStore.version(), graphStore.relationshipVersion());
+        assertEquals(2L, graphStore.relationshipVersion());
+    }
+
+    @Test
+    void shouldRejectRelationshipDeltasForOutdatedRelationshipVersions() {
+        GraphStore graphStore = loadGraphStore();
+        long relationshipVersion = graphStore.relationshipVersion();
+
+        graphStore.applyRelationshipDelta(
+            "T2",
+            new RelationshipDelta().insert(0, 1),
+            Aggregation.NONE,
+            4,
+            Pools.DEFAULT,
+            relationshipVersion
+        );
+
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
+            () -> graphStore.applyRelationshipDelta(
+                "T1",
+                new RelationshipDelta().delete(0, 1),
+                Aggregation.NONE,
+                4,
+                Pools.DEFAULT,
+                relationshipVersion
+            )
+        );
+
+        assertEquals(
+            "Relationships have been changed concurrently, expected relationship version 0 but found 1.",
+            exception.getMessage()
+        );
+        assertEquals(1L, graphStore.relationshipCount("T1"));
+        assertEquals(2L, graphStore.relationshipCount("T2"));
+    }
+
+    @Test
+    void shouldNeverExposeTopologyAndPropertyOfDifferentVersions() throws Exception {
+        GraphStore graphStore = loadGraphStore();
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = new HugeGraphUtil.RelationshipsBuilder(
+            graphStore.nodes(),
+            Orientation.NATURAL,
+            true,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+        relationshipsBuilder.addFromInternal(0, 1, 0.0);
+        graphStore.addRelationshipType("P", Optional.of("p"), relationshipsBuilder.build());
+
+        // the i-th parallel relationship carries the property i, a torn read would break the sequence
+        int updates = 100;
+        Future<?> writer = Pools.DEFAULT.submit(() -> {
+            for (int i = 1; i <= updates; i++) {
+                graphStore.applyRelationshipDelta(
+                    "P",
+                    new RelationshipDelta().insert(0, 1, i),
+                    Aggregation.NONE,
+                    4,
+                    Pools.DEFAULT
+                );
+            }
+        });
+
+        do {
+            Graph graph = graphStore.getGraph("P", Optional.of("p"));
+            long relationshipCount = graph.relationshipCount();
+            assertEquals(relationshipCount, graph.degree(0));
+            double[] properties = new double[(int) relationshipCount];
+            int[] index = {0};
+            graph.forEachRelationship(0, Double.NaN, (source, target, property) -> {
+                properties[index[0]++] = property;
+                return true;
+            });
+            Arrays.sort(properties);
+            for (int i = 0; i < properties.length; i++) {
+                assertEquals(i, properties[i]);
+            }
+        } while (!writer.isDone());
+
+        writer.get();
+        assertEquals(updates + 1, graphStore.relationshipCount("P"));
+    }
+
+    private GraphStore loadGraphStore() {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .addRelationshipType("T1")
+            .addRelationshipType("T2")
+            .build()
+            .graphStore(NativeFactory.class);
+    }
+}
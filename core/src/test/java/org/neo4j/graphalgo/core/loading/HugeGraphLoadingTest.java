@@ -34,15 +34,20 @@ import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.RelationshipType;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.QueryRunner.runQuery;
 import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
 import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.createNode;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runInTransaction;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
 
 final class HugeGraphLoadingTest {
 
@@ -169,6 +174,79 @@ final class HugeGraphLoadingTest {
         assertEquals(11, graph.relationshipCount());
     }
 
+    @Test
+    void testRelationshipPropertiesWrittenOutOfRelationshipOrder() {
+        int nodeCount = 1_000;
+        // more than one relationship batch
+        int relationshipCount = 25_000;
+        runQuery(db, "UNWIND range(0, $nodeCount - 1) AS i CREATE (:Node {id: i})", map("nodeCount", nodeCount));
+        runQuery(
+            db,
+            "MATCH (n:Node) WITH n ORDER BY n.id WITH collect(n) AS nodes " +
+            "UNWIND range(0, $relationshipCount - 1) AS i " +
+            "WITH nodes[i % size(nodes)] AS a, nodes[(i * 7 + 3) % size(nodes)] AS b " +
+            "CREATE (a)-[:TYPE]->(b)",
+            map("relationshipCount", relationshipCount)
+        );
+        // every transaction allocates the property records of one residue class of relationship ids,
+        // so the property references within a batch of relationships are interleaved and out of order
+        for (int residue : new int[]{7, 2, 9, 0, 4, 8, 1, 6, 3, 5}) {
+            runQuery(
+                db,
+                "MATCH (a)-[r:TYPE]->(b) WHERE id(r) % 10 = $residue SET r.source = id(a), r.target = id(b)",
+                map("residue", residue)
+            );
+        }
+
+        GraphStore graphStore = new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .putRelationshipProjectionsWithIdentifier(
+                "TYPE_NATURAL",
+                RelationshipProjection.of("TYPE", Orientation.NATURAL)
+            )
+            .putRelationshipProjectionsWithIdentifier(
+                "TYPE_UNDIRECTED",
+                RelationshipProjection.of("TYPE", Orientation.UNDIRECTED)
+            )
+            .addRelationshipProperty(PropertyMapping.of("source", -1.0))
+            .addRelationshipProperty(PropertyMapping.of("target", -1.0))
+            .build()
+            .graphStore(NativeFactory.class);
+
+        for (String relationshipType : Arrays.asList("TYPE_NATURAL", "TYPE_UNDIRECTED")) {
+            List<String> types = Collections.singletonList(relationshipType);
+            Graph sources = graphStore.getGraph(types, Optional.of("source"));
+            Graph targets = graphStore.getGraph(types, Optional.of("target"));
+            sources.forEachNode(nodeId -> {
+                List<double[]> sourceValues = new ArrayList<>();
+                sources.forEachRelationship(nodeId, Double.NaN, (s, t, value) -> sourceValues.add(new double[]{t, value}));
+                List<double[]> targetValues = new ArrayList<>();
+                targets.forEachRelationship(nodeId, Double.NaN, (s, t, value) -> targetValues.add(new double[]{t, value}));
+
+                assertEquals(sourceValues.size(), targetValues.size());
+                for (int i = 0; i < sourceValues.size(); i++) {
+                    long node = sources.toOriginalNodeId(nodeId);
+                    long neighbour = sources.toOriginalNodeId((long) sourceValues.get(i)[0]);
+                    long source = (long) sourceValues.get(i)[1];
+                    long target = (long) targetValues.get(i)[1];
+                    // undirected relationships carry the values of the stored direction in both directions
+                    boolean stored = source == node && target == neighbour;
+                    boolean inverse = relationshipType.equals("TYPE_UNDIRECTED") && source == neighbour && target == node;
+                    assertTrue(
+                        stored || inverse,
+                        String.format("Relationship (%d)-->(%d) has the properties of (%d)-->(%d)", node, neighbour, source, target)
+                    );
+                }
+                return true;
+            });
+            assertEquals(
+                relationshipType.equals("TYPE_NATURAL") ? relationshipCount : 2L * relationshipCount,
+                sources.relationshipCount()
+            );
+        }
+    }
+
     @Test
     void testMultipleRelationshipProjectionsOnTheSameType() {
         runQuery(db, "CREATE" +
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NodePropertiesBuilderTest {
+
+    private static NodePropertiesBuilder builder(long nodeCount) {
+        return NodePropertiesBuilder.of(nodeCount, AllocationTracker.EMPTY, 42.0, 0, "prop", 1);
+    }
+
+    @Test
+    void shouldKeepSparsePropertiesInMap() {
+        NodePropertiesBuilder builder = builder(10);
+        builder.set(3, 1.5);
+        NodeProperties properties = builder.build();
+
+        assertTrue(properties instanceof NodePropertyMap);
+        assertEquals(1, properties.size());
+        assertEquals(1.5, properties.nodeProperty(3));
+        assertEquals(42.0, properties.nodeProperty(4));
+    }
+
+    @Test
+    void shouldStoreIntegralDensePropertiesAsLongs() {
+        NodePropertiesBuilder builder = builder(4);
+        builder.set(0, 1);
+        builder.set(1, 7);
+        builder.set(3, -2);
+        NodeProperties properties = builder.build();
+
+        assertTrue(properties instanceof LongArrayNodeProperties);
+        assertEquals(3, properties.size());
+        assertEquals(7.0, properties.nodeProperty(1));
+        assertEquals(42.0, properties.nodeProperty(2));
+        assertEquals(-1.0, properties.nodeProperty(2, -1.0));
+        assertEquals(7L, properties.longNodeProperty(1, -1L));
+        assertEquals(-2L, properties.longNodeProperty(3, -1L));
+        assertEquals(-1L, properties.longNodeProperty(2, -1L));
+        assertEquals(OptionalLong.of(7L), properties.getMaxPropertyValue());
+    }
+
+    @Test
+    void shouldStoreFractionalDensePropertiesAsDoubles() {
+        NodePropertiesBuilder builder = builder(2);
+        builder.set(0, 1);
+        builder.set(1, 2.5);
+        NodeProperties properties = builder.build();
+
+        assertTrue(properties instanceof DoubleArrayNodeProperties);
+        assertEquals(2, properties.size());
+        assertEquals(1.0, properties.nodeProperty(0));
+        assertEquals(2.5, properties.nodeProperty(1));
+        assertEquals(2L, properties.longNodeProperty(1, -1L));
+        assertEquals(OptionalLong.of(2L), properties.getMaxPropertyValue());
+    }
+
+    @Test
+    void shouldGrowBeyondEstimatedNodeCount() {
+        NodePropertiesBuilder builder = builder(2);
+        builder.set(0, 1);
+        builder.set(5, 2);
+        NodeProperties properties = builder.build();
+
+        assertEquals(2L, properties.longNodeProperty(5, -1L));
+        assertEquals(-1L, properties.longNodeProperty(4, -1L));
+        assertEquals(-1L, properties.longNodeProperty(6, -1L));
+    }
+
+    @Test
+    void shouldOnlyOfferArrayAccessForArrayValues() {
+        NodePropertiesBuilder builder = builder(1);
+        builder.set(0, 1);
+        assertFalse(builder.hasArrayValues());
+        assertThrows(IllegalStateException.class, builder::buildArrays);
+    }
+
+    @Test
+    void shouldStoreArrayValues() {
+        NodePropertiesBuilder builder = builder(3);
+        builder.setArray(0, new float[]{1F, 2F});
+        builder.setArray(2, new float[]{3F});
+        assertTrue(builder.hasArrayValues());
+        ArrayNodeProperties properties = builder.buildArrays();
+
+        assertTrue(properties instanceof FloatArrayNodeProperties);
+        assertEquals(2, properties.size());
+        assertArrayEquals(new float[]{1F, 2F}, properties.floatArrayNodeProperty(0));
+        assertNull(properties.floatArrayNodeProperty(1));
+        assertArrayEquals(new float[]{3F}, properties.floatArrayNodeProperty(2));
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    void shouldFailOnMixedNumericAndArrayValues() {
+        NodePropertiesBuilder builder = builder(2);
+        builder.set(0, 1);
+        builder.setArray(1, new float[]{1F});
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, builder::buildArrays);
+        assertEquals(
+            "Node property `prop` contains both numeric and array values. Please use one type of values per property.",
+            exception.getMessage()
+        );
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.compat.GraphDbApi;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.QueryRunner.runQuery;
+import static org.neo4j.graphalgo.QueryRunner.runQueryWithRowConsumer;
+import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class RelationshipDeltaTest {
+
+    private GraphDbApi db;
+
+    private Map<String, Long> ids;
+
+    @BeforeEach
+    void setup() {
+        db = TestDatabaseCreator.createTestDatabase();
+        runQuery(db, " CREATE (a {name: 'a'})" +
+                     " CREATE (b {name: 'b'})" +
+                     " CREATE (c {name: 'c'})" +
+                     " CREATE (d {name: 'd'})" +
+                     " CREATE (a)-[:T {w: 1.0}]->(b)" +
+                     " CREATE (b)-[:T {w: 2.0}]->(c)" +
+                     " CREATE (c)-[:T {w: 3.0}]->(d)");
+
+        ids = new HashMap<>();
+        runQueryWithRowConsumer(db, "MATCH (n) RETURN n.name AS name, id(n) AS id", row ->
+            ids.put(row.getString("name"), row.getNumber("id").longValue())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Orientation.class, names = {"NATURAL", "REVERSE"})
+    void shouldApplyInsertsAndDeletes(Orientation orientation) {
+        GraphStore graphStore = loadGraphStore(orientation);
+
+        RelationshipDelta delta = new RelationshipDelta()
+            .delete(ids.get("b"), ids.get("c"))
+            .insert(ids.get("a"), ids.get("d"), 4.0)
+            .insert(ids.get("d"), ids.get("a"));
+        graphStore.applyRelationshipDelta("T", delta, Aggregation.NONE, 4, Pools.DEFAULT);
+
+        assertGraphEquals(
+            fromGdl(
+                "(a)-[{w: 1.0}]->(b), (c)-[{w: 3.0}]->(d), (a)-[{w: 4.0}]->(d), (d)-[{w: 0.0}]->(a)",
+                orientation
+            ),
+            graphStore.getGraph("T", Optional.of("w"))
+        );
+    }
+
+    @Test
+    void shouldApplyInsertsAndDeletesOnUndirectedRelationships() {
+        GraphStore graphStore = loadGraphStore(Orientation.UNDIRECTED);
+
+        RelationshipDelta delta = new RelationshipDelta()
+            .delete(ids.get("c"), ids.get("b"))
+            .insert(ids.get("d"), ids.get("d"), 5.0);
+        graphStore.applyRelationshipDelta("T", delta, Aggregation.NONE, 4, Pools.DEFAULT);
+
+        assertGraphEquals(
+            fromGdl("(a)-[{w: 1.0}]->(b), (c)-[{w: 3.0}]->(d), (d)-[{w: 5.0}]->(d)", Orientation.UNDIRECTED),
+            graphStore.getGraph("T", Optional.of("w"))
+        );
+
+        // the self loop is copied once when the next delta compacts the relationships again
+        graphStore.applyRelationshipDelta(
+            "T",
+            new RelationshipDelta().delete(ids.get("a"), ids.get("b")),
+            Aggregation.NONE,
+            4,
+            Pools.DEFAULT
+        );
+
+        assertGraphEquals(
+            fromGdl("(a), (b), (c)-[{w: 3.0}]->(d), (d)-[{w: 5.0}]->(d)", Orientation.UNDIRECTED),
+            graphStore.getGraph("T", Optional.of("w"))
+        );
+    }
+
+    @ParameterizedTest
+    @EnumSource(Orientation.class)
+    void shouldReadInsertsFromTheOverlayUntilTheNextRebuild(Orientation orientation) {
+        GraphStore graphStore = loadGraphStore(orientation);
+
+        graphStore.applyRelationshipDelta(
+            "T",
+            new RelationshipDelta().insert(ids.get("a"), ids.get("d"), 4.0).insert(ids.get("d"), ids.get("d")),
+            Aggregation.NONE,
+            4,
+            Pools.DEFAULT
+        );
+        graphStore.applyRelationshipDelta(
+            "T",
+            new RelationshipDelta().insert(ids.get("b"), ids.get("a"), 5.0),
+            Aggregation.NONE,
+            4,
+            Pools.DEFAULT
+        );
+
+        assertGraphEquals(
+            fromGdl(
+                "(a)-[{w: 1.0}]->(b), (b)-[{w: 2.0}]->(c), (c)-[{w: 3.0}]->(d), " +
+                "(a)-[{w: 4.0}]->(d), (d)-[{w: 0.0}]->(d), (b)-[{w: 5.0}]->(a)",
+                orientation
+            ),
+            graphStore.getGraph("T", Optional.of("w"))
+        );
+
+        graphStore.applyRelationshipDelta(
+            "T",
+            new RelationshipDelta().delete(ids.get("b"), ids.get("c")).delete(ids.get("d"), ids.get("d")),
+            Aggregation.NONE,
+            4,
+            Pools.DEFAULT
+        );
+
+        assertGraphEquals(
+            fromGdl(
+                "(a)-[{w: 1.0}]->(b), (c)-[{w: 3.0}]->(d), (a)-[{w: 4.0}]->(d), (b)-[{w: 5.0}]->(a)",
+                orientation
+            ),
+            graphStore.getGraph("T", Optional.of("w"))
+        );
+    }
+
+    @Test
+    void shouldCompactTheOverlayWithoutChangingTheRelationshipVersion() {
+        GraphStore graphStore = loadGraphStore(Orientation.NATURAL);
+
+        // without an executor the overlay is compacted on the calling thread as soon as it is large enough
+        long relationshipVersion = graphStore.applyRelationshipDelta(
+            "T",
+            new RelationshipDelta().insert(ids.get("d"), ids.get("a"), 4.0),
+            Aggregation.NONE,
+            1,
+            null
+        );
+
+        Graph graph = graphStore.getGraph("T", Optional.of("w"));
+        assertTrue(graph instanceof HugeGraph);
+        assertGraphEquals(
+            fromGdl("(a)-[{w: 1.0}]->(b), (b)-[{w: 2.0}]->(c), (c)-[{w: 3.0}]->(d), (d)-[{w: 4.0}]->(a)"),
+            graph
+        );
+        assertEquals(relationshipVersion, graphStore.relationshipVersion());
+        assertEquals(4L, graphStore.relationshipCount("T"));
+    }
+
+    @Test
+    void shouldAggregateInsertsWithExistingRelationships() {
+        GraphStore graphStore = loadGraphStore(Orientation.NATURAL);
+
+        RelationshipDelta delta = new RelationshipDelta()
+            .insert(ids.get("a"), ids.get("b"), 4.0)
+            .insert(ids.get("d"), ids.get("a"), 5.0)
+            .insert(ids.get("d"), ids.get("a"), 6.0);
+        graphStore.applyRelationshipDelta("T", delta, Aggregation.SUM, 4, Pools.DEFAULT);
+
+        assertGraphEquals(
+            fromGdl("(a)-[{w: 5.0}]->(b), (b)-[{w: 2.0}]->(c), (c)-[{w: 3.0}]->(d), (d)-[{w: 11.0}]->(a)"),
+            graphStore.getGraph("T", Optional.of("w"))
+        );
+        assertEquals(4L, graphStore.relationshipCount("T"));
+    }
+
+    @Test
+    void shouldNotChangePreviouslyCreatedGraphs() {
+        GraphStore graphStore = loadGraphStore(Orientation.NATURAL);
+        Graph before = graphStore.getGraph("T", Optional.of("w"));
+
+        graphStore.applyRelationshipDelta(
+            "T",
+            new RelationshipDelta().delete(ids.get("a"), ids.get("b")).insert(ids.get("d"), ids.get("a"), 4.0),
+            Aggregation.NONE,
+            4,
+            Pools.DEFAULT
+        );
+
+        assertGraphEquals(
+            fromGdl("(a)-[{w: 1.0}]->(b), (b)-[{w: 2.0}]->(c), (c)-[{w: 3.0}]->(d)"),
+            before
+        );
+        assertEquals(3L, graphStore.relationshipCount("T"));
+    }
+
+    @Test
+    void shouldFailForUnknownNodes() {
+        GraphStore graphStore = loadGraphStore(Orientation.NATURAL);
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> graphStore.applyRelationshipDelta(
+                "T",
+                new RelationshipDelta().insert(ids.get("a"), 1337L),
+                Aggregation.NONE,
+                4,
+                Pools.DEFAULT
+            )
+        );
+
+        assertEquals(
+            "Node with id 1337 is not part of the graph. Relationships can only be changed between existing nodes.",
+            exception.getMessage()
+        );
+    }
+
+    private GraphStore loadGraphStore(Orientation orientation) {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .addRelationshipType("T")
+            .addRelationshipProperty(PropertyMapping.of("w", 0.0))
+            .globalOrientation(orientation)
+            .build()
+            .graphStore(NativeFactory.class);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.mem;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoryReservationsTest {
+
+    @Test
+    void shouldAdmitUntilFreeMemoryIsReserved() {
+        long before = MemoryReservations.reservedBytes();
+        long freeMemory = before + 100L;
+
+        try (MemoryReservations.Reservation first = MemoryReservations.reserve(60L, freeMemory, AllocationTracker.EMPTY)) {
+            assertEquals(before + 60L, MemoryReservations.reservedBytes());
+
+            IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> MemoryReservations.reserve(50L, freeMemory, AllocationTracker.EMPTY)
+            );
+            assertTrue(exception.getMessage().contains("not reserved by running procedures (40 Bytes)"));
+
+            try (MemoryReservations.Reservation second = MemoryReservations.reserve(40L, freeMemory, AllocationTracker.EMPTY)) {
+                assertEquals(before + 100L, MemoryReservations.reservedBytes());
+            }
+        }
+
+        assertEquals(before, MemoryReservations.reservedBytes());
+    }
+
+    @Test
+    void shouldReleaseOnlyOnce() {
+        long before = MemoryReservations.reservedBytes();
+        MemoryReservations.Reservation reservation = MemoryReservations.reserve(10L, Long.MAX_VALUE, AllocationTracker.EMPTY);
+        reservation.close();
+        reservation.close();
+        assertEquals(before, MemoryReservations.reservedBytes());
+    }
+
+    @Test
+    void shouldShrinkByTheAllocatedMemory() {
+        long before = MemoryReservations.reservedBytes();
+        AllocationTracker tracker = AllocationTracker.create();
+        tracker.add(5L);
+
+        try (MemoryReservations.Reservation reservation = MemoryReservations.reserve(60L, Long.MAX_VALUE, tracker)) {
+            assertEquals(before + 60L, MemoryReservations.reservedBytes());
+
+            tracker.add(40L);
+            assertEquals(20L, reservation.outstandingBytes());
+            assertEquals(before + 20L, MemoryReservations.reservedBytes());
+
+            tracker.add(40L);
+            assertEquals(0L, reservation.outstandingBytes());
+            assertEquals(before, MemoryReservations.reservedBytes());
+        }
+
+        assertEquals(before, MemoryReservations.reservedBytes());
+    }
+}
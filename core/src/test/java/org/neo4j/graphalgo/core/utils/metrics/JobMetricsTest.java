@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobMetricsTest {
+
+    @AfterEach
+    void tearDown() {
+        JobMetricsRegistry.removeAllJobs();
+    }
+
+    @Test
+    void shouldNotRecordPhasesOfEmptyMetrics() {
+        try (JobMetrics.Phase ignored = JobMetrics.EMPTY.startPhase("write")) {
+            assertSame(JobMetrics.EMPTY, JobMetrics.current());
+            assertNull(JobMetrics.EMPTY.activePhase());
+        }
+        JobMetrics.EMPTY.fail();
+
+        assertTrue(JobMetrics.EMPTY.phaseMillis().isEmpty());
+        assertEquals("DONE", JobMetrics.EMPTY.status());
+    }
+
+    @Test
+    void shouldRestoreEmptyMetricsAfterPhase() {
+        JobMetrics metrics = JobMetricsRegistry.register("user", "job", AllocationTracker.EMPTY);
+        try (JobMetrics.Phase ignored = metrics.startPhase("compute")) {
+            assertSame(metrics, JobMetrics.current());
+            assertEquals("compute", metrics.activePhase());
+        }
+        assertSame(JobMetrics.EMPTY, JobMetrics.current());
+        assertTrue(metrics.phaseMillis().containsKey("compute"));
+    }
+
+    @Test
+    void shouldCountWrittenRelationshipsSeparately() {
+        JobMetrics metrics = JobMetricsRegistry.register("user", "job", AllocationTracker.EMPTY);
+        metrics.addRelationships(42);
+        metrics.addRelationshipsWritten(7);
+
+        assertEquals(42, metrics.relationships());
+        assertEquals(7, metrics.relationshipsWritten());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class HugeAtomicBitSetTest {
+
+    @Test
+    void testSetAndClear() {
+        HugeAtomicBitSet bitSet = HugeAtomicBitSet.create(1_000_000L, AllocationTracker.EMPTY);
+        assertEquals(1_000_000L, bitSet.size());
+        assertFalse(bitSet.get(42L));
+
+        bitSet.set(42L);
+        bitSet.set(999_999L);
+        assertTrue(bitSet.get(42L));
+        assertFalse(bitSet.get(43L));
+        assertTrue(bitSet.get(999_999L));
+        assertEquals(2L, bitSet.cardinality());
+
+        bitSet.clear(42L);
+        assertFalse(bitSet.get(42L));
+        assertEquals(1L, bitSet.cardinality());
+    }
+
+    @Test
+    void testGetAndSet() {
+        HugeAtomicBitSet bitSet = HugeAtomicBitSet.create(128L, AllocationTracker.EMPTY);
+        assertFalse(bitSet.getAndSet(64L));
+        assertTrue(bitSet.getAndSet(64L));
+        assertTrue(bitSet.get(64L));
+    }
+
+    @Test
+    void shouldOnlyAllocateWrittenPages() {
+        AllocationTracker tracker = AllocationTracker.create();
+        long size = 100L * HugeArrays.PAGE_SIZE * Long.SIZE;
+        HugeAtomicBitSet bitSet = HugeAtomicBitSet.create(size, tracker);
+        long initialSize = bitSet.sizeOf();
+        assertEquals(initialSize, tracker.tracked());
+
+        bitSet.set(size - 1);
+        assertTrue(bitSet.sizeOf() > initialSize);
+        assertTrue(bitSet.sizeOf() < HugeAtomicBitSet.memoryEstimation(size));
+        assertEquals(bitSet.sizeOf(), tracker.tracked());
+    }
+
+    @Test
+    void shouldSetEachBitOnlyOnceConcurrently() {
+        int concurrency = 4;
+        long size = 100_000L;
+        HugeAtomicBitSet bitSet = HugeAtomicBitSet.create(size, AllocationTracker.EMPTY);
+        AtomicLong claimed = new AtomicLong();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            tasks.add(() -> {
+                for (long index = 0; index < size; index++) {
+                    if (!bitSet.getAndSet(index)) {
+                        claimed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        ParallelUtil.run(tasks, Pools.DEFAULT);
+
+        assertEquals(size, claimed.get());
+        assertEquals(size, bitSet.cardinality());
+    }
+}
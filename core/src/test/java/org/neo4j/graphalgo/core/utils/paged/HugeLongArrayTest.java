@@ -64,6 +64,26 @@ final class HugeLongArrayTest extends HugeArrayTestBase<long[], Long, HugeLongAr
         });
     }
 
+    @Test
+    void shouldResizeKeepingValues() {
+        testArray(10, array -> {
+            array.setAll(index -> index + 42);
+            long grownSize = HugeArrays.PAGE_SIZE * 2L + 10L;
+            HugeLongArray grown = array.resize(grownSize, AllocationTracker.EMPTY);
+            assertEquals(grownSize, grown.size());
+            for (long index = 0; index < grownSize; index++) {
+                assertEquals(index < 10 ? index + 42 : 0L, grown.get(index));
+            }
+
+            grown.set(grownSize - 1, 1337L);
+            HugeLongArray trimmed = grown.resize(5, AllocationTracker.EMPTY);
+            assertEquals(5, trimmed.size());
+            for (long index = 0; index < 5; index++) {
+                assertEquals(index + 42, trimmed.get(index));
+            }
+        });
+    }
+
     @Test
     void shouldComputeMemoryEstimation() {
         assertEquals(40, HugeLongArray.memoryEstimation(0L));
@@ -49,8 +49,11 @@ import org.neo4j.graphalgo.core.loading.ImmutableGraphStoreWithConfig;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryReservations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTreeWithDimensions;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetrics;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetricsRegistry;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
@@ -106,13 +109,15 @@ public abstract class AlgoBaseProc<
     protected final ALGO newAlgorithm(
         final Graph graph,
         final CONFIG config,
-        final AllocationTracker tracker
+        final AllocationTracker tracker,
+        final JobMetrics metrics
     ) {
         TerminationFlag terminationFlag = TerminationFlag.wrap(transaction);
-        return algorithmFactory(config)
+        ALGO algo = algorithmFactory(config)
             .build(graph, config, tracker, log)
             .withProgressLogger(log)
             .withTerminationFlag(terminationFlag);
+        return algo.withProgressLogger(metrics.progressLogger(algo.getProgressLogger()));
     }
 
     protected abstract AlgorithmFactory<ALGO, CONFIG> algorithmFactory(CONFIG config);
@@ -272,6 +277,7 @@ public abstract class AlgoBaseProc<
                     nodeProperties
                 ));
             }
+            validateScalarNodeProperty(graphStore, "Seed property", seedProperty);
         }
         if (config instanceof NodeWeightConfig) {
             Set<String> properties = graphStore.nodePropertyKeys();
@@ -284,6 +290,7 @@ public abstract class AlgoBaseProc<
                     properties
                 ));
             }
+            validateScalarNodeProperty(graphStore, "Node weight property", weightProperty);
         }
         if (config instanceof RelationshipWeightConfig) {
             Set<String> properties = graphStore.relationshipPropertyKeys();
@@ -321,6 +328,16 @@ public abstract class AlgoBaseProc<
         validateConfigs(graphCreateConfig, config);
     }
 
+    private static void validateScalarNodeProperty(GraphStore graphStore, String description, @Nullable String key) {
+        if (key != null && graphStore.hasArrayNodeProperty(key)) {
+            throw new IllegalArgumentException(String.format(
+                "%s `%s` holds arrays, but a single numeric value per node is required.",
+                description,
+                key
+            ));
+        }
+    }
+
     protected void validateConfigs(GraphCreateConfig graphCreateConfig, CONFIG config) { }
 
     protected ComputationResult<ALGO, ALGO_RESULT, CONFIG> compute(
@@ -341,57 +358,82 @@ public abstract class AlgoBaseProc<
 
         Pair<CONFIG, Optional<String>> input = processInput(graphNameOrConfig, configuration);
         CONFIG config = input.getOne();
-        validateMemoryUsageIfImplemented(config);
 
-        GraphStore graphStore;
-        Graph graph;
+        try (MemoryReservations.Reservation reservation = reserveMemoryIfImplemented(config, tracker)) {
+            JobMetrics metrics = JobMetricsRegistry.register(getUsername(), algoName(), tracker);
+            builder.jobMetrics(metrics);
+
+            GraphStore graphStore;
+            Graph graph;
+
+            try (
+                JobMetrics.Phase phase = metrics.startPhase("create");
+                ProgressTimer timer = ProgressTimer.start(builder::createMillis)
+            ) {
+                graphStore = getOrCreateGraphStore(input);
+                graph = createGraph(graphStore, config);
+            } catch (Throwable e) {
+                metrics.fail();
+                throw e;
+            }
 
-        try (ProgressTimer timer = ProgressTimer.start(builder::createMillis)) {
-            graphStore = getOrCreateGraphStore(input);
-            graph = createGraph(graphStore, config);
-        }
+            if (graph.isEmpty()) {
+                return builder
+                    .isGraphEmpty(true)
+                    .graph(graph)
+                    .graphStore(graphStore)
+                    .config(config)
+                    .tracker(tracker)
+                    .computeMillis(0)
+                    .result(null)
+                    .algorithm(null)
+                    .build();
+            }
+
+            ALGO algo = newAlgorithm(graph, config, tracker, metrics);
+
+            ALGO_RESULT result = runWithExceptionLogging(
+                "Computation failed",
+                () -> {
+                    try (
+                        JobMetrics.Phase phase = metrics.startPhase("compute");
+                        ProgressTimer ignored = ProgressTimer.start(builder::computeMillis)
+                    ) {
+                        return runAlgorithm(algo, graph, config, builder);
+                    } catch (Throwable e) {
+                        metrics.fail();
+                        throw e;
+                    }
+                }
+            );
+
+            log.info(algoName() + ": overall memory usage %s", tracker.getUsageString());
+
+            if (releaseAlgorithm) {
+                algo.release();
+            }
+            if (releaseTopology) {
+                graph.releaseTopology();
+            }
 
-        if (graph.isEmpty()) {
             return builder
-                .isGraphEmpty(true)
                 .graph(graph)
                 .graphStore(graphStore)
+                .tracker(AllocationTracker.EMPTY)
+                .algorithm(algo)
+                .result(result)
                 .config(config)
-                .tracker(tracker)
-                .computeMillis(0)
-                .result(null)
-                .algorithm(null)
                 .build();
         }
+    }
 
-        ALGO algo = newAlgorithm(graph, config, tracker);
-
-        ALGO_RESULT result = runWithExceptionLogging(
-            "Computation failed",
-            () -> {
-                try (ProgressTimer ignored = ProgressTimer.start(builder::computeMillis)) {
-                    return algo.compute();
-                }
-            }
-        );
-
-        log.info(algoName() + ": overall memory usage %s", tracker.getUsageString());
-
-        if (releaseAlgorithm) {
-            algo.release();
-        }
-        if (releaseTopology) {
-            graph.releaseTopology();
-        }
-
-        return builder
-            .graph(graph)
-            .graphStore(graphStore)
-            .tracker(AllocationTracker.EMPTY)
-            .algorithm(algo)
-            .result(result)
-            .config(config)
-            .build();
+    protected ALGO_RESULT runAlgorithm(
+        ALGO algo,
+        Graph graph,
+        CONFIG config,
+        ImmutableComputationResult.Builder<ALGO, ALGO_RESULT, CONFIG> builder
+    ) {
+        return algo.compute();
     }
 
     protected PropertyTranslator<ALGO_RESULT> nodePropertyTranslator(
@@ -435,15 +477,16 @@ public abstract class AlgoBaseProc<
         }
     }
 
-    protected void validateMemoryUsageIfImplemented(CONFIG config) {
+    protected MemoryReservations.Reservation reserveMemoryIfImplemented(CONFIG config, AllocationTracker tracker) {
         MemoryTreeWithDimensions memoryTreeWithDimensions = null;
         try {
             memoryTreeWithDimensions = memoryEstimation(config);
         } catch (MemoryEstimationNotImplementedException ignored) {
         }
         if (memoryTreeWithDimensions != null) {
-            validateMemoryUsage(memoryTreeWithDimensions);
+            return reserveMemory(memoryTreeWithDimensions, tracker);
         }
+        return MemoryReservations.Reservation.NONE;
     }
 
 
@@ -482,6 +525,14 @@ public abstract class AlgoBaseProc<
 
         CONFIG config();
 
+        @Nullable
+        NodePropertyExporter.PipelinedWrite<RESULT> pipelinedWrite();
+
+        @Value.Default
+        default JobMetrics jobMetrics() {
+            return JobMetrics.EMPTY;
+        }
+
         @Value.Default
         default boolean isGraphEmpty() {
             return false;
@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ImmutableGraphLoader;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.mem.MemoryReservations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTreeWithDimensions;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
@@ -110,6 +111,24 @@ public abstract class BaseProc {
         validateMemoryUsage(memoryTreeWithDimensions, Runtime.getRuntime()::freeMemory);
     }
 
+    /**
+     * Validates the estimation and reserves its minimum against the memory that is
+     * not yet claimed by other running procedures. The reservation shrinks by what the
+     * procedure allocates on {@code tracker} and must be closed once the procedure
+     * no longer allocates.
+     */
+    protected MemoryReservations.Reservation reserveMemory(
+        MemoryTreeWithDimensions memoryTreeWithDimensions,
+        AllocationTracker tracker
+    ) {
+        validateMemoryUsage(memoryTreeWithDimensions);
+        return MemoryReservations.reserve(
+            memoryTreeWithDimensions.memoryTree.memoryUsage().min,
+            Runtime.getRuntime().freeMemory(),
+            tracker
+        );
+    }
+
     public void validateMemoryUsage(
         MemoryTreeWithDimensions memoryTreeWithDimensions,
         AlgoBaseProc.FreeMemoryInspector inspector
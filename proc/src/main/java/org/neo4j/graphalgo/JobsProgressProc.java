@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo;
+
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetrics;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetricsRegistry;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Procedure;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class JobsProgressProc extends BaseProc {
+
+    private static final String DESCRIPTION = "Lists the progress and metrics of the algorithm jobs of the current user.";
+
+    @Procedure(name = "gds.jobs.progress", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<JobProgress> progress() {
+        long poolQueueSize = 0L;
+        long poolActiveThreads = 0L;
+        if (Pools.DEFAULT instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) Pools.DEFAULT;
+            poolQueueSize = pool.getQueue().size();
+            poolActiveThreads = pool.getActiveCount();
+        }
+
+        long queueSize = poolQueueSize;
+        long activeThreads = poolActiveThreads;
+        return JobMetricsRegistry
+            .jobs(getUsername())
+            .stream()
+            .map(metrics -> new JobProgress(metrics, queueSize, activeThreads));
+    }
+
+    public static class JobProgress {
+        public long jobId;
+        public String jobName;
+        public String status;
+        public String activePhase;
+        public long elapsedMillis;
+        public long idleMillis;
+        public double progress;
+        public long iterations;
+        public long nodes;
+        public long relationships;
+        public long relationshipsWritten;
+        public long propertiesWritten;
+        public double nodesPerSecond;
+        public double relationshipsPerSecond;
+        public double relationshipsWrittenPerSecond;
+        public double propertiesWrittenPerSecond;
+        public long bytesAllocated;
+        public Map<String, Object> phaseMillis;
+        public long poolQueueSize;
+        public long poolActiveThreads;
+
+        JobProgress(JobMetrics metrics, long poolQueueSize, long poolActiveThreads) {
+            this.jobId = metrics.jobId();
+            this.jobName = metrics.jobName();
+            this.status = metrics.status();
+            this.activePhase = metrics.activePhase();
+            this.elapsedMillis = metrics.elapsedMillis();
+            this.idleMillis = metrics.idleMillis();
+            this.progress = metrics.progress();
+            this.iterations = metrics.iterations();
+            this.nodes = metrics.nodes();
+            this.relationships = metrics.relationships();
+            this.relationshipsWritten = metrics.relationshipsWritten();
+            this.propertiesWritten = metrics.propertiesWritten();
+            this.nodesPerSecond = perSecond(nodes, elapsedMillis);
+            this.relationshipsPerSecond = perSecond(relationships, elapsedMillis);
+            this.relationshipsWrittenPerSecond = perSecond(relationshipsWritten, elapsedMillis);
+            this.propertiesWrittenPerSecond = perSecond(propertiesWritten, elapsedMillis);
+            this.bytesAllocated = metrics.bytesAllocated();
+            this.phaseMillis = new LinkedHashMap<>(metrics.phaseMillis());
+            this.poolQueueSize = poolQueueSize;
+            this.poolActiveThreads = poolActiveThreads;
+        }
+
+        private static double perSecond(long count, long millis) {
+            return millis > 0 ? count * 1000.0 / millis : 0.0;
+        }
+    }
+}
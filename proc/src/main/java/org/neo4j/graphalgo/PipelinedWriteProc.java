@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.PipelinedWriteConfig;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.partition.PartitionConsumer;
+import org.neo4j.graphalgo.core.write.NodePropertyExporter;
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+
+/**
+ * Write procedure for algorithms that finish parts of their result during the computation.
+ * If {@code pipelinedWrite} is enabled, these parts are written while the computation continues.
+ */
+public abstract class PipelinedWriteProc<
+    ALGO extends Algorithm<ALGO, ALGO_RESULT>,
+    ALGO_RESULT,
+    PROC_RESULT,
+    CONFIG extends PipelinedWriteConfig> extends WriteProc<ALGO, ALGO_RESULT, PROC_RESULT, CONFIG> {
+
+    /**
+     * Translator for pipelined writes, which start before the computation result exists.
+     */
+    protected abstract PropertyTranslator<ALGO_RESULT> pipelinedPropertyTranslator(Graph graph, CONFIG config);
+
+    /**
+     * Registers the consumer that receives the finished parts of the result during the computation.
+     */
+    protected abstract void withPartitionConsumer(ALGO algorithm, PartitionConsumer<ALGO_RESULT> partitionConsumer);
+
+    @Override
+    protected ALGO_RESULT runAlgorithm(
+        ALGO algo,
+        Graph graph,
+        CONFIG config,
+        ImmutableComputationResult.Builder<ALGO, ALGO_RESULT, CONFIG> builder
+    ) {
+        if (!config.pipelinedWrite()) {
+            return super.runAlgorithm(algo, graph, config, builder);
+        }
+
+        PropertyTranslator<ALGO_RESULT> translator = pipelinedPropertyTranslator(graph, config);
+        NodePropertyExporter.PipelinedWrite<ALGO_RESULT> write = NodePropertyExporter
+            .of(api, graph, algo.getTerminationFlag())
+            .withLog(log)
+            .parallel(Pools.DEFAULT_WRITE_POOL, config.writeConcurrency())
+            .build()
+            .pipelined(config.writeProperty(), translator);
+        try {
+            withPartitionConsumer(algo, write);
+            ALGO_RESULT result = algo.compute();
+            builder.pipelinedWrite(write);
+            return result;
+        } catch (Throwable e) {
+            write.cancel();
+            throw e;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.neo4j.graphalgo.config.WritePropertyConfig;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetrics;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
 import org.neo4j.graphalgo.result.AbstractResultBuilder;
@@ -50,11 +51,25 @@ public abstract class WriteProc<
 
         if (computeResult.isGraphEmpty()) {
             return Stream.of(builder.build());
-        } else {
-            writeToNeo(builder, computeResult);
-            computeResult.graph().releaseProperties();
-            return Stream.of(builder.build());
         }
+
+        JobMetrics metrics = computeResult.jobMetrics();
+        try (JobMetrics.Phase phase = metrics.startPhase("write")) {
+            if (computeResult.pipelinedWrite() != null) {
+                NodePropertyExporter.PipelinedWrite<ALGO_RESULT> pipelinedWrite = computeResult.pipelinedWrite();
+                try (ProgressTimer ignored = ProgressTimer.start(builder::withWriteMillis)) {
+                    pipelinedWrite.awaitTermination();
+                }
+                builder.withNodePropertiesWritten(pipelinedWrite.propertiesWritten());
+            } else {
+                writeToNeo(builder, computeResult);
+            }
+        } catch (Throwable e) {
+            metrics.fail();
+            throw e;
+        }
+        computeResult.graph().releaseProperties();
+        return Stream.of(builder.build());
     }
 
     private void writeToNeo(
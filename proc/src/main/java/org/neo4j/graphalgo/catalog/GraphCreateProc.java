@@ -36,6 +36,7 @@ import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.graphalgo.core.loading.GraphStore;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.mem.MemoryReservations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTreeWithDimensions;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
@@ -154,10 +155,13 @@ public class GraphCreateProc extends CatalogProc {
     }
 
     private GraphCreateResult createGraph(GraphCreateConfig config, Class<? extends GraphStoreFactory> factoryClazz) {
-        validateMemoryUsage(memoryTreeWithDimensions(config, factoryClazz));
         GraphCreateResult.Builder builder = new GraphCreateResult.Builder(config);
-        try (ProgressTimer ignored = ProgressTimer.start(builder::withCreateMillis)) {
-            GraphLoader loader = newLoader(config, AllocationTracker.EMPTY);
+        AllocationTracker tracker = AllocationTracker.create();
+        try (
+            MemoryReservations.Reservation reservation = reserveMemory(memoryTreeWithDimensions(config, factoryClazz), tracker);
+            ProgressTimer ignored = ProgressTimer.start(builder::withCreateMillis)
+        ) {
+            GraphLoader loader = newLoader(config, tracker);
             GraphStoreFactory graphStoreFactory = loader.build(factoryClazz);
             GraphStoreFactory.ImportResult importResult = graphStoreFactory.build();
 
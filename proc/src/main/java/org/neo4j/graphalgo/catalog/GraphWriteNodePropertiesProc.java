@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.catalog;
 
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.config.GraphWriteNodePropertiesConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
@@ -86,15 +87,30 @@ public class GraphWriteNodePropertiesProc extends CatalogProc {
             .build();
 
         Collection<NodePropertyExporter.NodeProperty<?>> nodeProperties = nodePropertyKeys.stream()
-            .map(nodePropertyKey -> ImmutableNodeProperty.of(
-                nodePropertyKey,
-                graphStore.nodeProperty(nodePropertyKey),
-                (PropertyTranslator.OfDouble<NodeProperties>) NodeProperties::nodeProperty
-            )).collect(Collectors.toList());
+            .map(nodePropertyKey -> nodeProperty(nodePropertyKey, graphStore))
+            .collect(Collectors.toList());
 
         exporter.write(nodeProperties);
 
-        return nodePropertyKeys.stream().mapToLong(nodePropertyKey -> graphStore.nodeProperty(nodePropertyKey).size()).sum();
+        return nodePropertyKeys.stream().mapToLong(nodePropertyKey -> graphStore.hasArrayNodeProperty(nodePropertyKey)
+            ? graphStore.arrayNodeProperty(nodePropertyKey).size()
+            : graphStore.nodeProperty(nodePropertyKey).size()
+        ).sum();
+    }
+
+    private static NodePropertyExporter.NodeProperty<?> nodeProperty(String key, GraphStore graphStore) {
+        if (graphStore.hasArrayNodeProperty(key)) {
+            return ImmutableNodeProperty.of(
+                key,
+                graphStore.arrayNodeProperty(key),
+                (PropertyTranslator.OfFloatArray<ArrayNodeProperties>) ArrayNodeProperties::floatArrayNodeProperty
+            );
+        }
+        return ImmutableNodeProperty.of(
+            key,
+            graphStore.nodeProperty(key),
+            (PropertyTranslator.OfDouble<NodeProperties>) NodeProperties::nodeProperty
+        );
     }
 
     public static class Result {
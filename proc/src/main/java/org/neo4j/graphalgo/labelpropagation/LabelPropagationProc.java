@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.labelpropagation;
 
 import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
@@ -38,12 +39,18 @@ final class LabelPropagationProc {
         AlgoBaseProc.ComputationResult<LabelPropagation, LabelPropagation, CONFIG> computationResult,
         String resultProperty
     ) {
-        CONFIG config = computationResult.config();
+        return nodePropertyTranslator(computationResult.graph(), computationResult.config(), resultProperty);
+    }
 
+    static <CONFIG extends LabelPropagationBaseConfig> PropertyTranslator<LabelPropagation> nodePropertyTranslator(
+        Graph graph,
+        CONFIG config,
+        String resultProperty
+    ) {
         boolean resultPropertyEqualsSeedProperty = config.seedProperty() != null && resultProperty.equals(config.seedProperty());
 
         if (resultPropertyEqualsSeedProperty) {
-            NodeProperties seedProperties = computationResult.graph().nodeProperties(config.seedProperty());
+            NodeProperties seedProperties = graph.nodeProperties(config.seedProperty());
             return new PropertyTranslator.OfLongIfChanged<>(
                 seedProperties,
                 (data, nodeId) -> data.labels().get(nodeId)
@@ -20,10 +20,12 @@
 package org.neo4j.graphalgo.labelpropagation;
 
 import org.neo4j.graphalgo.AlgorithmFactory;
-import org.neo4j.graphalgo.WriteProc;
+import org.neo4j.graphalgo.PipelinedWriteProc;
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.partition.PartitionConsumer;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
 import org.neo4j.graphalgo.result.AbstractResultBuilder;
 import org.neo4j.graphalgo.results.MemoryEstimateResult;
@@ -40,7 +42,7 @@ import static org.neo4j.graphalgo.labelpropagation.LabelPropagationProc.LABEL_PR
 import static org.neo4j.procedure.Mode.READ;
 import static org.neo4j.procedure.Mode.WRITE;
 
-public class LabelPropagationWriteProc extends WriteProc<LabelPropagation, LabelPropagation, LabelPropagationWriteProc.WriteResult, LabelPropagationWriteConfig> {
+public class LabelPropagationWriteProc extends PipelinedWriteProc<LabelPropagation, LabelPropagation, LabelPropagationWriteProc.WriteResult, LabelPropagationWriteConfig> {
 
     @Procedure(value = "gds.labelPropagation.write", mode = WRITE)
     @Description(LABEL_PROPAGATION_DESCRIPTION)
@@ -65,6 +67,22 @@ public class LabelPropagationWriteProc extends WriteProc<LabelPropagation, Label
         return LabelPropagationProc.nodePropertyTranslator(computationResult, computationResult.config().writeProperty());
     }
 
+    @Override
+    protected PropertyTranslator<LabelPropagation> pipelinedPropertyTranslator(
+        Graph graph,
+        LabelPropagationWriteConfig config
+    ) {
+        return LabelPropagationProc.nodePropertyTranslator(graph, config, config.writeProperty());
+    }
+
+    @Override
+    protected void withPartitionConsumer(
+        LabelPropagation algorithm,
+        PartitionConsumer<LabelPropagation> partitionConsumer
+    ) {
+        algorithm.withPartitionConsumer(partitionConsumer);
+    }
+
     @Override
     protected AbstractResultBuilder<WriteResult> resultBuilder(ComputationResult<LabelPropagation, LabelPropagation, LabelPropagationWriteConfig> computeResult) {
         return LabelPropagationProc.resultBuilder(
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.metrics.JobMetricsRegistry;
+import org.neo4j.graphalgo.wcc.WccWriteProc;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobsProgressProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node)" +
+        ", (b:Node)" +
+        ", (c:Node)" +
+        ", (a)-[:REL]->(b)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+        registerProcedures(JobsProgressProc.class, WccWriteProc.class);
+        runQuery(DB_CYPHER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+        JobMetricsRegistry.removeAllJobs();
+    }
+
+    @Test
+    void reportsMetricsOfFinishedJobs() {
+        runQuery("CALL gds.wcc.write({nodeProjection: 'Node', relationshipProjection: 'REL', writeProperty: 'component'})");
+
+        AtomicInteger rows = new AtomicInteger();
+        runQueryWithRowConsumer("CALL gds.jobs.progress()", row -> {
+            rows.incrementAndGet();
+            assertEquals("WccWriteProc", row.getString("jobName"));
+            assertEquals("DONE", row.getString("status"));
+            assertEquals(3L, row.getNumber("nodes").longValue());
+            assertEquals(1L, row.getNumber("relationships").longValue());
+            assertEquals(3L, row.getNumber("propertiesWritten").longValue());
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> phaseMillis = (Map<String, Object>) row.get("phaseMillis");
+            assertTrue(phaseMillis.containsKey("create"));
+            assertTrue(phaseMillis.containsKey("compute"));
+            assertTrue(phaseMillis.containsKey("write"));
+        });
+        assertEquals(1, rows.get());
+    }
+
+    @Test
+    void reportsNoJobsWhenNothingRan() {
+        AtomicInteger rows = new AtomicInteger();
+        runQueryWithRowConsumer("CALL gds.jobs.progress()", row -> rows.incrementAndGet());
+        assertEquals(0, rows.get());
+    }
+}
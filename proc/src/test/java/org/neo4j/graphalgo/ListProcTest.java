@@ -92,6 +92,8 @@ class ListProcTest extends BaseProcTest {
         "gds.graph.exists",
         "gds.graph.list",
 
+        "gds.jobs.progress",
+
         "gds.labelPropagation.mutate",
         "gds.labelPropagation.mutate.estimate",
         "gds.labelPropagation.stats",
@@ -166,6 +168,7 @@ class ListProcTest extends BaseProcTest {
             GraphExistsProc.class,
             GraphListProc.class,
             GraphGenerateProc.class,
+            JobsProgressProc.class,
             K1ColoringMutateProc.class,
             K1ColoringWriteProc.class,
             K1ColoringStreamProc.class,
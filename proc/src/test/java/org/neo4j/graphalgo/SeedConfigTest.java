@@ -99,6 +99,33 @@ public interface SeedConfigTest<CONFIG extends SeedConfig & AlgoBaseConfig, RESU
 
     }
 
+    @Test
+    default void testArraySeedPropertyValidation() {
+        runQuery(graphDb(), "CREATE (:A {a: [1.0, 2.0]})");
+        Map<String, Object> tempConfig = MapUtil.map(
+            "seedProperty", "a",
+            "nodeProjection", MapUtil.map(
+                "A", MapUtil.map(
+                    "properties", Collections.singletonList("a")
+                )
+            ),
+            "relationshipProjection", "*"
+        );
+
+        Map<String, Object> config = createMinimalConfig(CypherMapWrapper.create(tempConfig)).toMap();
+
+        applyOnProcedure(proc -> {
+            IllegalArgumentException e = assertThrows(
+                IllegalArgumentException.class,
+                () -> proc.compute(config, Collections.emptyMap())
+            );
+            assertEquals(
+                "Seed property `a` holds arrays, but a single numeric value per node is required.",
+                e.getMessage()
+            );
+        });
+    }
+
     @Test
     default void shouldFailWithInvalidSeedProperty() {
         String loadedGraphName = "loadedGraph";
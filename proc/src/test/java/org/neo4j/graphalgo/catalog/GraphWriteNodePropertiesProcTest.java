@@ -34,7 +34,9 @@ import java.util.Arrays;
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.graphalgo.compat.MapUtil.map;
 import static org.neo4j.graphalgo.utils.ExceptionUtil.rootCause;
@@ -108,6 +110,35 @@ class GraphWriteNodePropertiesProcTest extends BaseProcTest {
         ));
     }
 
+    @Test
+    void writeArrayNodeProperties() {
+        runQuery("MATCH (n:Node) WHERE n.nodeProp1 < 2 SET n.vector = [n.nodeProp1, 1.5]");
+        runQuery(GdsCypher.call()
+            .withAnyLabel()
+            .withNodeProperty("newVector", "vector")
+            .withAnyRelationshipType()
+            .graphCreate("vectorGraph")
+            .yields()
+        );
+
+        runQueryWithRowConsumer(
+            "CALL gds.graph.writeNodeProperties('vectorGraph', ['newVector']) YIELD propertiesWritten",
+            row -> assertEquals(2L, row.getNumber("propertiesWritten").longValue())
+        );
+
+        runQueryWithRowConsumer(
+            "MATCH (n:Node) RETURN n.nodeProp1 AS id, n.newVector AS vector ORDER BY id",
+            row -> {
+                Object vector = row.get("vector");
+                if (row.getNumber("id").longValue() < 2) {
+                    assertArrayEquals(new float[]{row.getNumber("id").floatValue(), 1.5F}, (float[]) vector);
+                } else {
+                    assertNull(vector);
+                }
+            }
+        );
+    }
+
     @Test
     void shouldFailOnNonExistingNodeProperty() {
         QueryExecutionException ex = assertThrows(
@@ -114,6 +114,28 @@ class LabelPropagationWriteProcTest extends LabelPropagationProcTest<LabelPropag
         });
     }
 
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("org.neo4j.graphalgo.labelpropagation.LabelPropagationProcTest#gdsGraphVariations")
+    void testPipelinedWrite(GdsCypher.QueryBuilder queryBuilder, String testCaseName) {
+        String writeProperty = "myPipelinedCommunity";
+        @Language("Cypher") String query = queryBuilder
+            .algo("labelPropagation")
+            .writeMode()
+            .addParameter("writeProperty", writeProperty)
+            .addParameter("pipelinedWrite", true)
+            .yields("communityCount", "nodePropertiesWritten");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(10, row.getNumber("communityCount").longValue(), "wrong community count");
+            assertEquals(12, row.getNumber("nodePropertiesWritten").longValue());
+        });
+
+        runQueryWithRowConsumer(
+            "MATCH (n) RETURN count(DISTINCT n." + writeProperty + ") AS communities",
+            row -> assertEquals(10, row.getNumber("communities").longValue())
+        );
+    }
+
     @ParameterizedTest(name = "{1}")
     @MethodSource("org.neo4j.graphalgo.labelpropagation.LabelPropagationProcTest#gdsGraphVariations")
     void respectsMaxIterations(GdsCypher.QueryBuilder queryBuilder, String testCaseName) {
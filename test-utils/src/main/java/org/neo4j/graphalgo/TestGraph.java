@@ -22,6 +22,7 @@ package org.neo4j.graphalgo;
 import org.neo4j.collection.primitive.PrimitiveLongCollections;
 import org.neo4j.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphalgo.api.ArrayNodeProperties;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
@@ -38,6 +39,7 @@ import org.s1ck.gdl.model.Element;
 import org.s1ck.gdl.model.Vertex;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -150,6 +152,16 @@ public final class TestGraph implements Graph {
         return nodeProperties.keySet();
     }
 
+    @Override
+    public ArrayNodeProperties arrayNodeProperties(String type) {
+        return null;
+    }
+
+    @Override
+    public Set<String> availableArrayNodeProperties() {
+        return Collections.emptySet();
+    }
+
     @Override
     public void forEachRelationship(long nodeId, RelationshipConsumer consumer) {
         Adjacency adjacency = adjacencyList.get(nodeId);